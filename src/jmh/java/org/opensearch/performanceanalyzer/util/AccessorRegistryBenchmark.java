@@ -0,0 +1,120 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reflective reads the collectors did on every run before {@link AccessorRegistry}
+ * with the cached accessors they hold now. The {@code lookup*} benchmarks repeat the member lookup
+ * on each read, as {@code FieldUtils.readField} and the per-run {@code getDeclaredField} and
+ * {@code getDeclaredMethod} calls did; the {@code cached*} benchmarks keep the {@link Field} or
+ * {@link Method} and only pay for the reflective call. Like the collectors, the benchmark keeps the
+ * cached members and the accessors in static final fields.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessorRegistryBenchmark {
+    private static final Field FIELD = accessible(Target.class, "value");
+    private static final Method METHOD = accessible(Target.class, "compute", Object.class);
+    private static final AccessorRegistry.FieldAccessor<Object> FIELD_ACCESSOR =
+            AccessorRegistry.INSTANCE.field(Target.class, "value", Object.class);
+    private static final AccessorRegistry.MethodAccessor<Object> METHOD_ACCESSOR =
+            AccessorRegistry.INSTANCE.method(Target.class, "compute", Object.class, Object.class);
+
+    private Target target;
+
+    @Setup
+    public void setup() {
+        target = new Target();
+    }
+
+    @Benchmark
+    public Object lookupFieldUtilsReadField() throws IllegalAccessException {
+        return FieldUtils.readField(target, "value", true);
+    }
+
+    @Benchmark
+    public Object lookupDeclaredField() throws ReflectiveOperationException {
+        Field f = Target.class.getDeclaredField("value");
+        f.setAccessible(true);
+        return f.get(target);
+    }
+
+    @Benchmark
+    public Object cachedField() throws IllegalAccessException {
+        return FIELD.get(target);
+    }
+
+    @Benchmark
+    public Object fieldAccessor() throws ReflectiveOperationException {
+        return FIELD_ACCESSOR.get(target);
+    }
+
+    @Benchmark
+    public Object lookupDeclaredMethod() throws ReflectiveOperationException {
+        Method m = Target.class.getDeclaredMethod("compute", Object.class);
+        m.setAccessible(true);
+        return m.invoke(target, target);
+    }
+
+    @Benchmark
+    public Object cachedMethod() throws ReflectiveOperationException {
+        return METHOD.invoke(target, target);
+    }
+
+    @Benchmark
+    public Object methodAccessor() throws ReflectiveOperationException {
+        return METHOD_ACCESSOR.invoke(target, target);
+    }
+
+    private static Field accessible(Class<?> owner, String name) {
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Method accessible(Class<?> owner, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = owner.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class Target {
+        private final Object value = new Object();
+
+        private Object compute(Object arg) {
+            return arg == this ? value : arg;
+        }
+    }
+}
@@ -8,6 +8,7 @@ package org.opensearch.performanceanalyzer;
 import static java.util.Collections.singletonList;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessController;
@@ -46,20 +47,28 @@ import org.opensearch.performanceanalyzer.collectors.CircuitBreakerCollector;
 import org.opensearch.performanceanalyzer.collectors.ClusterApplierServiceStatsCollector;
 import org.opensearch.performanceanalyzer.collectors.ClusterManagerServiceEventMetrics;
 import org.opensearch.performanceanalyzer.collectors.ClusterManagerServiceMetrics;
+import org.opensearch.performanceanalyzer.collectors.DirectMemoryCollector;
 import org.opensearch.performanceanalyzer.collectors.ElectionTermCollector;
 import org.opensearch.performanceanalyzer.collectors.FaultDetectionMetricsCollector;
+import org.opensearch.performanceanalyzer.collectors.JfrEventsCollector;
 import org.opensearch.performanceanalyzer.collectors.NodeDetailsCollector;
 import org.opensearch.performanceanalyzer.collectors.NodeStatsAllShardsMetricsCollector;
+import org.opensearch.performanceanalyzer.collectors.RefreshFlushCollector;
 import org.opensearch.performanceanalyzer.collectors.SearchBackPressureStatsCollector;
+import org.opensearch.performanceanalyzer.collectors.SegmentMergeCollector;
+import org.opensearch.performanceanalyzer.collectors.ShardDiskIOCollector;
 import org.opensearch.performanceanalyzer.collectors.ShardIndexingPressureMetricsCollector;
 import org.opensearch.performanceanalyzer.collectors.ShardStateCollector;
 import org.opensearch.performanceanalyzer.collectors.ThreadPoolMetricsCollector;
+import org.opensearch.performanceanalyzer.collectors.TranslogCollector;
 import org.opensearch.performanceanalyzer.collectors.telemetry.RTFCacheConfigMetricsCollector;
 import org.opensearch.performanceanalyzer.collectors.telemetry.RTFDisksCollector;
 import org.opensearch.performanceanalyzer.collectors.telemetry.RTFHeapMetricsCollector;
 import org.opensearch.performanceanalyzer.collectors.telemetry.RTFNodeStatsAllShardsMetricsCollector;
 import org.opensearch.performanceanalyzer.collectors.telemetry.RTFShardOperationCollector;
+import org.opensearch.performanceanalyzer.collectors.telemetry.RTFThreadContentionCollector;
 import org.opensearch.performanceanalyzer.collectors.telemetry.RTFThreadPoolMetricsCollector;
+import org.opensearch.performanceanalyzer.collectors.telemetry.RTFThreadPoolResourceCollector;
 import org.opensearch.performanceanalyzer.commons.OSMetricsGeneratorFactory;
 import org.opensearch.performanceanalyzer.commons.collectors.DisksCollector;
 import org.opensearch.performanceanalyzer.commons.collectors.GCInfoCollector;
@@ -80,6 +89,7 @@ import org.opensearch.performanceanalyzer.config.setting.handler.ConfigOverrides
 import org.opensearch.performanceanalyzer.config.setting.handler.NodeStatsSettingHandler;
 import org.opensearch.performanceanalyzer.config.setting.handler.PerformanceAnalyzerClusterSettingHandler;
 import org.opensearch.performanceanalyzer.config.setting.handler.PerformanceAnalyzerCollectorsSettingHandler;
+import org.opensearch.performanceanalyzer.http_action.cache.RequestCacheSimulatorAction;
 import org.opensearch.performanceanalyzer.http_action.config.PerformanceAnalyzerClusterConfigAction;
 import org.opensearch.performanceanalyzer.http_action.config.PerformanceAnalyzerConfigAction;
 import org.opensearch.performanceanalyzer.http_action.config.PerformanceAnalyzerOverridesClusterConfigAction;
@@ -87,9 +97,16 @@ import org.opensearch.performanceanalyzer.http_action.config.PerformanceAnalyzer
 import org.opensearch.performanceanalyzer.http_action.whoami.TransportWhoAmIAction;
 import org.opensearch.performanceanalyzer.http_action.whoami.WhoAmIAction;
 import org.opensearch.performanceanalyzer.listener.PerformanceAnalyzerSearchListener;
+import org.opensearch.performanceanalyzer.listener.RTFPerformanceAnalyzerIndexingListener;
 import org.opensearch.performanceanalyzer.listener.RTFPerformanceAnalyzerSearchListener;
+import org.opensearch.performanceanalyzer.listener.RequestCacheSimulatorListener;
 import org.opensearch.performanceanalyzer.transport.PerformanceAnalyzerTransportInterceptor;
 import org.opensearch.performanceanalyzer.transport.RTFPerformanceAnalyzerTransportInterceptor;
+import org.opensearch.performanceanalyzer.util.AccessorRegistry;
+import org.opensearch.performanceanalyzer.util.RequestCacheSimulator;
+import org.opensearch.performanceanalyzer.util.ShardRefreshMonitor;
+import org.opensearch.performanceanalyzer.util.ShardRegistry;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshotService;
 import org.opensearch.performanceanalyzer.util.Utils;
 import org.opensearch.performanceanalyzer.writer.EventLogQueueProcessor;
 import org.opensearch.plugins.ActionPlugin;
@@ -125,6 +142,11 @@ public final class PerformanceAnalyzerPlugin extends Plugin
     private final ConfigOverridesWrapper configOverridesWrapper;
     private final PerformanceAnalyzerController performanceAnalyzerController;
     private final ClusterSettingsManager clusterSettingsManager;
+    private final ShardStateCollector shardStateCollector;
+    private final NodeDetailsCollector nodeDetailsCollector;
+    private final ElectionTermCollector electionTermCollector;
+    private final ClusterManagerServiceMetrics clusterManagerServiceMetrics;
+    private final JfrEventsCollector jfrEventsCollector;
 
     static {
         SecurityManager sm = System.getSecurityManager();
@@ -180,7 +202,16 @@ public final class PerformanceAnalyzerPlugin extends Plugin
                         Arrays.asList(
                                 PerformanceAnalyzerClusterSettings.COMPOSITE_PA_SETTING,
                                 PerformanceAnalyzerClusterSettings.PA_NODE_STATS_SETTING,
-                                PerformanceAnalyzerClusterSettings.PA_COLLECTORS_SETTING),
+                                PerformanceAnalyzerClusterSettings.PA_COLLECTORS_SETTING,
+                                PerformanceAnalyzerClusterSettings
+                                        .SHARD_STATS_COLLECTION_THREADS_SETTING,
+                                PerformanceAnalyzerClusterSettings
+                                        .SHARD_STATS_COLLECTION_BUDGET_SETTING,
+                                PerformanceAnalyzerClusterSettings
+                                        .PENDING_TASKS_STARVATION_THRESHOLD_SETTING,
+                                PerformanceAnalyzerClusterSettings.JFR_EVENTS_SETTING,
+                                PerformanceAnalyzerClusterSettings
+                                        .REQUEST_CACHE_SIMULATOR_SETTING),
                         Collections.singletonList(
                                 PerformanceAnalyzerClusterSettings.CONFIG_OVERRIDES_SETTING));
         configOverridesClusterSettingHandler =
@@ -210,8 +241,33 @@ public final class PerformanceAnalyzerPlugin extends Plugin
                 PerformanceAnalyzerClusterSettings.PA_COLLECTORS_SETTING,
                 performanceAnalyzerCollectorsSettingHandler);
 
+        clusterSettingsManager.addSubscriberForIntSetting(
+                PerformanceAnalyzerClusterSettings.SHARD_STATS_COLLECTION_THREADS_SETTING,
+                ShardStatsSnapshotService.INSTANCE::setCollectionThreads);
+        clusterSettingsManager.addSubscriberForIntSetting(
+                PerformanceAnalyzerClusterSettings.SHARD_STATS_COLLECTION_BUDGET_SETTING,
+                ShardStatsSnapshotService.INSTANCE::setCollectionBudgetMillis);
+        clusterManagerServiceMetrics = new ClusterManagerServiceMetrics();
+        clusterSettingsManager.addSubscriberForIntSetting(
+                PerformanceAnalyzerClusterSettings.PENDING_TASKS_STARVATION_THRESHOLD_SETTING,
+                clusterManagerServiceMetrics::setStarvationThresholdMillis);
+        jfrEventsCollector =
+                new JfrEventsCollector(performanceAnalyzerController, configOverridesWrapper);
+        clusterSettingsManager.addSubscriberForIntSetting(
+                PerformanceAnalyzerClusterSettings.JFR_EVENTS_SETTING,
+                jfrEventsCollector::setState);
+        clusterSettingsManager.addSubscriberForIntSetting(
+                PerformanceAnalyzerClusterSettings.REQUEST_CACHE_SIMULATOR_SETTING,
+                RequestCacheSimulator.INSTANCE::setState);
+
+        shardStateCollector =
+                new ShardStateCollector(performanceAnalyzerController, configOverridesWrapper);
+        nodeDetailsCollector = new NodeDetailsCollector(configOverridesWrapper);
+        electionTermCollector =
+                new ElectionTermCollector(performanceAnalyzerController, configOverridesWrapper);
         scheduleTelemetryCollectors();
         scheduleRcaCollectors();
+        AccessorRegistry.INSTANCE.logCapabilityReport();
 
         scheduledMetricCollectorsExecutor.start();
 
@@ -234,6 +290,12 @@ public final class PerformanceAnalyzerPlugin extends Plugin
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new RTFThreadPoolMetricsCollector(
                         performanceAnalyzerController, configOverridesWrapper));
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
+                new RTFThreadPoolResourceCollector(
+                        performanceAnalyzerController, configOverridesWrapper));
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
+                new RTFThreadContentionCollector(
+                        performanceAnalyzerController, configOverridesWrapper));
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new RTFNodeStatsAllShardsMetricsCollector(
                         performanceAnalyzerController, configOverridesWrapper));
@@ -250,17 +312,20 @@ public final class PerformanceAnalyzerPlugin extends Plugin
                 new ThreadPoolMetricsCollector());
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new HeapMetricsCollector());
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
-                new NodeStatsAllShardsMetricsCollector(performanceAnalyzerController));
+                new NodeStatsAllShardsMetricsCollector());
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new SegmentMergeCollector());
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new RefreshFlushCollector());
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new TranslogCollector());
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
+                new ShardDiskIOCollector(performanceAnalyzerController));
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new DisksCollector());
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new CacheConfigMetricsCollector());
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new CircuitBreakerCollector());
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new OSMetricsCollector());
-        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
-                new NodeDetailsCollector(configOverridesWrapper));
-        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
-                new ClusterManagerServiceMetrics());
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(nodeDetailsCollector);
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(clusterManagerServiceMetrics);
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new ClusterManagerServiceEventMetrics());
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
@@ -269,8 +334,7 @@ public final class PerformanceAnalyzerPlugin extends Plugin
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new FaultDetectionMetricsCollector(
                         performanceAnalyzerController, configOverridesWrapper));
-        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
-                new ShardStateCollector(performanceAnalyzerController, configOverridesWrapper));
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(shardStateCollector);
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new ClusterApplierServiceStatsCollector(
                         performanceAnalyzerController, configOverridesWrapper));
@@ -279,9 +343,10 @@ public final class PerformanceAnalyzerPlugin extends Plugin
                         performanceAnalyzerController, configOverridesWrapper));
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
                 new AdmissionControlMetricsCollector());
-        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
-                new ElectionTermCollector(performanceAnalyzerController, configOverridesWrapper));
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(electionTermCollector);
         scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new GCInfoCollector());
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(jfrEventsCollector);
+        scheduledMetricCollectorsExecutor.addScheduledMetricCollector(new DirectMemoryCollector());
         try {
             Class.forName(ShardIndexingPressureMetricsCollector.SHARD_INDEXING_PRESSURE_CLASS_NAME);
             scheduledMetricCollectorsExecutor.addScheduledMetricCollector(
@@ -316,6 +381,14 @@ public final class PerformanceAnalyzerPlugin extends Plugin
                 new RTFPerformanceAnalyzerSearchListener(performanceAnalyzerController);
         indexModule.addSearchOperationListener(performanceanalyzerSearchListener);
         indexModule.addSearchOperationListener(rtfPerformanceAnalyzerSearchListener);
+        indexModule.addSearchOperationListener(
+                new RequestCacheSimulatorListener(performanceAnalyzerController));
+        RTFPerformanceAnalyzerIndexingListener rtfPerformanceAnalyzerIndexingListener =
+                new RTFPerformanceAnalyzerIndexingListener(performanceAnalyzerController);
+        indexModule.addIndexOperationListener(rtfPerformanceAnalyzerIndexingListener);
+        indexModule.addIndexEventListener(rtfPerformanceAnalyzerIndexingListener);
+        ShardRegistry.INSTANCE.attach(indexModule);
+        ShardRefreshMonitor.INSTANCE.attach(indexModule);
     }
 
     // follower check, leader check
@@ -379,7 +452,8 @@ public final class PerformanceAnalyzerPlugin extends Plugin
                 performanceanalyzerConfigAction,
                 paClusterConfigAction,
                 performanceAnalyzerRp,
-                paOverridesConfigClusterAction);
+                paOverridesConfigClusterAction,
+                new RequestCacheSimulatorAction());
     }
 
     @Override
@@ -407,6 +481,9 @@ public final class PerformanceAnalyzerPlugin extends Plugin
         // initialize it. This is the earliest point at which we know ClusterService is created.
         // So, call the initialize method here.
         clusterSettingsManager.initialize();
+        clusterService.addListener(shardStateCollector);
+        clusterService.addListener(nodeDetailsCollector);
+        clusterService.addListener(electionTermCollector);
         // Initialize ShardMetricsCollector histograms
         ShardMetricsCollector.INSTANCE.initialize();
         return Collections.singletonList(performanceAnalyzerController);
@@ -433,6 +510,19 @@ public final class PerformanceAnalyzerPlugin extends Plugin
                 PerformanceAnalyzerClusterSettings.COMPOSITE_PA_SETTING,
                 PerformanceAnalyzerClusterSettings.PA_NODE_STATS_SETTING,
                 PerformanceAnalyzerClusterSettings.CONFIG_OVERRIDES_SETTING,
-                PerformanceAnalyzerClusterSettings.PA_COLLECTORS_SETTING);
+                PerformanceAnalyzerClusterSettings.PA_COLLECTORS_SETTING,
+                PerformanceAnalyzerClusterSettings.SHARD_STATS_COLLECTION_THREADS_SETTING,
+                PerformanceAnalyzerClusterSettings.SHARD_STATS_COLLECTION_BUDGET_SETTING,
+                PerformanceAnalyzerClusterSettings.PENDING_TASKS_STARVATION_THRESHOLD_SETTING,
+                PerformanceAnalyzerClusterSettings.JFR_EVENTS_SETTING,
+                PerformanceAnalyzerClusterSettings.REQUEST_CACHE_SIMULATOR_SETTING);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the JFR recording stream and the shard stats workers run on their own threads and
+        // outlive the plugin otherwise
+        jfrEventsCollector.close();
+        ShardStatsSnapshotService.INSTANCE.close();
     }
 }
@@ -9,8 +9,6 @@ import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExcep
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.ADMISSION_CONTROL_COLLECTOR_EXECUTION_TIME;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,6 +21,7 @@ import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
 import org.opensearch.performanceanalyzer.commons.stats.ServiceMetrics;
 import org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics;
+import org.opensearch.performanceanalyzer.util.AccessorRegistry;
 
 /** AdmissionControlMetricsCollector collects `UsedQuota`, `TotalQuota`, RejectionCount */
 public class AdmissionControlMetricsCollector extends PerformanceAnalyzerMetricsCollector
@@ -45,8 +44,10 @@ public class AdmissionControlMetricsCollector extends PerformanceAnalyzerMetrics
     private static final String ADMISSION_CONTROL_SERVICE =
             "com.sonian.opensearch.http.jetty.throttling.JettyAdmissionControlService";
 
-    private Class admissionControllerClass;
-    private Class jettyAdmissionControllerServiceClass;
+    private AccessorRegistry.MethodAccessor<Object> getAdmissionController;
+    private AccessorRegistry.MethodAccessor<Long> getUsedQuota;
+    private AccessorRegistry.MethodAccessor<Long> getTotalQuota;
+    private AccessorRegistry.MethodAccessor<Long> getRejectionCount;
     private final boolean admissionControllerAvailable;
 
     public AdmissionControlMetricsCollector() {
@@ -71,12 +72,8 @@ public class AdmissionControlMetricsCollector extends PerformanceAnalyzerMetrics
 
         try {
 
-            Method getAdmissionController =
-                    this.jettyAdmissionControllerServiceClass.getDeclaredMethod(
-                            "getAdmissionController", String.class);
-
-            Object globalJVMMP = getAdmissionController.invoke(null, GLOBAL_JVMMP);
-            Object requestSize = getAdmissionController.invoke(null, REQUEST_SIZE);
+            Object globalJVMMP = getAdmissionController.invokeStatic(GLOBAL_JVMMP);
+            Object requestSize = getAdmissionController.invokeStatic(REQUEST_SIZE);
 
             if (Objects.isNull(globalJVMMP) && Objects.isNull(requestSize)) {
                 return;
@@ -84,20 +81,15 @@ public class AdmissionControlMetricsCollector extends PerformanceAnalyzerMetrics
 
             value.setLength(0);
 
-            Method getUsedQuota = this.admissionControllerClass.getDeclaredMethod("getUsedQuota");
-            Method getTotalQuota = this.admissionControllerClass.getDeclaredMethod("getTotalQuota");
-            Method getRejectionCount =
-                    this.admissionControllerClass.getDeclaredMethod("getRejectionCount");
-
             if (!Objects.isNull(globalJVMMP)) {
                 value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
                         .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
                         .append(
                                 new AdmissionControlMetrics(
                                                 GLOBAL_JVMMP,
-                                                (long) getUsedQuota.invoke(globalJVMMP),
-                                                (long) getTotalQuota.invoke(globalJVMMP),
-                                                (long) getRejectionCount.invoke(globalJVMMP))
+                                                getUsedQuota.invoke(globalJVMMP),
+                                                getTotalQuota.invoke(globalJVMMP),
+                                                getRejectionCount.invoke(globalJVMMP))
                                         .serialize());
             }
 
@@ -107,14 +99,14 @@ public class AdmissionControlMetricsCollector extends PerformanceAnalyzerMetrics
                         .append(
                                 new AdmissionControlMetrics(
                                                 REQUEST_SIZE,
-                                                (long) getUsedQuota.invoke(requestSize),
-                                                (long) getTotalQuota.invoke(requestSize),
-                                                (long) getRejectionCount.invoke(requestSize))
+                                                getUsedQuota.invoke(requestSize),
+                                                getTotalQuota.invoke(requestSize),
+                                                getRejectionCount.invoke(requestSize))
                                         .serialize());
             }
 
             saveMetricValues(value.toString(), startTime);
-        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException ex) {
+        } catch (ReflectiveOperationException ex) {
             LOG.debug(
                     "[ {} ] Exception in collecting AdmissionControl Metrics: {}",
                     this::getCollectorName,
@@ -176,15 +168,33 @@ public class AdmissionControlMetricsCollector extends PerformanceAnalyzerMetrics
     private boolean canLoadAdmissionControllerClasses() {
         try {
             ClassLoader admissionControlClassLoader = this.getClass().getClassLoader().getParent();
-            this.admissionControllerClass =
+            Class<?> admissionControllerClass =
                     Class.forName(ADMISSION_CONTROLLER, false, admissionControlClassLoader);
-            this.jettyAdmissionControllerServiceClass =
+            Class<?> jettyAdmissionControllerServiceClass =
                     Class.forName(ADMISSION_CONTROL_SERVICE, false, admissionControlClassLoader);
+            this.getAdmissionController =
+                    AccessorRegistry.INSTANCE.method(
+                            jettyAdmissionControllerServiceClass,
+                            "getAdmissionController",
+                            Object.class,
+                            String.class);
+            this.getUsedQuota =
+                    AccessorRegistry.INSTANCE.method(
+                            admissionControllerClass, "getUsedQuota", Long.class);
+            this.getTotalQuota =
+                    AccessorRegistry.INSTANCE.method(
+                            admissionControllerClass, "getTotalQuota", Long.class);
+            this.getRejectionCount =
+                    AccessorRegistry.INSTANCE.method(
+                            admissionControllerClass, "getRejectionCount", Long.class);
         } catch (Exception e) {
             LOG.debug("Failed to load AdmissionControllerService classes : {}", e::toString);
             StatsCollector.instance().logException(ADMISSION_CONTROL_COLLECTOR_ERROR);
             return false;
         }
-        return true;
+        return getAdmissionController.isAvailable()
+                && getUsedQuota.isAvailable()
+                && getTotalQuota.isAvailable()
+                && getRejectionCount.isAvailable();
     }
 }
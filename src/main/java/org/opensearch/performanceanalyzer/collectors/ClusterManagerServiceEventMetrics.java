@@ -10,9 +10,6 @@ import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExcep
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.CLUSTER_MANAGER_SERVICE_EVENTS_METRICS_COLLECTOR_EXECUTION_TIME;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ThreadPoolExecutor;
 import org.apache.logging.log4j.LogManager;
@@ -20,6 +17,8 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.cluster.service.ClusterManagerService;
 import org.opensearch.cluster.service.SourcePrioritizedRunnable;
 import org.opensearch.common.util.concurrent.PrioritizedOpenSearchThreadPoolExecutor;
+import org.opensearch.common.util.concurrent.PrioritizedRunnable;
+import org.opensearch.common.util.concurrent.WrappedRunnable;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
 import org.opensearch.performanceanalyzer.commons.collectors.StatsCollector;
@@ -27,7 +26,16 @@ import org.opensearch.performanceanalyzer.commons.metrics.*;
 import org.opensearch.performanceanalyzer.commons.metrics.AllMetrics.ClusterManagerMetricDimensions;
 import org.opensearch.performanceanalyzer.commons.metrics.AllMetrics.ClusterManagerMetricValues;
 import org.opensearch.performanceanalyzer.commons.util.ThreadIDUtil;
-
+import org.opensearch.performanceanalyzer.util.AccessorRegistry;
+
+/**
+ * Samples the task the cluster manager executor is running on every collection. The executor is
+ * only read: the head of its queue of running tasks is peeked without copying the queue, and
+ * unwrapped through {@link WrappedRunnable} to the {@link SourcePrioritizedRunnable} that carries
+ * the task type and priority. A task seen for the first time is written as started, and as finished
+ * once a later collection no longer sees it; both transitions are placed at the midpoint of the
+ * sampling interval they were seen in, so the cost of a collection does not depend on the backlog.
+ */
 @SuppressWarnings("unchecked")
 public class ClusterManagerServiceEventMetrics extends PerformanceAnalyzerMetricsCollector
         implements MetricsProcessor {
@@ -37,14 +45,38 @@ public class ClusterManagerServiceEventMetrics extends PerformanceAnalyzerMetric
     private static final Logger LOG = LogManager.getLogger(ClusterManagerServiceEventMetrics.class);
     private static final int KEYS_PATH_LENGTH = 3;
     private StringBuilder value;
-    private static final int TPEXECUTOR_ADD_PENDING_PARAM_COUNT = 3;
+
+    // Currently ClusterManagerService extends MasterService, update the owner once MasterService
+    // contents are moved and class is removed.
+    private static final AccessorRegistry.FieldAccessor<PrioritizedOpenSearchThreadPoolExecutor>
+            CLUSTER_MANAGER_SERVICE_TP_EXECUTOR =
+                    AccessorRegistry.INSTANCE.field(
+                            ClusterManagerService.class,
+                            "threadPoolExecutor",
+                            PrioritizedOpenSearchThreadPoolExecutor.class);
+    private static final AccessorRegistry.FieldAccessor<Queue> PRIORITIZED_TP_EXECUTOR_CURRENT =
+            AccessorRegistry.INSTANCE.field(
+                    PrioritizedOpenSearchThreadPoolExecutor.class, "current", Queue.class);
+    private static final AccessorRegistry.FieldAccessor<Long> TIE_BREAKING_INSERTION_ORDER =
+            AccessorRegistry.INSTANCE.field(
+                    PrioritizedOpenSearchThreadPoolExecutor.class.getName()
+                            + "$TieBreakingPrioritizedRunnable",
+                    "insertionOrder",
+                    Long.class);
+    private static final AccessorRegistry.FieldAccessor<HashSet> TP_EXECUTOR_WORKERS =
+            AccessorRegistry.INSTANCE.field(ThreadPoolExecutor.class, "workers", HashSet.class);
+    private static final AccessorRegistry.FieldAccessor<Thread> TP_EXECUTOR_WORKER_THREAD =
+            AccessorRegistry.INSTANCE.field(
+                    "java.util.concurrent.ThreadPoolExecutor$Worker", "thread", Thread.class);
+
     private Queue<Runnable> clusterManagerServiceCurrentQueue;
     private PrioritizedOpenSearchThreadPoolExecutor prioritizedOpenSearchThreadPoolExecutor;
     private HashSet<Object> clusterManagerServiceWorkers;
     private long currentThreadId;
     private Object currentWorker;
-
-    @VisibleForTesting long lastTaskInsertionOrder;
+    // the cluster manager executor runs a single thread, so at most one task is running
+    private Runnable runningTask;
+    @VisibleForTesting TaskEvent runningEvent;
 
     public ClusterManagerServiceEventMetrics() {
         super(
@@ -57,7 +89,8 @@ public class ClusterManagerServiceEventMetrics extends PerformanceAnalyzerMetric
         prioritizedOpenSearchThreadPoolExecutor = null;
         currentWorker = null;
         currentThreadId = -1;
-        lastTaskInsertionOrder = -1;
+        runningTask = null;
+        runningEvent = null;
         value = new StringBuilder();
     }
 
@@ -88,77 +121,26 @@ public class ClusterManagerServiceEventMetrics extends PerformanceAnalyzerMetric
                 return;
             }
 
-            value.setLength(0);
             Queue<Runnable> current = getClusterManagerServiceCurrentQueue();
-
-            if (Objects.isNull(current) || current.size() == 0) {
-                generateFinishMetrics(startTime);
+            Runnable head = Objects.isNull(current) ? null : current.peek();
+            if (head == runningTask) {
                 return;
             }
-
-            List<PrioritizedOpenSearchThreadPoolExecutor.Pending> pending = new ArrayList<>();
-
-            Object[] parameters = new Object[TPEXECUTOR_ADD_PENDING_PARAM_COUNT];
-            parameters[0] = new ArrayList<>(current);
-            parameters[1] = pending;
-            parameters[2] = true;
-
-            getPrioritizedTPExecutorAddPendingMethod()
-                    .invoke(prioritizedOpenSearchThreadPoolExecutor, parameters);
-
-            if (pending.size() != 0) {
-                PrioritizedOpenSearchThreadPoolExecutor.Pending firstPending = pending.get(0);
-
-                if (lastTaskInsertionOrder != firstPending.insertionOrder) {
-                    generateFinishMetrics(startTime);
-                    SourcePrioritizedRunnable task = (SourcePrioritizedRunnable) firstPending.task;
-                    lastTaskInsertionOrder = firstPending.insertionOrder;
-                    int firstSpaceIndex = task.source().indexOf(" ");
-                    value.append(PerformanceAnalyzerMetrics.getCurrentTimeMetric());
-                    PerformanceAnalyzerMetrics.addMetricEntry(
-                            value,
-                            ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_PRIORITY.toString(),
-                            firstPending.priority.toString());
-                    // - as it is sampling, we won't exactly know the start time of the current
-                    // task, we will be
-                    // - capturing start time as midpoint of previous time bucket
-                    PerformanceAnalyzerMetrics.addMetricEntry(
-                            value,
-                            ClusterManagerMetricValues.START_TIME.toString(),
-                            startTime - SAMPLING_TIME_INTERVAL / 2);
-                    PerformanceAnalyzerMetrics.addMetricEntry(
-                            value,
-                            ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_TYPE.toString(),
-                            firstSpaceIndex == -1
-                                    ? task.source()
-                                    : task.source().substring(0, firstSpaceIndex));
-                    PerformanceAnalyzerMetrics.addMetricEntry(
-                            value,
-                            ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_METADATA.toString(),
-                            firstSpaceIndex == -1 ? "" : task.source().substring(firstSpaceIndex));
-                    PerformanceAnalyzerMetrics.addMetricEntry(
-                            value,
-                            ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_QUEUE_TIME
-                                    .toString(),
-                            task.getAgeInMillis());
-
-                    saveMetricValues(
-                            value.toString(),
-                            startTime,
-                            String.valueOf(getClusterManagerThreadId()),
-                            String.valueOf(lastTaskInsertionOrder),
-                            PerformanceAnalyzerMetrics.START_FILE_NAME);
-
-                    value.setLength(0);
+            // - as it is sampling, we won't exactly know when the task started or finished, we
+            // - capture both as the midpoint of the previous time bucket
+            long transitionTime = startTime - SAMPLING_TIME_INTERVAL / 2;
+            if (runningEvent != null) {
+                generateFinishMetrics(runningEvent.finished(transitionTime), startTime);
+                runningEvent = null;
+            }
+            runningTask = head;
+            if (head != null) {
+                runningEvent = describe(head, transitionTime);
+                if (runningEvent != null) {
+                    generateStartMetrics(runningEvent, startTime);
                 }
-            } else {
-                generateFinishMetrics(startTime);
             }
-        } catch (NoSuchFieldException
-                | NoSuchMethodException
-                | InvocationTargetException
-                | IllegalAccessException
-                | ClassNotFoundException e) {
+        } catch (ReflectiveOperationException e) {
             LOG.debug(
                     "[ {} ] Exception raised while getting Cluster Manager Service Event metrics: {} ",
                     this::getCollectorName,
@@ -169,123 +151,150 @@ public class ClusterManagerServiceEventMetrics extends PerformanceAnalyzerMetric
     }
 
     @VisibleForTesting
-    void generateFinishMetrics(long startTime) {
-        if (lastTaskInsertionOrder != -1) {
-            value.append(PerformanceAnalyzerMetrics.getCurrentTimeMetric());
-            PerformanceAnalyzerMetrics.addMetricEntry(
-                    value,
-                    ClusterManagerMetricValues.FINISH_TIME.toString(),
-                    startTime - SAMPLING_TIME_INTERVAL / 2);
-            saveMetricValues(
-                    value.toString(),
-                    startTime,
-                    String.valueOf(currentThreadId),
-                    String.valueOf(lastTaskInsertionOrder),
-                    PerformanceAnalyzerMetrics.FINISH_FILE_NAME);
-            value.setLength(0);
-            lastTaskInsertionOrder = -1;
-        }
+    void generateStartMetrics(TaskEvent event, long startTime) {
+        value.setLength(0);
+        value.append(PerformanceAnalyzerMetrics.getCurrentTimeMetric());
+        PerformanceAnalyzerMetrics.addMetricEntry(
+                value,
+                ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_PRIORITY.toString(),
+                event.priority);
+        PerformanceAnalyzerMetrics.addMetricEntry(
+                value, ClusterManagerMetricValues.START_TIME.toString(), event.startTime);
+        PerformanceAnalyzerMetrics.addMetricEntry(
+                value,
+                ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_TYPE.toString(),
+                event.type);
+        PerformanceAnalyzerMetrics.addMetricEntry(
+                value,
+                ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_METADATA.toString(),
+                event.metadata);
+        PerformanceAnalyzerMetrics.addMetricEntry(
+                value,
+                ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_QUEUE_TIME.toString(),
+                event.queueTimeMillis);
+        saveMetricValues(
+                value.toString(),
+                startTime,
+                String.valueOf(event.threadId),
+                String.valueOf(event.insertionOrder),
+                PerformanceAnalyzerMetrics.START_FILE_NAME);
+        value.setLength(0);
+    }
+
+    @VisibleForTesting
+    void generateFinishMetrics(TaskEvent event, long startTime) {
+        value.setLength(0);
+        value.append(PerformanceAnalyzerMetrics.getCurrentTimeMetric());
+        PerformanceAnalyzerMetrics.addMetricEntry(
+                value, ClusterManagerMetricValues.FINISH_TIME.toString(), event.finishTime);
+        saveMetricValues(
+                value.toString(),
+                startTime,
+                String.valueOf(event.threadId),
+                String.valueOf(event.insertionOrder),
+                PerformanceAnalyzerMetrics.FINISH_FILE_NAME);
+        value.setLength(0);
     }
 
     // - Separated to have a unit test; and catch any code changes around this field
-    Field getClusterManagerServiceTPExecutorField() throws NoSuchFieldException {
-        // Currently ClusterManagerService extends MasterService, remove getSuperClass(),
-        // once MasterService contents are moved and class is removed.
-        Field threadPoolExecutorField =
-                ClusterManagerService.class.getDeclaredField("threadPoolExecutor");
-        threadPoolExecutorField.setAccessible(true);
-        return threadPoolExecutorField;
+    AccessorRegistry.FieldAccessor<PrioritizedOpenSearchThreadPoolExecutor>
+            getClusterManagerServiceTPExecutorField() {
+        return CLUSTER_MANAGER_SERVICE_TP_EXECUTOR;
     }
 
     // - Separated to have a unit test; and catch any code changes around this field
-    Field getPrioritizedTPExecutorCurrentField() throws NoSuchFieldException {
-        Field currentField =
-                PrioritizedOpenSearchThreadPoolExecutor.class.getDeclaredField("current");
-        currentField.setAccessible(true);
-        return currentField;
+    AccessorRegistry.FieldAccessor<Queue> getPrioritizedTPExecutorCurrentField() {
+        return PRIORITIZED_TP_EXECUTOR_CURRENT;
     }
 
     // - Separated to have a unit test; and catch any code changes around this field
-    Field getTPExecutorWorkersField() throws NoSuchFieldException {
-        Field workersField = ThreadPoolExecutor.class.getDeclaredField("workers");
-        workersField.setAccessible(true);
-        return workersField;
+    AccessorRegistry.FieldAccessor<Long> getTieBreakingInsertionOrderField() {
+        return TIE_BREAKING_INSERTION_ORDER;
     }
 
     // - Separated to have a unit test; and catch any code changes around this field
-    Method getPrioritizedTPExecutorAddPendingMethod() throws NoSuchMethodException {
-        Class<?>[] classArray = new Class<?>[TPEXECUTOR_ADD_PENDING_PARAM_COUNT];
-        classArray[0] = List.class;
-        classArray[1] = List.class;
-        classArray[2] = boolean.class;
-        Method addPendingMethod =
-                PrioritizedOpenSearchThreadPoolExecutor.class.getDeclaredMethod(
-                        "addPending", classArray);
-        addPendingMethod.setAccessible(true);
-        return addPendingMethod;
+    AccessorRegistry.FieldAccessor<HashSet> getTPExecutorWorkersField() {
+        return TP_EXECUTOR_WORKERS;
     }
 
-    Queue<Runnable> getClusterManagerServiceCurrentQueue()
-            throws NoSuchFieldException, IllegalAccessException {
-        if (clusterManagerServiceCurrentQueue == null) {
-            if (OpenSearchResources.INSTANCE.getClusterService() != null) {
-                ClusterManagerService clusterManagerService =
-                        OpenSearchResources.INSTANCE.getClusterService().getClusterManagerService();
+    AccessorRegistry.FieldAccessor<Thread> getWorkerThreadField() {
+        return TP_EXECUTOR_WORKER_THREAD;
+    }
 
-                if (clusterManagerService != null) {
-                    if (prioritizedOpenSearchThreadPoolExecutor == null) {
-                        prioritizedOpenSearchThreadPoolExecutor =
-                                (PrioritizedOpenSearchThreadPoolExecutor)
-                                        getClusterManagerServiceTPExecutorField()
-                                                .get(clusterManagerService);
-                    }
+    /**
+     * Describes a task the executor is running. Returns null for tasks that are not cluster manager
+     * tasks, such as futures submitted directly to the executor, or that finished between the peek
+     * and this call.
+     */
+    @VisibleForTesting
+    TaskEvent describe(Runnable head, long startTime) throws ReflectiveOperationException {
+        Runnable task = head;
+        while (task instanceof WrappedRunnable) {
+            task = ((WrappedRunnable) task).unwrap();
+        }
+        if (!(head instanceof PrioritizedRunnable)
+                || !(task instanceof SourcePrioritizedRunnable)) {
+            return null;
+        }
+        String source = ((SourcePrioritizedRunnable) task).source();
+        int firstSpaceIndex = source.indexOf(' ');
+        // the age keeps growing while the task runs, take out the time since it started
+        long queueTime =
+                Math.max(
+                        0,
+                        ((PrioritizedRunnable) head).getAgeInMillis()
+                                - (System.currentTimeMillis() - startTime));
+        return new TaskEvent(
+                getClusterManagerThreadId(),
+                getTieBreakingInsertionOrderField().get(head),
+                ((PrioritizedRunnable) head).priority().toString(),
+                firstSpaceIndex == -1 ? source : source.substring(0, firstSpaceIndex),
+                firstSpaceIndex == -1 ? "" : source.substring(firstSpaceIndex),
+                queueTime,
+                startTime);
+    }
 
-                    if (prioritizedOpenSearchThreadPoolExecutor != null) {
-                        clusterManagerServiceCurrentQueue =
-                                (Queue<Runnable>)
-                                        getPrioritizedTPExecutorCurrentField()
-                                                .get(prioritizedOpenSearchThreadPoolExecutor);
-                    } else {
-                        StatsCollector.instance().logException(CLUSTER_MANAGER_NODE_NOT_UP);
-                    }
-                }
+    Queue<Runnable> getClusterManagerServiceCurrentQueue() throws ReflectiveOperationException {
+        if (clusterManagerServiceCurrentQueue == null) {
+            if (getClusterManagerServiceTPExecutor() != null) {
+                clusterManagerServiceCurrentQueue =
+                        (Queue<Runnable>)
+                                getPrioritizedTPExecutorCurrentField()
+                                        .get(prioritizedOpenSearchThreadPoolExecutor);
+            } else {
+                StatsCollector.instance().logException(CLUSTER_MANAGER_NODE_NOT_UP);
             }
         }
 
         return clusterManagerServiceCurrentQueue;
     }
 
-    HashSet<Object> getClusterManagerServiceWorkers()
-            throws NoSuchFieldException, IllegalAccessException {
-        if (clusterManagerServiceWorkers == null) {
-            if (OpenSearchResources.INSTANCE.getClusterService() != null) {
-                ClusterManagerService clusterManagerService =
-                        OpenSearchResources.INSTANCE.getClusterService().getClusterManagerService();
-
-                if (clusterManagerService != null) {
-                    if (prioritizedOpenSearchThreadPoolExecutor == null) {
-                        prioritizedOpenSearchThreadPoolExecutor =
-                                (PrioritizedOpenSearchThreadPoolExecutor)
-                                        getClusterManagerServiceTPExecutorField()
-                                                .get(clusterManagerService);
-                    }
-
-                    clusterManagerServiceWorkers =
-                            (HashSet<Object>)
-                                    getTPExecutorWorkersField()
-                                            .get(prioritizedOpenSearchThreadPoolExecutor);
-                }
-            }
+    HashSet<Object> getClusterManagerServiceWorkers() throws ReflectiveOperationException {
+        if (clusterManagerServiceWorkers == null && getClusterManagerServiceTPExecutor() != null) {
+            clusterManagerServiceWorkers =
+                    (HashSet<Object>)
+                            getTPExecutorWorkersField()
+                                    .get(prioritizedOpenSearchThreadPoolExecutor);
         }
 
         return clusterManagerServiceWorkers;
     }
 
-    long getClusterManagerThreadId()
-            throws NoSuchFieldException, IllegalAccessException, ClassNotFoundException {
+    private PrioritizedOpenSearchThreadPoolExecutor getClusterManagerServiceTPExecutor()
+            throws ReflectiveOperationException {
+        if (prioritizedOpenSearchThreadPoolExecutor == null) {
+            ClusterManagerService clusterManagerService =
+                    OpenSearchResources.INSTANCE.getClusterService().getClusterManagerService();
+            prioritizedOpenSearchThreadPoolExecutor =
+                    getClusterManagerServiceTPExecutorField().get(clusterManagerService);
+        }
+        return prioritizedOpenSearchThreadPoolExecutor;
+    }
+
+    long getClusterManagerThreadId() throws ReflectiveOperationException {
         HashSet<Object> currentWorkers = getClusterManagerServiceWorkers();
 
-        if (currentWorkers.size() > 0) {
+        if (currentWorkers != null && currentWorkers.size() > 0) {
             if (currentWorkers.size() > 1) {
                 LOG.error(
                         "ClusterManager threads are more than 1 (expected); current ClusterManager threads count: {}",
@@ -296,8 +305,7 @@ public class ClusterManagerServiceEventMetrics extends PerformanceAnalyzerMetric
                 Object currentTopWorker = currentWorkers.iterator().next();
                 if (currentWorker != currentTopWorker) {
                     currentWorker = currentTopWorker;
-                    Thread clusterManagerThread =
-                            (Thread) getWorkerThreadField().get(currentWorker);
+                    Thread clusterManagerThread = getWorkerThreadField().get(currentWorker);
                     currentThreadId =
                             ThreadIDUtil.INSTANCE.getNativeThreadId(clusterManagerThread.getId());
                 }
@@ -310,11 +318,66 @@ public class ClusterManagerServiceEventMetrics extends PerformanceAnalyzerMetric
         return currentThreadId;
     }
 
-    Field getWorkerThreadField() throws ClassNotFoundException, NoSuchFieldException {
-        Class<?> tpExecutorWorkerClass =
-                Class.forName("java.util.concurrent.ThreadPoolExecutor$Worker");
-        Field workerField = tpExecutorWorkerClass.getDeclaredField("thread");
-        workerField.setAccessible(true);
-        return workerField;
+    /** Start, and once finished, finish of a cluster manager task. */
+    @VisibleForTesting
+    static final class TaskEvent {
+        final long threadId;
+        final long insertionOrder;
+        final String priority;
+        final String type;
+        final String metadata;
+        final long queueTimeMillis;
+        final long startTime;
+        final long finishTime;
+
+        TaskEvent(
+                long threadId,
+                long insertionOrder,
+                String priority,
+                String type,
+                String metadata,
+                long queueTimeMillis,
+                long startTime) {
+            this(
+                    threadId,
+                    insertionOrder,
+                    priority,
+                    type,
+                    metadata,
+                    queueTimeMillis,
+                    startTime,
+                    -1);
+        }
+
+        private TaskEvent(
+                long threadId,
+                long insertionOrder,
+                String priority,
+                String type,
+                String metadata,
+                long queueTimeMillis,
+                long startTime,
+                long finishTime) {
+            this.threadId = threadId;
+            this.insertionOrder = insertionOrder;
+            this.priority = priority;
+            this.type = type;
+            this.metadata = metadata;
+            this.queueTimeMillis = queueTimeMillis;
+            this.startTime = startTime;
+            this.finishTime = finishTime;
+        }
+
+        TaskEvent finished(long finishTime) {
+            return new TaskEvent(
+                    threadId,
+                    insertionOrder,
+                    priority,
+                    type,
+                    metadata,
+                    queueTimeMillis,
+                    startTime,
+                    finishTime);
+        }
     }
 }
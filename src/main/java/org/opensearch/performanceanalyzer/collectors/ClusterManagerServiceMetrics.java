@@ -9,30 +9,59 @@ import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExcep
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.CLUSTER_MANAGER_SERVICE_METRICS_COLLECTOR_EXECUTION_TIME;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.cluster.service.PendingClusterTask;
+import org.opensearch.common.Priority;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.metrics.AllMetrics;
 import org.opensearch.performanceanalyzer.commons.metrics.AllMetrics.ClusterManagerPendingTaskDimension;
 import org.opensearch.performanceanalyzer.commons.metrics.AllMetrics.ClusterManagerPendingValue;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
 
+/**
+ * Summarizes the pending cluster manager tasks in one pass. The task count per type is written for
+ * RCA as before; in addition the count, the oldest queue age and the p50/p99 queue age are
+ * recorded per task type and priority, along with the number of tasks of priority below {@link
+ * Priority#NORMAL} that waited longer than the starvation threshold.
+ */
 @SuppressWarnings("unchecked")
 public class ClusterManagerServiceMetrics extends PerformanceAnalyzerMetricsCollector
         implements MetricsProcessor {
     public static final int SAMPLING_TIME_INTERVAL =
             MetricsConfiguration.CONFIG_MAP.get(ClusterManagerServiceMetrics.class)
                     .samplingInterval;
+    public static final String PENDING_TASKS_COUNT = "cluster_manager_pending_tasks_count";
+    public static final String PENDING_TASK_OLDEST_AGE = "cluster_manager_pending_task_oldest_age";
+    public static final String PENDING_TASK_AGE_P50 = "cluster_manager_pending_task_age_p50";
+    public static final String PENDING_TASK_AGE_P99 = "cluster_manager_pending_task_age_p99";
+    public static final String PENDING_TASKS_STARVED = "cluster_manager_pending_tasks_starved";
+    public static final int DEFAULT_STARVATION_THRESHOLD_MILLIS = 300_000;
     private static final Logger LOG = LogManager.getLogger(ClusterManagerServiceMetrics.class);
     private static final int KEYS_PATH_LENGTH = 2;
+    private static final Priority[] PRIORITIES = Priority.values();
     private StringBuilder value;
+    private volatile int starvationThresholdMillis;
+    private boolean starving;
+    private Histogram countHistogram;
+    private Histogram oldestAgeHistogram;
+    private Histogram p50AgeHistogram;
+    private Histogram p99AgeHistogram;
+    private Histogram starvedHistogram;
 
     public ClusterManagerServiceMetrics() {
         super(
@@ -41,6 +70,19 @@ public class ClusterManagerServiceMetrics extends PerformanceAnalyzerMetricsColl
                 CLUSTER_MANAGER_SERVICE_METRICS_COLLECTOR_EXECUTION_TIME,
                 CLUSTER_MANAGER_SERVICE_METRICS_COLLECTOR_ERROR);
         value = new StringBuilder();
+        starvationThresholdMillis = DEFAULT_STARVATION_THRESHOLD_MILLIS;
+        starving = false;
+    }
+
+    /**
+     * Sets how long a low priority task may wait before it counts as starved.
+     *
+     * @param thresholdMillis threshold in milliseconds; 0 disables starvation detection
+     */
+    public void setStarvationThresholdMillis(Integer thresholdMillis) {
+        if (thresholdMillis != null) {
+            starvationThresholdMillis = Math.max(0, thresholdMillis);
+        }
     }
 
     @Override
@@ -78,33 +120,182 @@ public class ClusterManagerServiceMetrics extends PerformanceAnalyzerMetricsColl
                         .getClusterService()
                         .getClusterManagerService()
                         .pendingTasks();
-        HashMap<String, Integer> pendingTaskCountPerTaskType = new HashMap<>();
-
-        pendingTasks.stream()
-                .forEach(
-                        pendingTask -> {
-                            String pendingTaskType =
-                                    pendingTask.getSource().toString().split(" ", 2)[0];
-                            pendingTaskCountPerTaskType.put(
-                                    pendingTaskType,
-                                    pendingTaskCountPerTaskType.getOrDefault(pendingTaskType, 0)
-                                            + 1);
-                        });
+        Map<String, PendingTaskGroup[]> groups = groupPendingTasks(pendingTasks);
 
         value.setLength(0);
         value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds());
-        pendingTaskCountPerTaskType.forEach(
-                (pendingTaskType, PendingTaskValue) -> {
-                    value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-                    value.append(
-                            new ClusterManagerPendingStatus(pendingTaskType, PendingTaskValue)
-                                    .serialize());
-                });
+        int starved = 0;
+        for (Map.Entry<String, PendingTaskGroup[]> entry : groups.entrySet()) {
+            int count = 0;
+            for (PendingTaskGroup group : entry.getValue()) {
+                if (group != null) {
+                    count += group.getCount();
+                    starved += group.getStarved();
+                    recordMetrics(group);
+                }
+            }
+            value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
+            value.append(new ClusterManagerPendingStatus(entry.getKey(), count).serialize());
+        }
         saveMetricValues(
                 value.toString(),
                 startTime,
                 PerformanceAnalyzerMetrics.CLUSTER_MANAGER_CURRENT,
                 PerformanceAnalyzerMetrics.CLUSTER_MANAGER_META_DATA);
+
+        if (starved > 0 && !starving) {
+            LOG.warn(
+                    "{} low priority cluster manager tasks have been pending for more than {} ms",
+                    starved,
+                    starvationThresholdMillis);
+        }
+        starving = starved > 0;
+    }
+
+    /**
+     * Groups the pending tasks by type, the source up to the first space, and priority.
+     *
+     * @return per task type, the groups indexed by {@link Priority#ordinal()}; unused slots are
+     *     null
+     */
+    @VisibleForTesting
+    Map<String, PendingTaskGroup[]> groupPendingTasks(List<PendingClusterTask> pendingTasks) {
+        long threshold = starvationThresholdMillis;
+        Map<String, PendingTaskGroup[]> groups = new HashMap<>();
+        for (PendingClusterTask pendingTask : pendingTasks) {
+            String source = pendingTask.getSource().string();
+            int firstSpaceIndex = source.indexOf(' ');
+            String type = firstSpaceIndex == -1 ? source : source.substring(0, firstSpaceIndex);
+            Priority priority = pendingTask.getPriority();
+
+            PendingTaskGroup[] byPriority =
+                    groups.computeIfAbsent(type, key -> new PendingTaskGroup[PRIORITIES.length]);
+            PendingTaskGroup group = byPriority[priority.ordinal()];
+            if (group == null) {
+                group = new PendingTaskGroup(type, priority);
+                byPriority[priority.ordinal()] = group;
+            }
+            long age = pendingTask.getTimeInQueueInMillis();
+            group.add(age, threshold > 0 && priority.after(Priority.NORMAL) && age > threshold);
+        }
+        return groups;
+    }
+
+    private void recordMetrics(PendingTaskGroup group) {
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            return;
+        }
+        if (countHistogram == null) {
+            String unit = RTFMetrics.MetricUnits.MILLISECOND.toString();
+            countHistogram =
+                    metricsRegistry.createHistogram(
+                            PENDING_TASKS_COUNT,
+                            "Number of pending cluster manager tasks",
+                            RTFMetrics.MetricUnits.COUNT.toString());
+            oldestAgeHistogram =
+                    metricsRegistry.createHistogram(
+                            PENDING_TASK_OLDEST_AGE,
+                            "Queue age of the oldest pending cluster manager task",
+                            unit);
+            p50AgeHistogram =
+                    metricsRegistry.createHistogram(
+                            PENDING_TASK_AGE_P50,
+                            "Median queue age of pending cluster manager tasks",
+                            unit);
+            p99AgeHistogram =
+                    metricsRegistry.createHistogram(
+                            PENDING_TASK_AGE_P99,
+                            "99th percentile queue age of pending cluster manager tasks",
+                            unit);
+            starvedHistogram =
+                    metricsRegistry.createHistogram(
+                            PENDING_TASKS_STARVED,
+                            "Low priority cluster manager tasks pending beyond the starvation"
+                                    + " threshold",
+                            RTFMetrics.MetricUnits.COUNT.toString());
+        }
+        Tags tags =
+                Tags.create()
+                        .addTag(
+                                ClusterManagerPendingTaskDimension.PENDING_TASK_TYPE.toString(),
+                                group.getType())
+                        .addTag(
+                                AllMetrics.ClusterManagerMetricDimensions
+                                        .CLUSTER_MANAGER_TASK_PRIORITY
+                                        .toString(),
+                                group.getPriority().toString());
+        countHistogram.record(group.getCount(), tags);
+        oldestAgeHistogram.record(group.getOldestAge(), tags);
+        p50AgeHistogram.record(group.getAgePercentile(0.5), tags);
+        p99AgeHistogram.record(group.getAgePercentile(0.99), tags);
+        if (group.getStarved() > 0) {
+            starvedHistogram.record(group.getStarved(), tags);
+        }
+    }
+
+    /** Queue ages of the pending tasks of one type and priority. */
+    @VisibleForTesting
+    static final class PendingTaskGroup {
+        private final String type;
+        private final Priority priority;
+        private long[] ages;
+        private int count;
+        private int starved;
+        private boolean sorted;
+
+        PendingTaskGroup(String type, Priority priority) {
+            this.type = type;
+            this.priority = priority;
+            this.ages = new long[8];
+            this.count = 0;
+            this.starved = 0;
+            this.sorted = true;
+        }
+
+        void add(long age, boolean isStarved) {
+            if (count == ages.length) {
+                ages = Arrays.copyOf(ages, count * 2);
+            }
+            ages[count++] = age;
+            sorted = false;
+            if (isStarved) {
+                starved++;
+            }
+        }
+
+        String getType() {
+            return type;
+        }
+
+        Priority getPriority() {
+            return priority;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        int getStarved() {
+            return starved;
+        }
+
+        long getOldestAge() {
+            return getAgePercentile(1.0);
+        }
+
+        /** Nearest-rank percentile of the queue ages, {@code quantile} in (0, 1]. */
+        long getAgePercentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(ages, 0, count);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(quantile * count);
+            return ages[Math.min(count, Math.max(1, rank)) - 1];
+        }
     }
 
     public static class ClusterManagerPendingStatus extends MetricStatus {
@@ -0,0 +1,502 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.RTF_HEAP_METRICS_COLLECTOR_ERROR;
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.RTF_HEAP_METRICS_COLLECTOR_EXECUTION_TIME;
+import static org.opensearch.performanceanalyzer.util.CollectorStatMetrics.DIRECT_MEMORY_COLLECTOR;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.annotations.VisibleForTesting;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.util.AccessorRegistry;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Reports memory held outside the heap: the direct and mapped buffer pools of the JVM, and the
+ * pooled Netty allocators of the transport and HTTP layers.
+ *
+ * <p>The Netty transport runs in its own module class loader, so its allocator cannot be referenced
+ * from the plugin. The collector finds the class loader through the class of a transport or HTTP
+ * worker thread, takes the allocator from {@code org.opensearch.transport.NettyAllocator} and
+ * reads its metrics through the Netty metric interfaces of that class loader. Allocators that are
+ * not reachable on this node, for example because another transport is installed, are skipped.
+ */
+public class DirectMemoryCollector extends PerformanceAnalyzerMetricsCollector
+        implements MetricsProcessor {
+    private static final Logger LOG = LogManager.getLogger(DirectMemoryCollector.class);
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(DirectMemoryCollector.class).samplingInterval;
+    private static final int KEYS_PATH_LENGTH = 0;
+    public static final String PATH_TO_STORE_METRICS = "direct_memory";
+
+    public static final String BUFFER_POOL_USED = "jvm_buffer_pool_used";
+    public static final String BUFFER_POOL_CAPACITY = "jvm_buffer_pool_capacity";
+    public static final String BUFFER_POOL_COUNT = "jvm_buffer_pool_count";
+    public static final String NETTY_USED_DIRECT = "netty_allocator_used_direct";
+    public static final String NETTY_USED_HEAP = "netty_allocator_used_heap";
+    public static final String NETTY_ACTIVE_BYTES = "netty_allocator_active_bytes";
+    public static final String NETTY_THREAD_CACHES = "netty_allocator_thread_caches";
+    public static final String NETTY_CHUNKS = "netty_allocator_chunks";
+    public static final String BUFFER_POOL_TAG = "buffer_pool";
+    public static final String ALLOCATOR_TAG = "allocator";
+
+    private static final String NETTY_ALLOCATOR_CLASS_NAME =
+            "org.opensearch.transport.NettyAllocator";
+    /** Most runs skipped between two scans of the threads for the missing allocators. */
+    @VisibleForTesting static final int MAX_SCAN_BACKOFF = 64;
+
+    /** Worker thread name marker of each allocator, in the order allocators are reported. */
+    private static final Map<String, String> ALLOCATOR_THREADS = new LinkedHashMap<>();
+
+    static {
+        ALLOCATOR_THREADS.put("transport", "[transport_worker]");
+        ALLOCATOR_THREADS.put("http", "[http_server_worker]");
+    }
+
+    private final List<BufferPoolMXBean> bufferPools;
+    private final Map<String, Object> allocators;
+    private final Set<String> resolvedAllocators;
+    private final Map<ClassLoader, NettyAllocatorReader> readers;
+    private final Map<ClassLoader, AccessorRegistry.MethodAccessor<Object>> allocatorGetters;
+    private final StringBuilder value;
+    private int scanBackoff;
+    private int runsUntilScan;
+    private int scans;
+
+    private Histogram bufferPoolUsedHistogram;
+    private Histogram bufferPoolCapacityHistogram;
+    private Histogram bufferPoolCountHistogram;
+    private Histogram nettyUsedDirectHistogram;
+    private Histogram nettyUsedHeapHistogram;
+    private Histogram nettyActiveBytesHistogram;
+    private Histogram nettyThreadCachesHistogram;
+    private Histogram nettyChunksHistogram;
+
+    public DirectMemoryCollector() {
+        super(
+                SAMPLING_TIME_INTERVAL,
+                DIRECT_MEMORY_COLLECTOR.getCollectorName(),
+                RTF_HEAP_METRICS_COLLECTOR_EXECUTION_TIME,
+                RTF_HEAP_METRICS_COLLECTOR_ERROR);
+        this.bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+        this.allocators = new LinkedHashMap<>();
+        this.resolvedAllocators = new HashSet<>();
+        this.readers = new HashMap<>();
+        this.allocatorGetters = new HashMap<>();
+        this.value = new StringBuilder();
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        DIRECT_MEMORY_COLLECTOR.measure(() -> collect(startTime));
+    }
+
+    private void collect(long startTime) {
+        List<BufferPoolStatus> pools = new ArrayList<>(bufferPools.size());
+        for (BufferPoolMXBean bufferPool : bufferPools) {
+            pools.add(
+                    new BufferPoolStatus(
+                            bufferPool.getName(),
+                            bufferPool.getCount(),
+                            bufferPool.getMemoryUsed(),
+                            bufferPool.getTotalCapacity()));
+        }
+
+        resolveAllocators();
+        List<NettyAllocatorStatus> nettyAllocators = new ArrayList<>(allocators.size());
+        for (Map.Entry<String, Object> allocator : allocators.entrySet()) {
+            NettyAllocatorReader reader =
+                    getReader(allocator.getValue().getClass().getClassLoader());
+            try {
+                NettyAllocatorStatus status = reader.read(allocator.getKey(), allocator.getValue());
+                if (status != null) {
+                    nettyAllocators.add(status);
+                }
+            } catch (ReflectiveOperationException e) {
+                LOG.debug("Unable to read the {} Netty allocator: {}", allocator.getKey(), e);
+            }
+        }
+
+        value.setLength(0);
+        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds());
+        for (BufferPoolStatus pool : pools) {
+            value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                    .append(pool.serialize());
+        }
+        for (NettyAllocatorStatus allocator : nettyAllocators) {
+            value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                    .append(allocator.serialize());
+        }
+        saveMetricValues(value.toString(), startTime);
+
+        recordMetrics(pools, nettyAllocators);
+    }
+
+    /**
+     * Looks for the allocators not found yet through the worker threads of their transport. An
+     * allocator shared with one found before counts as found. Walking every thread of the JVM is
+     * not free, so after a scan that finds nothing new the next one waits twice as many runs, up
+     * to {@link #MAX_SCAN_BACKOFF}; this keeps the cost low on nodes where a layer has no worker
+     * threads at all, or none yet.
+     */
+    private void resolveAllocators() {
+        if (resolvedAllocators.size() == ALLOCATOR_THREADS.size()) {
+            return;
+        }
+        if (runsUntilScan > 0) {
+            runsUntilScan--;
+            return;
+        }
+        int resolved = resolvedAllocators.size();
+        scans++;
+        Map<String, ClassLoader> loaders = findWorkerClassLoaders(resolvedAllocators);
+        // the transport and HTTP layers of one module share their allocator, report it once
+        Map<Object, Boolean> known = new IdentityHashMap<>();
+        for (Object allocator : allocators.values()) {
+            known.put(allocator, Boolean.TRUE);
+        }
+        for (Map.Entry<String, ClassLoader> loader : loaders.entrySet()) {
+            if (resolvedAllocators.contains(loader.getKey())) {
+                continue;
+            }
+            try {
+                Object allocator = getAllocatorGetter(loader.getValue()).invokeStatic();
+                if (allocator != null && known.put(allocator, Boolean.TRUE) == null) {
+                    allocators.put(loader.getKey(), allocator);
+                }
+                resolvedAllocators.add(loader.getKey());
+            } catch (ReflectiveOperationException | LinkageError e) {
+                LOG.debug("Netty allocator of {} is not reachable: {}", loader.getKey(), e);
+            }
+        }
+        if (resolvedAllocators.size() > resolved) {
+            scanBackoff = 0;
+        } else {
+            scanBackoff = Math.min(Math.max(1, scanBackoff * 2), MAX_SCAN_BACKOFF);
+        }
+        runsUntilScan = scanBackoff;
+    }
+
+    /** Resolves {@code NettyAllocator.getAllocator} once per module class loader. */
+    private AccessorRegistry.MethodAccessor<Object> getAllocatorGetter(ClassLoader classLoader)
+            throws ClassNotFoundException {
+        AccessorRegistry.MethodAccessor<Object> getter = allocatorGetters.get(classLoader);
+        if (getter == null) {
+            Class<?> nettyAllocator = Class.forName(NETTY_ALLOCATOR_CLASS_NAME, false, classLoader);
+            getter = AccessorRegistry.INSTANCE.method(nettyAllocator, "getAllocator", Object.class);
+            allocatorGetters.put(classLoader, getter);
+        }
+        return getter;
+    }
+
+    @VisibleForTesting
+    int getScans() {
+        return scans;
+    }
+
+    private static Map<String, ClassLoader> findWorkerClassLoaders(Set<String> resolved) {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        Thread[] threads = new Thread[root.activeCount() * 2];
+        int count = root.enumerate(threads, true);
+        Map<String, ClassLoader> loaders = new HashMap<>();
+        int missing = ALLOCATOR_THREADS.size() - resolved.size();
+        for (int i = 0; i < count && loaders.size() < missing; i++) {
+            String threadName = threads[i].getName();
+            for (Map.Entry<String, String> marker : ALLOCATOR_THREADS.entrySet()) {
+                if (!resolved.contains(marker.getKey())
+                        && threadName.contains(marker.getValue())) {
+                    // Netty creates its threads from the class loader of the transport module
+                    loaders.putIfAbsent(marker.getKey(), threads[i].getClass().getClassLoader());
+                }
+            }
+        }
+        return loaders;
+    }
+
+    private NettyAllocatorReader getReader(ClassLoader classLoader) {
+        return readers.computeIfAbsent(classLoader, NettyAllocatorReader::new);
+    }
+
+    private void recordMetrics(
+            List<BufferPoolStatus> pools, List<NettyAllocatorStatus> nettyAllocators) {
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            return;
+        }
+        if (bufferPoolUsedHistogram == null) {
+            String bytes = RTFMetrics.MetricUnits.BYTE.toString();
+            String count = RTFMetrics.MetricUnits.COUNT.toString();
+            bufferPoolUsedHistogram =
+                    metricsRegistry.createHistogram(
+                            BUFFER_POOL_USED, "Memory used by a JVM buffer pool", bytes);
+            bufferPoolCapacityHistogram =
+                    metricsRegistry.createHistogram(
+                            BUFFER_POOL_CAPACITY, "Capacity of the buffers of a JVM pool", bytes);
+            bufferPoolCountHistogram =
+                    metricsRegistry.createHistogram(
+                            BUFFER_POOL_COUNT, "Buffers in a JVM buffer pool", count);
+            nettyUsedDirectHistogram =
+                    metricsRegistry.createHistogram(
+                            NETTY_USED_DIRECT, "Direct memory held by a Netty allocator", bytes);
+            nettyUsedHeapHistogram =
+                    metricsRegistry.createHistogram(
+                            NETTY_USED_HEAP, "Heap memory held by a Netty allocator", bytes);
+            nettyActiveBytesHistogram =
+                    metricsRegistry.createHistogram(
+                            NETTY_ACTIVE_BYTES,
+                            "Bytes of the live buffers of the direct arenas of a Netty allocator",
+                            bytes);
+            nettyThreadCachesHistogram =
+                    metricsRegistry.createHistogram(
+                            NETTY_THREAD_CACHES, "Thread caches of a Netty allocator", count);
+            nettyChunksHistogram =
+                    metricsRegistry.createHistogram(
+                            NETTY_CHUNKS,
+                            "Chunks of the direct arenas of a Netty allocator",
+                            count);
+        }
+        for (BufferPoolStatus pool : pools) {
+            Tags tags = Tags.create().addTag(BUFFER_POOL_TAG, pool.getName());
+            bufferPoolUsedHistogram.record(pool.getMemoryUsed(), tags);
+            bufferPoolCapacityHistogram.record(pool.getTotalCapacity(), tags);
+            bufferPoolCountHistogram.record(pool.getCount(), tags);
+        }
+        for (NettyAllocatorStatus allocator : nettyAllocators) {
+            Tags tags = Tags.create().addTag(ALLOCATOR_TAG, allocator.getAllocator());
+            nettyUsedDirectHistogram.record(allocator.getUsedDirectMemory(), tags);
+            nettyUsedHeapHistogram.record(allocator.getUsedHeapMemory(), tags);
+            if (allocator.getDirectArenas() > 0) {
+                nettyActiveBytesHistogram.record(allocator.getActiveBytes(), tags);
+                nettyThreadCachesHistogram.record(allocator.getThreadLocalCaches(), tags);
+                nettyChunksHistogram.record(allocator.getChunks(), tags);
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsPath(long startTime, String... keysPath) {
+        if (keysPath.length != KEYS_PATH_LENGTH) {
+            throw new RuntimeException("keys length should be " + KEYS_PATH_LENGTH);
+        }
+        return PerformanceAnalyzerMetrics.generatePath(startTime, PATH_TO_STORE_METRICS);
+    }
+
+    /**
+     * Reads a Netty allocator through the public metric interfaces of the Netty classes of one
+     * class loader. Pooled allocators report their arenas, thread caches and chunks; other
+     * allocators only the memory they hold.
+     */
+    @VisibleForTesting
+    static final class NettyAllocatorReader {
+        // the results are still checked against List on every call
+        @SuppressWarnings("unchecked")
+        private static final Class<List<?>> LIST_TYPE = (Class<List<?>>) (Class<?>) List.class;
+
+        private final Class<?> metricProviderClass;
+        private final Class<?> pooledMetricClass;
+        private final AccessorRegistry.MethodAccessor<Object> metric;
+        private final AccessorRegistry.MethodAccessor<Long> usedDirectMemory;
+        private final AccessorRegistry.MethodAccessor<Long> usedHeapMemory;
+        private final AccessorRegistry.MethodAccessor<Integer> numThreadLocalCaches;
+        private final AccessorRegistry.MethodAccessor<List<?>> directArenas;
+        private final AccessorRegistry.MethodAccessor<Long> numActiveBytes;
+        private final AccessorRegistry.MethodAccessor<List<?>> chunkLists;
+
+        NettyAllocatorReader(ClassLoader classLoader) {
+            Class<?> metricProvider = load(classLoader, "ByteBufAllocatorMetricProvider");
+            Class<?> allocatorMetric = load(classLoader, "ByteBufAllocatorMetric");
+            Class<?> pooledMetric = load(classLoader, "PooledByteBufAllocatorMetric");
+            Class<?> arenaMetric = load(classLoader, "PoolArenaMetric");
+            this.metricProviderClass = metricProvider;
+            this.pooledMetricClass = pooledMetric;
+            AccessorRegistry registry = AccessorRegistry.INSTANCE;
+            this.metric = registry.method(metricProvider, "metric", Object.class);
+            this.usedDirectMemory =
+                    registry.method(allocatorMetric, "usedDirectMemory", Long.class);
+            this.usedHeapMemory = registry.method(allocatorMetric, "usedHeapMemory", Long.class);
+            this.numThreadLocalCaches =
+                    registry.method(pooledMetric, "numThreadLocalCaches", Integer.class);
+            this.directArenas = registry.method(pooledMetric, "directArenas", LIST_TYPE);
+            this.numActiveBytes = registry.method(arenaMetric, "numActiveBytes", Long.class);
+            this.chunkLists = registry.method(arenaMetric, "chunkLists", LIST_TYPE);
+        }
+
+        private static Class<?> load(ClassLoader classLoader, String simpleName) {
+            try {
+                return Class.forName("io.netty.buffer." + simpleName, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                // the accessors resolved against Object are unavailable and fail every read
+                return Object.class;
+            }
+        }
+
+        /**
+         * @param name name the allocator is reported under
+         * @param allocator the allocator
+         * @return the state of the allocator, null if it does not expose metrics
+         * @throws ReflectiveOperationException if a metric cannot be read
+         */
+        NettyAllocatorStatus read(String name, Object allocator)
+                throws ReflectiveOperationException {
+            if (!metricProviderClass.isInstance(allocator)) {
+                return null;
+            }
+            Object allocatorMetric = metric.invoke(allocator);
+            long usedDirect = usedDirectMemory.invoke(allocatorMetric);
+            long usedHeap = usedHeapMemory.invoke(allocatorMetric);
+            if (!pooledMetricClass.isInstance(allocatorMetric)) {
+                return new NettyAllocatorStatus(name, usedDirect, usedHeap, 0, 0, 0, 0);
+            }
+            List<?> arenas = directArenas.invoke(allocatorMetric);
+            long activeBytes = 0;
+            long chunks = 0;
+            for (Object arena : arenas) {
+                activeBytes += numActiveBytes.invoke(arena);
+                for (Object chunkList : chunkLists.invoke(arena)) {
+                    Iterator<?> iterator = ((Iterable<?>) chunkList).iterator();
+                    while (iterator.hasNext()) {
+                        iterator.next();
+                        chunks++;
+                    }
+                }
+            }
+            return new NettyAllocatorStatus(
+                    name,
+                    usedDirect,
+                    usedHeap,
+                    arenas.size(),
+                    numThreadLocalCaches.invoke(allocatorMetric),
+                    activeBytes,
+                    chunks);
+        }
+    }
+
+    /** Usage of a JVM buffer pool, {@code direct} or {@code mapped}. */
+    public static class BufferPoolStatus extends MetricStatus {
+        private final String name;
+        private final long count;
+        private final long memoryUsed;
+        private final long totalCapacity;
+
+        public BufferPoolStatus(String name, long count, long memoryUsed, long totalCapacity) {
+            this.name = name;
+            this.count = count;
+            this.memoryUsed = memoryUsed;
+            this.totalCapacity = totalCapacity;
+        }
+
+        @JsonProperty("BufferPool")
+        public String getName() {
+            return name;
+        }
+
+        @JsonProperty("Count")
+        public long getCount() {
+            return count;
+        }
+
+        @JsonProperty("MemoryUsed")
+        public long getMemoryUsed() {
+            return memoryUsed;
+        }
+
+        @JsonProperty("TotalCapacity")
+        public long getTotalCapacity() {
+            return totalCapacity;
+        }
+    }
+
+    /**
+     * State of a Netty allocator. The arena, cache and chunk figures cover the direct arenas and
+     * are 0 for allocators that are not pooled.
+     */
+    public static class NettyAllocatorStatus extends MetricStatus {
+        private final String allocator;
+        private final long usedDirectMemory;
+        private final long usedHeapMemory;
+        private final int directArenas;
+        private final int threadLocalCaches;
+        private final long activeBytes;
+        private final long chunks;
+
+        public NettyAllocatorStatus(
+                String allocator,
+                long usedDirectMemory,
+                long usedHeapMemory,
+                int directArenas,
+                int threadLocalCaches,
+                long activeBytes,
+                long chunks) {
+            this.allocator = allocator;
+            this.usedDirectMemory = usedDirectMemory;
+            this.usedHeapMemory = usedHeapMemory;
+            this.directArenas = directArenas;
+            this.threadLocalCaches = threadLocalCaches;
+            this.activeBytes = activeBytes;
+            this.chunks = chunks;
+        }
+
+        @JsonProperty("Allocator")
+        public String getAllocator() {
+            return allocator;
+        }
+
+        @JsonProperty("UsedDirectMemory")
+        public long getUsedDirectMemory() {
+            return usedDirectMemory;
+        }
+
+        @JsonProperty("UsedHeapMemory")
+        public long getUsedHeapMemory() {
+            return usedHeapMemory;
+        }
+
+        @JsonProperty("DirectArenas")
+        public int getDirectArenas() {
+            return directArenas;
+        }
+
+        @JsonProperty("ThreadLocalCaches")
+        public int getThreadLocalCaches() {
+            return threadLocalCaches;
+        }
+
+        @JsonProperty("ActiveBytes")
+        public long getActiveBytes() {
+            return activeBytes;
+        }
+
+        @JsonProperty("Chunks")
+        public long getChunks() {
+            return chunks;
+        }
+    }
+}
@@ -12,6 +12,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
@@ -24,17 +26,25 @@ import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
 
 /**
  * This class starts publishing election term metric. These metric is emitted from cluster state.
+ * The term is taken from cluster state updates and its serialized form is cached until the term
+ * changes.
  */
 public class ElectionTermCollector extends PerformanceAnalyzerMetricsCollector
-        implements MetricsProcessor {
+        implements MetricsProcessor, ClusterStateListener {
     public static final int SAMPLING_TIME_INTERVAL =
             MetricsConfiguration.CONFIG_MAP.get(ElectionTermCollector.class).samplingInterval;
     private static final Logger LOG = LogManager.getLogger(ElectionTermCollector.class);
     private static final int KEYS_PATH_LENGTH = 0;
+    private static final long UNKNOWN_TERM = -1;
     private final ConfigOverridesWrapper configOverridesWrapper;
     private final PerformanceAnalyzerController controller;
     private StringBuilder value;
 
+    // latest term seen in a cluster state update, UNKNOWN_TERM until the first update or collection
+    private volatile long term;
+    private long payloadTerm;
+    private String payload;
+
     public ElectionTermCollector(
             PerformanceAnalyzerController controller,
             ConfigOverridesWrapper configOverridesWrapper) {
@@ -46,6 +56,13 @@ public class ElectionTermCollector extends PerformanceAnalyzerMetricsCollector
         value = new StringBuilder();
         this.controller = controller;
         this.configOverridesWrapper = configOverridesWrapper;
+        this.term = UNKNOWN_TERM;
+        this.payloadTerm = UNKNOWN_TERM;
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        term = event.state().term();
     }
 
     @Override
@@ -64,18 +81,23 @@ public class ElectionTermCollector extends PerformanceAnalyzerMetricsCollector
         if (!controller.isCollectorEnabled(configOverridesWrapper, getCollectorName())) {
             return;
         }
-        if (Objects.isNull(OpenSearchResources.INSTANCE.getClusterService())
-                || Objects.isNull(OpenSearchResources.INSTANCE.getClusterService().state())) {
-            return;
+        long currentTerm = term;
+        if (currentTerm == UNKNOWN_TERM) {
+            if (Objects.isNull(OpenSearchResources.INSTANCE.getClusterService())
+                    || Objects.isNull(OpenSearchResources.INSTANCE.getClusterService().state())) {
+                return;
+            }
+            currentTerm = OpenSearchResources.INSTANCE.getClusterService().state().term();
+        }
+        if (payload == null || currentTerm != payloadTerm) {
+            payload = new ElectionTermMetrics(currentTerm).serialize();
+            payloadTerm = currentTerm;
         }
 
         value.setLength(0);
         value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
                 .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-        value.append(
-                new ElectionTermMetrics(
-                                OpenSearchResources.INSTANCE.getClusterService().state().term())
-                        .serialize());
+        value.append(payload);
         saveMetricValues(value.toString(), startTime);
     }
 
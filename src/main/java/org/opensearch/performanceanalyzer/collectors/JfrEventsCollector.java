@@ -0,0 +1,493 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.RTF_HEAP_METRICS_COLLECTOR_ERROR;
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.RTF_HEAP_METRICS_COLLECTOR_EXECUTION_TIME;
+import static org.opensearch.performanceanalyzer.util.CollectorStatMetrics.JFR_EVENTS_COLLECTOR;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.Closeable;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.config.overrides.ConfigOverridesWrapper;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.Utils;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Streams JDK Flight Recorder events in-process and summarizes them per collection interval. The
+ * collector is off by default and started with {@link #setState(Integer)}; while it runs, a {@link
+ * RecordingStream} delivers GC pauses, safepoint synchronization, throttled allocation samples and
+ * contended monitor enters longer than {@link #MONITOR_ENTER_THRESHOLD}, all without stack traces.
+ * The stream is closed while the collector is disabled through the config overrides, reopened once
+ * it is enabled again, and closed for good by {@link #close()} when the plugin shuts down.
+ *
+ * <p>Every interval writes one row per GC, for safepoint synchronization, and for the top
+ * allocating threads and classes and the top contended monitor classes to the event log. The
+ * individual pause and time-to-safepoint durations and the per pool allocation and per monitor
+ * contention are recorded as histograms when telemetry is available.
+ */
+public class JfrEventsCollector extends PerformanceAnalyzerMetricsCollector
+        implements MetricsProcessor, Closeable {
+    private static final Logger LOG = LogManager.getLogger(JfrEventsCollector.class);
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(JfrEventsCollector.class).samplingInterval;
+    private static final int KEYS_PATH_LENGTH = 0;
+    public static final String PATH_TO_STORE_METRICS = "jfr_events";
+
+    public static final String GC_EVENT = "jdk.GarbageCollection";
+    public static final String SAFEPOINT_SYNC_EVENT = "jdk.SafepointStateSynchronization";
+    public static final String ALLOCATION_SAMPLE_EVENT = "jdk.ObjectAllocationSample";
+    public static final String MONITOR_ENTER_EVENT = "jdk.JavaMonitorEnter";
+    public static final String ALLOCATION_SAMPLE_THROTTLE = "100/s";
+    public static final Duration MONITOR_ENTER_THRESHOLD = Duration.ofMillis(10);
+
+    public static final String GC_PAUSE = "jvm_gc_pause";
+    public static final String SAFEPOINT_SYNC_TIME = "jvm_safepoint_sync_time";
+    public static final String ALLOCATION_SAMPLED_BYTES = "jvm_allocation_sampled_bytes";
+    public static final String MONITOR_ENTER_TIME = "jvm_monitor_enter_time";
+    public static final String GC_TAG = "gc";
+    public static final String LOCK_TAG = "lock";
+
+    /** Rows reported per top-N table and interval. */
+    public static final int TOP_N = 5;
+
+    private final EventAggregator aggregator;
+    private final StringBuilder value;
+    private final PerformanceAnalyzerController controller;
+    private final ConfigOverridesWrapper configOverridesWrapper;
+    private RecordingStream recordingStream;
+    // whether the setting asks for the stream, it may still be closed while the collector is
+    // disabled
+    private boolean streamRequested;
+    private boolean closed;
+
+    private Histogram gcPauseHistogram;
+    private Histogram safepointSyncHistogram;
+    private Histogram allocationHistogram;
+    private Histogram monitorEnterHistogram;
+
+    public JfrEventsCollector(
+            PerformanceAnalyzerController controller,
+            ConfigOverridesWrapper configOverridesWrapper) {
+        super(
+                SAMPLING_TIME_INTERVAL,
+                JFR_EVENTS_COLLECTOR.getCollectorName(),
+                RTF_HEAP_METRICS_COLLECTOR_EXECUTION_TIME,
+                RTF_HEAP_METRICS_COLLECTOR_ERROR);
+        this.controller = controller;
+        this.configOverridesWrapper = configOverridesWrapper;
+        this.aggregator = new EventAggregator();
+        this.value = new StringBuilder();
+    }
+
+    /**
+     * Starts or stops the recording stream.
+     *
+     * @param state 1 to stream events, 0 to stop
+     */
+    public synchronized void setState(Integer state) {
+        if (closed) {
+            return;
+        }
+        streamRequested = state != null && state == 1;
+        if (streamRequested && !isDisabled()) {
+            start();
+        } else {
+            stop();
+        }
+    }
+
+    /** Closes the recording stream for good; later setting updates do not reopen it. */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        streamRequested = false;
+        stop();
+    }
+
+    @VisibleForTesting
+    synchronized boolean isStreaming() {
+        return recordingStream != null;
+    }
+
+    private boolean isDisabled() {
+        return controller.isCollectorDisabled(configOverridesWrapper, getCollectorName());
+    }
+
+    private void start() {
+        if (recordingStream != null) {
+            return;
+        }
+        try {
+            recordingStream =
+                    AccessController.doPrivileged(
+                            (PrivilegedAction<RecordingStream>) this::openRecordingStream);
+            LOG.info("Started JFR event streaming");
+        } catch (RuntimeException e) {
+            // not retried on every collection, only when the setting is updated
+            streamRequested = false;
+            LOG.warn("Unable to start JFR event streaming: {}", e.toString());
+        }
+    }
+
+    private RecordingStream openRecordingStream() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(GC_EVENT).withoutStackTrace();
+        stream.enable(SAFEPOINT_SYNC_EVENT).withoutStackTrace();
+        stream.enable(ALLOCATION_SAMPLE_EVENT)
+                .with("throttle", ALLOCATION_SAMPLE_THROTTLE)
+                .withoutStackTrace();
+        stream.enable(MONITOR_ENTER_EVENT)
+                .withThreshold(MONITOR_ENTER_THRESHOLD)
+                .withoutStackTrace();
+        // events are aggregated as they arrive, nothing needs to be kept on disk
+        stream.setMaxAge(Duration.ofSeconds(10));
+        stream.onEvent(
+                GC_EVENT,
+                event ->
+                        aggregator.onGcPause(
+                                event.getString("name"),
+                                event.getDuration("sumOfPauses").toNanos(),
+                                event.getDuration("longestPause").toNanos()));
+        stream.onEvent(
+                SAFEPOINT_SYNC_EVENT,
+                event -> aggregator.onSafepointSync(event.getDuration().toNanos()));
+        stream.onEvent(
+                ALLOCATION_SAMPLE_EVENT,
+                event ->
+                        aggregator.onAllocationSample(
+                                threadName(event),
+                                className(event.getClass("objectClass")),
+                                event.getLong("weight")));
+        stream.onEvent(
+                MONITOR_ENTER_EVENT,
+                event ->
+                        aggregator.onMonitorEnter(
+                                className(event.getClass("monitorClass")),
+                                event.getDuration().toNanos()));
+        stream.startAsync();
+        return stream;
+    }
+
+    private void stop() {
+        if (recordingStream == null) {
+            return;
+        }
+        recordingStream.close();
+        recordingStream = null;
+        aggregator.drain();
+        LOG.info("Stopped JFR event streaming");
+    }
+
+    private static String threadName(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        String name = thread == null ? null : thread.getJavaName();
+        return name == null ? "unknown" : name;
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "unknown" : recordedClass.getName();
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        JFR_EVENTS_COLLECTOR.measure(() -> collect(startTime));
+    }
+
+    private void collect(long startTime) {
+        boolean disabled = isDisabled();
+        synchronized (this) {
+            if (disabled) {
+                stop();
+            } else if (streamRequested) {
+                start();
+            }
+            if (recordingStream == null) {
+                return;
+            }
+        }
+        IntervalEvents events = aggregator.drain();
+
+        value.setLength(0);
+        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds());
+        for (Map.Entry<String, EventStat> gc : events.gcPauses().entrySet()) {
+            appendRow(JfrEventStatus.GC_PAUSE, gc.getKey(), gc.getValue(), true);
+        }
+        if (events.safepointSync().count > 0) {
+            appendRow(JfrEventStatus.SAFEPOINT_SYNC, "", events.safepointSync(), true);
+        }
+        for (Map.Entry<String, EventStat> thread : top(events.allocationByThread())) {
+            appendRow(JfrEventStatus.ALLOCATION_THREAD, thread.getKey(), thread.getValue(), false);
+        }
+        for (Map.Entry<String, EventStat> type : top(events.allocationByClass())) {
+            appendRow(JfrEventStatus.ALLOCATION_CLASS, type.getKey(), type.getValue(), false);
+        }
+        List<Map.Entry<String, EventStat>> monitors = top(events.monitorEnter());
+        for (Map.Entry<String, EventStat> monitor : monitors) {
+            appendRow(JfrEventStatus.MONITOR_ENTER, monitor.getKey(), monitor.getValue(), true);
+        }
+        saveMetricValues(value.toString(), startTime);
+
+        recordMetrics(events, monitors);
+    }
+
+    private void appendRow(String type, String name, EventStat stat, boolean nanos) {
+        value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                .append(
+                        new JfrEventStatus(
+                                        type,
+                                        name,
+                                        stat.count,
+                                        nanos ? toMillis(stat.total) : stat.total,
+                                        nanos ? toMillis(stat.max) : stat.max)
+                                .serialize());
+    }
+
+    private void recordMetrics(IntervalEvents events, List<Map.Entry<String, EventStat>> monitors) {
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            return;
+        }
+        if (gcPauseHistogram == null) {
+            String unit = RTFMetrics.MetricUnits.MILLISECOND.toString();
+            gcPauseHistogram =
+                    metricsRegistry.createHistogram(GC_PAUSE, "Duration of GC pauses", unit);
+            safepointSyncHistogram =
+                    metricsRegistry.createHistogram(
+                            SAFEPOINT_SYNC_TIME, "Time to reach a safepoint", unit);
+            allocationHistogram =
+                    metricsRegistry.createHistogram(
+                            ALLOCATION_SAMPLED_BYTES,
+                            "Sampled allocation weight of the threads of a pool",
+                            RTFMetrics.MetricUnits.BYTE.toString());
+            monitorEnterHistogram =
+                    metricsRegistry.createHistogram(
+                            MONITOR_ENTER_TIME, "Time spent entering contended monitors", unit);
+        }
+        for (GcPause pause : events.gcPauseSamples()) {
+            gcPauseHistogram.record(
+                    toMillis(pause.pauseNanos()), Tags.create().addTag(GC_TAG, pause.gc()));
+        }
+        for (long syncNanos : events.safepointSyncSamples()) {
+            safepointSyncHistogram.record(toMillis(syncNanos), Tags.EMPTY);
+        }
+        Map<String, Long> allocationByPool = new HashMap<>();
+        for (Map.Entry<String, EventStat> thread : events.allocationByThread().entrySet()) {
+            String pool = Utils.getThreadPoolName(thread.getKey());
+            allocationByPool.merge(
+                    pool.isEmpty() ? "other" : pool, thread.getValue().total, Long::sum);
+        }
+        for (Map.Entry<String, Long> pool : allocationByPool.entrySet()) {
+            allocationHistogram.record(
+                    pool.getValue(),
+                    Tags.create()
+                            .addTag(
+                                    RTFMetrics.ThreadPoolDimension.THREAD_POOL_TYPE.toString(),
+                                    pool.getKey()));
+        }
+        for (Map.Entry<String, EventStat> monitor : monitors) {
+            monitorEnterHistogram.record(
+                    toMillis(monitor.getValue().total),
+                    Tags.create().addTag(LOCK_TAG, monitor.getKey()));
+        }
+    }
+
+    @VisibleForTesting
+    static List<Map.Entry<String, EventStat>> top(Map<String, EventStat> table) {
+        List<Map.Entry<String, EventStat>> entries = new ArrayList<>(table.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().total, a.getValue().total));
+        return entries.size() > TOP_N ? entries.subList(0, TOP_N) : entries;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @VisibleForTesting
+    EventAggregator getAggregator() {
+        return aggregator;
+    }
+
+    @Override
+    public String getMetricsPath(long startTime, String... keysPath) {
+        if (keysPath.length != KEYS_PATH_LENGTH) {
+            throw new RuntimeException("keys length should be " + KEYS_PATH_LENGTH);
+        }
+        return PerformanceAnalyzerMetrics.generatePath(startTime, PATH_TO_STORE_METRICS);
+    }
+
+    /** Count, sum and maximum of the events of one kind and key. */
+    @VisibleForTesting
+    static final class EventStat {
+        long count;
+        long total;
+        long max;
+
+        void add(long amount) {
+            count++;
+            total += amount;
+            max = Math.max(max, amount);
+        }
+    }
+
+    @VisibleForTesting
+    record GcPause(String gc, long pauseNanos) {}
+
+    /** Events of one interval, handed over by {@link EventAggregator#drain()}. */
+    @VisibleForTesting
+    record IntervalEvents(
+            Map<String, EventStat> gcPauses,
+            List<GcPause> gcPauseSamples,
+            EventStat safepointSync,
+            long[] safepointSyncSamples,
+            Map<String, EventStat> allocationByThread,
+            Map<String, EventStat> allocationByClass,
+            Map<String, EventStat> monitorEnter) {}
+
+    /**
+     * Accumulates the events delivered on the JFR stream thread until the collector drains them.
+     * Individual durations are kept for at most {@link #MAX_SAMPLES} events per interval; later
+     * events still count towards the count, sum and maximum.
+     */
+    @VisibleForTesting
+    static final class EventAggregator {
+        static final int MAX_SAMPLES = 1024;
+
+        private Map<String, EventStat> gcPauses = new HashMap<>();
+        private List<GcPause> gcPauseSamples = new ArrayList<>();
+        private EventStat safepointSync = new EventStat();
+        private long[] safepointSyncSamples = new long[16];
+        private int safepointSyncSampleCount;
+        private Map<String, EventStat> allocationByThread = new HashMap<>();
+        private Map<String, EventStat> allocationByClass = new HashMap<>();
+        private Map<String, EventStat> monitorEnter = new HashMap<>();
+
+        synchronized void onGcPause(String gc, long pauseNanos, long longestPauseNanos) {
+            EventStat stat = gcPauses.computeIfAbsent(gc, key -> new EventStat());
+            stat.count++;
+            stat.total += pauseNanos;
+            stat.max = Math.max(stat.max, longestPauseNanos);
+            if (gcPauseSamples.size() < MAX_SAMPLES) {
+                gcPauseSamples.add(new GcPause(gc, pauseNanos));
+            }
+        }
+
+        synchronized void onSafepointSync(long nanos) {
+            safepointSync.add(nanos);
+            if (safepointSyncSampleCount < MAX_SAMPLES) {
+                if (safepointSyncSampleCount == safepointSyncSamples.length) {
+                    safepointSyncSamples =
+                            Arrays.copyOf(safepointSyncSamples, safepointSyncSampleCount * 2);
+                }
+                safepointSyncSamples[safepointSyncSampleCount++] = nanos;
+            }
+        }
+
+        synchronized void onAllocationSample(String thread, String objectClass, long weight) {
+            allocationByThread.computeIfAbsent(thread, key -> new EventStat()).add(weight);
+            allocationByClass.computeIfAbsent(objectClass, key -> new EventStat()).add(weight);
+        }
+
+        synchronized void onMonitorEnter(String monitorClass, long nanos) {
+            monitorEnter.computeIfAbsent(monitorClass, key -> new EventStat()).add(nanos);
+        }
+
+        synchronized IntervalEvents drain() {
+            IntervalEvents events =
+                    new IntervalEvents(
+                            gcPauses,
+                            gcPauseSamples,
+                            safepointSync,
+                            Arrays.copyOf(safepointSyncSamples, safepointSyncSampleCount),
+                            allocationByThread,
+                            allocationByClass,
+                            monitorEnter);
+            gcPauses = new HashMap<>();
+            gcPauseSamples = new ArrayList<>();
+            safepointSync = new EventStat();
+            safepointSyncSampleCount = 0;
+            allocationByThread = new HashMap<>();
+            allocationByClass = new HashMap<>();
+            monitorEnter = new HashMap<>();
+            return events;
+        }
+    }
+
+    /**
+     * One row of the event log output. Durations are in milliseconds, allocation weights in bytes.
+     */
+    public static class JfrEventStatus extends MetricStatus {
+        public static final String GC_PAUSE = "gc_pause";
+        public static final String SAFEPOINT_SYNC = "safepoint_sync";
+        public static final String ALLOCATION_THREAD = "allocation_thread";
+        public static final String ALLOCATION_CLASS = "allocation_class";
+        public static final String MONITOR_ENTER = "monitor_enter";
+
+        private final String type;
+        private final String name;
+        private final long count;
+        private final double total;
+        private final double max;
+
+        public JfrEventStatus(String type, String name, long count, double total, double max) {
+            this.type = type;
+            this.name = name;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        @JsonProperty("EventType")
+        public String getType() {
+            return type;
+        }
+
+        @JsonProperty("Name")
+        public String getName() {
+            return name;
+        }
+
+        @JsonProperty("Count")
+        public long getCount() {
+            return count;
+        }
+
+        @JsonProperty("Total")
+        public double getTotal() {
+            return total;
+        }
+
+        @JsonProperty("Max")
+        public double getMax() {
+            return max;
+        }
+    }
+}
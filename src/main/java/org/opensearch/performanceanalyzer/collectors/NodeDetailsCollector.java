@@ -14,6 +14,8 @@ import java.io.IOException;
 import java.util.Iterator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
 import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
@@ -28,14 +30,26 @@ import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
 
+/**
+ * Emits the config overrides and the nodes of the cluster. Both only change with cluster state or
+ * override updates, so the serialized payload is cached and rebuilt only when a cluster state
+ * update carries a new {@link DiscoveryNodes} or the overrides were updated since the payload was
+ * built; every other collection re-emits the cached payload under a fresh timestamp.
+ */
 public class NodeDetailsCollector extends PerformanceAnalyzerMetricsCollector
-        implements MetricsProcessor {
+        implements MetricsProcessor, ClusterStateListener {
     public static final int SAMPLING_TIME_INTERVAL =
             MetricsConfiguration.CONFIG_MAP.get(NodeDetailsCollector.class).samplingInterval;
     private static final Logger LOG = LogManager.getLogger(NodeDetailsCollector.class);
     private static final int KEYS_PATH_LENGTH = 0;
     private final ConfigOverridesWrapper configOverridesWrapper;
 
+    // latest nodes seen in a cluster state update; null until the first update or collection
+    private volatile DiscoveryNodes discoveryNodes;
+    private DiscoveryNodes payloadNodes;
+    private long payloadOverridesTimestamp;
+    private String payload;
+
     public NodeDetailsCollector(final ConfigOverridesWrapper configOverridesWrapper) {
         super(
                 SAMPLING_TIME_INTERVAL,
@@ -45,19 +59,49 @@ public class NodeDetailsCollector extends PerformanceAnalyzerMetricsCollector
         this.configOverridesWrapper = configOverridesWrapper;
     }
 
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        // DiscoveryNodes is carried over to the new state unchanged unless a node joined, left or
+        // the cluster manager changed
+        if (event.state().nodes() != event.previousState().nodes() || discoveryNodes == null) {
+            discoveryNodes = event.state().nodes();
+        }
+    }
+
     @Override
     public void collectMetrics(long startTime) {
-        if (OpenSearchResources.INSTANCE.getClusterService() == null
-                || OpenSearchResources.INSTANCE.getClusterService().state() == null
-                || OpenSearchResources.INSTANCE.getClusterService().state().nodes() == null) {
-            return;
+        DiscoveryNodes nodes = discoveryNodes;
+        if (nodes == null) {
+            if (OpenSearchResources.INSTANCE.getClusterService() == null
+                    || OpenSearchResources.INSTANCE.getClusterService().state() == null
+                    || OpenSearchResources.INSTANCE.getClusterService().state().nodes() == null) {
+                return;
+            }
+            nodes = OpenSearchResources.INSTANCE.getClusterService().state().nodes();
+            discoveryNodes = nodes;
+        }
+
+        long overridesTimestamp =
+                configOverridesWrapper != null
+                        ? configOverridesWrapper.getLastUpdatedTimestamp()
+                        : 0L;
+        if (payload == null
+                || nodes != payloadNodes
+                || overridesTimestamp != payloadOverridesTimestamp) {
+            payload = buildPayload(nodes, overridesTimestamp);
+            payloadNodes = nodes;
+            payloadOverridesTimestamp = overridesTimestamp;
         }
 
-        long mCurrT = System.currentTimeMillis();
+        saveMetricValues(
+                PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds()
+                        + PerformanceAnalyzerMetrics.sMetricNewLineDelimitor
+                        + payload,
+                startTime);
+    }
 
+    private String buildPayload(DiscoveryNodes discoveryNodes, long overridesTimestamp) {
         StringBuilder value = new StringBuilder();
-        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
-                .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
 
         // We add the config overrides in line#2 because we don't know how many lines
         // follow that belong to actual node details, and the reader also has no way to
@@ -79,16 +123,9 @@ public class NodeDetailsCollector extends PerformanceAnalyzerMetricsCollector
         value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
 
         // line#3 denotes when the timestamp when the config override happened.
-        if (configOverridesWrapper != null) {
-            value.append(configOverridesWrapper.getLastUpdatedTimestamp());
-        } else {
-            value.append(0L);
-        }
+        value.append(overridesTimestamp);
         value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
 
-        DiscoveryNodes discoveryNodes =
-                OpenSearchResources.INSTANCE.getClusterService().state().nodes();
-
         DiscoveryNode clusterManagerNode = discoveryNodes.getClusterManagerNode();
 
         Iterator<DiscoveryNode> discoveryNodeIterator = discoveryNodes.iterator();
@@ -99,7 +136,7 @@ public class NodeDetailsCollector extends PerformanceAnalyzerMetricsCollector
             addMetricsToStringBuilder(
                     discoveryNodeIterator.next(), value, localNodeID, clusterManagerNode);
         }
-        saveMetricValues(value.toString(), startTime);
+        return value.toString();
     }
 
     private void addMetricsToStringBuilder(
@@ -9,22 +9,14 @@ import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExcep
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.NODE_STATS_ALL_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.google.common.collect.ImmutableMap;
-import java.lang.reflect.Field;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opensearch.action.admin.indices.stats.CommonStatsFlags;
-import org.opensearch.action.admin.indices.stats.IndexShardStats;
-import org.opensearch.action.admin.indices.stats.ShardStats;
 import org.opensearch.core.index.shard.ShardId;
-import org.opensearch.index.shard.IndexShard;
 import org.opensearch.indices.IndicesService;
-import org.opensearch.indices.NodeIndicesStats;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
@@ -32,22 +24,22 @@ import org.opensearch.performanceanalyzer.commons.metrics.AllMetrics.ShardStatsV
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
-import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
-import org.opensearch.performanceanalyzer.util.Utils;
+import org.opensearch.performanceanalyzer.util.ShardRegistry;
+import org.opensearch.performanceanalyzer.util.ShardStateStore;
+import org.opensearch.performanceanalyzer.util.ShardStatsField;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshot;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshotService;
 
 /**
  * This collector collects metrics for all shards on a node in a single run. These metrics are light
  * weight metrics which have minimal performance impacts on the performance of the node.
- */
-
-/**
- * currentShards: Contains the Mapping of the Shard ID to the Shard for the shards currently present
- * on the cluster in this run of the collector. currentPerShardStats: Contains the mapping of the
- * Shard Stats and the shards present in this run of the collector. prevPerShardStats: Contains the
- * mapping of the Shard Stats and the shards present in the previous run of the collector. The diff
- * is calculated between (currentPerShardStats and prevPerShardStats) for each shard in the
- * currentShards and for shards not present in the prevPerShardStat absolute value of the
- * currentPerShardStats is updated.
+ *
+ * <p>The per shard stats are read from the {@link ShardStatsSnapshot} shared by all shard level
+ * collectors for the current tick. prevPerShardStats: Contains the counter values of the shards
+ * seen in the previous run of the collector, stored by {@link ShardRegistry} ordinal; slots are
+ * dropped as soon as the registry reports that a shard left the node. The diff is calculated
+ * between the snapshot and prevPerShardStats for each shard in the snapshot and for shards not
+ * present in the prevPerShardStats the absolute value of the snapshot is reported.
  */
 @SuppressWarnings("unchecked")
 public class NodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMetricsCollector
@@ -58,69 +50,42 @@ public class NodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMetri
     private static final int KEYS_PATH_LENGTH = 2;
     private static final Logger LOG =
             LogManager.getLogger(NodeStatsAllShardsMetricsCollector.class);
-    private Map<ShardId, ShardStats> prevPerShardStats;
-    private final PerformanceAnalyzerController controller;
+    private final ShardStateStore prevPerShardStats;
 
-    public NodeStatsAllShardsMetricsCollector(final PerformanceAnalyzerController controller) {
+    public NodeStatsAllShardsMetricsCollector() {
         super(
                 SAMPLING_TIME_INTERVAL,
                 "NodeStatsMetrics",
                 NODE_STATS_ALL_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME,
                 NODESTATS_COLLECTION_ERROR);
-        prevPerShardStats = new HashMap<>();
-        this.controller = controller;
+        prevPerShardStats = new ShardStateStore(DELTA_FIELDS.size());
+        ShardRegistry.INSTANCE.addRemovalListener(prevPerShardStats);
+        ShardStatsSnapshotService.INSTANCE.register(SHARD_STATS_FIELDS);
     }
 
-    private static final Map<String, ValueCalculator> maps =
-            new HashMap<String, ValueCalculator>() {
-                {
-                    put(
-                            ShardStatsValue.INDEXING_THROTTLE_TIME.toString(),
-                            (shardStats) ->
-                                    shardStats
-                                            .getStats()
-                                            .getIndexing()
-                                            .getTotal()
-                                            .getThrottleTime()
-                                            .millis());
-
-                    put(
-                            ShardStatsValue.CACHE_QUERY_HIT.toString(),
-                            (shardStats) -> shardStats.getStats().getQueryCache().getHitCount());
-                    put(
-                            ShardStatsValue.CACHE_QUERY_MISS.toString(),
-                            (shardStats) -> shardStats.getStats().getQueryCache().getMissCount());
-                    put(
-                            ShardStatsValue.CACHE_QUERY_SIZE.toString(),
-                            (shardStats) ->
-                                    shardStats.getStats().getQueryCache().getMemorySizeInBytes());
-
-                    put(
-                            ShardStatsValue.CACHE_FIELDDATA_EVICTION.toString(),
-                            (shardStats) -> shardStats.getStats().getFieldData().getEvictions());
-                    put(
-                            ShardStatsValue.CACHE_FIELDDATA_SIZE.toString(),
-                            (shardStats) ->
-                                    shardStats.getStats().getFieldData().getMemorySizeInBytes());
-
-                    put(
-                            ShardStatsValue.CACHE_REQUEST_HIT.toString(),
-                            (shardStats) -> shardStats.getStats().getRequestCache().getHitCount());
-                    put(
-                            ShardStatsValue.CACHE_REQUEST_MISS.toString(),
-                            (shardStats) -> shardStats.getStats().getRequestCache().getMissCount());
-                    put(
-                            ShardStatsValue.CACHE_REQUEST_EVICTION.toString(),
-                            (shardStats) -> shardStats.getStats().getRequestCache().getEvictions());
-                    put(
-                            ShardStatsValue.CACHE_REQUEST_SIZE.toString(),
-                            (shardStats) ->
-                                    shardStats.getStats().getRequestCache().getMemorySizeInBytes());
-                }
-            };
-
-    private static final ImmutableMap<String, ValueCalculator> valueCalculators =
-            ImmutableMap.copyOf(maps);
+    /** Cumulative counters reported as deltas, in the column order of the previous values. */
+    private static final List<ShardStatsField> DELTA_FIELDS =
+            List.of(
+                    ShardStatsField.QUERY_CACHE_HIT,
+                    ShardStatsField.QUERY_CACHE_MISS,
+                    ShardStatsField.FIELDDATA_EVICTION,
+                    ShardStatsField.REQUEST_CACHE_HIT,
+                    ShardStatsField.REQUEST_CACHE_MISS,
+                    ShardStatsField.REQUEST_CACHE_EVICTION);
+
+    private static final int[] DELTA_COLUMNS = ShardStatsField.columnIndex(DELTA_FIELDS);
+
+    private static final Set<ShardStatsField> SHARD_STATS_FIELDS =
+            EnumSet.of(
+                    ShardStatsField.QUERY_CACHE_HIT,
+                    ShardStatsField.QUERY_CACHE_MISS,
+                    ShardStatsField.QUERY_CACHE_SIZE,
+                    ShardStatsField.FIELDDATA_EVICTION,
+                    ShardStatsField.FIELDDATA_SIZE,
+                    ShardStatsField.REQUEST_CACHE_HIT,
+                    ShardStatsField.REQUEST_CACHE_MISS,
+                    ShardStatsField.REQUEST_CACHE_EVICTION,
+                    ShardStatsField.REQUEST_CACHE_SIZE);
 
     @Override
     public String getMetricsPath(long startTime, String... keysPath) {
@@ -141,113 +106,51 @@ public class NodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMetri
             return;
         }
 
-        Map<ShardId, ShardStats> currentPerShardStats = populatePerShardStats(indicesService);
-
-        for (HashMap.Entry<ShardId, ShardStats> currentShard : currentPerShardStats.entrySet()) {
-            ShardId shardId = currentShard.getKey();
-            ShardStats currentShardStats = currentShard.getValue();
-            if (prevPerShardStats.isEmpty() || !prevPerShardStats.containsKey(shardId)) {
-                // Populating value for the first run.
-                populateMetricValue(
-                        currentShardStats, startTime, shardId.getIndexName(), shardId.id());
-                continue;
-            }
-            ShardStats prevShardStats = prevPerShardStats.get(shardId);
-            if (prevShardStats == null) {
-                // Populate value for shards which are new and were not present in the previous
-                // run.
-                populateMetricValue(
-                        currentShardStats, startTime, shardId.getIndexName(), shardId.id());
-                continue;
-            }
-            NodeStatsMetricsAllShardsPerCollectionStatus prevValue =
-                    new NodeStatsMetricsAllShardsPerCollectionStatus(prevShardStats);
-            NodeStatsMetricsAllShardsPerCollectionStatus currValue =
-                    new NodeStatsMetricsAllShardsPerCollectionStatus(currentShardStats);
-            populateDiffMetricValue(
-                    prevValue, currValue, startTime, shardId.getIndexName(), shardId.id());
+        ShardStatsSnapshot snapshot = ShardStatsSnapshotService.INSTANCE.getSnapshot(startTime);
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            ShardId shardId = snapshot.getShardId(i);
+            int ordinal = snapshot.getOrdinal(i);
+            // For shards which are new and were not present in the previous run the claimed slot
+            // starts at zero, so the delta is the absolute value.
+            prevPerShardStats.claim(ordinal, shardId);
+            NodeStatsMetricsAllShardsPerCollectionStatus nodeStatsMetrics =
+                    new NodeStatsMetricsAllShardsPerCollectionStatus(
+                            delta(snapshot, i, ordinal, ShardStatsField.QUERY_CACHE_HIT),
+                            delta(snapshot, i, ordinal, ShardStatsField.QUERY_CACHE_MISS),
+                            snapshot.get(i, ShardStatsField.QUERY_CACHE_SIZE),
+                            delta(snapshot, i, ordinal, ShardStatsField.FIELDDATA_EVICTION),
+                            snapshot.get(i, ShardStatsField.FIELDDATA_SIZE),
+                            delta(snapshot, i, ordinal, ShardStatsField.REQUEST_CACHE_HIT),
+                            delta(snapshot, i, ordinal, ShardStatsField.REQUEST_CACHE_MISS),
+                            delta(snapshot, i, ordinal, ShardStatsField.REQUEST_CACHE_EVICTION),
+                            snapshot.get(i, ShardStatsField.REQUEST_CACHE_SIZE));
+            populateMetricValue(
+                    nodeStatsMetrics, startTime, shardId.getIndexName(), shardId.id());
         }
-        prevPerShardStats = currentPerShardStats;
     }
 
-    // - Separated to have a unit test; and catch any code changes around this field
-    Field getNodeIndicesStatsByShardField() throws Exception {
-        Field field = NodeIndicesStats.class.getDeclaredField("statsByShard");
-        field.setAccessible(true);
-        return field;
-    }
-
-    public Map<ShardId, ShardStats> populatePerShardStats(IndicesService indicesService) {
-        // Populate the shard stats per shard.
-        HashMap<ShardId, IndexShard> currentShards = Utils.getShards();
-        Map<ShardId, ShardStats> currentPerShardStats = new HashMap<>(Collections.emptyMap());
-        for (HashMap.Entry<ShardId, IndexShard> currentShard : currentShards.entrySet()) {
-            IndexShard currentIndexShard = currentShard.getValue();
-            IndexShardStats currentIndexShardStats =
-                    Utils.indexShardStats(
-                            indicesService,
-                            currentIndexShard,
-                            new CommonStatsFlags(
-                                    CommonStatsFlags.Flag.QueryCache,
-                                    CommonStatsFlags.Flag.FieldData,
-                                    CommonStatsFlags.Flag.RequestCache));
-            if (currentIndexShardStats != null) {
-                for (ShardStats shardStats : currentIndexShardStats.getShards()) {
-                    currentPerShardStats.put(currentIndexShardStats.getShardId(), shardStats);
-                }
-            }
-        }
-        return currentPerShardStats;
+    private long delta(ShardStatsSnapshot snapshot, int index, int ordinal, ShardStatsField field) {
+        return prevPerShardStats.delta(
+                ordinal, DELTA_COLUMNS[field.ordinal()], snapshot.get(index, field));
     }
 
     public void populateMetricValue(
-            ShardStats shardStats, long startTime, String IndexName, int ShardId) {
+            NodeStatsMetricsAllShardsPerCollectionStatus currValue,
+            long startTime,
+            String IndexName,
+            int ShardId) {
         String value =
                 PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds()
                         +
                         // Populate the result with cache specific metrics only.
                         PerformanceAnalyzerMetrics.sMetricNewLineDelimitor
-                        + new NodeStatsMetricsAllShardsPerCollectionStatus(shardStats).serialize();
+                        + currValue.serialize();
         saveMetricValues(value, startTime, IndexName, String.valueOf(ShardId));
     }
 
-    public void populateDiffMetricValue(
-            NodeStatsMetricsAllShardsPerCollectionStatus prevValue,
-            NodeStatsMetricsAllShardsPerCollectionStatus currValue,
-            long startTime,
-            String IndexName,
-            int ShardId) {
-        StringBuilder value = new StringBuilder();
-
-        NodeStatsMetricsAllShardsPerCollectionStatus nodeStatsMetrics =
-                new NodeStatsMetricsAllShardsPerCollectionStatus(
-                        Math.max((currValue.queryCacheHitCount - prevValue.queryCacheHitCount), 0),
-                        Math.max(
-                                (currValue.queryCacheMissCount - prevValue.queryCacheMissCount), 0),
-                        currValue.queryCacheInBytes,
-                        Math.max((currValue.fieldDataEvictions - prevValue.fieldDataEvictions), 0),
-                        currValue.fieldDataInBytes,
-                        Math.max(
-                                (currValue.requestCacheHitCount - prevValue.requestCacheHitCount),
-                                0),
-                        Math.max(
-                                (currValue.requestCacheMissCount - prevValue.requestCacheMissCount),
-                                0),
-                        Math.max(
-                                (currValue.requestCacheEvictions - prevValue.requestCacheEvictions),
-                                0),
-                        currValue.requestCacheInBytes);
-
-        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
-                .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
-                .append(nodeStatsMetrics.serialize());
-        saveMetricValues(value.toString(), startTime, IndexName, String.valueOf(ShardId));
-    }
-
     public static class NodeStatsMetricsAllShardsPerCollectionStatus extends MetricStatus {
 
-        @JsonIgnore private ShardStats shardStats;
-
         private final long queryCacheHitCount;
         private final long queryCacheMissCount;
         private final long queryCacheInBytes;
@@ -258,21 +161,6 @@ public class NodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMetri
         private final long requestCacheEvictions;
         private final long requestCacheInBytes;
 
-        public NodeStatsMetricsAllShardsPerCollectionStatus(ShardStats shardStats) {
-            super();
-            this.shardStats = shardStats;
-
-            this.queryCacheHitCount = calculate(ShardStatsValue.CACHE_QUERY_HIT);
-            this.queryCacheMissCount = calculate(ShardStatsValue.CACHE_QUERY_MISS);
-            this.queryCacheInBytes = calculate(ShardStatsValue.CACHE_QUERY_SIZE);
-            this.fieldDataEvictions = calculate(ShardStatsValue.CACHE_FIELDDATA_EVICTION);
-            this.fieldDataInBytes = calculate(ShardStatsValue.CACHE_FIELDDATA_SIZE);
-            this.requestCacheHitCount = calculate(ShardStatsValue.CACHE_REQUEST_HIT);
-            this.requestCacheMissCount = calculate(ShardStatsValue.CACHE_REQUEST_MISS);
-            this.requestCacheEvictions = calculate(ShardStatsValue.CACHE_REQUEST_EVICTION);
-            this.requestCacheInBytes = calculate(ShardStatsValue.CACHE_REQUEST_SIZE);
-        }
-
         @SuppressWarnings("checkstyle:parameternumber")
         @JsonCreator
         public NodeStatsMetricsAllShardsPerCollectionStatus(
@@ -286,8 +174,6 @@ public class NodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMetri
                 long requestCacheEvictions,
                 long requestCacheInBytes) {
             super();
-            this.shardStats = null;
-
             this.queryCacheHitCount = queryCacheHitCount;
             this.queryCacheMissCount = queryCacheMissCount;
             this.queryCacheInBytes = queryCacheInBytes;
@@ -299,15 +185,6 @@ public class NodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMetri
             this.requestCacheInBytes = requestCacheInBytes;
         }
 
-        private long calculate(ShardStatsValue nodeMetric) {
-            return valueCalculators.get(nodeMetric.toString()).calculateValue(shardStats);
-        }
-
-        @JsonIgnore
-        public ShardStats getShardStats() {
-            return shardStats;
-        }
-
         @JsonProperty(ShardStatsValue.Constants.QUEY_CACHE_HIT_COUNT_VALUE)
         public long getQueryCacheHitCount() {
             return queryCacheHitCount;
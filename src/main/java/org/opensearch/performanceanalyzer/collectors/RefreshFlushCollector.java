@@ -0,0 +1,268 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.NODESTATS_COLLECTION_ERROR;
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.NODE_STATS_FIXED_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME;
+import static org.opensearch.performanceanalyzer.util.CollectorStatMetrics.REFRESH_FLUSH_COLLECTOR;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.util.ShardRefreshMonitor;
+import org.opensearch.performanceanalyzer.util.ShardRegistry;
+import org.opensearch.performanceanalyzer.util.ShardStateStore;
+import org.opensearch.performanceanalyzer.util.ShardStatsField;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshot;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshotService;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Reports the refreshes and flushes of every shard since the previous run. Refreshes come from the
+ * {@link ShardRefreshMonitor}, which times each of them as it happens: the row of a shard carries
+ * the count, total and maximum duration and the indexing buffer bytes written out, and the duration
+ * and bytes of every single refresh are recorded in the histograms, so a refresh storm shows up as
+ * a shift of the latency distribution rather than as a slightly higher cumulative time.
+ *
+ * <p>OpenSearch has no hook around a flush, so flushes are read from the shared {@link
+ * ShardStatsSnapshot}; the flush latency of a shard is the mean over the interval.
+ */
+public class RefreshFlushCollector extends PerformanceAnalyzerMetricsCollector
+        implements MetricsProcessor {
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(RefreshFlushCollector.class).samplingInterval;
+    private static final int KEYS_PATH_LENGTH = 2;
+    public static final String PATH_TO_STORE_METRICS = "refresh_flush";
+
+    public static final String REFRESH_LATENCY = "shard_refresh_latency";
+    public static final String REFRESH_BYTES = "shard_refresh_bytes";
+    public static final String REFRESH_COUNT = "shard_refresh_count";
+    public static final String FLUSH_LATENCY = "shard_flush_latency";
+
+    private static final Set<ShardStatsField> SHARD_STATS_FIELDS =
+            EnumSet.of(ShardStatsField.FLUSH_TOTAL, ShardStatsField.FLUSH_TOTAL_TIME);
+
+    /** Columns of the previous run kept per shard. */
+    private static final int FLUSH_TOTAL = 0;
+    private static final int FLUSH_TOTAL_TIME = 1;
+
+    private final ShardStateStore previous;
+    private final StringBuilder value;
+
+    private Histogram refreshLatencyHistogram;
+    private Histogram refreshBytesHistogram;
+    private Histogram refreshCountHistogram;
+    private Histogram flushLatencyHistogram;
+
+    public RefreshFlushCollector() {
+        // the commons codes are shared with the fixed shards collector, the collector's own time
+        // and errors are reported through CollectorStatMetrics
+        super(
+                SAMPLING_TIME_INTERVAL,
+                REFRESH_FLUSH_COLLECTOR.getCollectorName(),
+                NODE_STATS_FIXED_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME,
+                NODESTATS_COLLECTION_ERROR);
+        this.previous = new ShardStateStore(FLUSH_TOTAL_TIME + 1);
+        this.value = new StringBuilder();
+        ShardRegistry.INSTANCE.addRemovalListener(previous);
+        ShardStatsSnapshotService.INSTANCE.register(SHARD_STATS_FIELDS);
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        REFRESH_FLUSH_COLLECTOR.measure(() -> collect(startTime));
+    }
+
+    private void collect(long startTime) {
+        if (OpenSearchResources.INSTANCE.getIndicesService() == null) {
+            return;
+        }
+        ShardRefreshMonitor.INSTANCE.leaseRefreshes(SAMPLING_TIME_INTERVAL);
+        ShardStatsSnapshot snapshot = ShardStatsSnapshotService.INSTANCE.getSnapshot(startTime);
+        ShardRefreshMonitor.Interval interval = ShardRefreshMonitor.INSTANCE.drain();
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry != null) {
+            initialiseMetricsIfNeeded(metricsRegistry);
+            for (ShardRefreshMonitor.RefreshEvent refresh : interval.refreshes()) {
+                Tags tags = getTags(refresh.shardId());
+                refreshLatencyHistogram.record(toMillis(refresh.tookNanos()), tags);
+                refreshBytesHistogram.record(refresh.bytes(), tags);
+            }
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            ShardId shardId = snapshot.getShardId(i);
+            // shards started before the plugin saw their index; the monitor itself follows the
+            // engine of a tracked shard across promotion and recovery
+            if (!ShardRefreshMonitor.INSTANCE.isTracked(shardId)) {
+                ShardRefreshMonitor.INSTANCE.track(snapshot.getShard(i));
+            }
+
+            // a stale shard carries the values of its last read, the flushes since then are
+            // counted once it is read again
+            int ordinal = snapshot.getOrdinal(i);
+            boolean hasPrevious = previous.hasPrevious(ordinal, shardId);
+            previous.claim(ordinal, shardId);
+            long flushCount =
+                    previous.delta(
+                            ordinal, FLUSH_TOTAL, snapshot.get(i, ShardStatsField.FLUSH_TOTAL));
+            long flushTime =
+                    previous.delta(
+                            ordinal,
+                            FLUSH_TOTAL_TIME,
+                            snapshot.get(i, ShardStatsField.FLUSH_TOTAL_TIME));
+            if (!hasPrevious) {
+                // the cumulative values only set the baseline of the shard
+                flushCount = 0;
+                flushTime = 0;
+            }
+
+            ShardRefreshMonitor.RefreshSummary refreshes =
+                    interval.summaries()
+                            .getOrDefault(shardId, ShardRefreshMonitor.RefreshSummary.NONE);
+            RefreshFlushStatus status =
+                    new RefreshFlushStatus(
+                            refreshes.count(),
+                            toMillis(refreshes.totalNanos()),
+                            toMillis(refreshes.maxNanos()),
+                            refreshes.bytes(),
+                            flushCount,
+                            flushTime);
+            value.setLength(0);
+            value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
+                    .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                    .append(status.serialize());
+            saveMetricValues(
+                    value.toString(),
+                    startTime,
+                    shardId.getIndexName(),
+                    String.valueOf(shardId.id()));
+            if (metricsRegistry != null) {
+                Tags tags = getTags(shardId);
+                refreshCountHistogram.record(status.getRefreshCount(), tags);
+                if (flushCount > 0) {
+                    flushLatencyHistogram.record((double) flushTime / flushCount, tags);
+                }
+            }
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static Tags getTags(ShardId shardId) {
+        return Tags.create()
+                .addTag(RTFMetrics.CommonDimension.INDEX_NAME.toString(), shardId.getIndexName())
+                .addTag(
+                        RTFMetrics.CommonDimension.SHARD_ID.toString(),
+                        String.valueOf(shardId.getId()));
+    }
+
+    private void initialiseMetricsIfNeeded(MetricsRegistry metricsRegistry) {
+        if (refreshLatencyHistogram != null) {
+            return;
+        }
+        String millis = RTFMetrics.MetricUnits.MILLISECOND.toString();
+        refreshLatencyHistogram =
+                metricsRegistry.createHistogram(
+                        REFRESH_LATENCY, "Duration of a refresh of a shard", millis);
+        refreshBytesHistogram =
+                metricsRegistry.createHistogram(
+                        REFRESH_BYTES,
+                        "Indexing buffer bytes written out by a refresh of a shard",
+                        RTFMetrics.MetricUnits.BYTE.toString());
+        refreshCountHistogram =
+                metricsRegistry.createHistogram(
+                        REFRESH_COUNT,
+                        "Refreshes of a shard in a collection interval",
+                        RTFMetrics.MetricUnits.COUNT.toString());
+        flushLatencyHistogram =
+                metricsRegistry.createHistogram(
+                        FLUSH_LATENCY,
+                        "Mean duration of the flushes of a shard in a collection interval",
+                        millis);
+    }
+
+    @Override
+    public String getMetricsPath(long startTime, String... keysPath) {
+        // keys are the index name and the shard id
+        if (keysPath.length != KEYS_PATH_LENGTH) {
+            throw new RuntimeException("keys length should be " + KEYS_PATH_LENGTH);
+        }
+        return PerformanceAnalyzerMetrics.generatePath(
+                startTime, PATH_TO_STORE_METRICS, keysPath[0], keysPath[1]);
+    }
+
+    /**
+     * Refreshes and flushes of one shard since the previous run. Times are in milliseconds and the
+     * refresh bytes are the indexing buffer bytes the refreshes wrote out.
+     */
+    public static class RefreshFlushStatus extends MetricStatus {
+        private final long refreshCount;
+        private final double refreshTime;
+        private final double refreshMaxTime;
+        private final long refreshBytes;
+        private final long flushCount;
+        private final long flushTime;
+
+        public RefreshFlushStatus(
+                long refreshCount,
+                double refreshTime,
+                double refreshMaxTime,
+                long refreshBytes,
+                long flushCount,
+                long flushTime) {
+            this.refreshCount = refreshCount;
+            this.refreshTime = refreshTime;
+            this.refreshMaxTime = refreshMaxTime;
+            this.refreshBytes = refreshBytes;
+            this.flushCount = flushCount;
+            this.flushTime = flushTime;
+        }
+
+        @JsonProperty("RefreshCount")
+        public long getRefreshCount() {
+            return refreshCount;
+        }
+
+        @JsonProperty("RefreshTime")
+        public double getRefreshTime() {
+            return refreshTime;
+        }
+
+        @JsonProperty("RefreshMaxTime")
+        public double getRefreshMaxTime() {
+            return refreshMaxTime;
+        }
+
+        @JsonProperty("RefreshBytes")
+        public long getRefreshBytes() {
+            return refreshBytes;
+        }
+
+        @JsonProperty("FlushCount")
+        public long getFlushCount() {
+            return flushCount;
+        }
+
+        @JsonProperty("FlushTime")
+        public long getFlushTime() {
+            return flushTime;
+        }
+    }
+}
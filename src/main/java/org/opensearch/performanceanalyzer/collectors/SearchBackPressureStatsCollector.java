@@ -8,20 +8,15 @@ package org.opensearch.performanceanalyzer.collectors;
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.CLUSTER_APPLIER_SERVICE_STATS_COLLECTOR_ERROR;
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.CLUSTER_APPLIER_SERVICE_STATS_COLLECTOR_EXECUTION_TIME;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.env.NodeEnvironment;
 import org.opensearch.node.Node;
 import org.opensearch.node.NodeService;
@@ -33,6 +28,7 @@ import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.AccessorRegistry;
 import org.opensearch.search.backpressure.SearchBackpressureService;
 
 public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetricsCollector
@@ -43,7 +39,6 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
                     .samplingInterval;
     private static final int KEYS_PATH_LENGTH = 0;
     private static final Logger LOG = LogManager.getLogger(SearchBackPressureStatsCollector.class);
-    private static final ObjectMapper mapper;
 
     public static final String BOOTSTRAP_CLASS_NAME = "org.opensearch.bootstrap.Bootstrap";
     public static final String NODE_CLASS_NAME = "org.opensearch.node.Node";
@@ -55,21 +50,92 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
     public static final String CPU_USAGE_TRACKER_FIELD_NAME = "CPU_USAGE_TRACKER";
     public static final String ELAPSED_TIME_USAGE_TRACKER_FIELD_NAME = "ELAPSED_TIME_TRACKER";
 
+    private static final String STATS_CLASS_NAME =
+            "org.opensearch.search.backpressure.stats.SearchBackpressureStats";
+    private static final String SHARD_TASK_STATS_CLASS_NAME =
+            "org.opensearch.search.backpressure.stats.SearchShardTaskStats";
+    private static final String TASK_STATS_CLASS_NAME =
+            "org.opensearch.search.backpressure.stats.SearchTaskStats";
+
+    private static final AccessorRegistry.FieldAccessor<Object> BOOTSTRAP_INSTANCE =
+            AccessorRegistry.INSTANCE.field(
+                    BOOTSTRAP_CLASS_NAME, BOOTSTRAP_INSTANCE_FIELD_NAME, Object.class);
+    private static final AccessorRegistry.FieldAccessor<Node> BOOTSTRAP_NODE =
+            AccessorRegistry.INSTANCE.field(
+                    BOOTSTRAP_CLASS_NAME, BOOTSTRAP_NODE_FIELD_NAME, Node.class);
+    private static final AccessorRegistry.FieldAccessor<NodeService> NODE_SERVICE =
+            AccessorRegistry.INSTANCE.field(
+                    NODE_CLASS_NAME, NODE_SERVICE_FIELD_NAME, NodeService.class);
+
+    private static final AccessorRegistry.FieldAccessor<Object> STATS_SEARCH_SHARD_TASK_STATS =
+            AccessorRegistry.INSTANCE.field(
+                    STATS_CLASS_NAME, "searchShardTaskStats", Object.class);
+    private static final AccessorRegistry.FieldAccessor<Object> STATS_SEARCH_TASK_STATS =
+            AccessorRegistry.INSTANCE.field(STATS_CLASS_NAME, "searchTaskStats", Object.class);
+    private static final AccessorRegistry.FieldAccessor<Object> STATS_MODE =
+            AccessorRegistry.INSTANCE.field(STATS_CLASS_NAME, "mode", Object.class);
+
+    private static final AccessorRegistry.FieldAccessor<Long> SHARD_TASK_CANCELLATION_COUNT =
+            AccessorRegistry.INSTANCE.field(
+                    SHARD_TASK_STATS_CLASS_NAME, "cancellationCount", Long.class);
+    private static final AccessorRegistry.FieldAccessor<Long> SHARD_TASK_LIMIT_REACHED_COUNT =
+            AccessorRegistry.INSTANCE.field(
+                    SHARD_TASK_STATS_CLASS_NAME, "limitReachedCount", Long.class);
+    private static final AccessorRegistry.FieldAccessor<Long> SHARD_TASK_COMPLETION_COUNT =
+            AccessorRegistry.INSTANCE.field(
+                    SHARD_TASK_STATS_CLASS_NAME, "completionCount", Long.class);
+    private static final AccessorRegistry.FieldAccessor<Map>
+            SHARD_TASK_RESOURCE_USAGE_TRACKER_STATS =
+                    AccessorRegistry.INSTANCE.field(
+                            SHARD_TASK_STATS_CLASS_NAME, "resourceUsageTrackerStats", Map.class);
+
+    private static final AccessorRegistry.FieldAccessor<Long> TASK_CANCELLATION_COUNT =
+            AccessorRegistry.INSTANCE.field(TASK_STATS_CLASS_NAME, "cancellationCount", Long.class);
+    private static final AccessorRegistry.FieldAccessor<Long> TASK_LIMIT_REACHED_COUNT =
+            AccessorRegistry.INSTANCE.field(TASK_STATS_CLASS_NAME, "limitReachedCount", Long.class);
+    private static final AccessorRegistry.FieldAccessor<Long> TASK_COMPLETION_COUNT =
+            AccessorRegistry.INSTANCE.field(TASK_STATS_CLASS_NAME, "completionCount", Long.class);
+    private static final AccessorRegistry.FieldAccessor<Map> TASK_RESOURCE_USAGE_TRACKER_STATS =
+            AccessorRegistry.INSTANCE.field(
+                    TASK_STATS_CLASS_NAME, "resourceUsageTrackerStats", Map.class);
+
+    // Per-interval values derived from the cumulative counters
+    public static final String SHARD_TASK_CANCELLATION_DELTA =
+            "searchbp_shard_task_stats_cancellationCount_delta";
+    public static final String SHARD_TASK_LIMIT_REACHED_DELTA =
+            "searchbp_shard_task_stats_limitReachedCount_delta";
+    public static final String SHARD_TASK_HEAP_USAGE_CANCELLATION_RATE =
+            "searchbp_shard_task_stats_resource_heap_usage_cancellationRate";
+    public static final String SHARD_TASK_CPU_USAGE_CANCELLATION_RATE =
+            "searchbp_shard_task_stats_resource_cpu_usage_cancellationRate";
+    public static final String SHARD_TASK_ELAPSED_TIME_CANCELLATION_RATE =
+            "searchbp_shard_task_stats_resource_elaspedtime_usage_cancellationRate";
+    public static final String TASK_CANCELLATION_DELTA =
+            "searchbp_search_task_stats_cancellationCount_delta";
+    public static final String TASK_LIMIT_REACHED_DELTA =
+            "searchbp_search_task_stats_limitReachedCount_delta";
+    public static final String TASK_HEAP_USAGE_CANCELLATION_RATE =
+            "searchbp_search_task_stats_resource_heap_usage_cancellationRate";
+    public static final String TASK_CPU_USAGE_CANCELLATION_RATE =
+            "searchbp_search_task_stats_resource_cpu_usage_cancellationRate";
+    public static final String TASK_ELAPSED_TIME_CANCELLATION_RATE =
+            "searchbp_search_task_stats_resource_elaspedtime_usage_cancellationRate";
+
     // Headline for search back pressure metrics
     public static final String PATH_TO_STORE_METRICS = "search_back_pressure";
     private String nodeId;
+    private SearchBackpressureService searchBackpressureService;
+    private final Map<Class<?>, TrackerStatsAccessors> trackerStatsAccessors;
+
+    // Stats of the previous run, to report per-interval deltas and rates
+    private SearchBackPressureStats previousStats;
+    private long previousCollectionTime;
 
     // Metrics to be collected as a String and written in a JSON String
     private final StringBuilder value;
     private final PerformanceAnalyzerController controller;
     private final ConfigOverridesWrapper configOverridesWrapper;
 
-    static {
-        mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    }
-
     /*
      * SearchBackPressureStatsCollector collects SearchBackPressure Related Stats from org.opensearch.search.backpressure.SearchBackpressureService
      * Example Stats include the cancellation count of search tasks on shard level or node level
@@ -86,6 +152,8 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
         this.controller = controller;
         this.configOverridesWrapper = configOverridesWrapper;
         this.value = new StringBuilder();
+        this.trackerStatsAccessors = new HashMap<>();
+        this.previousCollectionTime = -1;
         LOG.info("SearchBackPressureStatsCollector started");
     }
 
@@ -102,20 +170,12 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
 
     @Override
     public void collectMetrics(long startTime) {
-        SearchBackPressureStats currentSearchBackPressureStats = null;
+        SearchBackPressureStats currentSearchBackPressureStats;
         try {
-            String jsonString = mapper.writeValueAsString(getSearchBackPressureStats());
-            currentSearchBackPressureStats =
-                    mapper.readValue(jsonString, SearchBackPressureStats.class);
-        } catch (InvocationTargetException
-                | IllegalAccessException
-                | NoSuchMethodException
-                | NoSuchFieldException
-                | ClassNotFoundException
-                | JsonProcessingException ex) {
-            ex.printStackTrace();
+            currentSearchBackPressureStats = getSearchBackPressureStats();
+        } catch (ReflectiveOperationException | RuntimeException ex) {
             LOG.warn(
-                    "No method found to get Search BackPressure Stats. "
+                    "Unable to read Search BackPressure Stats. "
                             + "Skipping SearchBackPressureStatsCollector. Error: "
                             + ex.getMessage());
             return;
@@ -127,6 +187,12 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
                         getNodeId(),
                         currentSearchBackPressureStats.getSearchShardTaskStats(),
                         currentSearchBackPressureStats.getSearchTaskStats());
+        if (previousStats != null) {
+            searchBackPressureMetrics.populate_interval_stats(
+                    previousStats, startTime - previousCollectionTime);
+        }
+        previousStats = currentSearchBackPressureStats;
+        previousCollectionTime = startTime;
 
         // clear previous buffered value
         value.setLength(0);
@@ -142,47 +208,109 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
         saveMetricValues(value.toString(), startTime);
     }
 
-    Field getField(String className, String fieldName)
-            throws NoSuchFieldException, ClassNotFoundException {
+    /*
+     * Reads the stats of the SearchBackpressureService straight from the fields of the stats
+     * objects it returns; the service is looked up through Bootstrap.INSTANCE.node.nodeService
+     * once.
+     */
+    @VisibleForTesting
+    public SearchBackPressureStats getSearchBackPressureStats()
+            throws ReflectiveOperationException {
+        if (searchBackpressureService == null) {
+            // Get the static instance of Bootstrap and the Node instance it started
+            Node node = BOOTSTRAP_NODE.get(BOOTSTRAP_INSTANCE.getStatic());
+
+            NodeEnvironment nodeEnvironment = node.getNodeEnvironment();
+            setNodeId(nodeEnvironment.nodeId());
+
+            // Get the NodeService instance from the Node instance
+            NodeService nodeService = NODE_SERVICE.get(node);
+            searchBackpressureService = nodeService.getSearchBackpressureService();
+        }
+
+        Object stats = searchBackpressureService.nodeStats();
+        Object mode = STATS_MODE.get(stats);
+        return new SearchBackPressureStats(
+                readShardTaskStats(STATS_SEARCH_SHARD_TASK_STATS.get(stats)),
+                mode == null ? null : mode.toString(),
+                readTaskStats(STATS_SEARCH_TASK_STATS.get(stats)));
+    }
+
+    private SearchShardTaskStats readShardTaskStats(Object stats)
+            throws ReflectiveOperationException {
+        return new SearchShardTaskStats(
+                SHARD_TASK_CANCELLATION_COUNT.get(stats),
+                SHARD_TASK_LIMIT_REACHED_COUNT.get(stats),
+                SHARD_TASK_COMPLETION_COUNT.get(stats),
+                readTrackerStats(SHARD_TASK_RESOURCE_USAGE_TRACKER_STATS.get(stats)));
+    }
 
-        Class<?> BootStrapClass = Class.forName(className);
-        Field bootStrapField = BootStrapClass.getDeclaredField(fieldName);
+    private SearchTaskStats readTaskStats(Object stats) throws ReflectiveOperationException {
+        return new SearchTaskStats(
+                TASK_CANCELLATION_COUNT.get(stats),
+                TASK_LIMIT_REACHED_COUNT.get(stats),
+                TASK_COMPLETION_COUNT.get(stats),
+                readTrackerStats(TASK_RESOURCE_USAGE_TRACKER_STATS.get(stats)));
+    }
 
-        // set the field to be accessible
-        bootStrapField.setAccessible(true);
-        return bootStrapField;
+    private Map<String, ResourceUsageTrackerStats> readTrackerStats(Map<?, ?> trackers)
+            throws ReflectiveOperationException {
+        Map<String, ResourceUsageTrackerStats> result = new HashMap<>();
+        for (Map.Entry<?, ?> tracker : trackers.entrySet()) {
+            Object key = tracker.getKey();
+            Object stats = tracker.getValue();
+            // keyed by TaskResourceUsageTrackerType, e.g. HEAP_USAGE_TRACKER
+            String name = key instanceof Enum ? ((Enum<?>) key).name() : String.valueOf(key);
+            TrackerStatsAccessors accessors =
+                    trackerStatsAccessors.computeIfAbsent(
+                            stats.getClass(), TrackerStatsAccessors::new);
+            result.put(
+                    name,
+                    new ResourceUsageTrackerStats(
+                            accessors.read(accessors.cancellationCount, stats),
+                            accessors.read(accessors.currentMax, stats),
+                            accessors.read(accessors.currentAvg, stats),
+                            accessors.read(accessors.rollingAvg, stats),
+                            stats instanceof ToXContent && ((ToXContent) stats).isFragment()));
+        }
+        return result;
     }
 
-    @VisibleForTesting
-    public Object getSearchBackPressureStats()
-            throws InvocationTargetException,
-                    IllegalAccessException,
-                    NoSuchMethodException,
-                    NoSuchFieldException,
-                    NoSuchFieldError,
-                    ClassNotFoundException {
-
-        // Get the static instance of Bootstrap
-        Object bootStrapSInstance =
-                getField(BOOTSTRAP_CLASS_NAME, BOOTSTRAP_INSTANCE_FIELD_NAME).get(null);
-
-        // Get the Node instance from the Bootstrap instance
-        Node node =
-                (Node)
-                        getField(BOOTSTRAP_CLASS_NAME, BOOTSTRAP_NODE_FIELD_NAME)
-                                .get(bootStrapSInstance);
-
-        NodeEnvironment nodeEnvironment = node.getNodeEnvironment();
-        setNodeId(nodeEnvironment.nodeId());
-
-        // Get the NodeService instance from the Node instance
-        NodeService nodeService =
-                (NodeService) getField(NODE_CLASS_NAME, NODE_SERVICE_FIELD_NAME).get(node);
-
-        String GET_STATS_METHOD_NAME = "nodeStats";
-        Method method = SearchBackpressureService.class.getMethod(GET_STATS_METHOD_NAME);
-
-        return method.invoke(nodeService.getSearchBackpressureService());
+    /*
+     * Accessors for the Stats class of one resource usage tracker. Not every tracker reports every
+     * value, e.g. only the heap usage tracker keeps a rolling average; missing values read as 0.
+     */
+    private static final class TrackerStatsAccessors {
+        private final AccessorRegistry.FieldAccessor<Long> cancellationCount;
+        private final AccessorRegistry.FieldAccessor<Long> currentMax;
+        private final AccessorRegistry.FieldAccessor<Long> currentAvg;
+        private final AccessorRegistry.FieldAccessor<Long> rollingAvg;
+
+        TrackerStatsAccessors(Class<?> statsClass) {
+            this.cancellationCount = resolve(statsClass, "cancellationCount");
+            this.currentMax = resolve(statsClass, "currentMax");
+            this.currentAvg = resolve(statsClass, "currentAvg");
+            this.rollingAvg = resolve(statsClass, "rollingAvg");
+        }
+
+        private static AccessorRegistry.FieldAccessor<Long> resolve(
+                Class<?> statsClass, String fieldName) {
+            for (Field field : statsClass.getDeclaredFields()) {
+                if (field.getName().equals(fieldName)) {
+                    return AccessorRegistry.INSTANCE.field(statsClass, fieldName, Long.class);
+                }
+            }
+            return null;
+        }
+
+        long read(AccessorRegistry.FieldAccessor<Long> accessor, Object stats)
+                throws ReflectiveOperationException {
+            if (accessor == null) {
+                return 0;
+            }
+            Long value = accessor.get(stats);
+            return value == null ? 0 : value;
+        }
     }
 
     @Override
@@ -515,6 +643,20 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
         private long searchbp_search_task_stats_resource_elaspedtime_usage_currentMax;
         private long searchbp_search_task_stats_resource_elaspedtime_usage_currentAvg;
 
+        // Per-interval deltas of the cumulative counters; 0 until a previous run is available
+        private long searchbp_shard_task_stats_cancellationCount_delta;
+        private long searchbp_shard_task_stats_limitReachedCount_delta;
+        private long searchbp_search_task_stats_cancellationCount_delta;
+        private long searchbp_search_task_stats_limitReachedCount_delta;
+
+        // Cancellations per second attributed to each resource usage tracker
+        private double searchbp_shard_task_stats_resource_heap_usage_cancellationRate;
+        private double searchbp_shard_task_stats_resource_cpu_usage_cancellationRate;
+        private double searchbp_shard_task_stats_resource_elaspedtime_usage_cancellationRate;
+        private double searchbp_search_task_stats_resource_heap_usage_cancellationRate;
+        private double searchbp_search_task_stats_resource_cpu_usage_cancellationRate;
+        private double searchbp_search_task_stats_resource_elaspedtime_usage_cancellationRate;
+
         public SearchBackPressureMetrics(
                 String mode,
                 String nodeId,
@@ -613,6 +755,99 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
                     task_time_stats.getCurrentAvg();
         }
 
+        /*
+         * Populates the per-interval deltas and rates from the stats of the previous run, taken
+         * intervalMillis before the current one.
+         */
+        public void populate_interval_stats(SearchBackPressureStats previous, long intervalMillis) {
+            SearchShardTaskStats previousShardTaskStats = previous.getSearchShardTaskStats();
+            SearchTaskStats previousTaskStats = previous.getSearchTaskStats();
+
+            this.searchbp_shard_task_stats_cancellationCount_delta =
+                    delta(
+                            searchShardTaskStats.getCancellationCount(),
+                            previousShardTaskStats.getCancellationCount());
+            this.searchbp_shard_task_stats_limitReachedCount_delta =
+                    delta(
+                            searchShardTaskStats.getLimitReachedCount(),
+                            previousShardTaskStats.getLimitReachedCount());
+            this.searchbp_search_task_stats_cancellationCount_delta =
+                    delta(
+                            searchTaskStats.getCancellationCount(),
+                            previousTaskStats.getCancellationCount());
+            this.searchbp_search_task_stats_limitReachedCount_delta =
+                    delta(
+                            searchTaskStats.getLimitReachedCount(),
+                            previousTaskStats.getLimitReachedCount());
+
+            Map<String, ResourceUsageTrackerStats> shardTrackers =
+                    searchShardTaskStats.getResourceUsageTrackerStats();
+            Map<String, ResourceUsageTrackerStats> previousShardTrackers =
+                    previousShardTaskStats.getResourceUsageTrackerStats();
+            this.searchbp_shard_task_stats_resource_heap_usage_cancellationRate =
+                    cancellationRate(
+                            shardTrackers,
+                            previousShardTrackers,
+                            HEAP_USAGE_TRACKER_FIELD_NAME,
+                            intervalMillis);
+            this.searchbp_shard_task_stats_resource_cpu_usage_cancellationRate =
+                    cancellationRate(
+                            shardTrackers,
+                            previousShardTrackers,
+                            CPU_USAGE_TRACKER_FIELD_NAME,
+                            intervalMillis);
+            this.searchbp_shard_task_stats_resource_elaspedtime_usage_cancellationRate =
+                    cancellationRate(
+                            shardTrackers,
+                            previousShardTrackers,
+                            ELAPSED_TIME_USAGE_TRACKER_FIELD_NAME,
+                            intervalMillis);
+
+            Map<String, ResourceUsageTrackerStats> taskTrackers =
+                    searchTaskStats.getResourceUsageTrackerStats();
+            Map<String, ResourceUsageTrackerStats> previousTaskTrackers =
+                    previousTaskStats.getResourceUsageTrackerStats();
+            this.searchbp_search_task_stats_resource_heap_usage_cancellationRate =
+                    cancellationRate(
+                            taskTrackers,
+                            previousTaskTrackers,
+                            HEAP_USAGE_TRACKER_FIELD_NAME,
+                            intervalMillis);
+            this.searchbp_search_task_stats_resource_cpu_usage_cancellationRate =
+                    cancellationRate(
+                            taskTrackers,
+                            previousTaskTrackers,
+                            CPU_USAGE_TRACKER_FIELD_NAME,
+                            intervalMillis);
+            this.searchbp_search_task_stats_resource_elaspedtime_usage_cancellationRate =
+                    cancellationRate(
+                            taskTrackers,
+                            previousTaskTrackers,
+                            ELAPSED_TIME_USAGE_TRACKER_FIELD_NAME,
+                            intervalMillis);
+        }
+
+        // A counter that went backwards was reset, e.g. by a node restart
+        private static long delta(long current, long previous) {
+            return current >= previous ? current - previous : current;
+        }
+
+        private static double cancellationRate(
+                Map<String, ResourceUsageTrackerStats> current,
+                Map<String, ResourceUsageTrackerStats> previous,
+                String tracker,
+                long intervalMillis) {
+            ResourceUsageTrackerStats currentStats = current.get(tracker);
+            ResourceUsageTrackerStats previousStats = previous.get(tracker);
+            if (currentStats == null || intervalMillis <= 0) {
+                return 0;
+            }
+            long previousCount = previousStats == null ? 0 : previousStats.getCancellationCount();
+            return delta(currentStats.getCancellationCount(), previousCount)
+                    * 1000.0
+                    / intervalMillis;
+        }
+
         @JsonProperty(SearchBackPressureStatsValue.Constants.SEARCHBP_MODE)
         public String getSearchBackPressureStats_Mode() {
             return this.mode;
@@ -787,5 +1022,55 @@ public class SearchBackPressureStatsCollector extends PerformanceAnalyzerMetrics
         public long getSearchbp_search_task_stats_resource_elaspedtime_usage_currentAvg() {
             return searchbp_search_task_stats_resource_elaspedtime_usage_currentAvg;
         }
+
+        @JsonProperty(SHARD_TASK_CANCELLATION_DELTA)
+        public long getSearchbp_shard_task_stats_cancellationCount_delta() {
+            return searchbp_shard_task_stats_cancellationCount_delta;
+        }
+
+        @JsonProperty(SHARD_TASK_LIMIT_REACHED_DELTA)
+        public long getSearchbp_shard_task_stats_limitReachedCount_delta() {
+            return searchbp_shard_task_stats_limitReachedCount_delta;
+        }
+
+        @JsonProperty(SHARD_TASK_HEAP_USAGE_CANCELLATION_RATE)
+        public double getSearchbp_shard_task_stats_resource_heap_usage_cancellationRate() {
+            return searchbp_shard_task_stats_resource_heap_usage_cancellationRate;
+        }
+
+        @JsonProperty(SHARD_TASK_CPU_USAGE_CANCELLATION_RATE)
+        public double getSearchbp_shard_task_stats_resource_cpu_usage_cancellationRate() {
+            return searchbp_shard_task_stats_resource_cpu_usage_cancellationRate;
+        }
+
+        @JsonProperty(SHARD_TASK_ELAPSED_TIME_CANCELLATION_RATE)
+        public double getSearchbp_shard_task_stats_resource_elaspedtime_usage_cancellationRate() {
+            return searchbp_shard_task_stats_resource_elaspedtime_usage_cancellationRate;
+        }
+
+        @JsonProperty(TASK_CANCELLATION_DELTA)
+        public long getSearchbp_search_task_stats_cancellationCount_delta() {
+            return searchbp_search_task_stats_cancellationCount_delta;
+        }
+
+        @JsonProperty(TASK_LIMIT_REACHED_DELTA)
+        public long getSearchbp_search_task_stats_limitReachedCount_delta() {
+            return searchbp_search_task_stats_limitReachedCount_delta;
+        }
+
+        @JsonProperty(TASK_HEAP_USAGE_CANCELLATION_RATE)
+        public double getSearchbp_search_task_stats_resource_heap_usage_cancellationRate() {
+            return searchbp_search_task_stats_resource_heap_usage_cancellationRate;
+        }
+
+        @JsonProperty(TASK_CPU_USAGE_CANCELLATION_RATE)
+        public double getSearchbp_search_task_stats_resource_cpu_usage_cancellationRate() {
+            return searchbp_search_task_stats_resource_cpu_usage_cancellationRate;
+        }
+
+        @JsonProperty(TASK_ELAPSED_TIME_CANCELLATION_RATE)
+        public double getSearchbp_search_task_stats_resource_elaspedtime_usage_cancellationRate() {
+            return searchbp_search_task_stats_resource_elaspedtime_usage_cancellationRate;
+        }
     }
 }
@@ -0,0 +1,351 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.NODESTATS_COLLECTION_ERROR;
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.NODE_STATS_FIXED_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME;
+import static org.opensearch.performanceanalyzer.util.CollectorStatMetrics.SEGMENT_MERGE_COLLECTOR;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.util.ShardRegistry;
+import org.opensearch.performanceanalyzer.util.ShardStateStore;
+import org.opensearch.performanceanalyzer.util.ShardStatsField;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshot;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshotService;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Reports the Lucene segments and merges of every shard from the shared {@link ShardStatsSnapshot}:
+ * segment count, version map and index writer memory, the merges running and the bytes they are
+ * merging, and the merge throughput, time and throttle time since the previous run. It replaces the
+ * segment and merge figures of the fixed shards collector, which read a full {@code ShardStats} per
+ * shard.
+ *
+ * <p>The merge backlog is the number of milliseconds the running merges would take at the merge
+ * throughput of the interval. A backlog that keeps growing while the throttle time rises shows
+ * merges falling behind before indexing is throttled. Shards whose stats were not read in this tick
+ * are skipped, their deltas would cover an unknown interval.
+ */
+public class SegmentMergeCollector extends PerformanceAnalyzerMetricsCollector
+        implements MetricsProcessor {
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(SegmentMergeCollector.class).samplingInterval;
+    private static final int KEYS_PATH_LENGTH = 2;
+    public static final String PATH_TO_STORE_METRICS = "segment_merge";
+
+    public static final String SEGMENT_COUNT = "shard_segment_count";
+    public static final String VERSION_MAP_MEMORY = "shard_version_map_memory";
+    public static final String MERGE_CURRENT = "shard_merge_current";
+    public static final String MERGE_CURRENT_SIZE = "shard_merge_current_size";
+    public static final String MERGE_THROUGHPUT = "shard_merge_throughput";
+    public static final String MERGE_THROTTLE_TIME = "shard_merge_throttle_time";
+    public static final String MERGE_BACKLOG = "shard_merge_backlog";
+
+    private static final Set<ShardStatsField> SHARD_STATS_FIELDS =
+            EnumSet.of(
+                    ShardStatsField.SEGMENTS_COUNT,
+                    ShardStatsField.SEGMENTS_VERSION_MAP_MEMORY,
+                    ShardStatsField.SEGMENTS_INDEX_WRITER_MEMORY,
+                    ShardStatsField.MERGE_CURRENT,
+                    ShardStatsField.MERGE_CURRENT_SIZE,
+                    ShardStatsField.MERGE_TOTAL_SIZE,
+                    ShardStatsField.MERGE_TOTAL_TIME,
+                    ShardStatsField.MERGE_THROTTLE_TIME);
+
+    /** Columns of the previous run kept per shard. */
+    private static final int TOTAL_SIZE = 0;
+    private static final int TOTAL_TIME = 1;
+    private static final int THROTTLE_TIME = 2;
+    private static final int READ_TIME = 3;
+
+    private final ShardStateStore previous;
+    private final StringBuilder value;
+
+    private Histogram segmentCountHistogram;
+    private Histogram versionMapMemoryHistogram;
+    private Histogram mergeCurrentHistogram;
+    private Histogram mergeCurrentSizeHistogram;
+    private Histogram mergeThroughputHistogram;
+    private Histogram mergeThrottleTimeHistogram;
+    private Histogram mergeBacklogHistogram;
+
+    public SegmentMergeCollector() {
+        // the commons codes are shared with the fixed shards collector, the collector's own time
+        // and errors are reported through CollectorStatMetrics
+        super(
+                SAMPLING_TIME_INTERVAL,
+                SEGMENT_MERGE_COLLECTOR.getCollectorName(),
+                NODE_STATS_FIXED_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME,
+                NODESTATS_COLLECTION_ERROR);
+        this.previous = new ShardStateStore(READ_TIME + 1);
+        this.value = new StringBuilder();
+        ShardRegistry.INSTANCE.addRemovalListener(previous);
+        ShardStatsSnapshotService.INSTANCE.register(SHARD_STATS_FIELDS);
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        SEGMENT_MERGE_COLLECTOR.measure(() -> collect(startTime));
+    }
+
+    private void collect(long startTime) {
+        if (OpenSearchResources.INSTANCE.getIndicesService() == null) {
+            return;
+        }
+        ShardStatsSnapshot snapshot = ShardStatsSnapshotService.INSTANCE.getSnapshot(startTime);
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry != null) {
+            initialiseMetricsIfNeeded(metricsRegistry);
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.getStaleness(i) > 0) {
+                continue;
+            }
+            ShardId shardId = snapshot.getShardId(i);
+            int ordinal = snapshot.getOrdinal(i);
+            boolean hasPrevious = previous.hasPrevious(ordinal, shardId);
+            previous.claim(ordinal, shardId);
+            long mergedBytes =
+                    previous.delta(
+                            ordinal, TOTAL_SIZE, snapshot.get(i, ShardStatsField.MERGE_TOTAL_SIZE));
+            long mergeTime =
+                    previous.delta(
+                            ordinal, TOTAL_TIME, snapshot.get(i, ShardStatsField.MERGE_TOTAL_TIME));
+            long throttleTime =
+                    previous.delta(
+                            ordinal,
+                            THROTTLE_TIME,
+                            snapshot.get(i, ShardStatsField.MERGE_THROTTLE_TIME));
+            long elapsedMillis = startTime - previous.get(ordinal, READ_TIME);
+            previous.set(ordinal, READ_TIME, startTime);
+            if (!hasPrevious || elapsedMillis <= 0) {
+                // the cumulative values only set the baseline of the shard
+                mergedBytes = 0;
+                mergeTime = 0;
+                throttleTime = 0;
+                elapsedMillis = 0;
+            }
+
+            long currentSize = snapshot.get(i, ShardStatsField.MERGE_CURRENT_SIZE);
+            double throughput = getThroughput(mergedBytes, elapsedMillis);
+            SegmentMergeStatus status =
+                    new SegmentMergeStatus(
+                            snapshot.get(i, ShardStatsField.SEGMENTS_COUNT),
+                            snapshot.get(i, ShardStatsField.SEGMENTS_VERSION_MAP_MEMORY),
+                            snapshot.get(i, ShardStatsField.SEGMENTS_INDEX_WRITER_MEMORY),
+                            snapshot.get(i, ShardStatsField.MERGE_CURRENT),
+                            currentSize,
+                            throughput,
+                            mergeTime,
+                            throttleTime,
+                            getBacklogMillis(currentSize, throughput));
+            value.setLength(0);
+            value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
+                    .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                    .append(status.serialize());
+            saveMetricValues(
+                    value.toString(),
+                    startTime,
+                    shardId.getIndexName(),
+                    String.valueOf(shardId.id()));
+            if (metricsRegistry != null) {
+                recordMetrics(shardId, status);
+            }
+        }
+    }
+
+    /**
+     * @param mergedBytes bytes merged in the interval
+     * @param elapsedMillis length of the interval
+     * @return merged bytes per second, 0 if the interval is unknown
+     */
+    @VisibleForTesting
+    static double getThroughput(long mergedBytes, long elapsedMillis) {
+        if (elapsedMillis <= 0) {
+            return 0;
+        }
+        return mergedBytes * (double) TimeUnit.SECONDS.toMillis(1) / elapsedMillis;
+    }
+
+    /**
+     * @param currentSize bytes of the running merges
+     * @param throughput merged bytes per second
+     * @return milliseconds the running merges take at the given throughput; 0 if nothing is
+     *     merging, -1 if merges are running but nothing was merged in the interval
+     */
+    @VisibleForTesting
+    static long getBacklogMillis(long currentSize, double throughput) {
+        if (currentSize <= 0) {
+            return 0;
+        }
+        if (throughput <= 0) {
+            return -1;
+        }
+        return (long) (currentSize * TimeUnit.SECONDS.toMillis(1) / throughput);
+    }
+
+    private void initialiseMetricsIfNeeded(MetricsRegistry metricsRegistry) {
+        if (segmentCountHistogram != null) {
+            return;
+        }
+        String bytes = RTFMetrics.MetricUnits.BYTE.toString();
+        String millis = RTFMetrics.MetricUnits.MILLISECOND.toString();
+        String count = RTFMetrics.MetricUnits.COUNT.toString();
+        segmentCountHistogram =
+                metricsRegistry.createHistogram(SEGMENT_COUNT, "Segments of a shard", count);
+        versionMapMemoryHistogram =
+                metricsRegistry.createHistogram(
+                        VERSION_MAP_MEMORY, "Version map memory of a shard", bytes);
+        mergeCurrentHistogram =
+                metricsRegistry.createHistogram(MERGE_CURRENT, "Merges running on a shard", count);
+        mergeCurrentSizeHistogram =
+                metricsRegistry.createHistogram(
+                        MERGE_CURRENT_SIZE, "Bytes of the merges running on a shard", bytes);
+        mergeThroughputHistogram =
+                metricsRegistry.createHistogram(
+                        MERGE_THROUGHPUT,
+                        "Bytes merged per second on a shard",
+                        RTFMetrics.MetricUnits.RATE.toString());
+        mergeThrottleTimeHistogram =
+                metricsRegistry.createHistogram(
+                        MERGE_THROTTLE_TIME,
+                        "Time the merges of a shard were throttled in a collection interval",
+                        millis);
+        mergeBacklogHistogram =
+                metricsRegistry.createHistogram(
+                        MERGE_BACKLOG,
+                        "Time the running merges of a shard take at the current throughput",
+                        millis);
+    }
+
+    private void recordMetrics(ShardId shardId, SegmentMergeStatus status) {
+        Tags tags =
+                Tags.create()
+                        .addTag(
+                                RTFMetrics.CommonDimension.INDEX_NAME.toString(),
+                                shardId.getIndexName())
+                        .addTag(
+                                RTFMetrics.CommonDimension.SHARD_ID.toString(),
+                                String.valueOf(shardId.getId()));
+        segmentCountHistogram.record(status.getSegmentCount(), tags);
+        versionMapMemoryHistogram.record(status.getVersionMapMemory(), tags);
+        mergeCurrentHistogram.record(status.getMergeCurrent(), tags);
+        mergeCurrentSizeHistogram.record(status.getMergeCurrentSize(), tags);
+        mergeThroughputHistogram.record(status.getMergeThroughput(), tags);
+        mergeThrottleTimeHistogram.record(status.getMergeThrottleTime(), tags);
+        if (status.getMergeBacklog() >= 0) {
+            mergeBacklogHistogram.record(status.getMergeBacklog(), tags);
+        }
+    }
+
+    @Override
+    public String getMetricsPath(long startTime, String... keysPath) {
+        // keys are the index name and the shard id
+        if (keysPath.length != KEYS_PATH_LENGTH) {
+            throw new RuntimeException("keys length should be " + KEYS_PATH_LENGTH);
+        }
+        return PerformanceAnalyzerMetrics.generatePath(
+                startTime, PATH_TO_STORE_METRICS, keysPath[0], keysPath[1]);
+    }
+
+    /**
+     * Segments and merges of one shard. Memory and merge sizes are in bytes, throughput in bytes
+     * per second and times in milliseconds; merge time and throttle time cover the interval since
+     * the previous run.
+     */
+    public static class SegmentMergeStatus extends MetricStatus {
+        private final long segmentCount;
+        private final long versionMapMemory;
+        private final long indexWriterMemory;
+        private final long mergeCurrent;
+        private final long mergeCurrentSize;
+        private final double mergeThroughput;
+        private final long mergeTime;
+        private final long mergeThrottleTime;
+        private final long mergeBacklog;
+
+        public SegmentMergeStatus(
+                long segmentCount,
+                long versionMapMemory,
+                long indexWriterMemory,
+                long mergeCurrent,
+                long mergeCurrentSize,
+                double mergeThroughput,
+                long mergeTime,
+                long mergeThrottleTime,
+                long mergeBacklog) {
+            this.segmentCount = segmentCount;
+            this.versionMapMemory = versionMapMemory;
+            this.indexWriterMemory = indexWriterMemory;
+            this.mergeCurrent = mergeCurrent;
+            this.mergeCurrentSize = mergeCurrentSize;
+            this.mergeThroughput = mergeThroughput;
+            this.mergeTime = mergeTime;
+            this.mergeThrottleTime = mergeThrottleTime;
+            this.mergeBacklog = mergeBacklog;
+        }
+
+        @JsonProperty("SegmentCount")
+        public long getSegmentCount() {
+            return segmentCount;
+        }
+
+        @JsonProperty("VersionMapMemory")
+        public long getVersionMapMemory() {
+            return versionMapMemory;
+        }
+
+        @JsonProperty("IndexWriterMemory")
+        public long getIndexWriterMemory() {
+            return indexWriterMemory;
+        }
+
+        @JsonProperty("MergeCurrent")
+        public long getMergeCurrent() {
+            return mergeCurrent;
+        }
+
+        @JsonProperty("MergeCurrentSize")
+        public long getMergeCurrentSize() {
+            return mergeCurrentSize;
+        }
+
+        @JsonProperty("MergeThroughput")
+        public double getMergeThroughput() {
+            return mergeThroughput;
+        }
+
+        @JsonProperty("MergeTime")
+        public long getMergeTime() {
+            return mergeTime;
+        }
+
+        @JsonProperty("MergeThrottleTime")
+        public long getMergeThrottleTime() {
+            return mergeThrottleTime;
+        }
+
+        @JsonProperty("MergeBacklog")
+        public long getMergeBacklog() {
+            return mergeBacklog;
+        }
+    }
+}
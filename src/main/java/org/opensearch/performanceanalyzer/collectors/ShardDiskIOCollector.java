@@ -0,0 +1,416 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.RTF_DISK_METRICS_COLLECTOR_ERROR;
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.RTF_DISKS_COLLECTOR_EXECUTION_TIME;
+import static org.opensearch.performanceanalyzer.util.CollectorStatMetrics.SHARD_DISK_IO_COLLECTOR;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.jvm.ThreadList;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.ShardRefreshMonitor;
+import org.opensearch.performanceanalyzer.util.Utils;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Attributes the disk I/O of merge, flush and refresh threads to the shards they work on, so a
+ * saturated device can be traced back to the shards whose segment writes fill it. The kernel
+ * accounts the bytes every thread makes the block layer read and write in {@code
+ * /proc/self/task/<tid>/io}; the collector reads that file for the threads of the three kinds and
+ * reports the growth since their previous read per shard and kind.
+ *
+ * <p>A Lucene merge thread only ever works on the shard named in its thread name, {@code
+ * opensearch[<node>][[<index>][<shard>]: Lucene Merge Thread #<n>]}. Flush and refresh pool threads
+ * move between shards and are attributed to the shard whose internal reader they refreshed last,
+ * as noted by the {@link ShardRefreshMonitor}, so the bytes of a thread that served several shards
+ * since its previous read all go to the last one. Threads started after the first run count from
+ * zero, since the counters of a thread start at its creation, while the bytes a merge thread
+ * writes after its last read before it ends are not seen.
+ *
+ * <p>At most {@link #MAX_THREADS_PER_RUN} threads are read per run, in turn by native thread id,
+ * so the cost of a run is bounded however many merges run at once; a thread skipped in a run is
+ * attributed its whole growth when it is read next.
+ */
+public class ShardDiskIOCollector extends PerformanceAnalyzerMetricsCollector
+        implements MetricsProcessor {
+    private static final Logger LOG = LogManager.getLogger(ShardDiskIOCollector.class);
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(ShardDiskIOCollector.class).samplingInterval;
+    private static final int KEYS_PATH_LENGTH = 3;
+    public static final String PATH_TO_STORE_METRICS = "shard_disk_io";
+
+    /** Upper bound on the {@code /proc} files read per run. */
+    public static final int MAX_THREADS_PER_RUN = 64;
+
+    public static final String ACTIVITY_MERGE = "merge";
+    public static final String ACTIVITY_FLUSH = "flush";
+    public static final String ACTIVITY_REFRESH = "refresh";
+
+    public static final String SHARD_DISK_READ_BYTES = "shard_disk_read_bytes";
+    public static final String SHARD_DISK_WRITE_BYTES = "shard_disk_write_bytes";
+
+    private static final String MERGE_THREAD_MARKER = "]: Lucene Merge Thread";
+    private static final String READ_BYTES = "read_bytes:";
+    private static final String WRITE_BYTES = "write_bytes:";
+
+    /** Shard as named by a thread; merge thread names carry no index uuid. */
+    @VisibleForTesting
+    record ShardKey(String indexName, int shardId) {}
+
+    /** Bytes a thread made the block layer read and write since its creation. */
+    @VisibleForTesting
+    record ThreadIO(long readBytes, long writeBytes) {}
+
+    /** A thread of the process as known to the JVM and to the kernel. */
+    @VisibleForTesting
+    record TaskThread(long nativeTid, long javaTid, String threadName) {}
+
+    /** What the bytes of a row were spent on, and for which shard. */
+    @VisibleForTesting
+    record Attribution(ShardKey shard, String activity) {}
+
+    private static final class ThreadState {
+        final long javaTid;
+        final String activity;
+        final ShardKey mergeShard;
+        long readBytes;
+        long writeBytes;
+        long generation;
+
+        ThreadState(long javaTid, String activity, ShardKey mergeShard, boolean fromZero) {
+            this.javaTid = javaTid;
+            this.activity = activity;
+            this.mergeShard = mergeShard;
+            this.readBytes = fromZero ? 0 : -1;
+            this.writeBytes = fromZero ? 0 : -1;
+        }
+    }
+
+    private final PerformanceAnalyzerController controller;
+    private final LongFunction<ThreadIO> ioReader;
+    private final NavigableMap<Long, ThreadState> threads;
+    private final StringBuilder value;
+    private long generation;
+    private long cursor;
+
+    private Histogram readBytesHistogram;
+    private Histogram writeBytesHistogram;
+
+    public ShardDiskIOCollector(PerformanceAnalyzerController controller) {
+        this(controller, ShardDiskIOCollector::readThreadIO);
+    }
+
+    @VisibleForTesting
+    ShardDiskIOCollector(
+            PerformanceAnalyzerController controller, LongFunction<ThreadIO> ioReader) {
+        super(
+                SAMPLING_TIME_INTERVAL,
+                SHARD_DISK_IO_COLLECTOR.getCollectorName(),
+                RTF_DISKS_COLLECTOR_EXECUTION_TIME,
+                RTF_DISK_METRICS_COLLECTOR_ERROR);
+        this.controller = controller;
+        this.ioReader = ioReader;
+        this.threads = new TreeMap<>();
+        this.value = new StringBuilder();
+        this.cursor = -1;
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        SHARD_DISK_IO_COLLECTOR.measure(() -> collect(startTime));
+    }
+
+    private void collect(long startTime) {
+        if (OpenSearchResources.INSTANCE.getIndicesService() == null) {
+            return;
+        }
+        ShardRefreshMonitor.INSTANCE.leaseActivity(SAMPLING_TIME_INTERVAL);
+        List<TaskThread> taskThreads = new ArrayList<>();
+        for (ThreadList.ThreadState state :
+                ThreadList.getNativeTidMap(controller.isThreadContentionMonitoringEnabled())
+                        .values()) {
+            taskThreads.add(new TaskThread(state.nativeTid, state.javaTid, state.threadName));
+        }
+        Map<Attribution, ThreadIO> usage = update(taskThreads);
+
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry != null) {
+            initialiseMetricsIfNeeded(metricsRegistry);
+        }
+        for (Map.Entry<Attribution, ThreadIO> entry : usage.entrySet()) {
+            Attribution attribution = entry.getKey();
+            ShardDiskIOStatus status =
+                    new ShardDiskIOStatus(
+                            entry.getValue().readBytes(), entry.getValue().writeBytes());
+            value.setLength(0);
+            value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
+                    .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                    .append(status.serialize());
+            saveMetricValues(
+                    value.toString(),
+                    startTime,
+                    attribution.shard().indexName(),
+                    String.valueOf(attribution.shard().shardId()),
+                    attribution.activity());
+            if (metricsRegistry != null) {
+                recordMetrics(attribution, status);
+            }
+        }
+    }
+
+    /**
+     * Tracks the merge, flush and refresh threads among the given ones, reads the I/O of up to
+     * {@link #MAX_THREADS_PER_RUN} of them and adds up their growth per shard and activity.
+     *
+     * @param taskThreads the live threads of the process
+     * @return bytes read and written per shard and activity, without the ones that did no I/O
+     */
+    @VisibleForTesting
+    Map<Attribution, ThreadIO> update(List<TaskThread> taskThreads) {
+        // threads seen after the first run were started since and count from zero
+        boolean fromZero = generation > 0;
+        generation++;
+        for (TaskThread taskThread : taskThreads) {
+            ThreadState state = threads.get(taskThread.nativeTid());
+            // a native id is reused once its thread ended
+            if (state == null || state.javaTid != taskThread.javaTid()) {
+                state = newThreadState(taskThread, fromZero);
+                threads.put(taskThread.nativeTid(), state);
+            }
+            state.generation = generation;
+        }
+        Iterator<ThreadState> iterator = threads.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().generation != generation) {
+                iterator.remove();
+            }
+        }
+
+        Map<Attribution, long[]> totals = new HashMap<>();
+        for (long nativeTid : nextThreads()) {
+            ThreadState state = threads.get(nativeTid);
+            ThreadIO io = ioReader.apply(nativeTid);
+            if (io == null) {
+                continue;
+            }
+            long read = state.readBytes < 0 ? 0 : Math.max(0, io.readBytes() - state.readBytes);
+            long written =
+                    state.writeBytes < 0 ? 0 : Math.max(0, io.writeBytes() - state.writeBytes);
+            state.readBytes = io.readBytes();
+            state.writeBytes = io.writeBytes();
+            ShardKey shard = state.mergeShard != null ? state.mergeShard : getPoolShard(state);
+            if (shard == null || (read == 0 && written == 0)) {
+                continue;
+            }
+            long[] total =
+                    totals.computeIfAbsent(
+                            new Attribution(shard, state.activity), key -> new long[2]);
+            total[0] += read;
+            total[1] += written;
+        }
+
+        Map<Attribution, ThreadIO> usage = new HashMap<>();
+        for (Map.Entry<Attribution, long[]> entry : totals.entrySet()) {
+            usage.put(entry.getKey(), new ThreadIO(entry.getValue()[0], entry.getValue()[1]));
+        }
+        return usage;
+    }
+
+    /** Picks the threads to read in this run, continuing after the last one read. */
+    private List<Long> nextThreads() {
+        List<Long> next = new ArrayList<>();
+        addThreads(threads.tailMap(cursor, false), next);
+        addThreads(threads.headMap(cursor, true), next);
+        if (!next.isEmpty()) {
+            cursor = next.get(next.size() - 1);
+        }
+        return next;
+    }
+
+    private static void addThreads(Map<Long, ThreadState> candidates, List<Long> next) {
+        for (Map.Entry<Long, ThreadState> entry : candidates.entrySet()) {
+            if (next.size() == MAX_THREADS_PER_RUN) {
+                return;
+            }
+            if (entry.getValue().activity != null) {
+                next.add(entry.getKey());
+            }
+        }
+    }
+
+    /** Classifies a thread not seen before; other threads get a state without activity. */
+    private static ThreadState newThreadState(TaskThread taskThread, boolean fromZero) {
+        ShardKey mergeShard = getMergeShard(taskThread.threadName());
+        if (mergeShard != null) {
+            return new ThreadState(taskThread.javaTid(), ACTIVITY_MERGE, mergeShard, fromZero);
+        }
+        String pool = Utils.getThreadPoolName(taskThread.threadName());
+        if (ACTIVITY_FLUSH.equals(pool) || ACTIVITY_REFRESH.equals(pool)) {
+            return new ThreadState(taskThread.javaTid(), pool, null, fromZero);
+        }
+        return new ThreadState(taskThread.javaTid(), null, null, fromZero);
+    }
+
+    private static ShardKey getPoolShard(ThreadState state) {
+        ShardId shardId = ShardRefreshMonitor.INSTANCE.getLastRefreshedShard(state.javaTid);
+        return shardId == null ? null : new ShardKey(shardId.getIndexName(), shardId.id());
+    }
+
+    /**
+     * Parses the shard out of the name of a Lucene merge thread.
+     *
+     * @return the shard, or null if the thread is not a merge thread
+     */
+    @VisibleForTesting
+    static ShardKey getMergeShard(String threadName) {
+        if (threadName == null) {
+            return null;
+        }
+        int shardEnd = threadName.lastIndexOf(MERGE_THREAD_MARKER);
+        if (shardEnd <= 0) {
+            return null;
+        }
+        int shardStart = threadName.lastIndexOf("][", shardEnd - 1);
+        int indexStart = threadName.indexOf("][[");
+        if (shardStart < 0 || indexStart < 0 || indexStart + 3 > shardStart) {
+            return null;
+        }
+        try {
+            return new ShardKey(
+                    threadName.substring(indexStart + 3, shardStart),
+                    Integer.parseInt(threadName.substring(shardStart + 2, shardEnd)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ThreadIO readThreadIO(long nativeTid) {
+        return AccessController.doPrivileged(
+                (PrivilegedAction<ThreadIO>)
+                        () -> {
+                            try {
+                                return parseThreadIO(
+                                        Files.readAllLines(
+                                                Paths.get(
+                                                        "/proc/self/task",
+                                                        String.valueOf(nativeTid),
+                                                        "io")));
+                            } catch (NoSuchFileException e) {
+                                // the thread ended since the thread list was taken
+                                return null;
+                            } catch (IOException e) {
+                                LOG.debug("Cannot read the I/O of thread {}", nativeTid, e);
+                                return null;
+                            }
+                        });
+    }
+
+    @VisibleForTesting
+    static ThreadIO parseThreadIO(List<String> lines) {
+        long readBytes = -1;
+        long writeBytes = -1;
+        for (String line : lines) {
+            if (line.startsWith(READ_BYTES)) {
+                readBytes = Long.parseLong(line.substring(READ_BYTES.length()).trim());
+            } else if (line.startsWith(WRITE_BYTES)) {
+                writeBytes = Long.parseLong(line.substring(WRITE_BYTES.length()).trim());
+            }
+        }
+        return readBytes < 0 || writeBytes < 0 ? null : new ThreadIO(readBytes, writeBytes);
+    }
+
+    private void initialiseMetricsIfNeeded(MetricsRegistry metricsRegistry) {
+        if (readBytesHistogram != null) {
+            return;
+        }
+        String bytes = RTFMetrics.MetricUnits.BYTE.toString();
+        readBytesHistogram =
+                metricsRegistry.createHistogram(
+                        SHARD_DISK_READ_BYTES,
+                        "Bytes read from disk by the merges, flushes or refreshes of a shard",
+                        bytes);
+        writeBytesHistogram =
+                metricsRegistry.createHistogram(
+                        SHARD_DISK_WRITE_BYTES,
+                        "Bytes written to disk by the merges, flushes or refreshes of a shard",
+                        bytes);
+    }
+
+    private void recordMetrics(Attribution attribution, ShardDiskIOStatus status) {
+        Tags tags =
+                Tags.create()
+                        .addTag(
+                                RTFMetrics.CommonDimension.INDEX_NAME.toString(),
+                                attribution.shard().indexName())
+                        .addTag(
+                                RTFMetrics.CommonDimension.SHARD_ID.toString(),
+                                String.valueOf(attribution.shard().shardId()))
+                        .addTag(
+                                RTFMetrics.CommonDimension.OPERATION.toString(),
+                                attribution.activity());
+        readBytesHistogram.record(status.getReadBytes(), tags);
+        writeBytesHistogram.record(status.getWriteBytes(), tags);
+    }
+
+    @Override
+    public String getMetricsPath(long startTime, String... keysPath) {
+        // keys are the index name, the shard id and the activity
+        if (keysPath.length != KEYS_PATH_LENGTH) {
+            throw new RuntimeException("keys length should be " + KEYS_PATH_LENGTH);
+        }
+        return PerformanceAnalyzerMetrics.generatePath(
+                startTime, PATH_TO_STORE_METRICS, keysPath[0], keysPath[1], keysPath[2]);
+    }
+
+    /** Disk bytes one activity of a shard read and wrote over an interval. */
+    public static class ShardDiskIOStatus extends MetricStatus {
+        private final long readBytes;
+        private final long writeBytes;
+
+        public ShardDiskIOStatus(long readBytes, long writeBytes) {
+            this.readBytes = readBytes;
+            this.writeBytes = writeBytes;
+        }
+
+        @JsonProperty("ReadBytes")
+        public long getReadBytes() {
+            return readBytes;
+        }
+
+        @JsonProperty("WriteBytes")
+        public long getWriteBytes() {
+            return writeBytes;
+        }
+    }
+}
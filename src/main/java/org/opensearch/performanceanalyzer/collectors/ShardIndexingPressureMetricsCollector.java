@@ -9,17 +9,19 @@ import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExcep
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.SHARD_INDEXING_PRESSURE_COLLECTOR_EXECUTION_TIME;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.lang.reflect.Field;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jooq.tools.json.JSONObject;
-import org.jooq.tools.json.JSONParser;
-import org.jooq.tools.json.ParseException;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.ShardIndexingPressureTracker;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
@@ -32,6 +34,7 @@ import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.AccessorRegistry;
 
 public class ShardIndexingPressureMetricsCollector extends PerformanceAnalyzerMetricsCollector
         implements MetricsProcessor {
@@ -41,8 +44,6 @@ public class ShardIndexingPressureMetricsCollector extends PerformanceAnalyzerMe
     private static final int KEYS_PATH_LENGTH = 0;
     private static final Logger LOG =
             LogManager.getLogger(ShardIndexingPressureMetricsCollector.class);
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static final JSONParser parser = new JSONParser();
 
     public static final String SHARD_INDEXING_PRESSURE_CLASS_NAME =
             "org.opensearch.index.ShardIndexingPressure";
@@ -59,11 +60,34 @@ public class ShardIndexingPressureMetricsCollector extends PerformanceAnalyzerMe
     public static final String SHARD_INDEXING_PRESSURE_HOT_STORE_FIELD_NAME =
             "shardIndexingPressureHotStore";
 
-    private static final Integer MAX_HOT_STORE_LIMIT = 50;
+    private static final AccessorRegistry.FieldAccessor<Object> INDEXING_PRESSURE =
+            AccessorRegistry.INSTANCE.field(
+                    CLUSTER_SERVICE_CLASS_NAME, INDEXING_PRESSURE_FIELD_NAME, Object.class);
+    private static final AccessorRegistry.FieldAccessor<Object> SHARD_INDEXING_PRESSURE =
+            AccessorRegistry.INSTANCE.field(
+                    INDEXING_PRESSURE_CLASS_NAME, SHARD_INDEXING_PRESSURE_FIELD_NAME, Object.class);
+    private static final AccessorRegistry.FieldAccessor<Object> SHARD_INDEXING_PRESSURE_STORE =
+            AccessorRegistry.INSTANCE.field(
+                    SHARD_INDEXING_PRESSURE_CLASS_NAME,
+                    SHARD_INDEXING_PRESSURE_STORE_FIELD_NAME,
+                    Object.class);
+    private static final AccessorRegistry.FieldAccessor<Map> SHARD_INDEXING_PRESSURE_HOT_STORE =
+            AccessorRegistry.INSTANCE.field(
+                    SHARD_INDEXING_PRESSURE_STORE_CLASS_NAME,
+                    SHARD_INDEXING_PRESSURE_HOT_STORE_FIELD_NAME,
+                    Map.class);
+
+    private static final int MAX_HOT_STORE_LIMIT = 50;
+
+    // Ascending order of pressure, so the head of a bounded queue is the entry to evict
+    private static final Comparator<PressureSample> PRESSURE_ORDER =
+            Comparator.comparingLong(PressureSample::rejectionDelta)
+                    .thenComparingLong(PressureSample::currentBytes);
 
     private final ConfigOverridesWrapper configOverridesWrapper;
     private final PerformanceAnalyzerController controller;
     private StringBuilder value;
+    private Map<ShardId, Long> previousRejections;
 
     public ShardIndexingPressureMetricsCollector(
             PerformanceAnalyzerController controller,
@@ -74,6 +98,7 @@ public class ShardIndexingPressureMetricsCollector extends PerformanceAnalyzerMe
                 SHARD_INDEXING_PRESSURE_COLLECTOR_EXECUTION_TIME,
                 SHARD_INDEXING_PRESSURE_COLLECTOR_ERROR);
         value = new StringBuilder();
+        previousRejections = new HashMap<>();
         this.configOverridesWrapper = configOverridesWrapper;
         this.controller = controller;
     }
@@ -91,148 +116,38 @@ public class ShardIndexingPressureMetricsCollector extends PerformanceAnalyzerMe
         }
 
         try {
-            Map<Long, Object> shardIndexingPressureHotStore;
-            Object indexingPressure =
-                    getField(CLUSTER_SERVICE_CLASS_NAME, INDEXING_PRESSURE_FIELD_NAME)
-                            .get(clusterService);
-            Object shardIndexingPressure =
-                    getField(INDEXING_PRESSURE_CLASS_NAME, SHARD_INDEXING_PRESSURE_FIELD_NAME)
-                            .get(indexingPressure);
+            Object indexingPressure = INDEXING_PRESSURE.get(clusterService);
+            Object shardIndexingPressure = SHARD_INDEXING_PRESSURE.get(indexingPressure);
             Object shardIndexingPressureStore =
-                    getField(
-                                    SHARD_INDEXING_PRESSURE_CLASS_NAME,
-                                    SHARD_INDEXING_PRESSURE_STORE_FIELD_NAME)
-                            .get(shardIndexingPressure);
-            shardIndexingPressureHotStore =
+                    SHARD_INDEXING_PRESSURE_STORE.get(shardIndexingPressure);
+            Map<Long, Object> shardIndexingPressureHotStore =
                     (Map<Long, Object>)
-                            getField(
-                                            SHARD_INDEXING_PRESSURE_STORE_CLASS_NAME,
-                                            SHARD_INDEXING_PRESSURE_HOT_STORE_FIELD_NAME)
-                                    .get(shardIndexingPressureStore);
+                            SHARD_INDEXING_PRESSURE_HOT_STORE.get(shardIndexingPressureStore);
 
             value.setLength(0);
-            shardIndexingPressureHotStore.entrySet().stream()
-                    .limit(MAX_HOT_STORE_LIMIT)
-                    .forEach(
-                            storeObject -> {
-                                JSONObject tracker;
-                                JSONObject shardId;
-                                try {
-                                    tracker =
-                                            (JSONObject)
-                                                    parser.parse(
-                                                            mapper.writeValueAsString(
-                                                                    storeObject.getValue()));
-                                    shardId =
-                                            (JSONObject)
-                                                    parser.parse(
-                                                            mapper.writeValueAsString(
-                                                                    tracker.get("shardId")));
-                                } catch (ParseException | JsonProcessingException e) {
-                                    LOG.debug(
-                                            "[ {} ] Exception raised while parsing Shard Indexing Pressure fields: {} ",
-                                            this::getCollectorName,
-                                            e::getMessage);
-                                    StatsCollector.instance()
-                                            .logException(SHARD_INDEXING_PRESSURE_COLLECTOR_ERROR);
-                                    return;
-                                }
-                                value.append(
-                                                PerformanceAnalyzerMetrics
-                                                        .getJsonCurrentMilliSeconds())
-                                        .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-                                value.append(
-                                                new ShardIndexingPressureStatus(
-                                                                AllMetrics.IndexingStage
-                                                                        .COORDINATING
-                                                                        .toString(),
-                                                                shardId.get("indexName").toString(),
-                                                                shardId.get("id").toString(),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "coordinatingRejections")
-                                                                                .toString()),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "currentCoordinatingBytes")
-                                                                                .toString()),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "primaryAndCoordinatingLimits")
-                                                                                .toString()),
-                                                                Double.longBitsToDouble(
-                                                                        Long.parseLong(
-                                                                                tracker.get(
-                                                                                                "coordinatingThroughputMovingAverage")
-                                                                                        .toString())),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "lastSuccessfulCoordinatingRequestTimestamp")
-                                                                                .toString()))
-                                                        .serialize())
-                                        .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-                                value.append(
-                                                new ShardIndexingPressureStatus(
-                                                                AllMetrics.IndexingStage.PRIMARY
-                                                                        .toString(),
-                                                                shardId.get("indexName").toString(),
-                                                                shardId.get("id").toString(),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "primaryRejections")
-                                                                                .toString()),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "currentPrimaryBytes")
-                                                                                .toString()),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "primaryAndCoordinatingLimits")
-                                                                                .toString()),
-                                                                Double.longBitsToDouble(
-                                                                        Long.parseLong(
-                                                                                tracker.get(
-                                                                                                "primaryThroughputMovingAverage")
-                                                                                        .toString())),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "lastSuccessfulPrimaryRequestTimestamp")
-                                                                                .toString()))
-                                                        .serialize())
-                                        .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-                                value.append(
-                                                new ShardIndexingPressureStatus(
-                                                                AllMetrics.IndexingStage.REPLICA
-                                                                        .toString(),
-                                                                shardId.get("indexName").toString(),
-                                                                shardId.get("id").toString(),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "replicaRejections")
-                                                                                .toString()),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "currentReplicaBytes")
-                                                                                .toString()),
-                                                                Long.parseLong(
-                                                                        tracker.get("replicaLimits")
-                                                                                .toString()),
-                                                                Double.longBitsToDouble(
-                                                                        Long.parseLong(
-                                                                                tracker.get(
-                                                                                                "replicaThroughputMovingAverage")
-                                                                                        .toString())),
-                                                                Long.parseLong(
-                                                                        tracker.get(
-                                                                                        "lastSuccessfulReplicaRequestTimestamp")
-                                                                                .toString()))
-                                                        .serialize())
-                                        .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-                            });
+            for (PressureSample sample : selectUnderPressure(shardIndexingPressureHotStore)) {
+                ShardIndexingPressureTracker tracker = sample.tracker();
+                ShardId shardId = tracker.getShardId();
+                appendStatus(
+                        AllMetrics.IndexingStage.COORDINATING,
+                        shardId,
+                        tracker.getCoordinatingOperationTracker(),
+                        tracker.getPrimaryAndCoordinatingLimits());
+                appendStatus(
+                        AllMetrics.IndexingStage.PRIMARY,
+                        shardId,
+                        tracker.getPrimaryOperationTracker(),
+                        tracker.getPrimaryAndCoordinatingLimits());
+                appendStatus(
+                        AllMetrics.IndexingStage.REPLICA,
+                        shardId,
+                        tracker.getReplicaOperationTracker(),
+                        tracker.getReplicaLimits());
+            }
             if (value.length() != 0) {
                 saveMetricValues(value.toString(), startTime);
             }
-        } catch (IllegalAccessException | NoSuchFieldException | ClassNotFoundException e) {
+        } catch (ReflectiveOperationException e) {
             LOG.debug(
                     "[ {} ] Exception raised while getting Shard Indexing Pressure fields: {} ",
                     this::getCollectorName,
@@ -241,14 +156,87 @@ public class ShardIndexingPressureMetricsCollector extends PerformanceAnalyzerMe
         }
     }
 
-    Field getField(String className, String fieldName)
-            throws NoSuchFieldException, ClassNotFoundException {
-        Class<?> clusterServiceClass = Class.forName(className);
-        Field indexingPressureField = clusterServiceClass.getDeclaredField(fieldName);
-        indexingPressureField.setAccessible(true);
-        return indexingPressureField;
+    /**
+     * Picks the {@link #MAX_HOT_STORE_LIMIT} trackers under the most pressure: shards that rejected
+     * the most requests since the previous run come first, then shards holding the most in-flight
+     * bytes. Also records the rejection totals of every tracker for the next run.
+     */
+    @VisibleForTesting
+    List<PressureSample> selectUnderPressure(Map<Long, Object> hotStore) {
+        Map<ShardId, Long> currentRejections = new HashMap<>();
+        PriorityQueue<PressureSample> top =
+                new PriorityQueue<>(MAX_HOT_STORE_LIMIT + 1, PRESSURE_ORDER);
+        for (Object value : hotStore.values()) {
+            if (!(value instanceof ShardIndexingPressureTracker)) {
+                continue;
+            }
+            ShardIndexingPressureTracker tracker = (ShardIndexingPressureTracker) value;
+            long rejections =
+                    totalRejections(tracker.getCoordinatingOperationTracker())
+                            + totalRejections(tracker.getPrimaryOperationTracker())
+                            + totalRejections(tracker.getReplicaOperationTracker());
+            long currentBytes =
+                    currentBytes(tracker.getCoordinatingOperationTracker())
+                            + currentBytes(tracker.getPrimaryOperationTracker())
+                            + currentBytes(tracker.getReplicaOperationTracker());
+            ShardId shardId = tracker.getShardId();
+            Long previous = previousRejections.get(shardId);
+            long rejectionDelta = previous == null ? 0 : Math.max(0, rejections - previous);
+            currentRejections.put(shardId, rejections);
+
+            top.add(new PressureSample(tracker, rejectionDelta, currentBytes));
+            if (top.size() > MAX_HOT_STORE_LIMIT) {
+                top.poll();
+            }
+        }
+        // shards that left the hot store are forgotten
+        previousRejections = currentRejections;
+
+        List<PressureSample> selected = new ArrayList<>(top);
+        selected.sort(PRESSURE_ORDER.reversed());
+        return selected;
     }
 
+    private void appendStatus(
+            AllMetrics.IndexingStage stage,
+            ShardId shardId,
+            ShardIndexingPressureTracker.OperationTracker operationTracker,
+            long limits) {
+        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
+                .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                .append(
+                        new ShardIndexingPressureStatus(
+                                        stage.toString(),
+                                        shardId.getIndexName(),
+                                        String.valueOf(shardId.getId()),
+                                        totalRejections(operationTracker),
+                                        currentBytes(operationTracker),
+                                        limits,
+                                        Double.longBitsToDouble(
+                                                operationTracker
+                                                        .getPerformanceTracker()
+                                                        .getThroughputMovingAverage()),
+                                        operationTracker
+                                                .getPerformanceTracker()
+                                                .getLastSuccessfulRequestTimestamp())
+                                .serialize())
+                .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
+    }
+
+    private static long totalRejections(
+            ShardIndexingPressureTracker.OperationTracker operationTracker) {
+        return operationTracker.getRejectionTracker().getTotalRejections();
+    }
+
+    private static long currentBytes(
+            ShardIndexingPressureTracker.OperationTracker operationTracker) {
+        return operationTracker.getStatsTracker().getCurrentBytes();
+    }
+
+    /** A hot store tracker together with the values it is ranked by. */
+    record PressureSample(
+            ShardIndexingPressureTracker tracker, long rejectionDelta, long currentBytes) {}
+
     @Override
     public String getMetricsPath(long startTime, String... keysPath) {
         if (keysPath.length != KEYS_PATH_LENGTH) {
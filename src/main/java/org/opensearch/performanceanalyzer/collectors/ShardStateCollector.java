@@ -11,16 +11,22 @@ import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExcep
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.SHARD_STATE_COLLECTOR_EXECUTION_TIME;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jooq.tools.StringUtils;
 import org.jooq.tools.json.JSONObject;
+import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.routing.IndexRoutingTable;
 import org.opensearch.cluster.routing.RoutingTable;
 import org.opensearch.cluster.routing.ShardRouting;
 import org.opensearch.cluster.routing.ShardRoutingState;
-import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
 import org.opensearch.performanceanalyzer.commons.config.overrides.ConfigOverridesWrapper;
@@ -30,16 +36,33 @@ import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
 
+/**
+ * Emits the shards of the cluster that are not {@code STARTED}. The set of such shards is kept up
+ * to date from cluster state updates: only the index routing tables that changed since the previous
+ * cluster state are walked, and the output for each index is built when its routing changes rather
+ * than on every collection. Metrics are written when the set changed since the previous collection
+ * and otherwise once per {@link #HEARTBEAT_INTERVAL_MILLIS}.
+ *
+ * <p>Shard states are cluster wide, so only the elected cluster manager tracks and emits them.
+ */
 public class ShardStateCollector extends PerformanceAnalyzerMetricsCollector
-        implements MetricsProcessor {
+        implements MetricsProcessor, ClusterStateListener {
     public static final int SAMPLING_TIME_INTERVAL =
             MetricsConfiguration.CONFIG_MAP.get(ShardStateCollector.class).samplingInterval;
+    public static final long HEARTBEAT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
     private static final Logger LOG = LogManager.getLogger(ShardStateCollector.class);
     private static final int KEYS_PATH_LENGTH = 0;
     private final ConfigOverridesWrapper configOverridesWrapper;
     private final PerformanceAnalyzerController controller;
     private StringBuilder value;
 
+    // index name -> serialized index dimension followed by its inactive shards, only for indices
+    // with at least one shard that is not started
+    private final Map<String, String> inactiveShardsByIndex;
+    private final AtomicBoolean changed;
+    private volatile boolean tracking;
+    private long lastEmitTime;
+
     public ShardStateCollector(
             PerformanceAnalyzerController controller,
             ConfigOverridesWrapper configOverridesWrapper) {
@@ -51,6 +74,85 @@ public class ShardStateCollector extends PerformanceAnalyzerMetricsCollector
         value = new StringBuilder();
         this.controller = controller;
         this.configOverridesWrapper = configOverridesWrapper;
+        this.inactiveShardsByIndex = new ConcurrentHashMap<>();
+        this.changed = new AtomicBoolean(false);
+        this.tracking = false;
+        this.lastEmitTime = 0;
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if (!event.localNodeClusterManager()) {
+            if (tracking) {
+                tracking = false;
+                inactiveShardsByIndex.clear();
+            }
+            return;
+        }
+
+        ClusterState state = event.state();
+        RoutingTable routingTable = state.routingTable();
+        if (!tracking) {
+            // newly elected: nothing to diff against yet
+            inactiveShardsByIndex.clear();
+            for (IndexRoutingTable indexRoutingTable : routingTable.indicesRouting().values()) {
+                updateIndex(indexRoutingTable.getIndex().getName(), state);
+            }
+            tracking = true;
+            changed.set(true);
+            return;
+        }
+        if (!event.routingTableChanged()) {
+            return;
+        }
+
+        RoutingTable previousRoutingTable = event.previousState().routingTable();
+        boolean updated = false;
+        for (IndexRoutingTable indexRoutingTable : routingTable.indicesRouting().values()) {
+            String index = indexRoutingTable.getIndex().getName();
+            // routing tables are immutable and shared between states while the index is untouched
+            if (previousRoutingTable.index(index) != indexRoutingTable) {
+                updated |= updateIndex(index, state);
+            }
+        }
+        updated |= inactiveShardsByIndex.keySet().removeIf(index -> !routingTable.hasIndex(index));
+        if (updated) {
+            changed.set(true);
+        }
+    }
+
+    /** @return whether the output for {@code index} changed */
+    private boolean updateIndex(String index, ClusterState state) {
+        StringBuilder shards = new StringBuilder();
+        for (ShardRouting shard : state.routingTable().allShards(index)) {
+            if (shard.state() == ShardRoutingState.STARTED) {
+                continue;
+            }
+            String nodeName = StringUtils.EMPTY;
+            if (shard.assignedToNode()) {
+                DiscoveryNode node = state.nodes().get(shard.currentNodeId());
+                if (node != null) {
+                    nodeName = node.getName();
+                }
+            }
+            shards.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                    .append(
+                            new ShardStateMetrics(
+                                            shard.getId(),
+                                            shard.primary()
+                                                    ? SHARD_PRIMARY.toString()
+                                                    : SHARD_REPLICA.toString(),
+                                            nodeName,
+                                            shard.state().name())
+                                    .serialize());
+        }
+        if (shards.length() == 0) {
+            return inactiveShardsByIndex.remove(index) != null;
+        }
+        String output =
+                createJsonObject(AllMetrics.ShardStateDimension.INDEX_NAME.toString(), index)
+                        + shards;
+        return !output.equals(inactiveShardsByIndex.put(index, output));
     }
 
     @Override
@@ -58,45 +160,24 @@ public class ShardStateCollector extends PerformanceAnalyzerMetricsCollector
         if (!controller.isCollectorEnabled(configOverridesWrapper, getCollectorName())) {
             return;
         }
-        if (OpenSearchResources.INSTANCE.getClusterService() == null) {
+        if (!tracking) {
             return;
         }
 
-        ClusterState clusterState = OpenSearchResources.INSTANCE.getClusterService().state();
-        boolean inActiveShard = false;
+        boolean emit =
+                changed.getAndSet(false) || startTime - lastEmitTime >= HEARTBEAT_INTERVAL_MILLIS;
+        if (!emit || inactiveShardsByIndex.isEmpty()) {
+            return;
+        }
         value.setLength(0);
-        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
-                .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-        RoutingTable routingTable = clusterState.routingTable();
-        String[] indices = routingTable.indicesRouting().keySet().toArray(new String[0]);
-        for (String index : indices) {
-            List<ShardRouting> allShardsIndex = routingTable.allShards(index);
-            value.append(
-                    createJsonObject(AllMetrics.ShardStateDimension.INDEX_NAME.toString(), index));
-            for (ShardRouting shard : allShardsIndex) {
-                String nodeName = StringUtils.EMPTY;
-                if (shard.assignedToNode()) {
-                    nodeName = clusterState.nodes().get(shard.currentNodeId()).getName();
-                }
-                if (shard.state() != ShardRoutingState.STARTED) {
-                    inActiveShard = true;
-                    value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
-                            .append(
-                                    new ShardStateMetrics(
-                                                    shard.getId(),
-                                                    shard.primary()
-                                                            ? SHARD_PRIMARY.toString()
-                                                            : SHARD_REPLICA.toString(),
-                                                    nodeName,
-                                                    shard.state().name())
-                                            .serialize());
-                }
-            }
+        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds());
+        for (String shards : inactiveShardsByIndex.values()) {
+            value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor).append(shards);
         }
         value.append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor);
-        if (inActiveShard) {
-            saveMetricValues(value.toString(), startTime);
-        }
+        saveMetricValues(value.toString(), startTime);
+        lastEmitTime = startTime;
+        LOG.debug("Emitted inactive shards of {} indices", inactiveShardsByIndex::size);
     }
 
     @SuppressWarnings("unchecked")
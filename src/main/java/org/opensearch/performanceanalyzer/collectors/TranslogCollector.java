@@ -0,0 +1,268 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.NODESTATS_COLLECTION_ERROR;
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.NODE_STATS_FIXED_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME;
+import static org.opensearch.performanceanalyzer.util.CollectorStatMetrics.TRANSLOG_COLLECTOR;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.EnumSet;
+import java.util.Set;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsProcessor;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.util.ShardStatsField;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshot;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshotService;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Reports the translog of every shard from the shared {@link ShardStatsSnapshot}: the operations
+ * and bytes it holds, the part of them not yet committed to Lucene, and the age of its oldest
+ * generation. Uncommitted operations are what a recovery has to replay and what a flush clears, so
+ * a shard whose uncommitted size keeps growing points at flushes falling behind before indexing or
+ * recoveries slow down.
+ *
+ * <p>Besides one row per shard, a node row sums the translogs of all shards and keeps the oldest
+ * generation age. Shards whose stats were not read in this tick are reported with the values of
+ * their last read, and each row carries how old its values are; the node row carries the oldest.
+ */
+public class TranslogCollector extends PerformanceAnalyzerMetricsCollector
+        implements MetricsProcessor {
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(TranslogCollector.class).samplingInterval;
+    private static final int KEYS_PATH_LENGTH = 2;
+    public static final String PATH_TO_STORE_METRICS = "translog";
+    /** Key of the node row; index names cannot start with an underscore. */
+    public static final String NODE_KEY = "_node";
+
+    public static final String TRANSLOG_SIZE = "shard_translog_size";
+    public static final String TRANSLOG_UNCOMMITTED_OPERATIONS = "shard_translog_uncommitted_ops";
+    public static final String TRANSLOG_UNCOMMITTED_SIZE = "shard_translog_uncommitted_size";
+    public static final String TRANSLOG_AGE = "shard_translog_age";
+    public static final String NODE_TRANSLOG_SIZE = "node_translog_size";
+    public static final String NODE_TRANSLOG_UNCOMMITTED_OPERATIONS =
+            "node_translog_uncommitted_ops";
+
+    private static final Set<ShardStatsField> SHARD_STATS_FIELDS =
+            EnumSet.of(
+                    ShardStatsField.TRANSLOG_OPERATIONS,
+                    ShardStatsField.TRANSLOG_SIZE,
+                    ShardStatsField.TRANSLOG_UNCOMMITTED_OPERATIONS,
+                    ShardStatsField.TRANSLOG_UNCOMMITTED_SIZE,
+                    ShardStatsField.TRANSLOG_EARLIEST_LAST_MODIFIED_AGE);
+
+    private final StringBuilder value;
+
+    private Histogram translogSizeHistogram;
+    private Histogram uncommittedOperationsHistogram;
+    private Histogram uncommittedSizeHistogram;
+    private Histogram translogAgeHistogram;
+    private Histogram nodeTranslogSizeHistogram;
+    private Histogram nodeUncommittedOperationsHistogram;
+
+    public TranslogCollector() {
+        // the commons codes are shared with the fixed shards collector, the collector's own time
+        // and errors are reported through CollectorStatMetrics
+        super(
+                SAMPLING_TIME_INTERVAL,
+                TRANSLOG_COLLECTOR.getCollectorName(),
+                NODE_STATS_FIXED_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME,
+                NODESTATS_COLLECTION_ERROR);
+        this.value = new StringBuilder();
+        ShardStatsSnapshotService.INSTANCE.register(SHARD_STATS_FIELDS);
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        TRANSLOG_COLLECTOR.measure(() -> collect(startTime));
+    }
+
+    private void collect(long startTime) {
+        if (OpenSearchResources.INSTANCE.getIndicesService() == null) {
+            return;
+        }
+        ShardStatsSnapshot snapshot = ShardStatsSnapshotService.INSTANCE.getSnapshot(startTime);
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry != null) {
+            initialiseMetricsIfNeeded(metricsRegistry);
+        }
+
+        long nodeOperations = 0;
+        long nodeSize = 0;
+        long nodeUncommittedOperations = 0;
+        long nodeUncommittedSize = 0;
+        long nodeAge = 0;
+        long nodeStaleness = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            ShardId shardId = snapshot.getShardId(i);
+            TranslogStatus status =
+                    new TranslogStatus(
+                            snapshot.get(i, ShardStatsField.TRANSLOG_OPERATIONS),
+                            snapshot.get(i, ShardStatsField.TRANSLOG_SIZE),
+                            snapshot.get(i, ShardStatsField.TRANSLOG_UNCOMMITTED_OPERATIONS),
+                            snapshot.get(i, ShardStatsField.TRANSLOG_UNCOMMITTED_SIZE),
+                            snapshot.get(i, ShardStatsField.TRANSLOG_EARLIEST_LAST_MODIFIED_AGE),
+                            snapshot.getStaleness(i));
+            nodeOperations += status.getOperations();
+            nodeSize += status.getSize();
+            nodeUncommittedOperations += status.getUncommittedOperations();
+            nodeUncommittedSize += status.getUncommittedSize();
+            nodeAge = Math.max(nodeAge, status.getEarliestLastModifiedAge());
+            nodeStaleness = Math.max(nodeStaleness, status.getStaleness());
+            save(status, startTime, shardId.getIndexName(), String.valueOf(shardId.id()));
+            if (metricsRegistry != null) {
+                recordMetrics(shardId, status);
+            }
+        }
+
+        TranslogStatus node =
+                new TranslogStatus(
+                        nodeOperations,
+                        nodeSize,
+                        nodeUncommittedOperations,
+                        nodeUncommittedSize,
+                        nodeAge,
+                        nodeStaleness);
+        save(node, startTime, NODE_KEY, NODE_KEY);
+        if (metricsRegistry != null) {
+            nodeTranslogSizeHistogram.record(node.getSize());
+            nodeUncommittedOperationsHistogram.record(node.getUncommittedOperations());
+        }
+    }
+
+    private void save(TranslogStatus status, long startTime, String... keysPath) {
+        value.setLength(0);
+        value.append(PerformanceAnalyzerMetrics.getJsonCurrentMilliSeconds())
+                .append(PerformanceAnalyzerMetrics.sMetricNewLineDelimitor)
+                .append(status.serialize());
+        saveMetricValues(value.toString(), startTime, keysPath);
+    }
+
+    private void initialiseMetricsIfNeeded(MetricsRegistry metricsRegistry) {
+        if (translogSizeHistogram != null) {
+            return;
+        }
+        String bytes = RTFMetrics.MetricUnits.BYTE.toString();
+        String count = RTFMetrics.MetricUnits.COUNT.toString();
+        translogSizeHistogram =
+                metricsRegistry.createHistogram(TRANSLOG_SIZE, "Translog size of a shard", bytes);
+        uncommittedOperationsHistogram =
+                metricsRegistry.createHistogram(
+                        TRANSLOG_UNCOMMITTED_OPERATIONS,
+                        "Translog operations of a shard not committed to Lucene",
+                        count);
+        uncommittedSizeHistogram =
+                metricsRegistry.createHistogram(
+                        TRANSLOG_UNCOMMITTED_SIZE,
+                        "Translog bytes of a shard not committed to Lucene",
+                        bytes);
+        translogAgeHistogram =
+                metricsRegistry.createHistogram(
+                        TRANSLOG_AGE,
+                        "Age of the oldest translog generation of a shard",
+                        RTFMetrics.MetricUnits.MILLISECOND.toString());
+        nodeTranslogSizeHistogram =
+                metricsRegistry.createHistogram(
+                        NODE_TRANSLOG_SIZE, "Translog size of all shards on the node", bytes);
+        nodeUncommittedOperationsHistogram =
+                metricsRegistry.createHistogram(
+                        NODE_TRANSLOG_UNCOMMITTED_OPERATIONS,
+                        "Translog operations of all shards on the node not committed to Lucene",
+                        count);
+    }
+
+    private void recordMetrics(ShardId shardId, TranslogStatus status) {
+        Tags tags =
+                Tags.create()
+                        .addTag(
+                                RTFMetrics.CommonDimension.INDEX_NAME.toString(),
+                                shardId.getIndexName())
+                        .addTag(
+                                RTFMetrics.CommonDimension.SHARD_ID.toString(),
+                                String.valueOf(shardId.getId()));
+        translogSizeHistogram.record(status.getSize(), tags);
+        uncommittedOperationsHistogram.record(status.getUncommittedOperations(), tags);
+        uncommittedSizeHistogram.record(status.getUncommittedSize(), tags);
+        translogAgeHistogram.record(status.getEarliestLastModifiedAge(), tags);
+    }
+
+    @Override
+    public String getMetricsPath(long startTime, String... keysPath) {
+        // keys are the index name and the shard id, or twice the node key for the node row
+        if (keysPath.length != KEYS_PATH_LENGTH) {
+            throw new RuntimeException("keys length should be " + KEYS_PATH_LENGTH);
+        }
+        return PerformanceAnalyzerMetrics.generatePath(
+                startTime, PATH_TO_STORE_METRICS, keysPath[0], keysPath[1]);
+    }
+
+    /**
+     * Translog of one shard, or of the whole node. Sizes are in bytes, the age and the staleness of
+     * the values in milliseconds.
+     */
+    public static class TranslogStatus extends MetricStatus {
+        private final long operations;
+        private final long size;
+        private final long uncommittedOperations;
+        private final long uncommittedSize;
+        private final long earliestLastModifiedAge;
+        private final long staleness;
+
+        public TranslogStatus(
+                long operations,
+                long size,
+                long uncommittedOperations,
+                long uncommittedSize,
+                long earliestLastModifiedAge,
+                long staleness) {
+            this.operations = operations;
+            this.size = size;
+            this.uncommittedOperations = uncommittedOperations;
+            this.uncommittedSize = uncommittedSize;
+            this.earliestLastModifiedAge = earliestLastModifiedAge;
+            this.staleness = staleness;
+        }
+
+        @JsonProperty("Operations")
+        public long getOperations() {
+            return operations;
+        }
+
+        @JsonProperty("Size")
+        public long getSize() {
+            return size;
+        }
+
+        @JsonProperty("UncommittedOperations")
+        public long getUncommittedOperations() {
+            return uncommittedOperations;
+        }
+
+        @JsonProperty("UncommittedSize")
+        public long getUncommittedSize() {
+            return uncommittedSize;
+        }
+
+        @JsonProperty("EarliestLastModifiedAge")
+        public long getEarliestLastModifiedAge() {
+            return earliestLastModifiedAge;
+        }
+
+        @JsonProperty("Staleness")
+        public long getStaleness() {
+            return staleness;
+        }
+    }
+}
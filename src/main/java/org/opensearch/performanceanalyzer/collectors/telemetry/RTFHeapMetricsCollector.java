@@ -5,6 +5,7 @@
 
 package org.opensearch.performanceanalyzer.collectors.telemetry;
 
+import com.google.common.annotations.VisibleForTesting;
 import java.io.Closeable;
 import java.lang.management.MemoryUsage;
 import java.util.HashMap;
@@ -23,24 +24,48 @@ import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
 import org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode;
 import org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.GCPauseMonitor;
 import org.opensearch.telemetry.metrics.Histogram;
 import org.opensearch.telemetry.metrics.MetricsRegistry;
 import org.opensearch.telemetry.metrics.tags.Tags;
 
+/**
+ * Records heap usage and garbage collection metrics. Besides the cumulative collection count and
+ * time of the young and full collectors, every collection reported by a {@link GCPauseMonitor}
+ * since the previous run is recorded with its duration, action and cause and the usage of each
+ * memory pool before and after it, together with the count, total and maximum duration of the
+ * collections per collector over the interval.
+ */
 public class RTFHeapMetricsCollector extends PerformanceAnalyzerMetricsCollector
         implements TelemetryCollector {
     private static final Logger LOG = LogManager.getLogger(RTFHeapMetricsCollector.class);
     public static final int SAMPLING_TIME_INTERVAL =
             MetricsConfiguration.CONFIG_MAP.get(RTFHeapMetricsCollector.class).samplingInterval;
+    public static final String GC_PAUSE_DURATION = "gc_pause_duration";
+    public static final String GC_POOL_USED_BEFORE = "gc_pool_used_before";
+    public static final String GC_POOL_USED_AFTER = "gc_pool_used_after";
+    public static final String GC_PAUSE_COUNT = "gc_pause_count";
+    public static final String GC_PAUSE_TOTAL_TIME = "gc_pause_total_time";
+    public static final String GC_PAUSE_MAX_TIME = "gc_pause_max_time";
+    public static final String GC_NAME_TAG = "gc_name";
+    public static final String GC_ACTION_TAG = "gc_action";
+    public static final String GC_CAUSE_TAG = "gc_cause";
     private Histogram gcCollectionEventMetrics;
     private Histogram gcCollectionTimeMetrics;
     private Histogram heapUsedMetrics;
+    private Histogram gcPauseDurationMetrics;
+    private Histogram gcPoolUsedBeforeMetrics;
+    private Histogram gcPoolUsedAfterMetrics;
+    private Histogram gcPauseCountMetrics;
+    private Histogram gcPauseTotalTimeMetrics;
+    private Histogram gcPauseMaxTimeMetrics;
     private MetricsRegistry metricsRegistry;
     private final String memTypeAttributeKey = "mem_type";
     private boolean metricsInitialised;
     private PerformanceAnalyzerController performanceAnalyzerController;
     private ConfigOverridesWrapper configOverridesWrapper;
     private Map<String, Closeable> memTypeToGaugeObservableMap;
+    private final GCPauseMonitor gcPauseMonitor;
 
     public RTFHeapMetricsCollector(
             PerformanceAnalyzerController performanceAnalyzerController,
@@ -54,6 +79,7 @@ public class RTFHeapMetricsCollector extends PerformanceAnalyzerMetricsCollector
         this.performanceAnalyzerController = performanceAnalyzerController;
         this.configOverridesWrapper = configOverridesWrapper;
         this.memTypeToGaugeObservableMap = new HashMap<>();
+        this.gcPauseMonitor = new GCPauseMonitor();
     }
 
     @Override
@@ -62,6 +88,7 @@ public class RTFHeapMetricsCollector extends PerformanceAnalyzerMetricsCollector
                 configOverridesWrapper, getCollectorName())) {
             LOG.info("RTFDisksCollector is disabled. Skipping collection.");
             closeOpenGaugeObservablesIfAny();
+            gcPauseMonitor.stop();
             return;
         }
 
@@ -75,6 +102,12 @@ public class RTFHeapMetricsCollector extends PerformanceAnalyzerMetricsCollector
         GCMetrics.runGCMetrics();
         LOG.debug("Executing collect metrics for RTFHeapMetricsCollector");
         recordMetrics();
+        if (gcPauseMonitor.isStarted()) {
+            recordGCPauses(gcPauseMonitor.drain());
+        } else {
+            // collections before the first run are not reported, the interval would be unknown
+            gcPauseMonitor.start();
+        }
     }
 
     private void closeOpenGaugeObservablesIfAny() {
@@ -112,6 +145,42 @@ public class RTFHeapMetricsCollector extends PerformanceAnalyzerMetricsCollector
                             "GC Heap Used PA Metrics",
                             RTFMetrics.MetricUnits.BYTE.toString());
 
+            gcPauseDurationMetrics =
+                    metricsRegistry.createHistogram(
+                            GC_PAUSE_DURATION,
+                            "Duration of a GC collection",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+
+            gcPoolUsedBeforeMetrics =
+                    metricsRegistry.createHistogram(
+                            GC_POOL_USED_BEFORE,
+                            "Memory pool usage before a GC collection",
+                            RTFMetrics.MetricUnits.BYTE.toString());
+
+            gcPoolUsedAfterMetrics =
+                    metricsRegistry.createHistogram(
+                            GC_POOL_USED_AFTER,
+                            "Memory pool usage after a GC collection",
+                            RTFMetrics.MetricUnits.BYTE.toString());
+
+            gcPauseCountMetrics =
+                    metricsRegistry.createHistogram(
+                            GC_PAUSE_COUNT,
+                            "GC collections per collection interval",
+                            RTFMetrics.MetricUnits.COUNT.toString());
+
+            gcPauseTotalTimeMetrics =
+                    metricsRegistry.createHistogram(
+                            GC_PAUSE_TOTAL_TIME,
+                            "Total duration of the GC collections of a collection interval",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+
+            gcPauseMaxTimeMetrics =
+                    metricsRegistry.createHistogram(
+                            GC_PAUSE_MAX_TIME,
+                            "Longest GC collection of a collection interval",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+
             metricsInitialised = true;
         }
     }
@@ -144,6 +213,37 @@ public class RTFHeapMetricsCollector extends PerformanceAnalyzerMetricsCollector
         }
     }
 
+    private void recordGCPauses(GCPauseMonitor.Interval interval) {
+        for (GCPauseMonitor.GCPause pause : interval.pauses()) {
+            gcPauseDurationMetrics.record(
+                    pause.durationMillis(),
+                    Tags.create()
+                            .addTag(GC_NAME_TAG, pause.gcName())
+                            .addTag(GC_ACTION_TAG, pause.action())
+                            .addTag(GC_CAUSE_TAG, pause.cause()));
+            for (GCPauseMonitor.PoolUsage pool : pause.pools()) {
+                Tags tags =
+                        Tags.create()
+                                .addTag(GC_NAME_TAG, pause.gcName())
+                                .addTag(memTypeAttributeKey, pool.pool());
+                gcPoolUsedBeforeMetrics.record(pool.usedBefore(), tags);
+                gcPoolUsedAfterMetrics.record(pool.usedAfter(), tags);
+            }
+        }
+        for (Map.Entry<String, GCPauseMonitor.PauseSummary> entry :
+                interval.summaries().entrySet()) {
+            Tags tags = Tags.create().addTag(GC_NAME_TAG, entry.getKey());
+            gcPauseCountMetrics.record(entry.getValue().count(), tags);
+            gcPauseTotalTimeMetrics.record(entry.getValue().totalMillis(), tags);
+            gcPauseMaxTimeMetrics.record(entry.getValue().maxMillis(), tags);
+        }
+    }
+
+    @VisibleForTesting
+    GCPauseMonitor getGcPauseMonitor() {
+        return gcPauseMonitor;
+    }
+
     private void createGaugeInstanceIfNotAvailable(String key) {
         if (!memTypeToGaugeObservableMap.containsKey(key)) {
             LOG.info("Gauge doesn't exist for the mem type {}", key);
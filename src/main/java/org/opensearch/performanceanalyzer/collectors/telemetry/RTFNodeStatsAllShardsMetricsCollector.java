@@ -8,22 +8,16 @@ package org.opensearch.performanceanalyzer.collectors.telemetry;
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.RTF_NODESTATS_COLLECTION_ERROR;
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.RTF_NODE_STATS_ALL_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.google.common.collect.ImmutableMap;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opensearch.action.admin.indices.stats.CommonStatsFlags;
-import org.opensearch.action.admin.indices.stats.IndexShardStats;
-import org.opensearch.action.admin.indices.stats.ShardStats;
 import org.opensearch.core.index.shard.ShardId;
-import org.opensearch.index.shard.IndexShard;
 import org.opensearch.indices.IndicesService;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
-import org.opensearch.performanceanalyzer.collectors.ValueCalculator;
 import org.opensearch.performanceanalyzer.commons.collectors.MetricStatus;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
 import org.opensearch.performanceanalyzer.commons.collectors.TelemetryCollector;
@@ -31,7 +25,11 @@ import org.opensearch.performanceanalyzer.commons.config.overrides.ConfigOverrid
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
-import org.opensearch.performanceanalyzer.util.Utils;
+import org.opensearch.performanceanalyzer.util.ShardRegistry;
+import org.opensearch.performanceanalyzer.util.ShardStateStore;
+import org.opensearch.performanceanalyzer.util.ShardStatsField;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshot;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshotService;
 import org.opensearch.telemetry.metrics.Counter;
 import org.opensearch.telemetry.metrics.MetricsRegistry;
 import org.opensearch.telemetry.metrics.tags.Tags;
@@ -43,7 +41,7 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
                     .samplingInterval;
     private static final Logger LOG =
             LogManager.getLogger(RTFNodeStatsAllShardsMetricsCollector.class);
-    private Map<ShardId, ShardStats> prevPerShardStats;
+    private final ShardStateStore prevPerShardStats;
     private MetricsRegistry metricsRegistry;
     private Counter cacheQueryHitMetrics;
     private Counter cacheQueryMissMetrics;
@@ -66,40 +64,37 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
                 "RTFNodeStatsMetricsCollector",
                 RTF_NODE_STATS_ALL_SHARDS_METRICS_COLLECTOR_EXECUTION_TIME,
                 RTF_NODESTATS_COLLECTION_ERROR);
-        prevPerShardStats = new HashMap<>();
+        prevPerShardStats = new ShardStateStore(DELTA_FIELDS.size());
+        ShardRegistry.INSTANCE.addRemovalListener(prevPerShardStats);
         this.metricsInitialised = false;
         this.performanceAnalyzerController = performanceAnalyzerController;
         this.configOverridesWrapper = configOverridesWrapper;
+        ShardStatsSnapshotService.INSTANCE.register(SHARD_STATS_FIELDS);
     }
 
-    private static final ImmutableMap<String, ValueCalculator> valueCalculators =
-            ImmutableMap.of(
-                    RTFMetrics.ShardStatsValue.INDEXING_THROTTLE_TIME.toString(),
-                    (shardStats) ->
-                            shardStats
-                                    .getStats()
-                                    .getIndexing()
-                                    .getTotal()
-                                    .getThrottleTime()
-                                    .millis(),
-                    RTFMetrics.ShardStatsValue.CACHE_QUERY_HIT.toString(),
-                    (shardStats) -> shardStats.getStats().getQueryCache().getHitCount(),
-                    RTFMetrics.ShardStatsValue.CACHE_QUERY_MISS.toString(),
-                    (shardStats) -> shardStats.getStats().getQueryCache().getMissCount(),
-                    RTFMetrics.ShardStatsValue.CACHE_QUERY_SIZE.toString(),
-                    (shardStats) -> shardStats.getStats().getQueryCache().getMemorySizeInBytes(),
-                    RTFMetrics.ShardStatsValue.CACHE_FIELDDATA_EVICTION.toString(),
-                    (shardStats) -> shardStats.getStats().getFieldData().getEvictions(),
-                    RTFMetrics.ShardStatsValue.CACHE_FIELDDATA_SIZE.toString(),
-                    (shardStats) -> shardStats.getStats().getFieldData().getMemorySizeInBytes(),
-                    RTFMetrics.ShardStatsValue.CACHE_REQUEST_HIT.toString(),
-                    (shardStats) -> shardStats.getStats().getRequestCache().getHitCount(),
-                    RTFMetrics.ShardStatsValue.CACHE_REQUEST_MISS.toString(),
-                    (shardStats) -> shardStats.getStats().getRequestCache().getMissCount(),
-                    RTFMetrics.ShardStatsValue.CACHE_REQUEST_EVICTION.toString(),
-                    (shardStats) -> shardStats.getStats().getRequestCache().getEvictions(),
-                    RTFMetrics.ShardStatsValue.CACHE_REQUEST_SIZE.toString(),
-                    (shardStats) -> shardStats.getStats().getRequestCache().getMemorySizeInBytes());
+    /** Cumulative counters reported as deltas, in the column order of the previous values. */
+    private static final List<ShardStatsField> DELTA_FIELDS =
+            List.of(
+                    ShardStatsField.QUERY_CACHE_HIT,
+                    ShardStatsField.QUERY_CACHE_MISS,
+                    ShardStatsField.FIELDDATA_EVICTION,
+                    ShardStatsField.REQUEST_CACHE_HIT,
+                    ShardStatsField.REQUEST_CACHE_MISS,
+                    ShardStatsField.REQUEST_CACHE_EVICTION);
+
+    private static final int[] DELTA_COLUMNS = ShardStatsField.columnIndex(DELTA_FIELDS);
+
+    private static final Set<ShardStatsField> SHARD_STATS_FIELDS =
+            EnumSet.of(
+                    ShardStatsField.QUERY_CACHE_HIT,
+                    ShardStatsField.QUERY_CACHE_MISS,
+                    ShardStatsField.QUERY_CACHE_SIZE,
+                    ShardStatsField.FIELDDATA_EVICTION,
+                    ShardStatsField.FIELDDATA_SIZE,
+                    ShardStatsField.REQUEST_CACHE_HIT,
+                    ShardStatsField.REQUEST_CACHE_MISS,
+                    ShardStatsField.REQUEST_CACHE_EVICTION,
+                    ShardStatsField.REQUEST_CACHE_SIZE);
 
     @Override
     public void collectMetrics(long startTime) {
@@ -121,26 +116,15 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
 
         LOG.debug("Executing collect metrics for RTFNodeStatsAllShardsMetricsCollector");
         initialiseMetricsIfNeeded();
-        Map<ShardId, ShardStats> currentPerShardStats = populatePerShardStats(indicesService);
-
-        for (Map.Entry<ShardId, ShardStats> currentShard : currentPerShardStats.entrySet()) {
-            ShardId shardId = currentShard.getKey();
-            ShardStats currentShardStats = currentShard.getValue();
-            if (prevPerShardStats.isEmpty() || prevPerShardStats.get(shardId) == null) {
-                // Populating value for the first run of shard.
-                recordMetrics(
-                        new NodeStatsMetricsAllShardsPerCollectionStatus(currentShardStats),
-                        shardId);
-                continue;
-            }
-            ShardStats prevShardStats = prevPerShardStats.get(shardId);
-            NodeStatsMetricsAllShardsPerCollectionStatus prevValue =
-                    new NodeStatsMetricsAllShardsPerCollectionStatus(prevShardStats);
-            NodeStatsMetricsAllShardsPerCollectionStatus currValue =
-                    new NodeStatsMetricsAllShardsPerCollectionStatus(currentShardStats);
-            populateDiffMetricValue(prevValue, currValue, shardId);
+        ShardStatsSnapshot snapshot = ShardStatsSnapshotService.INSTANCE.getSnapshot(startTime);
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            ShardId shardId = snapshot.getShardId(i);
+            int ordinal = snapshot.getOrdinal(i);
+            // a shard seen for the first time gets a zeroed slot, so its deltas are absolute
+            prevPerShardStats.claim(ordinal, shardId);
+            recordMetrics(snapshot, i, ordinal, shardId);
         }
-        prevPerShardStats = currentPerShardStats;
     }
 
     private void initialiseMetricsIfNeeded() {
@@ -202,31 +186,12 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
         }
     }
 
-    public Map<ShardId, ShardStats> populatePerShardStats(IndicesService indicesService) {
-        // Populate the shard stats per shard.
-        Map<ShardId, IndexShard> currentShards = Utils.getShards();
-        Map<ShardId, ShardStats> currentPerShardStats = new HashMap<>(Collections.emptyMap());
-        for (Map.Entry<ShardId, IndexShard> currentShard : currentShards.entrySet()) {
-            IndexShard currentIndexShard = currentShard.getValue();
-            IndexShardStats currentIndexShardStats =
-                    Utils.indexShardStats(
-                            indicesService,
-                            currentIndexShard,
-                            new CommonStatsFlags(
-                                    CommonStatsFlags.Flag.QueryCache,
-                                    CommonStatsFlags.Flag.FieldData,
-                                    CommonStatsFlags.Flag.RequestCache));
-            if (currentIndexShardStats != null) {
-                for (ShardStats shardStats : currentIndexShardStats.getShards()) {
-                    currentPerShardStats.put(currentIndexShardStats.getShardId(), shardStats);
-                }
-            }
-        }
-        return currentPerShardStats;
-    }
-
-    private void recordMetrics(
-            NodeStatsMetricsAllShardsPerCollectionStatus metrics, ShardId shardId) {
+    /**
+     * Records the counters of one shard. Cumulative counters are reported as the increase since
+     * the previous run, which is the absolute value the first time a shard is seen.
+     */
+    @VisibleForTesting
+    void recordMetrics(ShardStatsSnapshot snapshot, int index, int ordinal, ShardId shardId) {
         Tags nodeStatsMetricsTag =
                 Tags.create()
                         .addTag(
@@ -241,27 +206,46 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
                     RTFMetrics.CommonDimension.INDEX_UUID.toString(), shardId.getIndex().getUUID());
         }
         populateOnlyIfNonZero(
-                cacheQueryMissMetrics, metrics.getQueryCacheMissCount(), nodeStatsMetricsTag);
+                cacheQueryMissMetrics,
+                delta(snapshot, index, ordinal, ShardStatsField.QUERY_CACHE_MISS),
+                nodeStatsMetricsTag);
         populateOnlyIfNonZero(
-                cacheQuerySizeMetrics, metrics.getQueryCacheInBytes(), nodeStatsMetricsTag);
+                cacheQuerySizeMetrics,
+                snapshot.get(index, ShardStatsField.QUERY_CACHE_SIZE),
+                nodeStatsMetricsTag);
         populateOnlyIfNonZero(
-                cacheQueryHitMetrics, metrics.getQueryCacheHitCount(), nodeStatsMetricsTag);
+                cacheQueryHitMetrics,
+                delta(snapshot, index, ordinal, ShardStatsField.QUERY_CACHE_HIT),
+                nodeStatsMetricsTag);
         populateOnlyIfNonZero(
                 cacheFieldDataEvictionMetrics,
-                metrics.getFieldDataEvictions(),
+                delta(snapshot, index, ordinal, ShardStatsField.FIELDDATA_EVICTION),
                 nodeStatsMetricsTag);
         populateOnlyIfNonZero(
-                cacheFieldDataSizeMetrics, metrics.getFieldDataInBytes(), nodeStatsMetricsTag);
+                cacheFieldDataSizeMetrics,
+                snapshot.get(index, ShardStatsField.FIELDDATA_SIZE),
+                nodeStatsMetricsTag);
         populateOnlyIfNonZero(
                 cacheRequestEvictionMetrics,
-                metrics.getRequestCacheEvictions(),
+                delta(snapshot, index, ordinal, ShardStatsField.REQUEST_CACHE_EVICTION),
                 nodeStatsMetricsTag);
         populateOnlyIfNonZero(
-                cacheRequestHitMetrics, metrics.getRequestCacheHitCount(), nodeStatsMetricsTag);
+                cacheRequestHitMetrics,
+                delta(snapshot, index, ordinal, ShardStatsField.REQUEST_CACHE_HIT),
+                nodeStatsMetricsTag);
         populateOnlyIfNonZero(
-                cacheRequestMissMetrics, metrics.getRequestCacheMissCount(), nodeStatsMetricsTag);
+                cacheRequestMissMetrics,
+                delta(snapshot, index, ordinal, ShardStatsField.REQUEST_CACHE_MISS),
+                nodeStatsMetricsTag);
         populateOnlyIfNonZero(
-                cacheRequestSizeMetrics, metrics.getRequestCacheInBytes(), nodeStatsMetricsTag);
+                cacheRequestSizeMetrics,
+                snapshot.get(index, ShardStatsField.REQUEST_CACHE_SIZE),
+                nodeStatsMetricsTag);
+    }
+
+    private long delta(ShardStatsSnapshot snapshot, int index, int ordinal, ShardStatsField field) {
+        return prevPerShardStats.delta(
+                ordinal, DELTA_COLUMNS[field.ordinal()], snapshot.get(index, field));
     }
 
     private void populateOnlyIfNonZero(Counter counter, double value, Tags tags) {
@@ -270,37 +254,8 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
         }
     }
 
-    public void populateDiffMetricValue(
-            NodeStatsMetricsAllShardsPerCollectionStatus prevValue,
-            NodeStatsMetricsAllShardsPerCollectionStatus currValue,
-            ShardId shardId) {
-
-        NodeStatsMetricsAllShardsPerCollectionStatus metrics =
-                new NodeStatsMetricsAllShardsPerCollectionStatus(
-                        Math.max((currValue.queryCacheHitCount - prevValue.queryCacheHitCount), 0),
-                        Math.max(
-                                (currValue.queryCacheMissCount - prevValue.queryCacheMissCount), 0),
-                        currValue.queryCacheInBytes,
-                        Math.max((currValue.fieldDataEvictions - prevValue.fieldDataEvictions), 0),
-                        currValue.fieldDataInBytes,
-                        Math.max(
-                                (currValue.requestCacheHitCount - prevValue.requestCacheHitCount),
-                                0),
-                        Math.max(
-                                (currValue.requestCacheMissCount - prevValue.requestCacheMissCount),
-                                0),
-                        Math.max(
-                                (currValue.requestCacheEvictions - prevValue.requestCacheEvictions),
-                                0),
-                        currValue.requestCacheInBytes);
-
-        recordMetrics(metrics, shardId);
-    }
-
     public static class NodeStatsMetricsAllShardsPerCollectionStatus extends MetricStatus {
 
-        @JsonIgnore private ShardStats shardStats;
-
         private final long queryCacheHitCount;
         private final long queryCacheMissCount;
         private final long queryCacheInBytes;
@@ -311,23 +266,6 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
         private final long requestCacheEvictions;
         private final long requestCacheInBytes;
 
-        public NodeStatsMetricsAllShardsPerCollectionStatus(ShardStats shardStats) {
-            super();
-            this.shardStats = shardStats;
-
-            this.queryCacheHitCount = calculate(RTFMetrics.ShardStatsValue.CACHE_QUERY_HIT);
-            this.queryCacheMissCount = calculate(RTFMetrics.ShardStatsValue.CACHE_QUERY_MISS);
-            this.queryCacheInBytes = calculate(RTFMetrics.ShardStatsValue.CACHE_QUERY_SIZE);
-            this.fieldDataEvictions =
-                    calculate(RTFMetrics.ShardStatsValue.CACHE_FIELDDATA_EVICTION);
-            this.fieldDataInBytes = calculate(RTFMetrics.ShardStatsValue.CACHE_FIELDDATA_SIZE);
-            this.requestCacheHitCount = calculate(RTFMetrics.ShardStatsValue.CACHE_REQUEST_HIT);
-            this.requestCacheMissCount = calculate(RTFMetrics.ShardStatsValue.CACHE_REQUEST_MISS);
-            this.requestCacheEvictions =
-                    calculate(RTFMetrics.ShardStatsValue.CACHE_REQUEST_EVICTION);
-            this.requestCacheInBytes = calculate(RTFMetrics.ShardStatsValue.CACHE_REQUEST_SIZE);
-        }
-
         @SuppressWarnings("checkstyle:parameternumber")
         public NodeStatsMetricsAllShardsPerCollectionStatus(
                 long queryCacheHitCount,
@@ -340,8 +278,6 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
                 long requestCacheEvictions,
                 long requestCacheInBytes) {
             super();
-            this.shardStats = null;
-
             this.queryCacheHitCount = queryCacheHitCount;
             this.queryCacheMissCount = queryCacheMissCount;
             this.queryCacheInBytes = queryCacheInBytes;
@@ -353,15 +289,6 @@ public class RTFNodeStatsAllShardsMetricsCollector extends PerformanceAnalyzerMe
             this.requestCacheInBytes = requestCacheInBytes;
         }
 
-        private long calculate(RTFMetrics.ShardStatsValue nodeMetric) {
-            return valueCalculators.get(nodeMetric.toString()).calculateValue(shardStats);
-        }
-
-        @JsonIgnore
-        public ShardStats getShardStats() {
-            return shardStats;
-        }
-
         @JsonProperty(RTFMetrics.ShardStatsValue.Constants.QUEY_CACHE_HIT_COUNT_VALUE)
         public long getQueryCacheHitCount() {
             return queryCacheHitCount;
@@ -5,12 +5,15 @@
 
 package org.opensearch.performanceanalyzer.collectors.telemetry;
 
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.core.index.shard.ShardId;
-import org.opensearch.index.shard.IndexShard;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
 import org.opensearch.performanceanalyzer.commons.collectors.TelemetryCollector;
@@ -21,7 +24,10 @@ import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics.MetricUnits
 import org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode;
 import org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
-import org.opensearch.performanceanalyzer.util.Utils;
+import org.opensearch.performanceanalyzer.util.ShardRegistry;
+import org.opensearch.performanceanalyzer.util.ShardStatsField;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshot;
+import org.opensearch.performanceanalyzer.util.ShardStatsSnapshotService;
 import org.opensearch.telemetry.metrics.Counter;
 import org.opensearch.telemetry.metrics.MetricsRegistry;
 import org.opensearch.telemetry.metrics.tags.Tags;
@@ -38,10 +44,16 @@ public class RTFShardOperationCollector extends PerformanceAnalyzerMetricsCollec
     public static final int SAMPLING_TIME_INTERVAL =
             MetricsConfiguration.CONFIG_MAP.get(RTFShardOperationCollector.class).samplingInterval;
 
+    private static final Set<ShardStatsField> SHARD_STATS_FIELDS =
+            EnumSet.of(ShardStatsField.INDEXING_INDEX_COUNT, ShardStatsField.SEARCH_QUERY_COUNT);
+
     private Counter indexingRateCounter;
     private Counter searchRateCounter;
 
-    private Map<ShardId, ShardOperation> previousIndexOps;
+    private final Map<ShardId, ShardOperation> previousIndexOps;
+    private final Queue<ShardId> removedShards;
+    // the registry only holds a weak reference to the listener
+    private final ShardRegistry.ShardRemovalListener shardRemovalListener;
     private final long lastCollectionTimeInMillis;
 
     private MetricsRegistry metricsRegistry;
@@ -61,12 +73,21 @@ public class RTFShardOperationCollector extends PerformanceAnalyzerMetricsCollec
         this.controller = controller;
         this.configOverridesWrapper = configOverridesWrapper;
         this.metricsInitialized = false;
-        this.previousIndexOps = new HashMap<>();
+        this.previousIndexOps = new ConcurrentHashMap<>();
+        // removals arrive on the cluster applier thread and are applied on the collector thread
+        this.removedShards = new ConcurrentLinkedQueue<>();
+        this.shardRemovalListener = (shardId, ordinal) -> removedShards.add(shardId);
+        ShardRegistry.INSTANCE.addRemovalListener(shardRemovalListener);
         this.lastCollectionTimeInMillis = System.currentTimeMillis();
+        ShardStatsSnapshotService.INSTANCE.register(SHARD_STATS_FIELDS);
     }
 
     @Override
     public void collectMetrics(long startTime) {
+        ShardId removed;
+        while ((removed = removedShards.poll()) != null) {
+            previousIndexOps.remove(removed);
+        }
         if (controller.isCollectorDisabled(configOverridesWrapper, getCollectorName())) {
             LOG.info("RTFShardOperationCollector is disabled. Skipping collection.");
             return;
@@ -81,42 +102,27 @@ public class RTFShardOperationCollector extends PerformanceAnalyzerMetricsCollec
         initializeMetricsIfNeeded();
         LOG.debug("Executing collect metrics for RTFShardOperationCollector");
 
-        // Get all shards
-        Map<ShardId, IndexShard> currentShards = Utils.getShards();
-        Map<ShardId, ShardOperation> currentIndexOpsMap = new HashMap<>();
-
-        for (Map.Entry<ShardId, IndexShard> entry : currentShards.entrySet()) {
-            ShardId shardId = entry.getKey();
-            IndexShard shard = entry.getValue();
-
-            try {
-                long currentIndexingOps = shard.indexingStats().getTotal().getIndexCount();
-                long currentSearchOps = shard.searchStats().getTotal().getQueryCount();
-
-                if (previousIndexOps.containsKey(shardId)) {
-                    long prevIndexingOps = previousIndexOps.get(shardId).indexOps();
-                    long prevSearchOps = previousIndexOps.get(shardId).searchOps();
-                    processOperations(
-                            prevIndexingOps,
-                            prevSearchOps,
-                            currentIndexingOps,
-                            currentSearchOps,
-                            shardId);
-                } else {
-                    processOperations(0, 0, currentIndexingOps, currentSearchOps, shardId);
-                }
-                currentIndexOpsMap.put(
-                        shardId, new ShardOperation(currentIndexingOps, currentSearchOps));
-            } catch (Exception e) {
-                LOG.error(
-                        "Error collecting indexing/search rate metrics for shard {}: {}",
-                        shardId,
-                        e.getMessage());
+        ShardStatsSnapshot snapshot = ShardStatsSnapshotService.INSTANCE.getSnapshot(startTime);
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            ShardId shardId = snapshot.getShardId(i);
+            long currentIndexingOps = snapshot.get(i, ShardStatsField.INDEXING_INDEX_COUNT);
+            long currentSearchOps = snapshot.get(i, ShardStatsField.SEARCH_QUERY_COUNT);
+
+            ShardOperation previous =
+                    previousIndexOps.put(
+                            shardId, new ShardOperation(currentIndexingOps, currentSearchOps));
+            if (previous != null) {
+                processOperations(
+                        previous.indexOps(),
+                        previous.searchOps(),
+                        currentIndexingOps,
+                        currentSearchOps,
+                        shardId);
+            } else {
+                processOperations(0, 0, currentIndexingOps, currentSearchOps, shardId);
             }
         }
-
-        // Update previous values for next collection
-        this.previousIndexOps = currentIndexOpsMap;
     }
 
     private void processOperations(
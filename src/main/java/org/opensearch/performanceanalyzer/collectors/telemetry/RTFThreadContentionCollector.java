@@ -0,0 +1,290 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors.telemetry;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.collectors.TelemetryCollector;
+import org.opensearch.performanceanalyzer.commons.config.overrides.ConfigOverridesWrapper;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode;
+import org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.CollectorStatMetrics;
+import org.opensearch.performanceanalyzer.util.Utils;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Turns the JVM thread contention counters into per thread pool metrics. The collector only runs
+ * while thread contention monitoring is enabled through {@link
+ * PerformanceAnalyzerController#updateThreadContentionMonitoringState}; the blocked and waited
+ * times are not measured by the JVM otherwise.
+ *
+ * <p>Every run reads the {@link ThreadInfo} of all threads with one bulk call, without stack
+ * traces, and reports per pool how often and for how long its threads blocked on a monitor or
+ * waited since the previous run. The threads blocked at the time of the run are grouped by the
+ * class of the monitor they are blocked on and the pool of the thread holding it; the groups with
+ * the most blocked threads are reported as well.
+ */
+public class RTFThreadContentionCollector extends PerformanceAnalyzerMetricsCollector
+        implements TelemetryCollector {
+    private static final Logger LOG = LogManager.getLogger(RTFThreadContentionCollector.class);
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(RTFThreadContentionCollector.class)
+                    .samplingInterval;
+
+    public static final String THREAD_POOL_BLOCKED_COUNT = "thread_pool_blocked_count";
+    public static final String THREAD_POOL_BLOCKED_TIME = "thread_pool_blocked_time";
+    public static final String THREAD_POOL_WAITED_COUNT = "thread_pool_waited_count";
+    public static final String THREAD_POOL_WAITED_TIME = "thread_pool_waited_time";
+    public static final String LOCK_BLOCKED_THREADS = "thread_pool_lock_blocked_threads";
+    public static final String LOCK_TAG = "lock";
+    public static final String LOCK_OWNER_THREAD_POOL_TAG = "lock_owner_thread_pool";
+
+    /** Number of monitor and owner combinations reported per run. */
+    public static final int MAX_REPORTED_LOCKS = 5;
+
+    private static final String OTHER_THREADS = "other";
+
+    /** Contention of one pool since the previous run; times in milliseconds. */
+    @VisibleForTesting
+    record PoolContention(long blockedCount, long blockedTime, long waitedCount, long waitedTime) {}
+
+    /** Threads blocked on monitors of one class held by threads of one pool. */
+    @VisibleForTesting
+    record LockContention(String lock, String ownerPool, int blockedThreads) {}
+
+    private static final class ThreadState {
+        final String pool;
+        long blockedCount;
+        long blockedTime;
+        long waitedCount;
+        long waitedTime;
+        long generation;
+
+        ThreadState(String pool) {
+            this.pool = pool;
+            this.blockedCount = -1;
+        }
+    }
+
+    private final ThreadMXBean threadMXBean;
+    private final Map<Long, ThreadState> threads;
+    private long generation;
+
+    private Histogram blockedCountMetrics;
+    private Histogram blockedTimeMetrics;
+    private Histogram waitedCountMetrics;
+    private Histogram waitedTimeMetrics;
+    private Histogram lockBlockedThreadsMetrics;
+    private MetricsRegistry metricsRegistry;
+    private boolean metricsInitialised;
+    private final PerformanceAnalyzerController performanceAnalyzerController;
+    private final ConfigOverridesWrapper configOverridesWrapper;
+
+    public RTFThreadContentionCollector(
+            PerformanceAnalyzerController performanceAnalyzerController,
+            ConfigOverridesWrapper configOverridesWrapper) {
+        super(
+                SAMPLING_TIME_INTERVAL,
+                CollectorStatMetrics.RTF_THREAD_CONTENTION_COLLECTOR.getCollectorName(),
+                StatMetrics.RTF_THREADPOOL_METRICS_COLLECTOR_EXECUTION_TIME,
+                StatExceptionCode.RTF_THREADPOOL_METRICS_COLLECTOR_ERROR);
+        this.performanceAnalyzerController = performanceAnalyzerController;
+        this.configOverridesWrapper = configOverridesWrapper;
+        this.threadMXBean = ManagementFactory.getThreadMXBean();
+        this.threads = new HashMap<>();
+        this.metricsInitialised = false;
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        CollectorStatMetrics.RTF_THREAD_CONTENTION_COLLECTOR.measure(this::collect);
+    }
+
+    private void collect() {
+        if (performanceAnalyzerController.isCollectorDisabled(
+                configOverridesWrapper, getCollectorName())) {
+            LOG.info("RTFThreadContentionCollector is disabled. Skipping collection.");
+            return;
+        }
+        if (!performanceAnalyzerController.isThreadContentionMonitoringEnabled()
+                || !threadMXBean.isThreadContentionMonitoringEnabled()) {
+            // counters restart from scratch once monitoring is turned back on
+            threads.clear();
+            return;
+        }
+
+        metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            LOG.error("could not get the instance of MetricsRegistry class");
+            return;
+        }
+
+        initialiseMetricsIfNeeded();
+        LOG.debug("Executing collect metrics for RTFThreadContentionCollector");
+
+        ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), 0);
+        for (Map.Entry<String, PoolContention> entry : update(threadInfos).entrySet()) {
+            Tags tags =
+                    Tags.create()
+                            .addTag(
+                                    RTFMetrics.ThreadPoolDimension.THREAD_POOL_TYPE.toString(),
+                                    entry.getKey());
+            PoolContention contention = entry.getValue();
+            blockedCountMetrics.record(contention.blockedCount(), tags);
+            blockedTimeMetrics.record(contention.blockedTime(), tags);
+            waitedCountMetrics.record(contention.waitedCount(), tags);
+            waitedTimeMetrics.record(contention.waitedTime(), tags);
+        }
+        for (LockContention lock : getTopLocks(threadInfos)) {
+            lockBlockedThreadsMetrics.record(
+                    lock.blockedThreads(),
+                    Tags.create()
+                            .addTag(LOCK_TAG, lock.lock())
+                            .addTag(LOCK_OWNER_THREAD_POOL_TAG, lock.ownerPool()));
+        }
+    }
+
+    /**
+     * Adds up the contention counters of the pool threads since the previous call and drops the
+     * state of the threads that are gone.
+     *
+     * @param threadInfos info of the live threads; null entries for threads that terminated
+     * @return contention per pool; a thread only counts from its second call on
+     */
+    @VisibleForTesting
+    Map<String, PoolContention> update(ThreadInfo[] threadInfos) {
+        generation++;
+        Map<String, long[]> totals = new HashMap<>();
+        for (ThreadInfo info : threadInfos) {
+            if (info == null) {
+                continue;
+            }
+            ThreadState state =
+                    threads.computeIfAbsent(
+                            info.getThreadId(),
+                            id -> new ThreadState(Utils.getThreadPoolName(info.getThreadName())));
+            state.generation = generation;
+            if (state.pool.isEmpty()) {
+                continue;
+            }
+            long[] total = totals.computeIfAbsent(state.pool, pool -> new long[4]);
+            if (state.blockedCount >= 0) {
+                total[0] += Math.max(0, info.getBlockedCount() - state.blockedCount);
+                total[1] += Math.max(0, info.getBlockedTime() - state.blockedTime);
+                total[2] += Math.max(0, info.getWaitedCount() - state.waitedCount);
+                total[3] += Math.max(0, info.getWaitedTime() - state.waitedTime);
+            }
+            state.blockedCount = info.getBlockedCount();
+            state.blockedTime = info.getBlockedTime();
+            state.waitedCount = info.getWaitedCount();
+            state.waitedTime = info.getWaitedTime();
+        }
+        Iterator<ThreadState> iterator = threads.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().generation != generation) {
+                iterator.remove();
+            }
+        }
+
+        Map<String, PoolContention> contention = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            contention.put(
+                    entry.getKey(), new PoolContention(total[0], total[1], total[2], total[3]));
+        }
+        return contention;
+    }
+
+    /**
+     * Groups the threads blocked on a monitor by the class of the monitor and the pool of its
+     * owner.
+     *
+     * @param threadInfos info of the live threads; null entries for threads that terminated
+     * @return at most {@link #MAX_REPORTED_LOCKS} groups, most blocked threads first
+     */
+    @VisibleForTesting
+    static List<LockContention> getTopLocks(ThreadInfo[] threadInfos) {
+        Map<String, Map<String, Integer>> blocked = new HashMap<>();
+        for (ThreadInfo info : threadInfos) {
+            if (info == null
+                    || info.getThreadState() != Thread.State.BLOCKED
+                    || info.getLockInfo() == null) {
+                continue;
+            }
+            String ownerPool = Utils.getThreadPoolName(info.getLockOwnerName());
+            blocked.computeIfAbsent(info.getLockInfo().getClassName(), lock -> new HashMap<>())
+                    .merge(ownerPool.isEmpty() ? OTHER_THREADS : ownerPool, 1, Integer::sum);
+        }
+
+        PriorityQueue<LockContention> top =
+                new PriorityQueue<>(
+                        MAX_REPORTED_LOCKS + 1,
+                        (a, b) -> Integer.compare(a.blockedThreads(), b.blockedThreads()));
+        for (Map.Entry<String, Map<String, Integer>> lock : blocked.entrySet()) {
+            for (Map.Entry<String, Integer> owner : lock.getValue().entrySet()) {
+                top.offer(new LockContention(lock.getKey(), owner.getKey(), owner.getValue()));
+                if (top.size() > MAX_REPORTED_LOCKS) {
+                    top.poll();
+                }
+            }
+        }
+        List<LockContention> locks = new ArrayList<>(top);
+        locks.sort((a, b) -> Integer.compare(b.blockedThreads(), a.blockedThreads()));
+        return locks;
+    }
+
+    private void initialiseMetricsIfNeeded() {
+        if (metricsInitialised == false) {
+            blockedCountMetrics =
+                    metricsRegistry.createHistogram(
+                            THREAD_POOL_BLOCKED_COUNT,
+                            "Times the threads of a pool blocked on a monitor",
+                            RTFMetrics.MetricUnits.COUNT.toString());
+
+            blockedTimeMetrics =
+                    metricsRegistry.createHistogram(
+                            THREAD_POOL_BLOCKED_TIME,
+                            "Time the threads of a pool spent blocked on a monitor",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+
+            waitedCountMetrics =
+                    metricsRegistry.createHistogram(
+                            THREAD_POOL_WAITED_COUNT,
+                            "Times the threads of a pool waited for a notification",
+                            RTFMetrics.MetricUnits.COUNT.toString());
+
+            waitedTimeMetrics =
+                    metricsRegistry.createHistogram(
+                            THREAD_POOL_WAITED_TIME,
+                            "Time the threads of a pool spent waiting for a notification",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+
+            lockBlockedThreadsMetrics =
+                    metricsRegistry.createHistogram(
+                            LOCK_BLOCKED_THREADS,
+                            "Threads blocked on a monitor class held by a pool",
+                            RTFMetrics.MetricUnits.COUNT.toString());
+            metricsInitialised = true;
+        }
+    }
+}
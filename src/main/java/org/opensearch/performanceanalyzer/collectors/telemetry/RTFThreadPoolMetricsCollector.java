@@ -6,32 +6,23 @@
 package org.opensearch.performanceanalyzer.collectors.telemetry;
 
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.RTF_THREADPOOL_METRICS_COLLECTOR_ERROR;
-import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.THREADPOOL_METRICS_COLLECTOR_ERROR;
 import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics.RTF_THREADPOOL_METRICS_COLLECTOR_EXECUTION_TIME;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.concurrent.ThreadPoolExecutor;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opensearch.common.util.concurrent.SizeBlockingQueue;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
-import org.opensearch.performanceanalyzer.commons.collectors.StatsCollector;
 import org.opensearch.performanceanalyzer.commons.collectors.TelemetryCollector;
 import org.opensearch.performanceanalyzer.commons.config.overrides.ConfigOverridesWrapper;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.ThreadPoolQueueMonitor;
+import org.opensearch.performanceanalyzer.util.ThreadPoolStatsSnapshot;
+import org.opensearch.performanceanalyzer.util.ThreadPoolStatsSnapshotService;
 import org.opensearch.telemetry.metrics.Histogram;
 import org.opensearch.telemetry.metrics.MetricsRegistry;
 import org.opensearch.telemetry.metrics.tags.Tags;
-import org.opensearch.threadpool.ThreadPool;
-import org.opensearch.threadpool.ThreadPoolStats;
 
 public class RTFThreadPoolMetricsCollector extends PerformanceAnalyzerMetricsCollector
         implements TelemetryCollector {
@@ -40,16 +31,16 @@ public class RTFThreadPoolMetricsCollector extends PerformanceAnalyzerMetricsCol
     public static final int SAMPLING_TIME_INTERVAL =
             MetricsConfiguration.CONFIG_MAP.get(RTFThreadPoolMetricsCollector.class)
                     .samplingInterval;
-    private final Map<String, ThreadPoolStatsRecord> statsRecordMap;
+    public static final String QUEUE_WAIT_P50 = "thread_pool_queue_wait_p50";
+    public static final String QUEUE_WAIT_P99 = "thread_pool_queue_wait_p99";
     private Histogram threadPoolQueueSizeMetrics;
     private Histogram threadPoolRejectedReqsMetrics;
     private Histogram threadPoolTotalThreadsMetrics;
     private Histogram threadPoolActiveThreadsMetrics;
 
-    //  Skipping ThreadPoolQueueLatencyMetrics since they are always emitting -1 in the original
-    // collector
-    //  private Histogram ThreadPoolQueueLatencyMetrics;
     private Histogram ThreadPoolQueueCapacityMetrics;
+    private Histogram threadPoolQueueWaitP50Metrics;
+    private Histogram threadPoolQueueWaitP99Metrics;
     private MetricsRegistry metricsRegistry;
     private boolean metricsInitialised;
     private PerformanceAnalyzerController performanceAnalyzerController;
@@ -63,7 +54,6 @@ public class RTFThreadPoolMetricsCollector extends PerformanceAnalyzerMetricsCol
                 "RTFThreadPoolMetricsCollector",
                 RTF_THREADPOOL_METRICS_COLLECTOR_EXECUTION_TIME,
                 RTF_THREADPOOL_METRICS_COLLECTOR_ERROR);
-        statsRecordMap = new HashMap<>();
         this.metricsInitialised = false;
         this.performanceAnalyzerController = performanceAnalyzerController;
         this.configOverridesWrapper = configOverridesWrapper;
@@ -91,85 +81,33 @@ public class RTFThreadPoolMetricsCollector extends PerformanceAnalyzerMetricsCol
 
         initialiseMetricsIfNeeded();
 
-        Iterator<ThreadPoolStats.Stats> statsIterator =
-                OpenSearchResources.INSTANCE.getThreadPool().stats().iterator();
-
-        while (statsIterator.hasNext()) {
-            ThreadPoolStats.Stats stats = statsIterator.next();
-            long rejectionDelta = 0;
-            String threadPoolName = stats.getName();
-            if (statsRecordMap.containsKey(threadPoolName)) {
-                ThreadPoolStatsRecord lastRecord = statsRecordMap.get(threadPoolName);
-                // if the timestamp in previous record is greater than 15s (3 * intervals),
-                // then the scheduler might hang or freeze due to long GC etc. We simply drop
-                // previous record here and set rejectionDelta to 0.
-                if (startTime - lastRecord.getTimestamp() <= SAMPLING_TIME_INTERVAL * 3L) {
-                    rejectionDelta = stats.getRejected() - lastRecord.getRejected();
-                    // we might not run into this as rejection is a LongAdder which never decrement
-                    // its count.
-                    // regardless, let's set it to 0 to be safe.
-                    if (rejectionDelta < 0) {
-                        rejectionDelta = 0;
-                    }
-                }
-            }
-            statsRecordMap.put(
-                    threadPoolName, new ThreadPoolStatsRecord(startTime, stats.getRejected()));
-            final long finalRejectionDelta = rejectionDelta;
-            final int capacity =
-                    AccessController.doPrivileged(
-                            (PrivilegedAction<Integer>)
-                                    () -> {
-                                        try {
-                                            ThreadPool threadPool =
-                                                    (ThreadPool)
-                                                            FieldUtils.readField(
-                                                                    OpenSearchResources.INSTANCE
-                                                                            .getIndicesService(),
-                                                                    "threadPool",
-                                                                    true);
-                                            ThreadPoolExecutor threadPoolExecutor =
-                                                    (ThreadPoolExecutor)
-                                                            threadPool.executor(threadPoolName);
-                                            Object queue = threadPoolExecutor.getQueue();
-                                            // TODO: we might want to read the capacity of
-                                            // SifiResizableBlockingQueue in the future.
-                                            // In order to do that we can create a new
-                                            // PerformanceAnalyzerLibrary package and push
-                                            // all the code which depends on core OpenSearch
-                                            // specific
-                                            // changes into that library.
-                                            if (queue instanceof SizeBlockingQueue) {
-                                                return ((SizeBlockingQueue) queue).capacity();
-                                            }
-                                        } catch (Exception e) {
-                                            LOG.warn("Fail to read queue capacity via reflection");
-                                            StatsCollector.instance()
-                                                    .logException(
-                                                            THREADPOOL_METRICS_COLLECTOR_ERROR);
-                                        }
-                                        return -1;
-                                    });
-
-            recordMetrics(stats, finalRejectionDelta, capacity);
+        ThreadPoolStatsSnapshot snapshot =
+                ThreadPoolStatsSnapshotService.INSTANCE.getSnapshot(startTime);
+        for (ThreadPoolStatsSnapshot.PoolStats pool : snapshot.getPools()) {
+            recordMetrics(pool);
         }
     }
 
-    private void recordMetrics(
-            ThreadPoolStats.Stats stats, long finalRejectionDelta, int capacity) {
+    private void recordMetrics(ThreadPoolStatsSnapshot.PoolStats pool) {
         Tags threadPoolTypeTag =
                 Tags.create()
                         .addTag(
                                 RTFMetrics.ThreadPoolDimension.THREAD_POOL_TYPE.toString(),
-                                stats.getName());
+                                pool.name());
 
-        threadPoolQueueSizeMetrics.record(stats.getQueue(), threadPoolTypeTag);
-        threadPoolRejectedReqsMetrics.record(finalRejectionDelta, threadPoolTypeTag);
-        threadPoolActiveThreadsMetrics.record(stats.getActive(), threadPoolTypeTag);
-        threadPoolTotalThreadsMetrics.record(stats.getThreads(), threadPoolTypeTag);
+        threadPoolQueueSizeMetrics.record(pool.queueSize(), threadPoolTypeTag);
+        threadPoolRejectedReqsMetrics.record(pool.rejectedDelta(), threadPoolTypeTag);
+        threadPoolActiveThreadsMetrics.record(pool.active(), threadPoolTypeTag);
+        threadPoolTotalThreadsMetrics.record(pool.threads(), threadPoolTypeTag);
 
-        if (capacity >= 0) {
-            ThreadPoolQueueCapacityMetrics.record(capacity, threadPoolTypeTag);
+        if (pool.queueCapacity() >= 0) {
+            ThreadPoolQueueCapacityMetrics.record(pool.queueCapacity(), threadPoolTypeTag);
+        }
+
+        ThreadPoolQueueMonitor.QueueAges queueAges = pool.queueAges();
+        if (queueAges.p50Millis() >= 0) {
+            threadPoolQueueWaitP50Metrics.record(queueAges.p50Millis(), threadPoolTypeTag);
+            threadPoolQueueWaitP99Metrics.record(queueAges.p99Millis(), threadPoolTypeTag);
         }
     }
 
@@ -204,25 +142,19 @@ public class RTFThreadPoolMetricsCollector extends PerformanceAnalyzerMetricsCol
                             RTFMetrics.ThreadPoolValue.Constants.QUEUE_CAPACITY_VALUE,
                             "ThreadPool Queue Capacity Metrics",
                             RTFMetrics.MetricUnits.COUNT.toString());
-            metricsInitialised = true;
-        }
-    }
-
-    private static class ThreadPoolStatsRecord {
-        private final long timestamp;
-        private final long rejected;
 
-        ThreadPoolStatsRecord(long timestamp, long rejected) {
-            this.timestamp = timestamp;
-            this.rejected = rejected;
-        }
-
-        public long getTimestamp() {
-            return timestamp;
-        }
+            threadPoolQueueWaitP50Metrics =
+                    metricsRegistry.createHistogram(
+                            QUEUE_WAIT_P50,
+                            "ThreadPool Queue Wait Median Metrics",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
 
-        public long getRejected() {
-            return rejected;
+            threadPoolQueueWaitP99Metrics =
+                    metricsRegistry.createHistogram(
+                            QUEUE_WAIT_P99,
+                            "ThreadPool Queue Wait P99 Metrics",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+            metricsInitialised = true;
         }
     }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors.telemetry;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.PerformanceAnalyzerMetricsCollector;
+import org.opensearch.performanceanalyzer.commons.collectors.TelemetryCollector;
+import org.opensearch.performanceanalyzer.commons.config.overrides.ConfigOverridesWrapper;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode;
+import org.opensearch.performanceanalyzer.commons.stats.metrics.StatMetrics;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.CollectorStatMetrics;
+import org.opensearch.performanceanalyzer.util.Utils;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Measures how much CPU and heap allocation each OpenSearch thread pool uses as a whole. Every run
+ * reads the ids of all live threads and then their CPU time and allocated bytes with one bulk
+ * {@link ThreadMXBean} call each, so the cost does not grow with a per-thread {@code /proc} read.
+ * Threads are mapped to pools by the name OpenSearch gives them, {@code
+ * opensearch[<node>][<pool>][T#<n>]}; the name is looked up only for threads not seen before.
+ */
+public class RTFThreadPoolResourceCollector extends PerformanceAnalyzerMetricsCollector
+        implements TelemetryCollector {
+    private static final Logger LOG = LogManager.getLogger(RTFThreadPoolResourceCollector.class);
+    public static final int SAMPLING_TIME_INTERVAL =
+            MetricsConfiguration.CONFIG_MAP.get(RTFThreadPoolResourceCollector.class)
+                    .samplingInterval;
+
+    public static final String THREAD_POOL_CPU_CORES = "thread_pool_cpu_cores";
+    public static final String THREAD_POOL_ALLOCATION_RATE = "thread_pool_allocation_rate";
+
+    /** CPU and allocation of one pool over a collection interval. */
+    @VisibleForTesting
+    record PoolUsage(double cpuCores, double allocationRate) {}
+
+    private static final class ThreadState {
+        final String pool;
+        long cpuTimeNanos;
+        long allocatedBytes;
+        long generation;
+
+        ThreadState(String pool) {
+            this.pool = pool;
+            this.cpuTimeNanos = -1;
+            this.allocatedBytes = -1;
+        }
+    }
+
+    private final ThreadMXBean threadMXBean;
+    private final com.sun.management.ThreadMXBean extendedThreadMXBean;
+    private final Map<Long, ThreadState> threads;
+    private long generation;
+    private long lastSampleNanos;
+
+    private Histogram cpuCoresMetrics;
+    private Histogram allocationRateMetrics;
+    private MetricsRegistry metricsRegistry;
+    private boolean metricsInitialised;
+    private final PerformanceAnalyzerController performanceAnalyzerController;
+    private final ConfigOverridesWrapper configOverridesWrapper;
+
+    public RTFThreadPoolResourceCollector(
+            PerformanceAnalyzerController performanceAnalyzerController,
+            ConfigOverridesWrapper configOverridesWrapper) {
+        super(
+                SAMPLING_TIME_INTERVAL,
+                CollectorStatMetrics.RTF_THREADPOOL_RESOURCE_COLLECTOR.getCollectorName(),
+                StatMetrics.RTF_THREADPOOL_METRICS_COLLECTOR_EXECUTION_TIME,
+                StatExceptionCode.RTF_THREADPOOL_METRICS_COLLECTOR_ERROR);
+        this.performanceAnalyzerController = performanceAnalyzerController;
+        this.configOverridesWrapper = configOverridesWrapper;
+        this.threadMXBean = ManagementFactory.getThreadMXBean();
+        this.extendedThreadMXBean =
+                threadMXBean instanceof com.sun.management.ThreadMXBean
+                        ? (com.sun.management.ThreadMXBean) threadMXBean
+                        : null;
+        this.threads = new HashMap<>();
+        this.lastSampleNanos = -1;
+        this.metricsInitialised = false;
+    }
+
+    @Override
+    public void collectMetrics(long startTime) {
+        CollectorStatMetrics.RTF_THREADPOOL_RESOURCE_COLLECTOR.measure(this::collect);
+    }
+
+    private void collect() {
+        if (performanceAnalyzerController.isCollectorDisabled(
+                configOverridesWrapper, getCollectorName())) {
+            LOG.info("RTFThreadPoolResourceCollector is disabled. Skipping collection.");
+            return;
+        }
+        if (extendedThreadMXBean == null
+                || !threadMXBean.isThreadCpuTimeSupported()
+                || !threadMXBean.isThreadCpuTimeEnabled()) {
+            LOG.debug("Thread CPU time is not available, skipping collection");
+            return;
+        }
+
+        metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            LOG.error("could not get the instance of MetricsRegistry class");
+            return;
+        }
+
+        initialiseMetricsIfNeeded();
+        LOG.debug("Executing collect metrics for RTFThreadPoolResourceCollector");
+
+        long now = System.nanoTime();
+        long[] threadIds = threadMXBean.getAllThreadIds();
+        long[] cpuTimes = extendedThreadMXBean.getThreadCpuTime(threadIds);
+        long[] allocatedBytes =
+                extendedThreadMXBean.isThreadAllocatedMemoryEnabled()
+                        ? extendedThreadMXBean.getThreadAllocatedBytes(threadIds)
+                        : null;
+        resolvePools(threadIds);
+        long elapsedNanos = lastSampleNanos < 0 ? -1 : now - lastSampleNanos;
+        Map<String, PoolUsage> usage = update(threadIds, cpuTimes, allocatedBytes, elapsedNanos);
+        lastSampleNanos = now;
+
+        for (Map.Entry<String, PoolUsage> entry : usage.entrySet()) {
+            Tags tags =
+                    Tags.create()
+                            .addTag(
+                                    RTFMetrics.ThreadPoolDimension.THREAD_POOL_TYPE.toString(),
+                                    entry.getKey());
+            cpuCoresMetrics.record(entry.getValue().cpuCores(), tags);
+            if (allocatedBytes != null) {
+                allocationRateMetrics.record(entry.getValue().allocationRate(), tags);
+            }
+        }
+    }
+
+    /** Looks up the pool of the threads not seen before, with one bulk call. */
+    private void resolvePools(long[] threadIds) {
+        int unknown = 0;
+        for (long threadId : threadIds) {
+            if (!threads.containsKey(threadId)) {
+                unknown++;
+            }
+        }
+        if (unknown == 0) {
+            return;
+        }
+        long[] unknownIds = new long[unknown];
+        int i = 0;
+        for (long threadId : threadIds) {
+            if (!threads.containsKey(threadId)) {
+                unknownIds[i++] = threadId;
+            }
+        }
+        ThreadInfo[] infos = threadMXBean.getThreadInfo(unknownIds, 0);
+        for (ThreadInfo info : infos) {
+            // null if the thread terminated in between
+            if (info != null) {
+                trackThread(info.getThreadId(), info.getThreadName());
+            }
+        }
+    }
+
+    /**
+     * Adds up the CPU time and allocation of the pool threads since the previous call and drops
+     * the state of the threads that are gone.
+     *
+     * @param threadIds ids of the live threads
+     * @param cpuTimes CPU time of each thread in nanoseconds, -1 if it terminated
+     * @param allocatedBytes bytes allocated by each thread, null if allocation is not measured
+     * @param elapsedNanos time since the previous call; negative on the first call
+     * @return usage per pool; empty on the first call
+     */
+    @VisibleForTesting
+    Map<String, PoolUsage> update(
+            long[] threadIds, long[] cpuTimes, long[] allocatedBytes, long elapsedNanos) {
+        generation++;
+        Map<String, long[]> totals = new HashMap<>();
+        for (int i = 0; i < threadIds.length; i++) {
+            ThreadState state = threads.get(threadIds[i]);
+            if (state == null) {
+                continue;
+            }
+            state.generation = generation;
+            if (state.pool.isEmpty() || cpuTimes[i] < 0) {
+                continue;
+            }
+            long[] total = totals.computeIfAbsent(state.pool, pool -> new long[2]);
+            // a thread first seen in this interval only counts from its next sample on
+            if (state.cpuTimeNanos >= 0) {
+                total[0] += Math.max(0, cpuTimes[i] - state.cpuTimeNanos);
+            }
+            long allocated = allocatedBytes == null ? -1 : allocatedBytes[i];
+            if (state.allocatedBytes >= 0 && allocated >= 0) {
+                total[1] += Math.max(0, allocated - state.allocatedBytes);
+            }
+            state.cpuTimeNanos = cpuTimes[i];
+            state.allocatedBytes = allocated;
+        }
+        Iterator<ThreadState> iterator = threads.values().iterator();
+        while (iterator.hasNext()) {
+            ThreadState state = iterator.next();
+            if (state.generation != generation) {
+                iterator.remove();
+            }
+        }
+
+        Map<String, PoolUsage> usage = new HashMap<>();
+        if (elapsedNanos <= 0) {
+            return usage;
+        }
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            usage.put(
+                    entry.getKey(),
+                    new PoolUsage(total[0] / (double) elapsedNanos, total[1] / elapsedSeconds));
+        }
+        return usage;
+    }
+
+    @VisibleForTesting
+    void trackThread(long threadId, String threadName) {
+        threads.put(threadId, new ThreadState(Utils.getThreadPoolName(threadName)));
+    }
+
+    private void initialiseMetricsIfNeeded() {
+        if (metricsInitialised == false) {
+            cpuCoresMetrics =
+                    metricsRegistry.createHistogram(
+                            THREAD_POOL_CPU_CORES,
+                            "CPU cores used by the threads of a pool",
+                            RTFMetrics.MetricUnits.COUNT.toString());
+
+            allocationRateMetrics =
+                    metricsRegistry.createHistogram(
+                            THREAD_POOL_ALLOCATION_RATE,
+                            "Bytes allocated per second by the threads of a pool",
+                            RTFMetrics.MetricUnits.BYTE.toString());
+            metricsInitialised = true;
+        }
+    }
+}
@@ -60,4 +60,68 @@ public final class PerformanceAnalyzerClusterSettings {
                     "",
                     Setting.Property.NodeScope,
                     Setting.Property.Dynamic);
+
+    /**
+     * Cluster setting controlling how many threads per-shard stats are read on in a collection
+     * tick, including the collector thread : 1 - read serially (Default)
+     */
+    public static final Setting<Integer> SHARD_STATS_COLLECTION_THREADS_SETTING =
+            Setting.intSetting(
+                    "cluster.metadata.perf_analyzer.shard_stats.collection_threads",
+                    1,
+                    1,
+                    8,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Cluster setting controlling how many milliseconds a collection tick may spend reading
+     * per-shard stats; shards not reached are read first in the next tick : 0 - no budget (Default)
+     */
+    public static final Setting<Integer> SHARD_STATS_COLLECTION_BUDGET_SETTING =
+            Setting.intSetting(
+                    "cluster.metadata.perf_analyzer.shard_stats.collection_budget_ms",
+                    0,
+                    0,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Cluster setting controlling how many milliseconds a cluster manager task of priority below
+     * NORMAL may stay pending before it is reported as starved : 0 - detection disabled, 300000
+     * (Default)
+     */
+    public static final Setting<Integer> PENDING_TASKS_STARVATION_THRESHOLD_SETTING =
+            Setting.intSetting(
+                    "cluster.metadata.perf_analyzer.pending_tasks.starvation_threshold_ms",
+                    300000,
+                    0,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Cluster setting controlling whether GC, safepoint, allocation and monitor events are streamed
+     * from JDK Flight Recorder : 0 - disabled (Default), 1 - enabled
+     */
+    public static final Setting<Integer> JFR_EVENTS_SETTING =
+            Setting.intSetting(
+                    "cluster.metadata.perf_analyzer.jfr_events.state",
+                    0,
+                    0,
+                    1,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
+
+    /**
+     * Cluster setting controlling whether the lookups of the shard request cache are fed to the
+     * request cache simulator : 0 - disabled (Default), 1 - enabled
+     */
+    public static final Setting<Integer> REQUEST_CACHE_SIMULATOR_SETTING =
+            Setting.intSetting(
+                    "cluster.metadata.perf_analyzer.request_cache_simulator.state",
+                    0,
+                    0,
+                    1,
+                    Setting.Property.NodeScope,
+                    Setting.Property.Dynamic);
 }
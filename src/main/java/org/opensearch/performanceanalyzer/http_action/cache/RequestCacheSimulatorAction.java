@@ -0,0 +1,168 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.http_action.cache;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static org.opensearch.performanceanalyzer.commons.stats.decisionmaker.DecisionMakerConsts.CACHE_MAX_WEIGHT;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.store.OpenSearchOnHeapCache;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.indices.IndicesRequestCache;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.http_action.config.RestConfig;
+import org.opensearch.performanceanalyzer.util.AccessorRegistry;
+import org.opensearch.performanceanalyzer.util.RequestCacheSimulator;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+/**
+ * Serves the miss ratio curve of the shard request cache estimated by the {@link
+ * RequestCacheSimulator} on this node. Candidate sizes are converted to bytes with the mean entry
+ * size of the live request cache, which is reported along with its current size and limit, so the
+ * curve can be read directly against {@code indices.requests.cache.size}. A {@code POST} to {@link
+ * #RESET_PATH} returns the curve the same way and then starts a new estimation.
+ */
+public class RequestCacheSimulatorAction extends BaseRestHandler {
+    private static final Logger LOG = LogManager.getLogger(RequestCacheSimulatorAction.class);
+
+    // same path as the request cache max size read by the cache config collector
+    private static final AccessorRegistry.FieldAccessor<IndicesRequestCache>
+            INDICES_REQUEST_CACHE =
+                    AccessorRegistry.INSTANCE.field(
+                            IndicesService.class, "indicesRequestCache", IndicesRequestCache.class);
+    private static final AccessorRegistry.FieldAccessor<Object> REQUEST_CACHE_CACHE =
+            AccessorRegistry.INSTANCE.field(IndicesRequestCache.class, "cache", Object.class);
+    private static final AccessorRegistry.FieldAccessor<Object> ON_HEAP_CACHE_CACHE =
+            AccessorRegistry.INSTANCE.field(OpenSearchOnHeapCache.class, "cache", Object.class);
+    private static final AccessorRegistry.FieldAccessor<Long> CACHE_MAXIMUM_WEIGHT =
+            AccessorRegistry.INSTANCE.field(Cache.class, CACHE_MAX_WEIGHT, Long.class);
+
+    public static final String REQUEST_CACHE_SIMULATOR_ACTION =
+            "PerformanceAnalyzer_Request_Cache_Simulator_Action";
+    public static final String MISS_RATIO_CURVE_PATH =
+            RestConfig.PA_BASE_URI + "/_local/request_cache/miss_ratio_curve";
+    public static final String RESET_PATH = MISS_RATIO_CURVE_PATH + "/_reset";
+
+    private static final List<Route> ROUTES =
+            unmodifiableList(
+                    asList(
+                            new Route(RestRequest.Method.GET, MISS_RATIO_CURVE_PATH),
+                            new Route(RestRequest.Method.POST, RESET_PATH)));
+
+    /** Entries, size and limit of the live request cache. */
+    @VisibleForTesting
+    record RequestCacheState(long entries, long sizeInBytes, long maxSizeInBytes) {
+        static final RequestCacheState UNKNOWN = new RequestCacheState(-1, -1, -1);
+
+        /** @return mean entry size, or -1 when the cache is empty or could not be read */
+        long getMeanEntrySize() {
+            return entries > 0 && sizeInBytes >= 0 ? sizeInBytes / entries : -1;
+        }
+    }
+
+    private final RequestCacheSimulator simulator;
+
+    public RequestCacheSimulatorAction() {
+        this(RequestCacheSimulator.INSTANCE);
+    }
+
+    @VisibleForTesting
+    RequestCacheSimulatorAction(RequestCacheSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    @Override
+    public List<Route> routes() {
+        return ROUTES;
+    }
+
+    @Override
+    public String getName() {
+        return REQUEST_CACHE_SIMULATOR_ACTION;
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(final RestRequest request, final NodeClient client)
+            throws IOException {
+        // only the reset route accepts POST
+        boolean reset = request.method() == RestRequest.Method.POST;
+        return channel -> {
+            try {
+                XContentBuilder builder = channel.newBuilder();
+                toXContent(builder, simulator.getMissRatioCurve(), readRequestCacheState());
+                if (reset) {
+                    simulator.reset();
+                }
+                channel.sendResponse(new BytesRestResponse(RestStatus.OK, builder));
+            } catch (IOException ioe) {
+                LOG.error("Error sending response", ioe);
+            }
+        };
+    }
+
+    @VisibleForTesting
+    static void toXContent(
+            XContentBuilder builder,
+            RequestCacheSimulator.MissRatioCurve curve,
+            RequestCacheState state)
+            throws IOException {
+        long meanEntrySize = state.getMeanEntrySize();
+        builder.startObject();
+        builder.field("samplingRate", curve.samplingRate());
+        builder.field("sampledLookups", curve.sampledLookups());
+        builder.startObject("requestCache");
+        builder.field("entries", state.entries());
+        builder.field("sizeInBytes", state.sizeInBytes());
+        builder.field("maxSizeInBytes", state.maxSizeInBytes());
+        builder.field("meanEntrySizeInBytes", meanEntrySize);
+        builder.endObject();
+        builder.startArray("missRatioCurve");
+        for (RequestCacheSimulator.Point point : curve.points()) {
+            builder.startObject();
+            builder.field("entries", point.entries());
+            builder.field("sizeInBytes", meanEntrySize < 0 ? -1 : point.entries() * meanEntrySize);
+            builder.field("hitRatio", point.hitRatio());
+            builder.field("missRatio", curve.sampledLookups() == 0 ? 0 : 1 - point.hitRatio());
+            builder.endObject();
+        }
+        builder.endArray();
+        builder.endObject();
+    }
+
+    private static RequestCacheState readRequestCacheState() {
+        IndicesService indicesService = OpenSearchResources.INSTANCE.getIndicesService();
+        if (indicesService == null) {
+            return RequestCacheState.UNKNOWN;
+        }
+        try {
+            IndicesRequestCache reqCache = INDICES_REQUEST_CACHE.get(indicesService);
+            Object openSearchOnHeapCache = REQUEST_CACHE_CACHE.get(reqCache);
+            // a tiered request cache has no single on heap cache to read
+            if (!(openSearchOnHeapCache instanceof OpenSearchOnHeapCache<?, ?>)) {
+                return RequestCacheState.UNKNOWN;
+            }
+            Cache<?, ?> requestCache = (Cache<?, ?>) ON_HEAP_CACHE_CACHE.get(openSearchOnHeapCache);
+            return new RequestCacheState(
+                    requestCache.count(),
+                    requestCache.weight(),
+                    CACHE_MAXIMUM_WEIGHT.get(requestCache));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debug("Cannot read the request cache", e);
+            return RequestCacheState.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.listener;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.OPENSEARCH_REQUEST_INTERCEPTOR_ERROR;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.index.shard.IndexingOperationListener;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.StatsCollector;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.commons.util.Util;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * {@link IndexingOperationListener} to capture the latency of every index and delete operation a
+ * shard executes, so that a single slow document can be told apart from a slow bulk, which is all
+ * the transport channel around the bulk shard request sees. Operations replayed from the translog
+ * or during peer recovery are not recorded.
+ *
+ * <p>The latency is the time the engine reports for the operation, and a document-level failure or
+ * an exception is recorded with the failed tag set. The tags of a shard are built once and reused,
+ * so recording an operation does not allocate; they are dropped when the shard is closed, for which
+ * the listener is also registered as an {@link IndexEventListener} of the index.
+ */
+public class RTFPerformanceAnalyzerIndexingListener
+        implements IndexingOperationListener, IndexEventListener {
+
+    private static final Logger LOG =
+            LogManager.getLogger(RTFPerformanceAnalyzerIndexingListener.class);
+    public static final String DOCUMENT_LATENCY = "shard_document_latency";
+    public static final String OPERATION_INDEX = "index";
+    public static final String OPERATION_DELETE = "delete";
+    private static final String SHARD_ROLE_PRIMARY = "primary";
+    private static final String SHARD_ROLE_REPLICA = "replica";
+
+    private final PerformanceAnalyzerController controller;
+    private final Histogram documentLatencyHistogram;
+    private final Map<ShardId, ShardTags> shardTags;
+
+    public RTFPerformanceAnalyzerIndexingListener(final PerformanceAnalyzerController controller) {
+        this.controller = controller;
+        this.documentLatencyHistogram =
+                createDocumentLatencyHistogram(OpenSearchResources.INSTANCE.getMetricsRegistry());
+        this.shardTags = new ConcurrentHashMap<>();
+    }
+
+    private Histogram createDocumentLatencyHistogram(MetricsRegistry metricsRegistry) {
+        if (metricsRegistry != null) {
+            return metricsRegistry.createHistogram(
+                    DOCUMENT_LATENCY,
+                    "Latency of a single index or delete operation on a shard",
+                    RTFMetrics.MetricUnits.MILLISECOND.toString());
+        } else {
+            LOG.debug("MetricsRegistry is null");
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return RTFPerformanceAnalyzerIndexingListener.class.getSimpleName();
+    }
+
+    @VisibleForTesting
+    boolean isIndexingListenerEnabled() {
+        return documentLatencyHistogram != null
+                && controller.isPerformanceAnalyzerEnabled()
+                && (controller.getCollectorsRunModeValue() == Util.CollectorMode.DUAL.getValue()
+                        || controller.getCollectorsRunModeValue()
+                                == Util.CollectorMode.TELEMETRY.getValue());
+    }
+
+    @Override
+    public void postIndex(ShardId shardId, Engine.Index index, Engine.IndexResult result) {
+        onOperation(shardId, index, result, false);
+    }
+
+    @Override
+    public void postIndex(ShardId shardId, Engine.Index index, Exception ex) {
+        onFailedOperation(shardId, index, false);
+    }
+
+    @Override
+    public void postDelete(ShardId shardId, Engine.Delete delete, Engine.DeleteResult result) {
+        onOperation(shardId, delete, result, true);
+    }
+
+    @Override
+    public void postDelete(ShardId shardId, Engine.Delete delete, Exception ex) {
+        onFailedOperation(shardId, delete, true);
+    }
+
+    @Override
+    public void afterIndexShardClosed(
+            ShardId shardId, IndexShard indexShard, Settings indexSettings) {
+        shardTags.remove(shardId);
+    }
+
+    private void onOperation(
+            ShardId shardId, Engine.Operation operation, Engine.Result result, boolean isDelete) {
+        try {
+            // a mapping update re-executes the operation, which is recorded then
+            if (result.getResultType() == Engine.Result.Type.MAPPING_UPDATE_REQUIRED
+                    || !isRecorded(operation)) {
+                return;
+            }
+            boolean isFailed = result.getResultType() == Engine.Result.Type.FAILURE;
+            record(shardId, operation, isDelete, isFailed, result.getTook());
+        } catch (Exception ex) {
+            LOG.error(ex);
+            StatsCollector.instance().logException(OPENSEARCH_REQUEST_INTERCEPTOR_ERROR);
+        }
+    }
+
+    private void onFailedOperation(ShardId shardId, Engine.Operation operation, boolean isDelete) {
+        try {
+            if (!isRecorded(operation)) {
+                return;
+            }
+            record(shardId, operation, isDelete, true, System.nanoTime() - operation.startTime());
+        } catch (Exception ex) {
+            LOG.error(ex);
+            StatsCollector.instance().logException(OPENSEARCH_REQUEST_INTERCEPTOR_ERROR);
+        }
+    }
+
+    private boolean isRecorded(Engine.Operation operation) {
+        Engine.Operation.Origin origin = operation.origin();
+        return (origin == Engine.Operation.Origin.PRIMARY
+                        || origin == Engine.Operation.Origin.REPLICA)
+                && isIndexingListenerEnabled();
+    }
+
+    private void record(
+            ShardId shardId,
+            Engine.Operation operation,
+            boolean isDelete,
+            boolean isFailed,
+            long tookInNanos) {
+        boolean isPrimary = operation.origin() == Engine.Operation.Origin.PRIMARY;
+        Tags tags =
+                shardTags
+                        .computeIfAbsent(shardId, ShardTags::new)
+                        .get(isDelete, isPrimary, isFailed);
+        documentLatencyHistogram.record(tookInNanos / 1_000_000.0, tags);
+    }
+
+    /** Tags of one shard for every combination of operation, shard role and outcome. */
+    @VisibleForTesting
+    static final class ShardTags {
+        private final Tags[] tags;
+
+        ShardTags(ShardId shardId) {
+            this.tags = new Tags[8];
+            for (int i = 0; i < tags.length; i++) {
+                boolean isDelete = (i & 4) != 0;
+                boolean isPrimary = (i & 2) != 0;
+                boolean isFailed = (i & 1) != 0;
+                tags[i] =
+                        Tags.create()
+                                .addTag(
+                                        RTFMetrics.CommonDimension.INDEX_NAME.toString(),
+                                        shardId.getIndex().getName())
+                                .addTag(
+                                        RTFMetrics.CommonDimension.INDEX_UUID.toString(),
+                                        shardId.getIndex().getUUID())
+                                .addTag(
+                                        RTFMetrics.CommonDimension.SHARD_ID.toString(),
+                                        shardId.getId())
+                                .addTag(
+                                        RTFMetrics.CommonDimension.OPERATION.toString(),
+                                        isDelete ? OPERATION_DELETE : OPERATION_INDEX)
+                                .addTag(
+                                        RTFMetrics.CommonDimension.SHARD_ROLE.toString(),
+                                        isPrimary ? SHARD_ROLE_PRIMARY : SHARD_ROLE_REPLICA)
+                                .addTag(RTFMetrics.CommonDimension.FAILED.toString(), isFailed);
+            }
+        }
+
+        Tags get(boolean isDelete, boolean isPrimary, boolean isFailed) {
+            return tags[(isDelete ? 4 : 0) | (isPrimary ? 2 : 0) | (isFailed ? 1 : 0)];
+        }
+    }
+}
@@ -9,8 +9,6 @@ import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExcep
 import static org.opensearch.performanceanalyzer.util.Utils.computeShareFactor;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.util.HashMap;
-import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.core.action.NotifyOnceListener;
@@ -41,10 +39,8 @@ public class RTFPerformanceAnalyzerSearchListener
             LogManager.getLogger(RTFPerformanceAnalyzerSearchListener.class);
     private static final String SHARD_FETCH_PHASE = "shard_fetch";
     private static final String SHARD_QUERY_PHASE = "shard_query";
-    public static final String QUERY_START_TIME = "query_start_time";
-    public static final String FETCH_START_TIME = "fetch_start_time";
-    public static final String QUERY_TASK_ID = "query_task_id";
-    private final ThreadLocal<Map<String, Long>> threadLocal;
+    private static final long NO_TASK_ID = -1L;
+    private final ThreadLocal<SearchPhaseState> phaseState;
     private static final SearchListener NO_OP_SEARCH_LISTENER = new NoOpSearchListener();
 
     private final PerformanceAnalyzerController controller;
@@ -61,7 +57,7 @@ public class RTFPerformanceAnalyzerSearchListener
                 createHeapUsedHistogram(OpenSearchResources.INSTANCE.getMetricsRegistry());
         this.searchLatencyHistogram =
                 createSearchLatencyHistogram(OpenSearchResources.INSTANCE.getMetricsRegistry());
-        this.threadLocal = ThreadLocal.withInitial(HashMap::new);
+        this.phaseState = ThreadLocal.withInitial(SearchPhaseState::new);
         this.numProcessors = Runtime.getRuntime().availableProcessors();
     }
 
@@ -183,13 +179,15 @@ public class RTFPerformanceAnalyzerSearchListener
 
     @Override
     public void preQueryPhase(SearchContext searchContext) {
-        threadLocal.get().put(QUERY_START_TIME, System.nanoTime());
-        threadLocal.get().put(QUERY_TASK_ID, searchContext.getTask().getId());
+        SearchPhaseState state = phaseState.get();
+        state.queryTaskId = searchContext.getTask().getId();
+        state.queryStartTime = System.nanoTime();
     }
 
     @Override
     public void queryPhase(SearchContext searchContext, long tookInNanos) {
-        long queryStartTime = threadLocal.get().getOrDefault(QUERY_START_TIME, System.nanoTime());
+        long queryStartTime =
+                phaseState.get().queryStartTime(searchContext, System.nanoTime() - tookInNanos);
         double queryTimeInMills = tookInNanos / 1_000_000.0;
 
         searchLatencyHistogram.record(
@@ -201,20 +199,27 @@ public class RTFPerformanceAnalyzerSearchListener
 
     @Override
     public void failedQueryPhase(SearchContext searchContext) {
-        long queryStartTime = threadLocal.get().getOrDefault(QUERY_START_TIME, System.nanoTime());
-        long queryTime = (System.nanoTime() - queryStartTime);
+        long now = System.nanoTime();
+        long queryStartTime =
+                phaseState
+                        .get()
+                        .queryStartTime(searchContext, searchContext.getTask().getStartTimeNanos());
+        long queryTime = (now - queryStartTime);
         addResourceTrackingCompletionListener(
                 searchContext, queryStartTime, queryTime, SHARD_QUERY_PHASE, true);
     }
 
     @Override
     public void preFetchPhase(SearchContext searchContext) {
-        threadLocal.get().put(FETCH_START_TIME, System.nanoTime());
+        SearchPhaseState state = phaseState.get();
+        state.fetchTaskId = searchContext.getTask().getId();
+        state.fetchStartTime = System.nanoTime();
     }
 
     @Override
     public void fetchPhase(SearchContext searchContext, long tookInNanos) {
-        long fetchStartTime = threadLocal.get().getOrDefault(FETCH_START_TIME, System.nanoTime());
+        long fetchStartTime =
+                phaseState.get().fetchStartTime(searchContext, System.nanoTime() - tookInNanos);
         double fetchTimeInMills = tookInNanos / 1_000_000.0;
         searchLatencyHistogram.record(
                 fetchTimeInMills, createTags(searchContext, SHARD_FETCH_PHASE, false));
@@ -225,8 +230,12 @@ public class RTFPerformanceAnalyzerSearchListener
 
     @Override
     public void failedFetchPhase(SearchContext searchContext) {
-        long fetchStartTime = threadLocal.get().getOrDefault(FETCH_START_TIME, System.nanoTime());
-        long fetchTime = (System.nanoTime() - fetchStartTime);
+        long now = System.nanoTime();
+        long fetchStartTime =
+                phaseState
+                        .get()
+                        .fetchStartTime(searchContext, searchContext.getTask().getStartTimeNanos());
+        long fetchTime = (now - fetchStartTime);
         addResourceTrackingCompletionListenerForFetchPhase(
                 searchContext, fetchStartTime, fetchTime, SHARD_FETCH_PHASE, true);
     }
@@ -247,14 +256,14 @@ public class RTFPerformanceAnalyzerSearchListener
             String phase,
             boolean isFailed) {
         long startTime = fetchStartTime;
-        long queryTaskId = threadLocal.get().getOrDefault(QUERY_TASK_ID, -1l);
+        SearchPhaseState state = phaseState.get();
         /**
          * There are scenarios where both query and fetch phases run in the same task for an
          * optimization. Adding a special handling for that case to divide the CPU usage between
          * these 2 operations by their runTime.
          */
-        if (queryTaskId == searchContext.getTask().getId()) {
-            startTime = threadLocal.get().getOrDefault(QUERY_START_TIME, System.nanoTime());
+        if (state.queryTaskId == searchContext.getTask().getId()) {
+            startTime = state.queryStartTime;
         }
         addCompletionListener(searchContext, startTime, fetchTime, phase, isFailed);
     }
@@ -344,4 +353,31 @@ public class RTFPerformanceAnalyzerSearchListener
     private Tags createTags(SearchContext searchContext) {
         return createTags(searchContext, null, false);
     }
+
+    /**
+     * Per-thread bookkeeping of the in-flight search phases. A single instance is reused for every
+     * request handled by a thread, so recording a phase does not allocate or box. Start times are
+     * only trusted when they were recorded for the same task; a phase that completes on a different
+     * thread than the one it started on falls back to the supplied start time instead of picking
+     * up a stale value left behind by another request.
+     */
+    @VisibleForTesting
+    static final class SearchPhaseState {
+        long queryTaskId = NO_TASK_ID;
+        long queryStartTime;
+        long fetchTaskId = NO_TASK_ID;
+        long fetchStartTime;
+
+        long queryStartTime(SearchContext searchContext, long fallbackStartTime) {
+            return queryTaskId == searchContext.getTask().getId()
+                    ? queryStartTime
+                    : fallbackStartTime;
+        }
+
+        long fetchStartTime(SearchContext searchContext, long fallbackStartTime) {
+            return fetchTaskId == searchContext.getTask().getId()
+                    ? fetchStartTime
+                    : fallbackStartTime;
+        }
+    }
 }
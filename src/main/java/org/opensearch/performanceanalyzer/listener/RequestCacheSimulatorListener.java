@@ -0,0 +1,84 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.listener;
+
+import static org.opensearch.performanceanalyzer.commons.stats.metrics.StatExceptionCode.OPENSEARCH_REQUEST_INTERCEPTOR_ERROR;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.index.IndexReader;
+import org.opensearch.index.shard.SearchOperationListener;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.collectors.StatsCollector;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.RequestCacheSimulator;
+import org.opensearch.search.internal.SearchContext;
+import org.opensearch.search.internal.ShardSearchRequest;
+
+/**
+ * {@link SearchOperationListener} that feeds the {@link RequestCacheSimulator} with the lookups of
+ * the shard request cache. Every query phase of a request the request cache accepts starts with a
+ * lookup, so the listener checks the same conditions as {@link IndicesService#canCache} before the
+ * phase and fingerprints what the cache key is made of: the reader the entry belongs to and the
+ * serialized {@link ShardSearchRequest#cacheKey()}, hashed the way the cache hashes its keys. It
+ * does nothing unless the simulator is enabled through its cluster setting.
+ */
+public class RequestCacheSimulatorListener implements SearchOperationListener {
+    private static final Logger LOG = LogManager.getLogger(RequestCacheSimulatorListener.class);
+
+    private final PerformanceAnalyzerController controller;
+    private final RequestCacheSimulator simulator;
+
+    public RequestCacheSimulatorListener(final PerformanceAnalyzerController controller) {
+        this(controller, RequestCacheSimulator.INSTANCE);
+    }
+
+    @VisibleForTesting
+    RequestCacheSimulatorListener(
+            final PerformanceAnalyzerController controller, RequestCacheSimulator simulator) {
+        this.controller = controller;
+        this.simulator = simulator;
+    }
+
+    @Override
+    public String toString() {
+        return RequestCacheSimulatorListener.class.getSimpleName();
+    }
+
+    @Override
+    public void onPreQueryPhase(SearchContext searchContext) {
+        try {
+            if (!simulator.isEnabled()) {
+                return;
+            }
+            IndicesService indicesService = OpenSearchResources.INSTANCE.getIndicesService();
+            if (indicesService == null
+                    || !controller.isPerformanceAnalyzerEnabled()
+                    || !indicesService.canCache(searchContext.request(), searchContext)) {
+                return;
+            }
+            IndexReader.CacheHelper cacheHelper =
+                    searchContext.searcher().getDirectoryReader().getReaderCacheHelper();
+            if (cacheHelper == null) {
+                return;
+            }
+            simulator.onLookup(getFingerprint(searchContext.request(), cacheHelper.getKey()));
+        } catch (Exception ex) {
+            LOG.error(ex);
+            StatsCollector.instance().logException(OPENSEARCH_REQUEST_INTERCEPTOR_ERROR);
+        }
+    }
+
+    @VisibleForTesting
+    static long getFingerprint(ShardSearchRequest request, Object readerKey) throws IOException {
+        // the cache key bytes cover the shard, the source and everything else the real key holds
+        long fingerprint = System.identityHashCode(readerKey);
+        return 31 * fingerprint + request.cacheKey().hashCode();
+    }
+}
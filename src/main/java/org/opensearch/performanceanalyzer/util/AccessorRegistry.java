@@ -0,0 +1,494 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Resolves the private OpenSearch and JDK members read by the collectors. Each field or method is
+ * looked up and made accessible once, when the accessor is created, and turned into a {@link
+ * MethodHandle}; collectors keep the returned accessor and invoke the handle on every run instead
+ * of repeating the {@code getDeclaredField}/{@code getDeclaredMethod} lookup. Asking again for the
+ * same member and type returns the accessor created the first time, so the registry does not grow
+ * when a collector resolves a member more than once.
+ *
+ * <p>A member that cannot be resolved, for example because the OpenSearch version on the node
+ * renamed it, yields an unavailable accessor that fails every read with the original lookup error.
+ * {@link #logCapabilityReport()} lists every accessor and whether it resolved, so a collector that
+ * cannot work on this node is visible once at startup rather than as a debug line on every run.
+ */
+public final class AccessorRegistry {
+    private static final Logger LOG = LogManager.getLogger(AccessorRegistry.class);
+    public static final AccessorRegistry INSTANCE = new AccessorRegistry();
+
+    /** Accessors by member and requested type, in creation order. */
+    private final Map<Key, Accessor> accessors;
+
+    private AccessorRegistry() {
+        this.accessors = new LinkedHashMap<>();
+    }
+
+    /**
+     * Resolves a field declared by {@code owner}.
+     *
+     * @param owner class declaring the field
+     * @param name field name
+     * @param type type the value is cast to on reads
+     * @return the accessor; unavailable if the field could not be resolved
+     */
+    public <T> FieldAccessor<T> field(Class<?> owner, String name, Class<T> type) {
+        String description = owner.getName() + "#" + name;
+        return register(
+                new Key(owner, name + ":" + type.getName()),
+                () -> {
+                    try {
+                        Field field = owner.getDeclaredField(name);
+                        MethodHandle getter = privileged(() -> unreflectGetter(field));
+                        boolean isStatic = Modifier.isStatic(field.getModifiers());
+                        getter =
+                                getter.asType(
+                                        isStatic
+                                                ? MethodType.methodType(Object.class)
+                                                : MethodType.methodType(
+                                                        Object.class, Object.class));
+                        return new ResolvedField<>(description, type, getter, isStatic, null);
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        return new ResolvedField<>(description, type, null, false, e);
+                    }
+                });
+    }
+
+    /**
+     * Resolves a field declared by the class with the given name, loaded by the class loader of
+     * this plugin.
+     *
+     * @param className fully qualified name of the class declaring the field
+     * @param name field name
+     * @param type type the value is cast to on reads
+     * @return the accessor; unavailable if the class or the field could not be resolved
+     */
+    public <T> FieldAccessor<T> field(String className, String name, Class<T> type) {
+        try {
+            return field(Class.forName(className), name, type);
+        } catch (ClassNotFoundException | LinkageError e) {
+            String description = className + "#" + name;
+            return register(
+                    new Key(className, name + ":" + type.getName()),
+                    () -> new ResolvedField<>(description, type, null, false, e));
+        }
+    }
+
+    /**
+     * Resolves a method declared by {@code owner}.
+     *
+     * @param owner class declaring the method
+     * @param name method name
+     * @param returnType type the result is cast to; boxed for primitive return types
+     * @param parameterTypes declared parameter types of the method
+     * @return the accessor; unavailable if the method could not be resolved
+     */
+    public <R> MethodAccessor<R> method(
+            Class<?> owner, String name, Class<R> returnType, Class<?>... parameterTypes) {
+        String description = owner.getName() + "#" + name;
+        StringBuilder signature = new StringBuilder(name).append('(');
+        for (Class<?> parameterType : parameterTypes) {
+            signature.append(parameterType.getName()).append(',');
+        }
+        signature.append("):").append(returnType.getName());
+        return register(
+                new Key(owner, signature.toString()),
+                () -> {
+                    try {
+                        Method method = owner.getDeclaredMethod(name, parameterTypes);
+                        boolean isStatic = Modifier.isStatic(method.getModifiers());
+                        MethodHandle handle = privileged(() -> unreflect(method));
+                        // every parameter and the result become Object, so the accessor can call
+                        // invokeExact without knowing the declared types
+                        int leading = isStatic ? 0 : 1;
+                        handle =
+                                handle.asType(
+                                        MethodType.genericMethodType(
+                                                leading + parameterTypes.length));
+                        return new ResolvedMethod<>(
+                                description,
+                                returnType,
+                                handle,
+                                // (Object[]) or (Object, Object[]) for the varargs overloads
+                                handle.asSpreader(Object[].class, parameterTypes.length),
+                                isStatic,
+                                parameterTypes.length,
+                                null);
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        return new ResolvedMethod<>(
+                                description, returnType, null, null, false, 0, e);
+                    }
+                });
+    }
+
+    /** @return one line per accessor created so far, in creation order. */
+    public synchronized List<String> getCapabilityReport() {
+        List<String> report = new ArrayList<>(accessors.size());
+        for (Accessor accessor : accessors.values()) {
+            report.add(
+                    accessor.isAvailable()
+                            ? accessor.description() + " available"
+                            : accessor.description() + " unavailable: " + accessor.failure());
+        }
+        return Collections.unmodifiableList(report);
+    }
+
+    /** Logs which of the accessors created so far resolved on this node. */
+    public synchronized void logCapabilityReport() {
+        int unavailable = 0;
+        for (Accessor accessor : accessors.values()) {
+            if (!accessor.isAvailable()) {
+                unavailable++;
+                LOG.warn(
+                        "{} is not accessible, collectors reading it are disabled: {}",
+                        accessor.description(),
+                        accessor.failure().toString());
+            }
+        }
+        LOG.info(
+                "Resolved {} of {} reflective accessors",
+                accessors.size() - unavailable,
+                accessors.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <A extends Accessor> A register(Key key, Supplier<A> resolver) {
+        // the key names the requested type, so the existing accessor has the type asked for
+        return (A) accessors.computeIfAbsent(key, k -> resolver.get());
+    }
+
+    private static MethodHandle unreflectGetter(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle privileged(PrivilegedAction<MethodHandle> action) {
+        return AccessController.doPrivileged(action);
+    }
+
+    private static <V> V cast(String description, Class<V> type, Object value)
+            throws ReflectiveOperationException {
+        if (value != null && !type.isInstance(value)) {
+            throw new ReflectiveOperationException(
+                    description + " returned " + value.getClass().getName());
+        }
+        return type.cast(value);
+    }
+
+    private static void checkAvailable(String description, Throwable failure)
+            throws ReflectiveOperationException {
+        if (failure != null) {
+            throw new ReflectiveOperationException(description + " is not accessible", failure);
+        }
+    }
+
+    private static void checkArity(String description, int expected, int count)
+            throws ReflectiveOperationException {
+        if (count != expected) {
+            throw new ReflectiveOperationException(
+                    description + " expects " + expected + " arguments");
+        }
+    }
+
+    /**
+     * Identifies an accessor by the class that declares the member, or its name if it could not be
+     * loaded, and the member with the requested types. The class itself is part of the key because
+     * modules load classes of the same name through their own class loaders.
+     */
+    private record Key(Object owner, String member) {}
+
+    /** State shared by every accessor, used by the capability report. */
+    private interface Accessor {
+        String description();
+
+        Throwable failure();
+
+        boolean isAvailable();
+    }
+
+    /** Typed read access to a field resolved by {@link AccessorRegistry#field}. */
+    public interface FieldAccessor<T> {
+        boolean isAvailable();
+
+        /**
+         * @param target instance to read the field of
+         * @return the value of the field
+         * @throws ReflectiveOperationException if the field is not accessible on this node or
+         *     {@code target} does not declare it
+         */
+        T get(Object target) throws ReflectiveOperationException;
+
+        /**
+         * @return the value of the static field
+         * @throws ReflectiveOperationException if the field is not accessible on this node
+         */
+        T getStatic() throws ReflectiveOperationException;
+    }
+
+    /**
+     * Typed invocation of a method resolved by {@link AccessorRegistry#method}. Methods with no or
+     * one parameter are invoked through fixed-arity overloads that pass the arguments straight to
+     * the handle; only the varargs overloads, used for longer parameter lists, build an argument
+     * array.
+     */
+    public interface MethodAccessor<R> {
+        boolean isAvailable();
+
+        /**
+         * Invokes an instance method without parameters.
+         *
+         * @param target instance to invoke the method on
+         * @return the result of the method
+         * @throws ReflectiveOperationException if the method is not accessible on this node, it
+         *     takes parameters, or the method threw
+         */
+        R invoke(Object target) throws ReflectiveOperationException;
+
+        /**
+         * Invokes an instance method with one parameter.
+         *
+         * @param target instance to invoke the method on
+         * @param arg the argument
+         * @return the result of the method
+         * @throws ReflectiveOperationException if the method is not accessible on this node, the
+         *     argument does not match, or the method threw
+         */
+        R invoke(Object target, Object arg) throws ReflectiveOperationException;
+
+        /**
+         * Invokes an instance method.
+         *
+         * @param target instance to invoke the method on
+         * @param args arguments, one per declared parameter
+         * @return the result of the method
+         * @throws ReflectiveOperationException if the method is not accessible on this node, the
+         *     arguments do not match, or the method threw
+         */
+        R invoke(Object target, Object... args) throws ReflectiveOperationException;
+
+        /**
+         * Invokes a static method without parameters.
+         *
+         * @return the result of the method
+         * @throws ReflectiveOperationException if the method is not accessible on this node, it
+         *     takes parameters, or the method threw
+         */
+        R invokeStatic() throws ReflectiveOperationException;
+
+        /**
+         * Invokes a static method with one parameter.
+         *
+         * @param arg the argument
+         * @return the result of the method
+         * @throws ReflectiveOperationException if the method is not accessible on this node, the
+         *     argument does not match, or the method threw
+         */
+        R invokeStatic(Object arg) throws ReflectiveOperationException;
+
+        /**
+         * Invokes a static method.
+         *
+         * @param args arguments, one per declared parameter
+         * @return the result of the method
+         * @throws ReflectiveOperationException if the method is not accessible on this node, the
+         *     arguments do not match, or the method threw
+         */
+        R invokeStatic(Object... args) throws ReflectiveOperationException;
+    }
+
+    /*
+     * The accessors are records because HotSpot trusts the final fields of records: when a
+     * collector keeps an accessor in a static final field, the handle is a constant to the JIT and
+     * the call is inlined like a direct field read or method call.
+     */
+
+    private record ResolvedField<T>(
+            String description,
+            Class<T> type,
+            MethodHandle getter,
+            boolean isStatic,
+            Throwable failure)
+            implements FieldAccessor<T>, Accessor {
+
+        @Override
+        public boolean isAvailable() {
+            return failure == null;
+        }
+
+        @Override
+        public T get(Object target) throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            if (isStatic) {
+                return getStatic();
+            }
+            Object value;
+            try {
+                value = (Object) getter.invokeExact(target);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot read " + description);
+            }
+            return cast(description, type, value);
+        }
+
+        @Override
+        public T getStatic() throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            Object value;
+            try {
+                value = (Object) getter.invokeExact();
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot read " + description);
+            }
+            return cast(description, type, value);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private record ResolvedMethod<R>(
+            String description,
+            Class<R> returnType,
+            MethodHandle handle,
+            MethodHandle spreader,
+            boolean isStatic,
+            int parameterCount,
+            Throwable failure)
+            implements MethodAccessor<R>, Accessor {
+
+        @Override
+        public boolean isAvailable() {
+            return failure == null;
+        }
+
+        @Override
+        public R invoke(Object target) throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            if (isStatic) {
+                return invokeStatic();
+            }
+            checkArity(description, parameterCount, 0);
+            Object result;
+            try {
+                result = (Object) handle.invokeExact(target);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot invoke " + description);
+            }
+            return cast(description, returnType, result);
+        }
+
+        @Override
+        public R invoke(Object target, Object arg) throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            if (isStatic) {
+                return invokeStatic(arg);
+            }
+            checkArity(description, parameterCount, 1);
+            Object result;
+            try {
+                result = (Object) handle.invokeExact(target, arg);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot invoke " + description);
+            }
+            return cast(description, returnType, result);
+        }
+
+        @Override
+        public R invoke(Object target, Object... args) throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            if (isStatic) {
+                return invokeStatic(args);
+            }
+            checkArity(description, parameterCount, args.length);
+            Object result;
+            try {
+                result = (Object) spreader.invokeExact(target, args);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot invoke " + description);
+            }
+            return cast(description, returnType, result);
+        }
+
+        @Override
+        public R invokeStatic() throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            checkArity(description, parameterCount, 0);
+            Object result;
+            try {
+                result = (Object) handle.invokeExact();
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot invoke " + description);
+            }
+            return cast(description, returnType, result);
+        }
+
+        @Override
+        public R invokeStatic(Object arg) throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            checkArity(description, parameterCount, 1);
+            Object result;
+            try {
+                result = (Object) handle.invokeExact(arg);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot invoke " + description);
+            }
+            return cast(description, returnType, result);
+        }
+
+        @Override
+        public R invokeStatic(Object... args) throws ReflectiveOperationException {
+            checkAvailable(description, failure);
+            checkArity(description, parameterCount, args.length);
+            Object result;
+            try {
+                result = (Object) spreader.invokeExact(args);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t, "Cannot invoke " + description);
+            }
+            return cast(description, returnType, result);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.telemetry.metrics.Counter;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Execution time and error stats of the collectors that have no entry in the commons {@code
+ * StatMetrics} and {@code StatExceptionCode} enums. Every such collector is listed here and runs
+ * its collection through {@link #measure(Runnable)}, which records the {@value
+ * #COLLECTOR_EXECUTION_TIME} histogram and counts failures in {@value #COLLECTOR_ERRORS}, both
+ * tagged with the collector name. A failure is rethrown after it is counted, so the base class
+ * still logs it and accounts for it under the commons code the collector was created with; that
+ * code is shared with an older collector, the stats here are the per-collector ones.
+ */
+public enum CollectorStatMetrics {
+    RTF_THREADPOOL_RESOURCE_COLLECTOR("RTFThreadPoolResourceCollector"),
+    RTF_THREAD_CONTENTION_COLLECTOR("RTFThreadContentionCollector"),
+    JFR_EVENTS_COLLECTOR("JfrEventsCollector"),
+    DIRECT_MEMORY_COLLECTOR("DirectMemoryCollector"),
+    SHARD_DISK_IO_COLLECTOR("ShardDiskIOCollector"),
+    SEGMENT_MERGE_COLLECTOR("SegmentMergeCollector"),
+    REFRESH_FLUSH_COLLECTOR("RefreshFlushCollector"),
+    TRANSLOG_COLLECTOR("TranslogCollector");
+
+    public static final String COLLECTOR_EXECUTION_TIME = "pa_collector_execution_time";
+    public static final String COLLECTOR_ERRORS = "pa_collector_errors";
+    public static final String COLLECTOR_TAG = "collector";
+
+    private final String collectorName;
+    private final Tags tags;
+
+    CollectorStatMetrics(String collectorName) {
+        this.collectorName = collectorName;
+        this.tags = Tags.create().addTag(COLLECTOR_TAG, collectorName);
+    }
+
+    public String getCollectorName() {
+        return collectorName;
+    }
+
+    /**
+     * Runs one collection, records how long it took and counts it as an error if it threw.
+     *
+     * @param collection the collection to run
+     * @throws RuntimeException whatever the collection threw, after it was counted
+     */
+    public void measure(Runnable collection) {
+        long start = System.currentTimeMillis();
+        try {
+            collection.run();
+        } catch (RuntimeException e) {
+            logException();
+            throw e;
+        } finally {
+            Histogram histogram = Instruments.executionTime();
+            if (histogram != null) {
+                histogram.record(System.currentTimeMillis() - start, tags);
+            }
+        }
+    }
+
+    /** Counts one failed collection that the collector handled itself. */
+    public void logException() {
+        Counter counter = Instruments.errors();
+        if (counter != null) {
+            counter.add(1, tags);
+        }
+    }
+
+    // created on first use, once the telemetry registry is available
+    private static final class Instruments {
+        private static MetricsRegistry registry;
+        private static Histogram executionTime;
+        private static Counter errors;
+
+        static synchronized Histogram executionTime() {
+            resolve();
+            return executionTime;
+        }
+
+        static synchronized Counter errors() {
+            resolve();
+            return errors;
+        }
+
+        private static void resolve() {
+            MetricsRegistry current = OpenSearchResources.INSTANCE.getMetricsRegistry();
+            if (current == registry) {
+                return;
+            }
+            registry = current;
+            executionTime = null;
+            errors = null;
+            if (current != null) {
+                executionTime =
+                        current.createHistogram(
+                                COLLECTOR_EXECUTION_TIME,
+                                "Time a collector took to run one collection",
+                                RTFMetrics.MetricUnits.MILLISECOND.toString());
+                errors =
+                        current.createCounter(
+                                COLLECTOR_ERRORS,
+                                "Collections that failed",
+                                RTFMetrics.MetricUnits.COUNT.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Listens to the notifications the garbage collector beans send at the end of every collection and
+ * keeps the collections until they are drained, so that each pause is seen on its own instead of
+ * through the cumulative count and time the beans expose. The listener runs on the JMX notification
+ * thread and only appends to the pending list.
+ *
+ * <p>The reported duration is the one of the collection; for the beans of concurrent collectors it
+ * includes concurrent work, which the action of the collection tells apart.
+ */
+public final class GCPauseMonitor implements NotificationListener {
+    private static final Logger LOG = LogManager.getLogger(GCPauseMonitor.class);
+
+    /** Upper bound on the collections kept between two drains; the summaries count all of them. */
+    public static final int MAX_PENDING_PAUSES = 1024;
+
+    /** Usage of a memory pool before and after a collection. */
+    public record PoolUsage(String pool, long usedBefore, long usedAfter) {}
+
+    /** One collection as reported by the notification of a garbage collector bean. */
+    public record GCPause(
+            String gcName,
+            String action,
+            String cause,
+            long durationMillis,
+            List<PoolUsage> pools) {}
+
+    /** Collections of one garbage collector over a drain interval. */
+    public record PauseSummary(long count, long totalMillis, long maxMillis) {
+        public static final PauseSummary NONE = new PauseSummary(0, 0, 0);
+
+        PauseSummary add(long durationMillis) {
+            return new PauseSummary(
+                    count + 1, totalMillis + durationMillis, Math.max(maxMillis, durationMillis));
+        }
+    }
+
+    /** Collections handed over by {@link #drain()}. */
+    public record Interval(List<GCPause> pauses, Map<String, PauseSummary> summaries) {}
+
+    private final List<NotificationEmitter> emitters;
+    private final List<String> gcNames;
+    private List<GCPause> pauses;
+    private Map<String, PauseSummary> summaries;
+
+    public GCPauseMonitor() {
+        this.emitters = new ArrayList<>();
+        this.gcNames = new ArrayList<>();
+        this.pauses = new ArrayList<>();
+        this.summaries = new HashMap<>();
+    }
+
+    /** Subscribes to the notifications of all garbage collector beans, if not done already. */
+    public synchronized void start() {
+        if (!emitters.isEmpty()) {
+            return;
+        }
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) bean;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+                gcNames.add(bean.getName());
+            }
+        }
+        LOG.debug("Listening to GC notifications of {}", gcNames);
+    }
+
+    /** Unsubscribes from the garbage collector beans and drops the pending collections. */
+    public synchronized void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                LOG.debug("GC notification listener was not registered");
+            }
+        }
+        emitters.clear();
+        gcNames.clear();
+        drain();
+    }
+
+    public synchronized boolean isStarted() {
+        return !emitters.isEmpty();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+                notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gcInfo = info.getGcInfo();
+        Map<String, MemoryUsage> after = gcInfo.getMemoryUsageAfterGc();
+        List<PoolUsage> pools = new ArrayList<>(after.size());
+        for (Map.Entry<String, MemoryUsage> before : gcInfo.getMemoryUsageBeforeGc().entrySet()) {
+            MemoryUsage usageAfter = after.get(before.getKey());
+            if (usageAfter != null) {
+                pools.add(
+                        new PoolUsage(
+                                before.getKey(),
+                                before.getValue().getUsed(),
+                                usageAfter.getUsed()));
+            }
+        }
+        record(
+                new GCPause(
+                        info.getGcName(),
+                        info.getGcAction(),
+                        info.getGcCause(),
+                        gcInfo.getDuration(),
+                        pools));
+    }
+
+    @VisibleForTesting
+    public synchronized void record(GCPause pause) {
+        summaries.merge(
+                pause.gcName(),
+                PauseSummary.NONE.add(pause.durationMillis()),
+                (summary, ignored) -> summary.add(pause.durationMillis()));
+        if (pauses.size() < MAX_PENDING_PAUSES) {
+            pauses.add(pause);
+        }
+    }
+
+    /**
+     * Hands over the collections since the previous drain.
+     *
+     * @return the collections, and a summary per garbage collector that includes the collectors
+     *     which did not run
+     */
+    public synchronized Interval drain() {
+        Map<String, PauseSummary> drained = summaries;
+        for (String gcName : gcNames) {
+            drained.putIfAbsent(gcName, PauseSummary.NONE);
+        }
+        Interval interval = new Interval(pauses, drained);
+        pauses = new ArrayList<>();
+        summaries = new HashMap<>();
+        return interval;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the hit ratio the shard request cache would reach at several sizes, so the cache can
+ * be sized from the observed access pattern instead of from its eviction count alone.
+ *
+ * <p>Cache lookups are sampled spatially, as in SHARDS: a lookup is kept when the hash of its key
+ * falls below a threshold, so either every lookup of a key is sampled or none is, and a sampled
+ * stream at rate R behaves like the full stream with a cache R times smaller. Each candidate size
+ * is simulated by a ghost LRU cache that only holds sampled key hashes and has R times the
+ * candidate's capacity; its hit ratio over the sampled lookups estimates the hit ratio of a request
+ * cache with that many entries. Unsampled lookups cost one hash and a comparison.
+ *
+ * <p>The request cache is sized in bytes while the candidates are in entries; callers convert with
+ * the mean entry size of the live cache.
+ *
+ * <p>The simulator is off until enabled through {@link #setState(int)}, and lookup sources are
+ * expected to check {@link #isEnabled()} before they build a fingerprint.
+ */
+public final class RequestCacheSimulator {
+    public static final double DEFAULT_SAMPLING_RATE = 0.01;
+    /** Candidate cache sizes in entries, from 1K to 1M in steps of four. */
+    public static final long[] DEFAULT_CANDIDATE_SIZES = {
+        1L << 10, 1L << 12, 1L << 14, 1L << 16, 1L << 18, 1L << 20
+    };
+
+    public static final RequestCacheSimulator INSTANCE =
+            new RequestCacheSimulator(DEFAULT_SAMPLING_RATE, DEFAULT_CANDIDATE_SIZES);
+
+    private static final long SAMPLING_MODULUS = 1L << 24;
+
+    /** Estimated hit ratio of a cache holding the given number of entries. */
+    public record Point(long entries, double hitRatio) {}
+
+    /** Hit ratio estimates at every candidate size, from the smallest to the largest. */
+    public record MissRatioCurve(double samplingRate, long sampledLookups, List<Point> points) {}
+
+    private final double samplingRate;
+    private final long threshold;
+    private final long[] candidateSizes;
+    private final GhostCache[] ghostCaches;
+    private long sampledLookups;
+    private volatile boolean enabled;
+
+    @VisibleForTesting
+    public RequestCacheSimulator(double samplingRate, long[] candidateSizes) {
+        this.samplingRate = samplingRate;
+        this.threshold = Math.round(samplingRate * SAMPLING_MODULUS);
+        this.candidateSizes = candidateSizes.clone();
+        this.ghostCaches = new GhostCache[candidateSizes.length];
+        for (int i = 0; i < candidateSizes.length; i++) {
+            long capacity = Math.max(1, Math.round(candidateSizes[i] * samplingRate));
+            ghostCaches[i] = new GhostCache(capacity);
+        }
+    }
+
+    /**
+     * Turns the simulator on or off. Turning it on starts a new estimation, so the curve never
+     * mixes lookups from before and after a period it was off.
+     *
+     * @param state 1 to enable, 0 to disable
+     */
+    public synchronized void setState(int state) {
+        boolean enable = state == 1;
+        if (enable && !enabled) {
+            reset();
+        }
+        enabled = enable;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Feeds one lookup of the request cache.
+     *
+     * @param fingerprint identifies the cache key of the lookup; equal keys give equal fingerprints
+     */
+    public void onLookup(long fingerprint) {
+        long hash = mix(fingerprint);
+        if ((hash & (SAMPLING_MODULUS - 1)) >= threshold) {
+            return;
+        }
+        synchronized (this) {
+            sampledLookups++;
+            for (GhostCache ghostCache : ghostCaches) {
+                ghostCache.lookup(hash);
+            }
+        }
+    }
+
+    public synchronized MissRatioCurve getMissRatioCurve() {
+        List<Point> points = new ArrayList<>(candidateSizes.length);
+        for (int i = 0; i < candidateSizes.length; i++) {
+            double hitRatio =
+                    sampledLookups == 0 ? 0 : (double) ghostCaches[i].hits / sampledLookups;
+            points.add(new Point(candidateSizes[i], hitRatio));
+        }
+        return new MissRatioCurve(samplingRate, sampledLookups, points);
+    }
+
+    /** Forgets the lookups seen so far, for example after the workload changed. */
+    public synchronized void reset() {
+        sampledLookups = 0;
+        for (GhostCache ghostCache : ghostCaches) {
+            ghostCache.clear();
+        }
+    }
+
+    /** Finalization step of MurmurHash3, spreads the fingerprint over the sampling bits. */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /** LRU set of sampled key hashes. */
+    private static final class GhostCache extends LinkedHashMap<Long, Boolean> {
+        private final long capacity;
+        private long hits;
+
+        GhostCache(long capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        void lookup(long hash) {
+            if (get(hash) != null) {
+                hits++;
+            } else {
+                put(hash, Boolean.TRUE);
+            }
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            hits = 0;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.ReferenceManager;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.IndexModule;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.index.shard.IndexShard;
+
+/**
+ * Times every refresh of the shards on this node. A Lucene refresh listener is added to the reader
+ * manager that serves searches of each started shard, so a refresh is seen when it happens instead
+ * of through the cumulative refresh count and time of the shard stats. Besides the duration, each
+ * refresh reports the indexing buffer bytes it wrote out, the drop of the shard's buffer across the
+ * refresh.
+ *
+ * <p>The listener runs on the refreshing thread, which holds the refresh lock of the reader
+ * manager, and only reads the clock, reads the buffer size and appends to the pending list. The
+ * list is capped between two drains while the per-shard summaries count every refresh.
+ *
+ * <p>A second listener on the internal reader manager, which every external refresh and every
+ * flush refreshes, notes which shard each thread refreshed last, so the I/O of the refresh and
+ * flush pool threads can be attributed to a shard.
+ *
+ * <p>The listeners stay attached while no collector consumes what they record, but then only read
+ * a volatile lease: a consumer renews its lease on every run, see {@link #leaseRefreshes(long)} and
+ * {@link #leaseActivity(long)}, and once it stops running, because its collector or the plugin is
+ * disabled, the listeners skip their work until it runs again.
+ *
+ * <p>The engine of a shard is replaced on some state changes, for example when a replica is
+ * promoted, so {@link #track(IndexShard)} is safe to call repeatedly and moves the listener to the
+ * current reader manager.
+ */
+public final class ShardRefreshMonitor implements IndexEventListener {
+    private static final Logger LOG = LogManager.getLogger(ShardRefreshMonitor.class);
+    public static final ShardRefreshMonitor INSTANCE = new ShardRefreshMonitor();
+
+    /** Upper bound on the refreshes kept between two drains. */
+    public static final int MAX_PENDING_REFRESHES = 4096;
+
+    /** Runs of a consumer a lease covers, so one late run does not stop the listeners. */
+    private static final int LEASE_RUNS = 2;
+
+    private static final AccessorRegistry.MethodAccessor<Engine> GET_ENGINE =
+            AccessorRegistry.INSTANCE.method(IndexShard.class, "getEngineOrNull", Engine.class);
+    private static final AccessorRegistry.MethodAccessor<Object> GET_REFERENCE_MANAGER =
+            AccessorRegistry.INSTANCE.method(
+                    Engine.class, "getReferenceManager", Object.class, Engine.SearcherScope.class);
+
+    /** One refresh of a shard that changed the searchable view. */
+    public record RefreshEvent(ShardId shardId, long tookNanos, long bytes) {}
+
+    /** Refreshes of one shard over a drain interval. */
+    public record RefreshSummary(long count, long totalNanos, long maxNanos, long bytes) {
+        public static final RefreshSummary NONE = new RefreshSummary(0, 0, 0, 0);
+
+        RefreshSummary add(RefreshEvent event) {
+            return new RefreshSummary(
+                    count + 1,
+                    totalNanos + event.tookNanos(),
+                    Math.max(maxNanos, event.tookNanos()),
+                    bytes + event.bytes());
+        }
+    }
+
+    /** Refreshes handed over by {@link #drain()}. */
+    public record Interval(List<RefreshEvent> refreshes, Map<ShardId, RefreshSummary> summaries) {}
+
+    private final Map<ShardId, ShardRefreshListener> listeners;
+    private final Map<ShardId, ThreadActivityListener> activityListeners;
+    private final Map<Long, ShardId> threadShards;
+    private List<RefreshEvent> refreshes;
+    private Map<ShardId, RefreshSummary> summaries;
+    /** {@link System#nanoTime()} at which the lease of each consumer runs out. */
+    private volatile long refreshLeaseEnd;
+    private volatile long activityLeaseEnd;
+
+    private ShardRefreshMonitor() {
+        this.listeners = new ConcurrentHashMap<>();
+        this.activityListeners = new ConcurrentHashMap<>();
+        this.threadShards = new ConcurrentHashMap<>();
+        this.refreshes = new ArrayList<>();
+        this.summaries = new HashMap<>();
+        release();
+    }
+
+    /**
+     * Starts timing the refreshes of the shards of the index the module belongs to.
+     *
+     * @param indexModule module of an index being created on this node
+     */
+    public void attach(IndexModule indexModule) {
+        indexModule.addIndexEventListener(this);
+    }
+
+    @Override
+    public void afterIndexShardStarted(IndexShard indexShard) {
+        track(indexShard);
+    }
+
+    @Override
+    public void shardRoutingChanged(
+            IndexShard indexShard, ShardRouting oldRouting, ShardRouting newRouting) {
+        track(indexShard);
+    }
+
+    @Override
+    public void beforeIndexShardClosed(
+            ShardId shardId, IndexShard indexShard, Settings indexSettings) {
+        untrack(shardId);
+    }
+
+    /**
+     * Adds the listeners to the current reader managers of the shard, if they are not there
+     * already.
+     *
+     * @param indexShard shard to time the refreshes of
+     * @return whether the shard is timed
+     */
+    public boolean track(IndexShard indexShard) {
+        ReferenceManager<?> referenceManager =
+                getReferenceManager(indexShard, Engine.SearcherScope.EXTERNAL);
+        if (referenceManager == null) {
+            return false;
+        }
+        ReferenceManager<?> internalManager =
+                getReferenceManager(indexShard, Engine.SearcherScope.INTERNAL);
+        ShardId shardId = indexShard.shardId();
+        synchronized (listeners) {
+            if (bind(
+                    listeners,
+                    shardId,
+                    referenceManager,
+                    manager -> new ShardRefreshListener(indexShard, manager))) {
+                LOG.debug("Timing refreshes of shard {}", shardId);
+            }
+            if (internalManager != null) {
+                bind(
+                        activityListeners,
+                        shardId,
+                        internalManager,
+                        manager -> new ThreadActivityListener(shardId, manager));
+            }
+        }
+        return true;
+    }
+
+    public void untrack(ShardId shardId) {
+        synchronized (listeners) {
+            ShardRefreshListener listener = listeners.remove(shardId);
+            if (listener != null) {
+                listener.remove();
+            }
+            ThreadActivityListener activityListener = activityListeners.remove(shardId);
+            if (activityListener != null) {
+                activityListener.remove();
+            }
+        }
+        threadShards.values().removeIf(shardId::equals);
+    }
+
+    /**
+     * Moves the listener of the shard to the given reader manager.
+     *
+     * @return whether a listener was added, false if it was there already
+     */
+    private static <T extends ManagerListener> boolean bind(
+            Map<ShardId, T> listeners,
+            ShardId shardId,
+            ReferenceManager<?> referenceManager,
+            Function<ReferenceManager<?>, T> factory) {
+        T current = listeners.get(shardId);
+        if (current != null && current.referenceManager == referenceManager) {
+            return false;
+        }
+        if (current != null) {
+            current.remove();
+        }
+        T listener = factory.apply(referenceManager);
+        referenceManager.addListener(listener);
+        listeners.put(shardId, listener);
+        return true;
+    }
+
+    /**
+     * Keeps the refreshes timed until the consumer misses its next runs.
+     *
+     * @param intervalMillis time between two runs of the consumer
+     */
+    public void leaseRefreshes(long intervalMillis) {
+        refreshLeaseEnd = getLeaseEnd(intervalMillis);
+    }
+
+    /**
+     * Keeps the shard each thread refreshed last noted until the consumer misses its next runs.
+     *
+     * @param intervalMillis time between two runs of the consumer
+     */
+    public void leaseActivity(long intervalMillis) {
+        activityLeaseEnd = getLeaseEnd(intervalMillis);
+    }
+
+    /** Ends the leases, as if no consumer had run. */
+    @VisibleForTesting
+    public void release() {
+        long now = System.nanoTime();
+        refreshLeaseEnd = now;
+        activityLeaseEnd = now;
+    }
+
+    private static long getLeaseEnd(long intervalMillis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMillis * LEASE_RUNS);
+    }
+
+    private static boolean isLeased(long leaseEnd) {
+        return System.nanoTime() - leaseEnd < 0;
+    }
+
+    public boolean isTracked(ShardId shardId) {
+        return listeners.containsKey(shardId);
+    }
+
+    /**
+     * Returns the shard the thread refreshed last, which for a refresh or flush pool thread is the
+     * shard it works on or worked on last.
+     *
+     * @param threadId Java id of the thread
+     * @return the shard, or null if the thread never refreshed a tracked shard
+     */
+    public ShardId getLastRefreshedShard(long threadId) {
+        return threadShards.get(threadId);
+    }
+
+    @VisibleForTesting
+    public void recordActivity(long threadId, ShardId shardId) {
+        threadShards.put(threadId, shardId);
+    }
+
+    @VisibleForTesting
+    public synchronized void record(RefreshEvent event) {
+        summaries.merge(
+                event.shardId(),
+                RefreshSummary.NONE.add(event),
+                (summary, ignored) -> summary.add(event));
+        if (refreshes.size() < MAX_PENDING_REFRESHES) {
+            refreshes.add(event);
+        }
+    }
+
+    /**
+     * Hands over the refreshes since the previous drain.
+     *
+     * @return the refreshes, and a summary per shard that refreshed
+     */
+    public synchronized Interval drain() {
+        Interval interval = new Interval(refreshes, summaries);
+        refreshes = new ArrayList<>();
+        summaries = new HashMap<>();
+        return interval;
+    }
+
+    private static ReferenceManager<?> getReferenceManager(
+            IndexShard indexShard, Engine.SearcherScope scope) {
+        try {
+            Engine engine = GET_ENGINE.invoke(indexShard);
+            if (engine == null) {
+                return null;
+            }
+            return (ReferenceManager<?>) GET_REFERENCE_MANAGER.invoke(engine, scope);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            LOG.debug("Cannot read the reader manager of shard {}", indexShard.shardId(), e);
+            return null;
+        }
+    }
+
+    /** Refresh listener added to one reader manager of a shard. */
+    private abstract static class ManagerListener implements ReferenceManager.RefreshListener {
+        final ReferenceManager<?> referenceManager;
+
+        ManagerListener(ReferenceManager<?> referenceManager) {
+            this.referenceManager = referenceManager;
+        }
+
+        void remove() {
+            referenceManager.removeListener(this);
+        }
+    }
+
+    /** Times the refreshes of one reader manager; refreshes of a manager never overlap. */
+    private final class ShardRefreshListener extends ManagerListener {
+        private final IndexShard indexShard;
+        private boolean timing;
+        private long startNanos;
+        private long bufferBytes;
+
+        ShardRefreshListener(IndexShard indexShard, ReferenceManager<?> referenceManager) {
+            super(referenceManager);
+            this.indexShard = indexShard;
+        }
+
+        @Override
+        public void beforeRefresh() {
+            timing = isLeased(refreshLeaseEnd);
+            if (!timing) {
+                return;
+            }
+            bufferBytes = indexShard.getIndexBufferRAMBytesUsed();
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void afterRefresh(boolean didRefresh) {
+            if (!didRefresh || !timing) {
+                return;
+            }
+            long tookNanos = System.nanoTime() - startNanos;
+            long written = Math.max(0, bufferBytes - indexShard.getIndexBufferRAMBytesUsed());
+            record(new RefreshEvent(indexShard.shardId(), tookNanos, written));
+        }
+    }
+
+    /** Notes the shard on the thread refreshing its internal reader manager. */
+    private final class ThreadActivityListener extends ManagerListener {
+        private final ShardId shardId;
+
+        ThreadActivityListener(ShardId shardId, ReferenceManager<?> referenceManager) {
+            super(referenceManager);
+            this.shardId = shardId;
+        }
+
+        @Override
+        public void beforeRefresh() {
+            if (isLeased(activityLeaseEnd)) {
+                recordActivity(Thread.currentThread().getId(), shardId);
+            }
+        }
+
+        @Override
+        public void afterRefresh(boolean didRefresh) {}
+    }
+}
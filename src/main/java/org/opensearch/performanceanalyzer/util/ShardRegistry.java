@@ -0,0 +1,251 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.index.Index;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.IndexModule;
+import org.opensearch.index.IndexService;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.index.shard.IndexEventListener;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason;
+
+/**
+ * Registry of the shards allocated to this node, kept up to date from index and shard lifecycle
+ * callbacks instead of walking every {@link IndexService} on each collection. Every shard is given
+ * a dense ordinal that stays stable for as long as the shard is on the node, and ordinals of
+ * removed shards are reused, so collectors can keep per-shard state in arrays sized by {@link
+ * #getOrdinalBound()}. Collectors register a {@link ShardRemovalListener} to drop their per-shard
+ * state as soon as a shard is closed, deleted or relocated away. The registry only holds weak
+ * references to the listeners, so a collector that is dropped without removing its listener does
+ * not stay reachable; a listener is called for as long as its owner keeps a reference to it.
+ *
+ * <p>The registry starts listening once it is attached to an {@link IndexModule}. Until then (for
+ * example, when the plugin has not seen any index yet) it is reconciled against the {@link
+ * IndicesService} on read.
+ */
+public final class ShardRegistry implements IndexEventListener {
+    private static final Logger LOG = LogManager.getLogger(ShardRegistry.class);
+    public static final ShardRegistry INSTANCE = new ShardRegistry();
+
+    /** Callback invoked when a shard leaves the node. */
+    @FunctionalInterface
+    public interface ShardRemovalListener {
+        void onShardRemoved(ShardId shardId, int ordinal);
+    }
+
+    /** A shard currently allocated to this node along with its ordinal. */
+    public record ShardEntry(ShardId shardId, IndexShard indexShard, int ordinal) {}
+
+    private final Map<ShardId, ShardEntry> shards;
+    private final List<WeakReference<ShardRemovalListener>> removalListeners;
+    private int[] freeOrdinals;
+    private int freeOrdinalCount;
+    private int ordinalBound;
+    private volatile boolean eventDriven;
+
+    private ShardRegistry() {
+        this.shards = new HashMap<>();
+        this.removalListeners = new CopyOnWriteArrayList<>();
+        this.freeOrdinals = new int[16];
+        this.freeOrdinalCount = 0;
+        this.ordinalBound = 0;
+        this.eventDriven = false;
+    }
+
+    /**
+     * Starts tracking the shards of the index the module belongs to.
+     *
+     * @param indexModule module of an index being created on this node
+     */
+    public void attach(IndexModule indexModule) {
+        indexModule.addIndexEventListener(this);
+        eventDriven = true;
+    }
+
+    /**
+     * @param listener called on the thread that removes a shard; held weakly, so the caller has to
+     *     keep a reference to it for as long as it wants to be called
+     */
+    public void addRemovalListener(ShardRemovalListener listener) {
+        removalListeners.add(new WeakReference<>(listener));
+    }
+
+    public void removeRemovalListener(ShardRemovalListener listener) {
+        removalListeners.removeIf(
+                reference -> {
+                    ShardRemovalListener registered = reference.get();
+                    return registered == null || registered == listener;
+                });
+    }
+
+    @VisibleForTesting
+    int getRemovalListenerCount() {
+        removalListeners.removeIf(reference -> reference.get() == null);
+        return removalListeners.size();
+    }
+
+    /**
+     * Returns the shards currently allocated to this node.
+     *
+     * @param indicesService used to reconcile the registry when it is not attached yet
+     * @return a point-in-time copy of the registered shards
+     */
+    public ShardEntry[] getShards(IndicesService indicesService) {
+        if (!eventDriven && indicesService != null) {
+            reconcile(indicesService);
+        }
+        synchronized (this) {
+            return shards.values().toArray(new ShardEntry[0]);
+        }
+    }
+
+    /**
+     * @return an exclusive upper bound for the ordinals handed out so far
+     */
+    public synchronized int getOrdinalBound() {
+        return ordinalBound;
+    }
+
+    /**
+     * @param shardId shard to look up
+     * @return the ordinal of the shard, or -1 if the shard is not on this node
+     */
+    public synchronized int getOrdinal(ShardId shardId) {
+        ShardEntry entry = shards.get(shardId);
+        return entry == null ? -1 : entry.ordinal();
+    }
+
+    @Override
+    public void afterIndexShardCreated(IndexShard indexShard) {
+        register(indexShard);
+    }
+
+    @Override
+    public void shardRoutingChanged(
+            IndexShard indexShard, ShardRouting oldRouting, ShardRouting newRouting) {
+        // A relocation target is registered on creation and the relocation source is removed
+        // when it gets closed; this only makes sure the shard is known if we attached late.
+        register(indexShard);
+    }
+
+    @Override
+    public void afterIndexShardClosed(
+            ShardId shardId, IndexShard indexShard, Settings indexSettings) {
+        unregister(shardId);
+    }
+
+    @Override
+    public void afterIndexShardDeleted(ShardId shardId, Settings indexSettings) {
+        unregister(shardId);
+    }
+
+    @Override
+    public void afterIndexRemoved(
+            Index index, IndexSettings indexSettings, IndexRemovalReason reason) {
+        List<ShardId> removed = new ArrayList<>();
+        synchronized (this) {
+            for (ShardId shardId : shards.keySet()) {
+                if (shardId.getIndex().equals(index)) {
+                    removed.add(shardId);
+                }
+            }
+        }
+        removed.forEach(this::unregister);
+    }
+
+    void register(IndexShard indexShard) {
+        ShardId shardId = indexShard.shardId();
+        synchronized (this) {
+            ShardEntry existing = shards.get(shardId);
+            if (existing != null && existing.indexShard() == indexShard) {
+                return;
+            }
+            int ordinal = existing != null ? existing.ordinal() : nextOrdinal();
+            shards.put(shardId, new ShardEntry(shardId, indexShard, ordinal));
+        }
+        LOG.debug("Registered shard {}", shardId);
+    }
+
+    void unregister(ShardId shardId) {
+        ShardEntry removed;
+        synchronized (this) {
+            removed = shards.remove(shardId);
+            if (removed == null) {
+                return;
+            }
+            releaseOrdinal(removed.ordinal());
+        }
+        LOG.debug("Unregistered shard {}", shardId);
+        boolean collected = false;
+        for (WeakReference<ShardRemovalListener> reference : removalListeners) {
+            ShardRemovalListener listener = reference.get();
+            if (listener == null) {
+                collected = true;
+                continue;
+            }
+            try {
+                listener.onShardRemoved(shardId, removed.ordinal());
+            } catch (Exception e) {
+                LOG.error("Shard removal listener failed for shard {}", shardId, e);
+            }
+        }
+        if (collected) {
+            removalListeners.removeIf(reference -> reference.get() == null);
+        }
+    }
+
+    private void reconcile(IndicesService indicesService) {
+        Map<ShardId, IndexShard> current = new HashMap<>();
+        Iterator<IndexService> indexServices = indicesService.iterator();
+        while (indexServices.hasNext()) {
+            Iterator<IndexShard> indexShards = indexServices.next().iterator();
+            while (indexShards.hasNext()) {
+                IndexShard shard = indexShards.next();
+                current.put(shard.shardId(), shard);
+            }
+        }
+        List<ShardId> removed = new ArrayList<>();
+        synchronized (this) {
+            for (ShardId shardId : shards.keySet()) {
+                if (!current.containsKey(shardId)) {
+                    removed.add(shardId);
+                }
+            }
+        }
+        removed.forEach(this::unregister);
+        current.values().forEach(this::register);
+    }
+
+    private int nextOrdinal() {
+        if (freeOrdinalCount > 0) {
+            return freeOrdinals[--freeOrdinalCount];
+        }
+        return ordinalBound++;
+    }
+
+    private void releaseOrdinal(int ordinal) {
+        if (freeOrdinalCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinals.length * 2);
+        }
+        freeOrdinals[freeOrdinalCount++] = ordinal;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.opensearch.core.index.shard.ShardId;
+
+/**
+ * Columnar store of the previous value of a fixed set of per-shard counters, used by collectors
+ * that emit deltas between two runs. Values live in a single {@code long[]} indexed by {@link
+ * ShardRegistry} ordinal and column, so computing a delta is array arithmetic and does not allocate
+ * per shard. Each ordinal remembers the shard it was written for, so a slot recycled by the
+ * registry for a different shard is treated as empty.
+ *
+ * <p>This class is not thread safe; it is meant to be owned by a single collector. The only
+ * exception is {@link #onShardRemoved}, which the {@link ShardRegistry} calls from the cluster
+ * applier thread: it only queues the removal, and the owning thread applies it the next time it
+ * looks up or claims a slot. Owners register the store itself as removal listener and keep it in a
+ * field, so the registry stops calling it once the owner is gone.
+ */
+public final class ShardStateStore implements ShardRegistry.ShardRemovalListener {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int columns;
+    private ShardId[] owners;
+    private long[] values;
+    private final Queue<Removal> pendingRemovals;
+
+    private record Removal(ShardId shardId, int ordinal) {}
+
+    /**
+     * @param columns number of counters tracked per shard
+     */
+    public ShardStateStore(int columns) {
+        this.columns = columns;
+        this.owners = new ShardId[INITIAL_CAPACITY];
+        this.values = new long[INITIAL_CAPACITY * columns];
+        this.pendingRemovals = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * @param ordinal registry ordinal of the shard
+     * @param shardId the shard the caller expects the slot to belong to
+     * @return true if a previous value was stored for this shard
+     */
+    public boolean hasPrevious(int ordinal, ShardId shardId) {
+        applyRemovals();
+        return ordinal < owners.length && shardId.equals(owners[ordinal]);
+    }
+
+    /**
+     * Returns the increase of a cumulative counter since the previous run and stores the current
+     * value. A counter that went backwards was reset (for example the cache was cleared), in which
+     * case everything counted since the reset is reported.
+     *
+     * @param ordinal registry ordinal of the shard
+     * @param column counter index, between 0 and the number of columns
+     * @param current the current cumulative value
+     * @return the delta since the previous run; the current value if there is no previous run
+     */
+    public long delta(int ordinal, int column, long current) {
+        int slot = ordinal * columns + column;
+        long previous = values[slot];
+        values[slot] = current;
+        return current >= previous ? current - previous : current;
+    }
+
+    /**
+     * Prepares the slot for the given shard; must be called before {@link #delta} or {@link #set}
+     * in a run. Slots that belonged to another shard are reset to zero.
+     *
+     * @param ordinal registry ordinal of the shard
+     * @param shardId shard being written
+     */
+    public void claim(int ordinal, ShardId shardId) {
+        applyRemovals();
+        ensureCapacity(ordinal + 1);
+        if (!shardId.equals(owners[ordinal])) {
+            Arrays.fill(values, ordinal * columns, (ordinal + 1) * columns, 0L);
+            owners[ordinal] = shardId;
+        }
+    }
+
+    /**
+     * Stores a gauge value, which is reported as is rather than as a delta.
+     *
+     * @param ordinal registry ordinal of the shard
+     * @param column counter index
+     * @param current the value to store
+     */
+    public void set(int ordinal, int column, long current) {
+        values[ordinal * columns + column] = current;
+    }
+
+    /**
+     * @param ordinal registry ordinal of the shard
+     * @param column counter index
+     * @return the stored value
+     */
+    public long get(int ordinal, int column) {
+        return values[ordinal * columns + column];
+    }
+
+    /**
+     * Queues the removal of a shard; safe to call from any thread.
+     *
+     * @param shardId the removed shard
+     * @param ordinal registry ordinal the shard had
+     */
+    @Override
+    public void onShardRemoved(ShardId shardId, int ordinal) {
+        pendingRemovals.add(new Removal(shardId, ordinal));
+    }
+
+    private void applyRemovals() {
+        Removal removal;
+        while ((removal = pendingRemovals.poll()) != null) {
+            // the slot may already have been claimed by the shard the ordinal was reused for
+            if (removal.ordinal() < owners.length
+                    && removal.shardId().equals(owners[removal.ordinal()])) {
+                owners[removal.ordinal()] = null;
+            }
+        }
+    }
+
+    /** @return heap used by the backing arrays, excluding the shard ids they point to. */
+    public long getRetainedBytes() {
+        return (long) owners.length * Integer.BYTES + (long) values.length * Long.BYTES;
+    }
+
+    private void ensureCapacity(int ordinalBound) {
+        if (ordinalBound <= owners.length) {
+            return;
+        }
+        int capacity = Math.max(ordinalBound, owners.length * 2);
+        owners = Arrays.copyOf(owners, capacity);
+        values = Arrays.copyOf(values, capacity * columns);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.opensearch.action.admin.indices.stats.CommonStats;
+import org.opensearch.action.admin.indices.stats.CommonStatsFlags;
+
+/**
+ * Per-shard values that can be captured in a {@link ShardStatsSnapshot}. Each field knows which
+ * {@link CommonStatsFlags.Flag} has to be requested to read it, so the snapshot service only asks
+ * OpenSearch for the stats buckets that at least one registered collector needs.
+ */
+public enum ShardStatsField {
+    QUERY_CACHE_HIT(CommonStatsFlags.Flag.QueryCache, stats -> stats.getQueryCache().getHitCount()),
+    QUERY_CACHE_MISS(
+            CommonStatsFlags.Flag.QueryCache, stats -> stats.getQueryCache().getMissCount()),
+    QUERY_CACHE_SIZE(
+            CommonStatsFlags.Flag.QueryCache,
+            stats -> stats.getQueryCache().getMemorySizeInBytes()),
+    FIELDDATA_EVICTION(
+            CommonStatsFlags.Flag.FieldData, stats -> stats.getFieldData().getEvictions()),
+    FIELDDATA_SIZE(
+            CommonStatsFlags.Flag.FieldData, stats -> stats.getFieldData().getMemorySizeInBytes()),
+    REQUEST_CACHE_HIT(
+            CommonStatsFlags.Flag.RequestCache, stats -> stats.getRequestCache().getHitCount()),
+    REQUEST_CACHE_MISS(
+            CommonStatsFlags.Flag.RequestCache, stats -> stats.getRequestCache().getMissCount()),
+    REQUEST_CACHE_EVICTION(
+            CommonStatsFlags.Flag.RequestCache, stats -> stats.getRequestCache().getEvictions()),
+    REQUEST_CACHE_SIZE(
+            CommonStatsFlags.Flag.RequestCache,
+            stats -> stats.getRequestCache().getMemorySizeInBytes()),
+    INDEXING_THROTTLE_TIME(
+            CommonStatsFlags.Flag.Indexing,
+            stats -> stats.getIndexing().getTotal().getThrottleTime().millis()),
+    INDEXING_INDEX_COUNT(
+            CommonStatsFlags.Flag.Indexing,
+            stats -> stats.getIndexing().getTotal().getIndexCount()),
+    SEARCH_QUERY_COUNT(
+            CommonStatsFlags.Flag.Search, stats -> stats.getSearch().getTotal().getQueryCount()),
+    SEGMENTS_COUNT(CommonStatsFlags.Flag.Segments, stats -> stats.getSegments().getCount()),
+    SEGMENTS_VERSION_MAP_MEMORY(
+            CommonStatsFlags.Flag.Segments,
+            stats -> stats.getSegments().getVersionMapMemoryInBytes()),
+    SEGMENTS_INDEX_WRITER_MEMORY(
+            CommonStatsFlags.Flag.Segments,
+            stats -> stats.getSegments().getIndexWriterMemoryInBytes()),
+    MERGE_CURRENT(CommonStatsFlags.Flag.Merge, stats -> stats.getMerge().getCurrent()),
+    MERGE_CURRENT_SIZE(
+            CommonStatsFlags.Flag.Merge, stats -> stats.getMerge().getCurrentSizeInBytes()),
+    MERGE_TOTAL_SIZE(CommonStatsFlags.Flag.Merge, stats -> stats.getMerge().getTotalSizeInBytes()),
+    MERGE_TOTAL_TIME(CommonStatsFlags.Flag.Merge, stats -> stats.getMerge().getTotalTimeInMillis()),
+    MERGE_THROTTLE_TIME(
+            CommonStatsFlags.Flag.Merge, stats -> stats.getMerge().getTotalThrottledTimeInMillis()),
+    FLUSH_TOTAL(CommonStatsFlags.Flag.Flush, stats -> stats.getFlush().getTotal()),
+    FLUSH_TOTAL_TIME(CommonStatsFlags.Flag.Flush, stats -> stats.getFlush().getTotalTimeInMillis()),
+    TRANSLOG_OPERATIONS(
+            CommonStatsFlags.Flag.Translog,
+            stats -> stats.getTranslog().estimatedNumberOfOperations()),
+    TRANSLOG_SIZE(
+            CommonStatsFlags.Flag.Translog, stats -> stats.getTranslog().getTranslogSizeInBytes()),
+    TRANSLOG_UNCOMMITTED_OPERATIONS(
+            CommonStatsFlags.Flag.Translog,
+            stats -> stats.getTranslog().getUncommittedOperations()),
+    TRANSLOG_UNCOMMITTED_SIZE(
+            CommonStatsFlags.Flag.Translog,
+            stats -> stats.getTranslog().getUncommittedSizeInBytes()),
+    TRANSLOG_EARLIEST_LAST_MODIFIED_AGE(
+            CommonStatsFlags.Flag.Translog,
+            stats -> stats.getTranslog().getEarliestLastModifiedAge());
+
+    private static final ShardStatsField[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
+    private final CommonStatsFlags.Flag flag;
+    private final ToLongFunction<CommonStats> extractor;
+
+    ShardStatsField(CommonStatsFlags.Flag flag, ToLongFunction<CommonStats> extractor) {
+        this.flag = flag;
+        this.extractor = extractor;
+    }
+
+    public CommonStatsFlags.Flag getFlag() {
+        return flag;
+    }
+
+    long extract(CommonStats stats) {
+        return extractor.applyAsLong(stats);
+    }
+
+    /**
+     * Position of each field in {@code columns}, indexed by {@link #ordinal()}, so callers that
+     * keep a subset of the fields in a {@link ShardStateStore} find the column without searching
+     * the list. Fields missing from {@code columns} map to -1.
+     */
+    public static int[] columnIndex(List<ShardStatsField> columns) {
+        int[] index = new int[COUNT];
+        Arrays.fill(index, -1);
+        for (int i = 0; i < columns.size(); i++) {
+            index[columns.get(i).ordinal()] = i;
+        }
+        return index;
+    }
+
+    static ShardStatsField[] all() {
+        return VALUES;
+    }
+}
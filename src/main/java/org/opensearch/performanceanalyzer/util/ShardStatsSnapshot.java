@@ -0,0 +1,113 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.util.EnumSet;
+import java.util.Set;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.shard.IndexShard;
+
+/**
+ * Point-in-time view of the per-shard stats on this node, taken once per collection tick and shared
+ * by every shard level collector. Values are kept in a single row-major {@code long[]} with one row
+ * per shard and one column per {@link ShardStatsField}, so reading a value is an array lookup and
+ * the snapshot does not retain any {@code CommonStats} or {@code ShardStats} objects. When shard
+ * reads are time-budgeted, shards that were not reached in this tick carry the values of their last
+ * read, see {@link #getStaleness(int)}.
+ */
+public final class ShardStatsSnapshot {
+    static final ShardStatsSnapshot EMPTY =
+            new ShardStatsSnapshot(
+                    -1L,
+                    EnumSet.noneOf(ShardStatsField.class),
+                    new ShardId[0],
+                    new IndexShard[0],
+                    new int[0],
+                    new long[0],
+                    new long[0],
+                    1.0);
+
+    private final long startTime;
+    private final Set<ShardStatsField> fields;
+    private final ShardId[] shardIds;
+    private final IndexShard[] shards;
+    private final int[] ordinals;
+    private final long[] values;
+    private final long[] refreshTimes;
+    private final double coverage;
+
+    ShardStatsSnapshot(
+            long startTime,
+            Set<ShardStatsField> fields,
+            ShardId[] shardIds,
+            IndexShard[] shards,
+            int[] ordinals,
+            long[] values,
+            long[] refreshTimes,
+            double coverage) {
+        this.startTime = startTime;
+        this.fields = fields;
+        this.shardIds = shardIds;
+        this.shards = shards;
+        this.ordinals = ordinals;
+        this.values = values;
+        this.refreshTimes = refreshTimes;
+        this.coverage = coverage;
+    }
+
+    /** @return collection start time of the tick this snapshot was taken for. */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /** @return number of shards captured in this snapshot. */
+    public int size() {
+        return shardIds.length;
+    }
+
+    public ShardId getShardId(int index) {
+        return shardIds[index];
+    }
+
+    public IndexShard getShard(int index) {
+        return shards[index];
+    }
+
+    /**
+     * @param index position of the shard in this snapshot, between 0 and {@link #size()}
+     * @return the {@link ShardRegistry} ordinal of the shard
+     */
+    public int getOrdinal(int index) {
+        return ordinals[index];
+    }
+
+    /**
+     * @param index position of the shard in this snapshot, between 0 and {@link #size()}
+     * @param field the stat to read
+     * @return the value of the stat, or 0 if no registered collector asked for it
+     */
+    public long get(int index, ShardStatsField field) {
+        return values[index * ShardStatsField.COUNT + field.ordinal()];
+    }
+
+    /**
+     * @param index position of the shard in this snapshot, between 0 and {@link #size()}
+     * @return milliseconds between the tick in which the values of the shard were read and this
+     *     tick; 0 if they were read in this tick
+     */
+    public long getStaleness(int index) {
+        return startTime - refreshTimes[index];
+    }
+
+    /** @return fraction of the shards on the node whose values were read in this tick. */
+    public double getCoverage() {
+        return coverage;
+    }
+
+    boolean covers(Set<ShardStatsField> requiredFields) {
+        return fields.containsAll(requiredFields);
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.admin.indices.stats.CommonStats;
+import org.opensearch.action.admin.indices.stats.CommonStatsFlags;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Builds a {@link ShardStatsSnapshot} at most once per collection tick. Shard level collectors
+ * register the {@link ShardStatsField}s they read when they are created; the first collector that
+ * runs in a tick reads the shards known to the {@link ShardRegistry} and requests the union of the
+ * corresponding stats flags, and every other collector running with the same start time reads the
+ * same snapshot.
+ *
+ * <p>By default every shard is read serially on the collector thread. On dense nodes the reads can
+ * be split across a small pool of worker threads and bounded by a per-tick time budget; shards not
+ * reached before the budget runs out keep the values of their last read and are read first in the
+ * next tick, so every shard is refreshed in round-robin order. Shards whose read failed are retried
+ * first in the next tick without holding back the round-robin position. The snapshot reports how
+ * stale each shard is and which fraction of the shards was refreshed in the tick; the node reports
+ * the maximum and percentiles of the staleness rather than one series per shard.
+ */
+public final class ShardStatsSnapshotService {
+    private static final Logger LOG = LogManager.getLogger(ShardStatsSnapshotService.class);
+    public static final ShardStatsSnapshotService INSTANCE = new ShardStatsSnapshotService();
+
+    public static final String SHARD_STATS_STALENESS = "shard_stats_staleness";
+    public static final String SHARD_STATS_STALENESS_MAX = "shard_stats_staleness_max";
+    public static final String PERCENTILE_TAG = "percentile";
+    private static final int[] STALENESS_PERCENTILES = {50, 90, 99};
+    public static final String SHARD_STATS_COVERAGE = "shard_stats_coverage";
+
+    public static final int DEFAULT_COLLECTION_THREADS = 1;
+    public static final int DEFAULT_COLLECTION_BUDGET_MILLIS = 0;
+    private static final String WORKER_THREAD_NAME = "pa-shard-stats";
+
+    /** Column of the shard state store that holds the time the shard was last read. */
+    private static final int REFRESH_TIME = ShardStatsField.COUNT;
+
+    private final Set<ShardStatsField> registeredFields;
+    private ShardStatsSnapshot snapshot;
+    private IndicesService snapshotSource;
+
+    private volatile int collectionThreads;
+    private volatile int collectionBudgetMillis;
+    private ExecutorService workers;
+    private int workerCount;
+
+    private ShardStateStore lastRead;
+    private Set<ShardStatsField> lastReadFields;
+    private int nextOrdinal;
+    private Set<Integer> retryOrdinals;
+    private LongSupplier nanoClock;
+
+    private Histogram stalenessHistogram;
+    private Histogram stalenessMaxHistogram;
+    private Histogram coverageHistogram;
+
+    private ShardStatsSnapshotService() {
+        this.registeredFields = EnumSet.noneOf(ShardStatsField.class);
+        this.snapshot = ShardStatsSnapshot.EMPTY;
+        this.collectionThreads = DEFAULT_COLLECTION_THREADS;
+        this.collectionBudgetMillis = DEFAULT_COLLECTION_BUDGET_MILLIS;
+        this.retryOrdinals = new HashSet<>();
+        this.nanoClock = System::nanoTime;
+    }
+
+    /**
+     * Adds the given fields to the set captured in every subsequent snapshot.
+     *
+     * @param fields stats read by the calling collector
+     */
+    public synchronized void register(Set<ShardStatsField> fields) {
+        registeredFields.addAll(fields);
+    }
+
+    /**
+     * Sets the number of threads shard stats are read on, including the collector thread.
+     *
+     * @param threads thread count; 1 reads every shard on the collector thread
+     */
+    public void setCollectionThreads(Integer threads) {
+        if (threads != null) {
+            collectionThreads = Math.max(1, threads);
+        }
+    }
+
+    /**
+     * Sets how long a tick may spend reading shard stats.
+     *
+     * @param budgetMillis budget in milliseconds; 0 or less reads every shard in every tick
+     */
+    public void setCollectionBudgetMillis(Integer budgetMillis) {
+        if (budgetMillis != null) {
+            collectionBudgetMillis = Math.max(0, budgetMillis);
+        }
+    }
+
+    /**
+     * Returns the snapshot for the tick identified by {@code startTime}, building it if this is the
+     * first request in that tick.
+     *
+     * @param startTime start time handed to the collector by the scheduler
+     * @return the shared snapshot; empty if the IndicesService is not available yet
+     */
+    public synchronized ShardStatsSnapshot getSnapshot(long startTime) {
+        IndicesService indicesService = OpenSearchResources.INSTANCE.getIndicesService();
+        if (indicesService == null) {
+            return ShardStatsSnapshot.EMPTY;
+        }
+        if (snapshot.getStartTime() == startTime
+                && snapshotSource == indicesService
+                && snapshot.covers(registeredFields)) {
+            return snapshot;
+        }
+        long buildStartTime = System.currentTimeMillis();
+        snapshot = build(indicesService, startTime, EnumSet.copyOf(registeredFields));
+        snapshotSource = indicesService;
+        LOG.debug(
+                "Built shard stats snapshot for {} shards in {} ms, coverage {}",
+                snapshot.size(),
+                System.currentTimeMillis() - buildStartTime,
+                snapshot.getCoverage());
+        report(snapshot);
+        return snapshot;
+    }
+
+    private ShardStatsSnapshot build(
+            IndicesService indicesService, long startTime, Set<ShardStatsField> fields) {
+        if (lastRead == null
+                || snapshotSource != indicesService
+                || !fields.equals(lastReadFields)) {
+            // values read for another node or another set of fields cannot be carried over
+            lastRead = new ShardStateStore(ShardStatsField.COUNT + 1);
+            lastReadFields = fields;
+            nextOrdinal = 0;
+            retryOrdinals = new HashSet<>();
+        }
+        ShardRegistry.ShardEntry[] shards = roundRobinOrder(indicesService);
+        int retries = 0;
+        while (retries < shards.length && retryOrdinals.contains(shards[retries].ordinal())) {
+            retries++;
+        }
+        for (ShardRegistry.ShardEntry entry : shards) {
+            // claimed up front so the store does not grow while workers write to it
+            lastRead.claim(entry.ordinal(), entry.shardId());
+        }
+
+        ShardStatsField[] requested = fields.toArray(new ShardStatsField[0]);
+        CommonStatsFlags flags = toFlags(requested);
+        Set<Integer> failed = ConcurrentHashMap.newKeySet();
+        int attempted = readShards(indicesService, shards, startTime, flags, requested, failed);
+        // the round-robin position moves past the last shard attempted, not counting retries
+        if (attempted > retries) {
+            nextOrdinal = shards[attempted - 1].ordinal() + 1;
+        }
+        Set<Integer> retry = new HashSet<>(failed);
+        for (int i = attempted; i < retries; i++) {
+            retry.add(shards[i].ordinal());
+        }
+        retryOrdinals = retry;
+        int refreshed = attempted - failed.size();
+
+        ShardId[] shardIds = new ShardId[shards.length];
+        IndexShard[] indexShards = new IndexShard[shards.length];
+        int[] ordinals = new int[shards.length];
+        long[] refreshTimes = new long[shards.length];
+        long[] values = new long[shards.length * ShardStatsField.COUNT];
+        int count = 0;
+        for (ShardRegistry.ShardEntry entry : shards) {
+            int ordinal = entry.ordinal();
+            long refreshTime = lastRead.get(ordinal, REFRESH_TIME);
+            if (refreshTime == 0) {
+                // never read successfully
+                continue;
+            }
+            int offset = count * ShardStatsField.COUNT;
+            for (ShardStatsField field : requested) {
+                values[offset + field.ordinal()] = lastRead.get(ordinal, field.ordinal());
+            }
+            shardIds[count] = entry.shardId();
+            indexShards[count] = entry.indexShard();
+            ordinals[count] = ordinal;
+            refreshTimes[count] = refreshTime;
+            count++;
+        }
+        if (count < shards.length) {
+            shardIds = Arrays.copyOf(shardIds, count);
+            indexShards = Arrays.copyOf(indexShards, count);
+            ordinals = Arrays.copyOf(ordinals, count);
+            refreshTimes = Arrays.copyOf(refreshTimes, count);
+            values = Arrays.copyOf(values, count * ShardStatsField.COUNT);
+        }
+        double coverage = shards.length == 0 ? 1.0 : (double) refreshed / shards.length;
+        return new ShardStatsSnapshot(
+                startTime,
+                fields,
+                shardIds,
+                indexShards,
+                ordinals,
+                values,
+                refreshTimes,
+                coverage);
+    }
+
+    /**
+     * @return the active shards whose read failed in the previous tick, then the others ordered by
+     *     registry ordinal, starting with the first shard that was not reached in the previous tick
+     */
+    private ShardRegistry.ShardEntry[] roundRobinOrder(IndicesService indicesService) {
+        List<ShardRegistry.ShardEntry> retried = new ArrayList<>();
+        List<ShardRegistry.ShardEntry> active = new ArrayList<>();
+        for (ShardRegistry.ShardEntry entry : ShardRegistry.INSTANCE.getShards(indicesService)) {
+            if (entry.indexShard().routingEntry() == null) {
+                continue;
+            }
+            if (retryOrdinals.contains(entry.ordinal())) {
+                retried.add(entry);
+            } else {
+                active.add(entry);
+            }
+        }
+        active.sort(Comparator.comparingInt(ShardRegistry.ShardEntry::ordinal));
+        int start = 0;
+        while (start < active.size() && active.get(start).ordinal() < nextOrdinal) {
+            start++;
+        }
+        ShardRegistry.ShardEntry[] ordered =
+                retried.toArray(new ShardRegistry.ShardEntry[retried.size() + active.size()]);
+        for (int i = 0; i < active.size(); i++) {
+            ordered[retried.size() + i] = active.get((start + i) % active.size());
+        }
+        return ordered;
+    }
+
+    /**
+     * Reads shards in the given order until all of them are read or the time budget runs out.
+     * Shards are handed out through a shared cursor, so the shards that were attempted always form
+     * a prefix of {@code shards}. Returns only once no helper writes to the shard state store any
+     * more, also when the collector thread is interrupted.
+     *
+     * @param failed receives the ordinals of the attempted shards whose read failed
+     * @return number of shards attempted in this tick
+     */
+    private int readShards(
+            IndicesService indicesService,
+            ShardRegistry.ShardEntry[] shards,
+            long startTime,
+            CommonStatsFlags flags,
+            ShardStatsField[] requested,
+            Set<Integer> failed) {
+        int budgetMillis = collectionBudgetMillis;
+        LongSupplier clock = nanoClock;
+        long deadline =
+                budgetMillis > 0
+                        ? clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(budgetMillis)
+                        : Long.MAX_VALUE;
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Runnable reader =
+                () -> {
+                    while (!stopped.get()
+                            && (deadline == Long.MAX_VALUE || clock.getAsLong() < deadline)) {
+                        int next = cursor.getAndIncrement();
+                        if (next >= shards.length) {
+                            return;
+                        }
+                        if (!read(indicesService, shards[next], startTime, flags, requested)) {
+                            failed.add(shards[next].ordinal());
+                        }
+                    }
+                };
+
+        int helpers = Math.max(0, Math.min(collectionThreads, shards.length) - 1);
+        CountDownLatch done = new CountDownLatch(helpers);
+        HelperTask[] tasks = new HelperTask[helpers];
+        List<Future<?>> futures = new ArrayList<>(helpers);
+        if (helpers > 0) {
+            ExecutorService executor = getWorkers(collectionThreads - 1);
+            for (int i = 0; i < helpers; i++) {
+                tasks[i] = new HelperTask(reader, done);
+                futures.add(executor.submit(tasks[i]));
+            }
+        }
+        reader.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // helpers finish the shard at hand; the ones that did not start never will
+            stopped.set(true);
+            for (int i = 0; i < helpers; i++) {
+                tasks[i].withdraw();
+                futures.get(i).cancel(false);
+            }
+            Uninterruptibles.awaitUninterruptibly(done);
+        }
+        return Math.min(cursor.get(), shards.length);
+    }
+
+    /** Runs the reader on a worker once, unless it was withdrawn before the worker got to it. */
+    private static final class HelperTask implements Runnable {
+        private final Runnable reader;
+        private final CountDownLatch done;
+        private final AtomicBoolean claimed;
+
+        HelperTask(Runnable reader, CountDownLatch done) {
+            this.reader = reader;
+            this.done = done;
+            this.claimed = new AtomicBoolean();
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    reader.run();
+                } finally {
+                    done.countDown();
+                }
+            }
+        }
+
+        void withdraw() {
+            if (claimed.compareAndSet(false, true)) {
+                done.countDown();
+            }
+        }
+    }
+
+    /** @return whether the stats of the shard were read */
+    private boolean read(
+            IndicesService indicesService,
+            ShardRegistry.ShardEntry entry,
+            long startTime,
+            CommonStatsFlags flags,
+            ShardStatsField[] requested) {
+        int ordinal = entry.ordinal();
+        try {
+            CommonStats stats =
+                    new CommonStats(
+                            indicesService.getIndicesQueryCache(), entry.indexShard(), flags);
+            for (ShardStatsField field : requested) {
+                lastRead.set(ordinal, field.ordinal(), field.extract(stats));
+            }
+            lastRead.set(ordinal, REFRESH_TIME, startTime);
+            return true;
+        } catch (Exception e) {
+            LOG.debug("Unable to read stats for shard {}: {}", entry.shardId(), e);
+            return false;
+        }
+    }
+
+    @VisibleForTesting
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Drops the registered fields, the cached snapshot and the round-robin state and restores the
+     * default settings, so tests sharing the singleton do not see each other's ticks.
+     */
+    @VisibleForTesting
+    synchronized void reset() {
+        close();
+        registeredFields.clear();
+        snapshot = ShardStatsSnapshot.EMPTY;
+        snapshotSource = null;
+        collectionThreads = DEFAULT_COLLECTION_THREADS;
+        collectionBudgetMillis = DEFAULT_COLLECTION_BUDGET_MILLIS;
+        lastRead = null;
+        lastReadFields = null;
+        nextOrdinal = 0;
+        retryOrdinals = new HashSet<>();
+        nanoClock = System::nanoTime;
+        stalenessHistogram = null;
+        stalenessMaxHistogram = null;
+        coverageHistogram = null;
+    }
+
+    /** Stops the worker threads; a later tick that needs them starts a new pool. */
+    public synchronized void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+            workerCount = 0;
+        }
+    }
+
+    private ExecutorService getWorkers(int count) {
+        if (workers == null || workerCount != count) {
+            if (workers != null) {
+                workers.shutdown();
+            }
+            workers =
+                    Executors.newFixedThreadPool(
+                            count, OpenSearchExecutors.daemonThreadFactory(WORKER_THREAD_NAME));
+            workerCount = count;
+        }
+        return workers;
+    }
+
+    private void report(ShardStatsSnapshot snapshot) {
+        MetricsRegistry metricsRegistry = OpenSearchResources.INSTANCE.getMetricsRegistry();
+        if (metricsRegistry == null) {
+            return;
+        }
+        if (stalenessHistogram == null) {
+            stalenessHistogram =
+                    metricsRegistry.createHistogram(
+                            SHARD_STATS_STALENESS,
+                            "Percentiles over the shards of the time since their stats were read",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+            stalenessMaxHistogram =
+                    metricsRegistry.createHistogram(
+                            SHARD_STATS_STALENESS_MAX,
+                            "Longest time since the stats of a shard on the node were read",
+                            RTFMetrics.MetricUnits.MILLISECOND.toString());
+            coverageHistogram =
+                    metricsRegistry.createHistogram(
+                            SHARD_STATS_COVERAGE,
+                            "Fraction of shards whose stats were read in a collection tick",
+                            RTFMetrics.MetricUnits.RATE.toString());
+        }
+        coverageHistogram.record(snapshot.getCoverage(), Tags.EMPTY);
+        if (snapshot.size() == 0) {
+            return;
+        }
+        long[] staleness = new long[snapshot.size()];
+        for (int i = 0; i < staleness.length; i++) {
+            staleness[i] = snapshot.getStaleness(i);
+        }
+        Arrays.sort(staleness);
+        stalenessMaxHistogram.record(staleness[staleness.length - 1], Tags.EMPTY);
+        for (int percentile : STALENESS_PERCENTILES) {
+            stalenessHistogram.record(
+                    percentile(staleness, percentile),
+                    Tags.create().addTag(PERCENTILE_TAG, "p" + percentile));
+        }
+    }
+
+    /** Nearest-rank percentile of sorted values. */
+    @VisibleForTesting
+    static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static CommonStatsFlags toFlags(ShardStatsField[] fields) {
+        EnumSet<CommonStatsFlags.Flag> flags = EnumSet.noneOf(CommonStatsFlags.Flag.class);
+        for (ShardStatsField field : fields) {
+            flags.add(field.getFlag());
+        }
+        return new CommonStatsFlags(flags.toArray(new CommonStatsFlags.Flag[0]));
+    }
+}
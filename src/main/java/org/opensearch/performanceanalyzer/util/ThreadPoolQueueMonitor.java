@@ -0,0 +1,160 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.opensearch.common.util.concurrent.SizeBlockingQueue;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Looks into the work queues of the OpenSearch thread pools. The executor and queue of every pool
+ * are resolved once and kept until the thread pool hands out a different executor for the pool, so
+ * the queue capacity is read without a lookup on every collection.
+ *
+ * <p>Executors that track task timings wrap each queued runnable in a {@code TimedRunnable} that
+ * records when the runnable was created. {@link #sampleQueueAges} reads that timestamp off the
+ * waiting runnables to report how long they have been queued; for other executors the ages are
+ * unknown.
+ */
+public final class ThreadPoolQueueMonitor {
+    public static final ThreadPoolQueueMonitor INSTANCE = new ThreadPoolQueueMonitor();
+
+    /** Upper bound on the runnables inspected per queue and sample. */
+    public static final int MAX_SAMPLED_TASKS = 1000;
+
+    private static final String TIMED_RUNNABLE_CLASS_NAME =
+            "org.opensearch.common.util.concurrent.TimedRunnable";
+    private static final AccessorRegistry.FieldAccessor<Long> TIMED_RUNNABLE_CREATION_TIME =
+            AccessorRegistry.INSTANCE.field(
+                    TIMED_RUNNABLE_CLASS_NAME, "creationTimeNanos", Long.class);
+    private static final Class<?> TIMED_RUNNABLE_CLASS = loadTimedRunnableClass();
+
+    /** Percentiles of the time the runnables waiting in a queue have spent there so far. */
+    public record QueueAges(double p50Millis, double p99Millis) {
+        public static final QueueAges UNAVAILABLE = new QueueAges(-1.0, -1.0);
+        public static final QueueAges EMPTY = new QueueAges(0.0, 0.0);
+    }
+
+    private record PoolQueue(ExecutorService executor, BlockingQueue<Runnable> queue) {}
+
+    private final Map<String, PoolQueue> poolQueues;
+    private long[] ages;
+
+    private ThreadPoolQueueMonitor() {
+        this.poolQueues = new ConcurrentHashMap<>();
+        this.ages = new long[64];
+    }
+
+    /**
+     * @param threadPoolName name of the thread pool
+     * @return capacity of the work queue of the pool, -1 if the queue is unbounded or unknown
+     */
+    public int getCapacity(String threadPoolName) {
+        PoolQueue poolQueue = getPoolQueue(threadPoolName);
+        if (poolQueue != null && poolQueue.queue() instanceof SizeBlockingQueue) {
+            return ((SizeBlockingQueue<?>) poolQueue.queue()).capacity();
+        }
+        return -1;
+    }
+
+    /**
+     * Reads how long the runnables currently waiting in the work queue of the pool have been
+     * queued, inspecting at most {@link #MAX_SAMPLED_TASKS} of them starting from the head.
+     *
+     * @param threadPoolName name of the thread pool
+     * @return {@link QueueAges#EMPTY} if nothing is queued, {@link QueueAges#UNAVAILABLE} if the
+     *     executor does not timestamp its runnables
+     */
+    public synchronized QueueAges sampleQueueAges(String threadPoolName) {
+        PoolQueue poolQueue = getPoolQueue(threadPoolName);
+        if (poolQueue == null) {
+            return QueueAges.UNAVAILABLE;
+        }
+        if (poolQueue.queue().isEmpty()) {
+            return QueueAges.EMPTY;
+        }
+        if (TIMED_RUNNABLE_CLASS == null || !TIMED_RUNNABLE_CREATION_TIME.isAvailable()) {
+            return QueueAges.UNAVAILABLE;
+        }
+
+        long now = System.nanoTime();
+        int count = 0;
+        Iterator<Runnable> iterator = poolQueue.queue().iterator();
+        while (iterator.hasNext() && count < MAX_SAMPLED_TASKS) {
+            Runnable runnable = iterator.next();
+            if (runnable == null || runnable.getClass() != TIMED_RUNNABLE_CLASS) {
+                continue;
+            }
+            try {
+                Long creationTimeNanos = TIMED_RUNNABLE_CREATION_TIME.get(runnable);
+                if (count == ages.length) {
+                    ages = Arrays.copyOf(ages, count * 2);
+                }
+                ages[count++] = Math.max(0, now - creationTimeNanos);
+            } catch (ReflectiveOperationException e) {
+                return QueueAges.UNAVAILABLE;
+            }
+        }
+        if (count == 0) {
+            return QueueAges.UNAVAILABLE;
+        }
+        Arrays.sort(ages, 0, count);
+        return new QueueAges(toMillis(percentile(count, 0.5)), toMillis(percentile(count, 0.99)));
+    }
+
+    private long percentile(int count, double quantile) {
+        int rank = (int) Math.ceil(quantile * count);
+        return ages[Math.min(count, Math.max(1, rank)) - 1];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PoolQueue getPoolQueue(String threadPoolName) {
+        ThreadPool threadPool = OpenSearchResources.INSTANCE.getThreadPool();
+        if (threadPool == null) {
+            return null;
+        }
+        ExecutorService executor;
+        try {
+            executor = threadPool.executor(threadPoolName);
+        } catch (IllegalArgumentException e) {
+            // no pool of that name on this node
+            return null;
+        }
+        PoolQueue poolQueue = poolQueues.get(threadPoolName);
+        if (poolQueue == null || poolQueue.executor() != executor) {
+            if (!(executor instanceof ThreadPoolExecutor)) {
+                poolQueues.remove(threadPoolName);
+                return null;
+            }
+            poolQueue =
+                    new PoolQueue(
+                            executor,
+                            (BlockingQueue<Runnable>) ((ThreadPoolExecutor) executor).getQueue());
+            poolQueues.put(threadPoolName, poolQueue);
+        }
+        return poolQueue;
+    }
+
+    private static Class<?> loadTimedRunnableClass() {
+        try {
+            return Class.forName(TIMED_RUNNABLE_CLASS_NAME);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+}
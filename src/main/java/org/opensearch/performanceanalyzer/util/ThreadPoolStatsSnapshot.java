@@ -0,0 +1,61 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Point-in-time view of the thread pools on this node, taken once per collection tick and shared by
+ * the RCA and telemetry thread pool collectors. Counters that only ever grow, such as rejections,
+ * are already turned into the change since the previous snapshot.
+ */
+public final class ThreadPoolStatsSnapshot {
+    static final ThreadPoolStatsSnapshot EMPTY =
+            new ThreadPoolStatsSnapshot(-1L, Collections.emptyList());
+
+    /**
+     * Stats of a single thread pool.
+     *
+     * @param name name of the thread pool
+     * @param queueSize number of tasks waiting in the queue
+     * @param rejectedDelta tasks rejected since the previous snapshot
+     * @param threads number of threads in the pool
+     * @param active number of threads running a task
+     * @param queueLatencyMillis average time the tasks completed since the previous snapshot waited
+     *     in the queue, or the median wait of the tasks still queued if the executor does not track
+     *     it; -1 if neither is known
+     * @param queueCapacity capacity of the queue, -1 if unbounded or unknown
+     * @param queueAges age percentiles of the tasks still queued
+     */
+    public record PoolStats(
+            String name,
+            int queueSize,
+            long rejectedDelta,
+            int threads,
+            int active,
+            double queueLatencyMillis,
+            int queueCapacity,
+            ThreadPoolQueueMonitor.QueueAges queueAges) {}
+
+    private final long startTime;
+    private final List<PoolStats> pools;
+
+    ThreadPoolStatsSnapshot(long startTime, List<PoolStats> pools) {
+        this.startTime = startTime;
+        this.pools = Collections.unmodifiableList(pools);
+    }
+
+    /** @return collection start time of the tick this snapshot was taken for. */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /** @return one entry per thread pool, in the order reported by the thread pool. */
+    public List<PoolStats> getPools() {
+        return pools;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.threadpool.ThreadPoolStats;
+
+/**
+ * Builds a {@link ThreadPoolStatsSnapshot} at most once per collection tick. The first thread pool
+ * collector that runs in a tick calls {@link ThreadPool#stats()} and samples the queues, and every
+ * other collector running with the same start time reads the same snapshot. The counters of the
+ * previous snapshot are kept here, so the deltas do not depend on how many collectors read them.
+ */
+public final class ThreadPoolStatsSnapshotService {
+    public static final ThreadPoolStatsSnapshotService INSTANCE =
+            new ThreadPoolStatsSnapshotService();
+
+    // if the previous record is older than 3 intervals the scheduler might have hung or frozen due
+    // to a long GC etc.; deltas against it would span several intervals, so they are dropped
+    private static final long MAX_RECORD_AGE_MILLIS = MetricsConfiguration.SAMPLING_INTERVAL * 3L;
+
+    @VisibleForTesting
+    record PoolRecord(long timestamp, long rejected, long completed, long waitTimeNanos) {}
+
+    private final Map<String, PoolRecord> lastRecords;
+    private ThreadPoolStatsSnapshot snapshot;
+    private ThreadPool snapshotSource;
+
+    private ThreadPoolStatsSnapshotService() {
+        this.lastRecords = new HashMap<>();
+        this.snapshot = ThreadPoolStatsSnapshot.EMPTY;
+    }
+
+    /**
+     * Returns the snapshot for the tick identified by {@code startTime}, building it if this is the
+     * first request in that tick.
+     *
+     * @param startTime start time handed to the collector by the scheduler
+     * @return the shared snapshot; empty if the ThreadPool is not available yet
+     */
+    public synchronized ThreadPoolStatsSnapshot getSnapshot(long startTime) {
+        ThreadPool threadPool = OpenSearchResources.INSTANCE.getThreadPool();
+        if (threadPool == null) {
+            return ThreadPoolStatsSnapshot.EMPTY;
+        }
+        if (snapshot.getStartTime() == startTime && snapshotSource == threadPool) {
+            return snapshot;
+        }
+        List<ThreadPoolStatsSnapshot.PoolStats> pools = new ArrayList<>();
+        for (ThreadPoolStats.Stats stats : threadPool.stats()) {
+            String threadPoolName = stats.getName();
+            PoolRecord record =
+                    new PoolRecord(
+                            startTime,
+                            stats.getRejected(),
+                            stats.getCompleted(),
+                            stats.getWaitTime().nanos());
+            PoolRecord lastRecord = lastRecords.put(threadPoolName, record);
+            if (lastRecord != null && !isRecent(lastRecord, record)) {
+                lastRecord = null;
+            }
+            // rejection is a LongAdder which never decrements its count, clamp to be safe
+            long rejectionDelta =
+                    lastRecord == null ? 0 : Math.max(0, record.rejected() - lastRecord.rejected());
+            ThreadPoolQueueMonitor.QueueAges queueAges =
+                    ThreadPoolQueueMonitor.INSTANCE.sampleQueueAges(threadPoolName);
+            pools.add(
+                    new ThreadPoolStatsSnapshot.PoolStats(
+                            threadPoolName,
+                            stats.getQueue(),
+                            rejectionDelta,
+                            stats.getThreads(),
+                            stats.getActive(),
+                            getQueueLatency(lastRecord, record, queueAges),
+                            ThreadPoolQueueMonitor.INSTANCE.getCapacity(threadPoolName),
+                            queueAges));
+        }
+        snapshot = new ThreadPoolStatsSnapshot(startTime, pools);
+        snapshotSource = threadPool;
+        return snapshot;
+    }
+
+    private static boolean isRecent(PoolRecord lastRecord, PoolRecord record) {
+        long elapsed = record.timestamp() - lastRecord.timestamp();
+        return elapsed >= 0 && elapsed <= MAX_RECORD_AGE_MILLIS;
+    }
+
+    /**
+     * Average time in milliseconds the tasks completed since the last record waited in the queue,
+     * if the executor tracks it; otherwise the median time the tasks still queued have waited so
+     * far. -1 if neither is known.
+     */
+    @VisibleForTesting
+    static double getQueueLatency(
+            PoolRecord lastRecord, PoolRecord record, ThreadPoolQueueMonitor.QueueAges queueAges) {
+        if (lastRecord != null && record.waitTimeNanos() >= 0 && lastRecord.waitTimeNanos() >= 0) {
+            long completedDelta = record.completed() - lastRecord.completed();
+            long waitDelta = record.waitTimeNanos() - lastRecord.waitTimeNanos();
+            if (completedDelta > 0 && waitDelta >= 0) {
+                return waitDelta / (double) completedDelta / TimeUnit.MILLISECONDS.toNanos(1);
+            }
+        }
+        return queueAges.p50Millis();
+    }
+}
@@ -8,7 +8,6 @@ package org.opensearch.performanceanalyzer.util;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.Iterator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.admin.indices.stats.CommonStats;
@@ -16,7 +15,6 @@ import org.opensearch.action.admin.indices.stats.CommonStatsFlags;
 import org.opensearch.action.admin.indices.stats.IndexShardStats;
 import org.opensearch.action.admin.indices.stats.ShardStats;
 import org.opensearch.core.index.shard.ShardId;
-import org.opensearch.index.IndexService;
 import org.opensearch.index.shard.IndexShard;
 import org.opensearch.index.shard.IndexShardState;
 import org.opensearch.indices.IndicesService;
@@ -47,6 +45,12 @@ public class Utils {
         MetricsConfiguration.CONFIG_MAP.put(ClusterApplierServiceStatsCollector.class, cdefault);
         MetricsConfiguration.CONFIG_MAP.put(SearchBackPressureStatsCollector.class, cdefault);
         MetricsConfiguration.CONFIG_MAP.put(ElectionTermCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(JfrEventsCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(DirectMemoryCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(SegmentMergeCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(RefreshFlushCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(TranslogCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(ShardDiskIOCollector.class, cdefault);
         MetricsConfiguration.CONFIG_MAP.put(ShardIndexingPressureMetricsCollector.class, cdefault);
         MetricsConfiguration.CONFIG_MAP.put(RTFDisksCollector.class, cdefault);
         MetricsConfiguration.CONFIG_MAP.put(RTFHeapMetricsCollector.class, cdefault);
@@ -54,6 +58,8 @@ public class Utils {
                 RTFNodeStatsAllShardsMetricsCollector.class,
                 new MetricsConfiguration.MetricConfig(60000, 0));
         MetricsConfiguration.CONFIG_MAP.put(RTFThreadPoolMetricsCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(RTFThreadPoolResourceCollector.class, cdefault);
+        MetricsConfiguration.CONFIG_MAP.put(RTFThreadContentionCollector.class, cdefault);
         MetricsConfiguration.CONFIG_MAP.put(
                 RTFCacheConfigMetricsCollector.class,
                 new MetricsConfiguration.MetricConfig(60000, 0));
@@ -100,14 +106,10 @@ public class Utils {
 
     public static HashMap<ShardId, IndexShard> getShards() {
         HashMap<ShardId, IndexShard> shards = new HashMap<>();
-        Iterator<IndexService> indexServices =
-                OpenSearchResources.INSTANCE.getIndicesService().iterator();
-        while (indexServices.hasNext()) {
-            Iterator<IndexShard> indexShards = indexServices.next().iterator();
-            while (indexShards.hasNext()) {
-                IndexShard shard = indexShards.next();
-                shards.put(shard.shardId(), shard);
-            }
+        for (ShardRegistry.ShardEntry entry :
+                ShardRegistry.INSTANCE.getShards(
+                        OpenSearchResources.INSTANCE.getIndicesService())) {
+            shards.put(entry.shardId(), entry.indexShard());
         }
         return shards;
     }
@@ -156,4 +158,26 @@ public class Utils {
     public static double computeShareFactor(long phaseTookTime, long totalTime) {
         return Math.min(1, ((double) phaseTookTime) / Math.max(1.0, totalTime));
     }
+
+    /**
+     * Maps a thread to the OpenSearch thread pool it belongs to, using the name the pool gives its
+     * threads.
+     *
+     * @param threadName name of a thread, e.g. {@code opensearch[node-1][write][T#3]}
+     * @return name of the pool the thread belongs to, empty if it is not a pool thread
+     */
+    public static String getThreadPoolName(String threadName) {
+        if (threadName == null) {
+            return "";
+        }
+        int poolEnd = threadName.lastIndexOf("][T#");
+        if (poolEnd <= 0) {
+            return "";
+        }
+        int poolStart = threadName.lastIndexOf('[', poolEnd - 1);
+        if (poolStart < 0) {
+            return "";
+        }
+        return threadName.substring(poolStart + 1, poolEnd);
+    }
 }
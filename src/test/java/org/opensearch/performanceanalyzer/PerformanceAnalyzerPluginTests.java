@@ -33,6 +33,7 @@ import org.opensearch.indices.breaker.BreakerSettings;
 import org.opensearch.indices.breaker.HierarchyCircuitBreakerService;
 import org.opensearch.performanceanalyzer.action.PerformanceAnalyzerActionFilter;
 import org.opensearch.performanceanalyzer.config.setting.PerformanceAnalyzerClusterSettings;
+import org.opensearch.performanceanalyzer.http_action.cache.RequestCacheSimulatorAction;
 import org.opensearch.performanceanalyzer.http_action.config.PerformanceAnalyzerClusterConfigAction;
 import org.opensearch.performanceanalyzer.http_action.config.PerformanceAnalyzerConfigAction;
 import org.opensearch.performanceanalyzer.http_action.config.PerformanceAnalyzerOverridesClusterConfigAction;
@@ -129,12 +130,13 @@ public class PerformanceAnalyzerPluginTests extends OpenSearchTestCase {
     public void testGetRestHandlers() {
         List<RestHandler> handlers =
                 plugin.getRestHandlers(settings, restController, null, null, null, null, null);
-        assertEquals(4, handlers.size());
+        assertEquals(5, handlers.size());
         assertEquals(PerformanceAnalyzerConfigAction.class, handlers.get(0).getClass());
         assertEquals(PerformanceAnalyzerClusterConfigAction.class, handlers.get(1).getClass());
         assertEquals(PerformanceAnalyzerResourceProvider.class, handlers.get(2).getClass());
         assertEquals(
                 PerformanceAnalyzerOverridesClusterConfigAction.class, handlers.get(3).getClass());
+        assertEquals(RequestCacheSimulatorAction.class, handlers.get(4).getClass());
     }
 
     @Test
@@ -182,10 +184,22 @@ public class PerformanceAnalyzerPluginTests extends OpenSearchTestCase {
     @Test
     public void testGetSettings() {
         List<Setting<?>> list = plugin.getSettings();
-        assertEquals(4, list.size());
+        assertEquals(9, list.size());
         assertEquals(PerformanceAnalyzerClusterSettings.COMPOSITE_PA_SETTING, list.get(0));
         assertEquals(PerformanceAnalyzerClusterSettings.PA_NODE_STATS_SETTING, list.get(1));
         assertEquals(PerformanceAnalyzerClusterSettings.CONFIG_OVERRIDES_SETTING, list.get(2));
         assertEquals(PerformanceAnalyzerClusterSettings.PA_COLLECTORS_SETTING, list.get(3));
+        assertEquals(
+                PerformanceAnalyzerClusterSettings.SHARD_STATS_COLLECTION_THREADS_SETTING,
+                list.get(4));
+        assertEquals(
+                PerformanceAnalyzerClusterSettings.SHARD_STATS_COLLECTION_BUDGET_SETTING,
+                list.get(5));
+        assertEquals(
+                PerformanceAnalyzerClusterSettings.PENDING_TASKS_STARVATION_THRESHOLD_SETTING,
+                list.get(6));
+        assertEquals(PerformanceAnalyzerClusterSettings.JFR_EVENTS_SETTING, list.get(7));
+        assertEquals(
+                PerformanceAnalyzerClusterSettings.REQUEST_CACHE_SIMULATOR_SETTING, list.get(8));
     }
 }
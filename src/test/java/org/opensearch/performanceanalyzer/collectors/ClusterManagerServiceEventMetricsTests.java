@@ -6,10 +6,14 @@
 package org.opensearch.performanceanalyzer.collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
 import org.apache.commons.lang3.SystemUtils;
 import org.junit.After;
 import org.junit.Before;
@@ -97,17 +101,17 @@ public class ClusterManagerServiceEventMetricsTests {
 
     @Test
     public void testGenerateFinishMetrics() {
-        assertEquals(-1, clusterManagerServiceEventMetrics.lastTaskInsertionOrder);
-        clusterManagerServiceEventMetrics.generateFinishMetrics(startTimeInMills);
-
-        clusterManagerServiceEventMetrics.lastTaskInsertionOrder = 1;
-        clusterManagerServiceEventMetrics.generateFinishMetrics(startTimeInMills);
+        ClusterManagerServiceEventMetrics.TaskEvent event =
+                new ClusterManagerServiceEventMetrics.TaskEvent(
+                                1L, 1L, "HIGH", "create-index", "", 5L, 1000L)
+                        .finished(1250L);
+        clusterManagerServiceEventMetrics.generateFinishMetrics(event, startTimeInMills);
         List<Event> metrics = TestUtil.readEvents();
         String[] jsonStrs = metrics.get(0).value.split("\n");
         assert jsonStrs.length == 2;
         assertTrue(
                 jsonStrs[1].contains(AllMetrics.ClusterManagerMetricValues.FINISH_TIME.toString()));
-        assertEquals(-1, clusterManagerServiceEventMetrics.lastTaskInsertionOrder);
+        assertTrue(jsonStrs[1].contains("1250"));
     }
 
     @Test
@@ -120,47 +124,70 @@ public class ClusterManagerServiceEventMetricsTests {
                                         OpenSearchResources.INSTANCE
                                                 .getClusterService()
                                                 .getClusterManagerService());
+        Queue<Runnable> current =
+                clusterManagerServiceEventMetrics
+                        .getPrioritizedTPExecutorCurrentField()
+                        .get(prioritizedOpenSearchThreadPoolExecutor);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
         SourcePrioritizedRunnable runnable =
-                new SourcePrioritizedRunnable(Priority.HIGH, "_add_listener_") {
+                new SourcePrioritizedRunnable(Priority.HIGH, "_add_listener_ [test]") {
                     @Override
                     public void run() {
+                        started.countDown();
                         try {
-                            Thread.sleep(100L); // dummy runnable
+                            release.await();
                         } catch (InterruptedException e) {
                         }
                     }
                 };
 
-        prioritizedOpenSearchThreadPoolExecutor.submit(runnable);
-        Thread.sleep(1L); // don't delete it
-
+        prioritizedOpenSearchThreadPoolExecutor.execute(runnable);
+        started.await();
         clusterManagerServiceEventMetrics.collectMetrics(startTimeInMills);
-        List<String> jsonStrs = TestUtil.readMetricsInJsonString(6);
+        List<Event> metrics = TestUtil.readEvents();
+        assertEquals(1, metrics.size());
+        String start = metrics.get(0).value;
         assertTrue(
-                jsonStrs.get(0)
-                        .contains(
-                                AllMetrics.ClusterManagerMetricDimensions
-                                        .CLUSTER_MANAGER_TASK_PRIORITY
-                                        .toString()));
+                start.contains(
+                        AllMetrics.ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_PRIORITY
+                                .toString()));
+        assertTrue(start.contains(AllMetrics.ClusterManagerMetricValues.START_TIME.toString()));
         assertTrue(
-                jsonStrs.get(1)
-                        .contains(AllMetrics.ClusterManagerMetricValues.START_TIME.toString()));
+                start.contains(
+                        AllMetrics.ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_TYPE
+                                .toString()));
+        assertTrue(start.contains("_add_listener_"));
         assertTrue(
-                jsonStrs.get(2)
-                        .contains(
-                                AllMetrics.ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_TYPE
-                                        .toString()));
+                start.contains(
+                        AllMetrics.ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_METADATA
+                                .toString()));
         assertTrue(
-                jsonStrs.get(3)
-                        .contains(
-                                AllMetrics.ClusterManagerMetricDimensions
-                                        .CLUSTER_MANAGER_TASK_METADATA
-                                        .toString()));
+                start.contains(
+                        AllMetrics.ClusterManagerMetricDimensions.CLUSTER_MANAGER_TASK_QUEUE_TIME
+                                .toString()));
+
+        // a task still running is written once
+        clusterManagerServiceEventMetrics.collectMetrics(startTimeInMills + 5000);
+        assertTrue(TestUtil.readEvents().isEmpty());
+
+        release.countDown();
+        while (!current.isEmpty()) {
+            Thread.sleep(10L);
+        }
+        clusterManagerServiceEventMetrics.collectMetrics(startTimeInMills + 10000);
+        metrics = TestUtil.readEvents();
+        assertEquals(1, metrics.size());
         assertTrue(
-                jsonStrs.get(4)
-                        .contains(
-                                AllMetrics.ClusterManagerMetricDimensions
-                                        .CLUSTER_MANAGER_TASK_QUEUE_TIME
-                                        .toString()));
+                metrics.get(0)
+                        .value
+                        .contains(AllMetrics.ClusterManagerMetricValues.FINISH_TIME.toString()));
+        assertNull(clusterManagerServiceEventMetrics.runningEvent);
+    }
+
+    @Test
+    public void testDescribeSkipsFutures() throws Exception {
+        Runnable future = new FutureTask<>(() -> null);
+        assertNull(clusterManagerServiceEventMetrics.describe(future, startTimeInMills));
     }
 }
@@ -9,12 +9,17 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.cluster.service.PendingClusterTask;
+import org.opensearch.common.Priority;
+import org.opensearch.core.common.text.Text;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.config.PluginSettings;
 import org.opensearch.performanceanalyzer.commons.event_process.Event;
@@ -86,6 +91,38 @@ public class ClusterManagerServiceMetricsTests {
                 jsonStr.contains(ClusterManagerPendingValue.Constants.PENDING_TASKS_COUNT_VALUE));
     }
 
+    @Test
+    public void testGroupPendingTasks() {
+        List<PendingClusterTask> pendingTasks = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            pendingTasks.add(
+                    new PendingClusterTask(
+                            i, Priority.HIGH, new Text("put-mapping [index-" + i + "]"), i, false));
+        }
+        pendingTasks.add(
+                new PendingClusterTask(101, Priority.LOW, new Text("put-mapping"), 1000, false));
+        pendingTasks.add(
+                new PendingClusterTask(102, Priority.LANGUID, new Text("reroute"), 10, false));
+        clusterManagerServiceMetrics.setStarvationThresholdMillis(500);
+
+        Map<String, ClusterManagerServiceMetrics.PendingTaskGroup[]> groups =
+                clusterManagerServiceMetrics.groupPendingTasks(pendingTasks);
+        assertEquals(2, groups.size());
+        ClusterManagerServiceMetrics.PendingTaskGroup high =
+                groups.get("put-mapping")[Priority.HIGH.ordinal()];
+        assertEquals(100, high.getCount());
+        assertEquals(100, high.getOldestAge());
+        assertEquals(50, high.getAgePercentile(0.5));
+        assertEquals(99, high.getAgePercentile(0.99));
+        assertEquals(0, high.getStarved());
+        assertEquals(1, groups.get("put-mapping")[Priority.LOW.ordinal()].getStarved());
+        assertEquals(0, groups.get("reroute")[Priority.LANGUID.ordinal()].getStarved());
+
+        clusterManagerServiceMetrics.setStarvationThresholdMillis(0);
+        groups = clusterManagerServiceMetrics.groupPendingTasks(pendingTasks);
+        assertEquals(0, groups.get("put-mapping")[Priority.LOW.ordinal()].getStarved());
+    }
+
     @Test
     public void testWithMockClusterService() {
         OpenSearchResources.INSTANCE.setClusterService(mockedClusterService);
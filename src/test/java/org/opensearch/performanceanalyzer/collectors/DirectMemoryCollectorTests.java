@@ -0,0 +1,78 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.performanceanalyzer.commons.event_process.Event;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.util.TestUtil;
+
+public class DirectMemoryCollectorTests {
+    private DirectMemoryCollector collector;
+
+    @Before
+    public void init() {
+        System.setProperty("performanceanalyzer.metrics.log.enabled", "False");
+        MetricsConfiguration.CONFIG_MAP.put(
+                DirectMemoryCollector.class, MetricsConfiguration.cdefault);
+        collector = new DirectMemoryCollector();
+
+        // clean metricQueue before running every test
+        TestUtil.readEvents();
+    }
+
+    @Test
+    public void testCollectMetrics() {
+        collector.collectMetrics(System.currentTimeMillis());
+        List<Event> metrics = TestUtil.readEvents();
+        assertEquals(1, metrics.size());
+        assertTrue(metrics.get(0).value.contains("\"BufferPool\":\"direct\""));
+    }
+
+    @Test
+    public void testScanBackoff() {
+        // no transport runs in the tests, every scan comes back empty and doubles the wait
+        for (int run = 0; run < 10; run++) {
+            collector.collectMetrics(System.currentTimeMillis());
+        }
+        assertEquals(3, collector.getScans());
+
+        for (int run = 0; run < 10 * DirectMemoryCollector.MAX_SCAN_BACKOFF; run++) {
+            collector.collectMetrics(System.currentTimeMillis());
+        }
+        assertTrue(collector.getScans() < 16);
+    }
+
+    @Test
+    public void testReadPooledAllocator() throws ReflectiveOperationException {
+        PooledByteBufAllocator allocator = new PooledByteBufAllocator(true);
+        DirectMemoryCollector.NettyAllocatorReader reader =
+                new DirectMemoryCollector.NettyAllocatorReader(
+                        PooledByteBufAllocator.class.getClassLoader());
+        ByteBuf buffer = allocator.directBuffer(1024);
+        try {
+            DirectMemoryCollector.NettyAllocatorStatus status = reader.read("transport", allocator);
+            assertNotNull(status);
+            assertEquals("transport", status.getAllocator());
+            assertTrue(status.getUsedDirectMemory() > 0);
+            assertEquals(allocator.metric().numDirectArenas(), status.getDirectArenas());
+            assertTrue(status.getChunks() >= 1);
+            assertTrue(status.getActiveBytes() > 0);
+        } finally {
+            buffer.release();
+        }
+        assertNull(reader.read("transport", new Object()));
+    }
+}
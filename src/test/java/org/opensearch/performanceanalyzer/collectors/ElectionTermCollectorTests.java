@@ -17,6 +17,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.coordination.CoordinationMetadata;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.config.PluginSettings;
@@ -92,6 +97,24 @@ public class ElectionTermCollectorTests {
         assertTrue(jsonStrArray[1].contains("0"));
     }
 
+    @Test
+    public void testTermFromClusterStateUpdate() {
+        Mockito.when(controller.isCollectorEnabled(configOverrides, "ElectionTermCollector"))
+                .thenReturn(true);
+        ClusterState previousState = ClusterState.builder(ClusterName.DEFAULT).build();
+        ClusterState state =
+                ClusterState.builder(ClusterName.DEFAULT)
+                        .metadata(
+                                Metadata.builder()
+                                        .coordinationMetadata(
+                                                CoordinationMetadata.builder().term(7).build()))
+                        .build();
+        electionTermCollector.clusterChanged(new ClusterChangedEvent("test", state, previousState));
+        electionTermCollector.collectMetrics(startTimeInMills);
+        String jsonStr = readMetricsInJsonString(1);
+        assertTrue(jsonStr.split(":", 2)[1].contains("7"));
+    }
+
     @Test
     public void testWithMockClusterService() {
         OpenSearchResources.INSTANCE.setClusterService(mockedClusterService);
@@ -0,0 +1,138 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.performanceanalyzer.collectors.JfrEventsCollector.EventAggregator;
+import org.opensearch.performanceanalyzer.collectors.JfrEventsCollector.EventStat;
+import org.opensearch.performanceanalyzer.collectors.JfrEventsCollector.IntervalEvents;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.util.TestUtil;
+
+public class JfrEventsCollectorTests extends CollectorTestBase {
+    private JfrEventsCollector collector;
+
+    @Before
+    public void init() {
+        MetricsConfiguration.CONFIG_MAP.put(
+                JfrEventsCollector.class, MetricsConfiguration.cdefault);
+        collector = new JfrEventsCollector(mockController, mockWrapper);
+
+        // clean metricQueue before running every test
+        TestUtil.readEvents();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        collector.getAggregator().onSafepointSync(1_000_000);
+        collector.collectMetrics(System.currentTimeMillis());
+        assertTrue(TestUtil.readEvents().isEmpty());
+    }
+
+    @After
+    public void tearDown() {
+        collector.close();
+    }
+
+    @Test
+    public void testStreamClosedWhileDisabled() {
+        collector.setState(1);
+        assertTrue(collector.isStreaming());
+
+        when(mockController.isCollectorDisabled(any(), anyString())).thenReturn(true);
+        collector.collectMetrics(System.currentTimeMillis());
+        assertFalse(collector.isStreaming());
+
+        when(mockController.isCollectorDisabled(any(), anyString())).thenReturn(false);
+        collector.collectMetrics(System.currentTimeMillis());
+        assertTrue(collector.isStreaming());
+
+        collector.setState(0);
+        collector.collectMetrics(System.currentTimeMillis());
+        assertFalse(collector.isStreaming());
+    }
+
+    @Test
+    public void testClose() {
+        collector.setState(1);
+        assertTrue(collector.isStreaming());
+        collector.close();
+        assertFalse(collector.isStreaming());
+
+        collector.setState(1);
+        collector.collectMetrics(System.currentTimeMillis());
+        assertFalse(collector.isStreaming());
+    }
+
+    @Test
+    public void testDrain() {
+        EventAggregator aggregator = collector.getAggregator();
+        aggregator.onGcPause("G1 Young Generation", 3_000_000, 2_000_000);
+        aggregator.onGcPause("G1 Young Generation", 5_000_000, 4_000_000);
+        aggregator.onSafepointSync(100_000);
+        aggregator.onAllocationSample("opensearch[node-1][write][T#1]", "byte[]", 4096);
+        aggregator.onAllocationSample("opensearch[node-1][write][T#1]", "java.lang.String", 64);
+        aggregator.onMonitorEnter("java.lang.Object", 20_000_000);
+
+        IntervalEvents events = aggregator.drain();
+        EventStat young = events.gcPauses().get("G1 Young Generation");
+        assertEquals(2, young.count);
+        assertEquals(8_000_000, young.total);
+        assertEquals(4_000_000, young.max);
+        assertEquals(2, events.gcPauseSamples().size());
+        assertEquals(1, events.safepointSync().count);
+        assertEquals(1, events.safepointSyncSamples().length);
+        assertEquals(4160, events.allocationByThread().get("opensearch[node-1][write][T#1]").total);
+        assertEquals(4096, events.allocationByClass().get("byte[]").total);
+        assertEquals(20_000_000, events.monitorEnter().get("java.lang.Object").max);
+
+        IntervalEvents next = aggregator.drain();
+        assertTrue(next.gcPauses().isEmpty());
+        assertEquals(0, next.safepointSync().count);
+        assertEquals(0, next.safepointSyncSamples().length);
+        assertTrue(next.allocationByThread().isEmpty());
+    }
+
+    @Test
+    public void testSamplesCapped() {
+        EventAggregator aggregator = collector.getAggregator();
+        for (int i = 0; i < EventAggregator.MAX_SAMPLES + 10; i++) {
+            aggregator.onSafepointSync(i);
+            aggregator.onGcPause("G1 Young Generation", i, i);
+        }
+        IntervalEvents events = aggregator.drain();
+        assertEquals(EventAggregator.MAX_SAMPLES, events.safepointSyncSamples().length);
+        assertEquals(EventAggregator.MAX_SAMPLES, events.gcPauseSamples().size());
+        assertEquals(EventAggregator.MAX_SAMPLES + 10, events.safepointSync().count);
+        assertEquals(EventAggregator.MAX_SAMPLES + 9, events.safepointSync().max);
+    }
+
+    @Test
+    public void testTop() {
+        Map<String, EventStat> table = new HashMap<>();
+        for (int i = 0; i < JfrEventsCollector.TOP_N + 3; i++) {
+            EventStat stat = new EventStat();
+            stat.add(i);
+            table.put("class" + i, stat);
+        }
+        List<Map.Entry<String, EventStat>> top = JfrEventsCollector.top(table);
+        assertEquals(JfrEventsCollector.TOP_N, top.size());
+        assertEquals("class" + (JfrEventsCollector.TOP_N + 2), top.get(0).getKey());
+        assertEquals(3, top.get(JfrEventsCollector.TOP_N - 1).getValue().total);
+    }
+}
@@ -5,6 +5,7 @@
 
 package org.opensearch.performanceanalyzer.collectors;
 
+import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -102,6 +103,19 @@ public class NodeDetailsCollectorTests extends OpenSearchTestCase {
         assertTrue(nodeDetailsStatus.getIsClusterManagerNode());
     }
 
+    @Test
+    public void testPayloadRebuiltOnOverridesUpdate() {
+        collector.collectMetrics(startTimeInMills);
+        String[] first = TestUtil.readEvents().get(0).value.split("\n");
+        assertEquals("0", first[2]);
+
+        when(configOverrides.getLastUpdatedTimestamp()).thenReturn(42L);
+        collector.collectMetrics(startTimeInMills);
+        String[] second = TestUtil.readEvents().get(0).value.split("\n");
+        assertEquals("42", second[2]);
+        assertEquals(first[3], second[3]);
+    }
+
     private NodeDetailsCollector.NodeDetailsStatus readMetrics() throws IOException {
         List<Event> metrics = TestUtil.readEvents();
         assert metrics.size() == 1;
@@ -34,7 +34,7 @@ public class NodeStatsAllShardsMetricsCollectorTests extends OpenSearchSingleNod
 
         MetricsConfiguration.CONFIG_MAP.put(
                 NodeStatsAllShardsMetricsCollector.class, MetricsConfiguration.cdefault);
-        nodeStatsAllShardsMetricsCollector = new NodeStatsAllShardsMetricsCollector(null);
+        nodeStatsAllShardsMetricsCollector = new NodeStatsAllShardsMetricsCollector();
 
         // clean metricQueue before running every test
         TestUtil.readEvents();
@@ -45,17 +45,6 @@ public class NodeStatsAllShardsMetricsCollectorTests extends OpenSearchSingleNod
         super.tearDown();
     }
 
-    @Test
-    public void testGetNodeIndicesStatsByShardField() {
-        try {
-            nodeStatsAllShardsMetricsCollector.getNodeIndicesStatsByShardField();
-        } catch (Exception e) {
-            assertTrue(
-                    "There shouldn't be any exception in the code; Please check the reflection code for any changes",
-                    true);
-        }
-    }
-
     @Test
     public void testGetMetricsPath() {
         String expectedPath =
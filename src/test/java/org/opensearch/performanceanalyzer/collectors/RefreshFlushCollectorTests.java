@@ -0,0 +1,111 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.IndexService;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.config.PluginSettings;
+import org.opensearch.performanceanalyzer.commons.event_process.Event;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.util.ShardRefreshMonitor;
+import org.opensearch.performanceanalyzer.util.TestUtil;
+import org.opensearch.test.OpenSearchSingleNodeTestCase;
+
+public class RefreshFlushCollectorTests extends OpenSearchSingleNodeTestCase {
+    private static final String TEST_INDEX = "test";
+    private RefreshFlushCollector collector;
+    private long startTimeInMills = 1153721339;
+
+    @Before
+    public void init() {
+        IndicesService indicesService = getInstanceFromNode(IndicesService.class);
+        OpenSearchResources.INSTANCE.setIndicesService(indicesService);
+
+        MetricsConfiguration.CONFIG_MAP.put(
+                RefreshFlushCollector.class, MetricsConfiguration.cdefault);
+        collector = new RefreshFlushCollector();
+
+        // clean metricQueue and pending refreshes before running every test
+        TestUtil.readEvents();
+        ShardRefreshMonitor.INSTANCE.drain();
+    }
+
+    @Test
+    public void testGetMetricsPath() {
+        String expectedPath =
+                PluginSettings.instance().getMetricsLocation()
+                        + PerformanceAnalyzerMetrics.getTimeInterval(startTimeInMills)
+                        + "/"
+                        + RefreshFlushCollector.PATH_TO_STORE_METRICS
+                        + "/test/0";
+        assertEquals(expectedPath, collector.getMetricsPath(startTimeInMills, "test", "0"));
+        expectThrows(
+                RuntimeException.class, () -> collector.getMetricsPath(startTimeInMills, "test"));
+    }
+
+    @Test
+    public void testCollectMetrics() {
+        IndexService indexService = createIndex(TEST_INDEX);
+        IndexShard shard = indexService.getShard(0);
+        assertTrue(ShardRefreshMonitor.INSTANCE.track(shard));
+        assertTrue(ShardRefreshMonitor.INSTANCE.isTracked(shard.shardId()));
+        try {
+            collector.collectMetrics(startTimeInMills);
+            client().prepareIndex(TEST_INDEX).setSource("{\"field\":1}", XContentType.JSON).get();
+            client().admin().indices().prepareRefresh(TEST_INDEX).get();
+            client().admin().indices().prepareFlush(TEST_INDEX).get();
+            startTimeInMills += 5000;
+            collector.collectMetrics(startTimeInMills);
+        } finally {
+            ShardRefreshMonitor.INSTANCE.untrack(shard.shardId());
+        }
+
+        List<Event> metrics = TestUtil.readEvents();
+        assertEquals(2, metrics.size());
+        String[] jsonStrs = metrics.get(1).value.split("\n");
+        assertEquals(2, jsonStrs.length);
+        assertFalse(jsonStrs[1].contains("\"RefreshCount\":0"));
+        assertFalse(jsonStrs[1].contains("\"FlushCount\":0"));
+    }
+
+    @Test
+    public void testRefreshesIgnoredWithoutConsumer() {
+        IndexShard shard = createIndex(TEST_INDEX).getShard(0);
+        assertTrue(ShardRefreshMonitor.INSTANCE.track(shard));
+        ShardRefreshMonitor.INSTANCE.release();
+        try {
+            client().prepareIndex(TEST_INDEX).setSource("{\"field\":1}", XContentType.JSON).get();
+            client().admin().indices().prepareRefresh(TEST_INDEX).get();
+        } finally {
+            ShardRefreshMonitor.INSTANCE.untrack(shard.shardId());
+        }
+        assertTrue(ShardRefreshMonitor.INSTANCE.drain().summaries().isEmpty());
+    }
+
+    @Test
+    public void testPendingRefreshesCapped() {
+        ShardId shardId = new ShardId("test", "uuid", 0);
+        for (int i = 0; i < ShardRefreshMonitor.MAX_PENDING_REFRESHES + 5; i++) {
+            ShardRefreshMonitor.INSTANCE.record(
+                    new ShardRefreshMonitor.RefreshEvent(shardId, 2_000_000, 100));
+        }
+        ShardRefreshMonitor.Interval interval = ShardRefreshMonitor.INSTANCE.drain();
+        assertEquals(ShardRefreshMonitor.MAX_PENDING_REFRESHES, interval.refreshes().size());
+        ShardRefreshMonitor.RefreshSummary summary = interval.summaries().get(shardId);
+        assertEquals(ShardRefreshMonitor.MAX_PENDING_REFRESHES + 5, summary.count());
+        assertEquals(2_000_000, summary.maxNanos());
+        assertEquals(100L * summary.count(), summary.bytes());
+        assertTrue(ShardRefreshMonitor.INSTANCE.drain().summaries().isEmpty());
+    }
+}
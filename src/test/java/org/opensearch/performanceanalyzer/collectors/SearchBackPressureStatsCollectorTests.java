@@ -10,7 +10,6 @@ import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -129,12 +128,7 @@ public class SearchBackPressureStatsCollectorTests {
      */
     @Test
     public void testSearchBackPressureStats_collectMetrics()
-            throws NoSuchMethodException,
-                    IllegalAccessException,
-                    InvocationTargetException,
-                    JsonProcessingException,
-                    NoSuchFieldException,
-                    ClassNotFoundException {
+            throws ReflectiveOperationException, JsonProcessingException {
         String SEARCH_BACK_PRESSURE_MODE_FIELD_NAME = "searchbp_mode";
         SearchBackPressureStatsCollector spyCollector =
                 Mockito.spy(searchBackPressureStatsCollector);
@@ -177,4 +171,75 @@ public class SearchBackPressureStatsCollectorTests {
             assertTrue(jsonStr.contains(required_field));
         }
     }
+
+    /*
+     * testSearchBackPressureStats_intervalStats() tests the per-interval deltas and rates computed
+     * from two consecutive runs
+     */
+    @Test
+    public void testSearchBackPressureStats_intervalStats()
+            throws ReflectiveOperationException, JsonProcessingException {
+        SearchBackPressureStatsCollector spyCollector =
+                Mockito.spy(searchBackPressureStatsCollector);
+        Map<String, SearchBackPressureStatsCollector.ResourceUsageTrackerStats> previousTrackers =
+                Map.of(
+                        "HEAP_USAGE_TRACKER",
+                        new SearchBackPressureStatsCollector.ResourceUsageTrackerStats(
+                                2, 0, 0, 0, false),
+                        "CPU_USAGE_TRACKER",
+                        CPU_USAGE_TRACKER_MOCK_STATS,
+                        "ELAPSED_TIME_TRACKER",
+                        ELAPSED_TIME_TRACKER_MOCK_STATS);
+        Map<String, SearchBackPressureStatsCollector.ResourceUsageTrackerStats> currentTrackers =
+                Map.of(
+                        "HEAP_USAGE_TRACKER",
+                        new SearchBackPressureStatsCollector.ResourceUsageTrackerStats(
+                                12, 0, 0, 0, false),
+                        "CPU_USAGE_TRACKER",
+                        CPU_USAGE_TRACKER_MOCK_STATS,
+                        "ELAPSED_TIME_TRACKER",
+                        ELAPSED_TIME_TRACKER_MOCK_STATS);
+
+        Mockito.doReturn(
+                        new SearchBackPressureStatsCollector.SearchBackPressureStats(
+                                new SearchBackPressureStatsCollector.SearchShardTaskStats(
+                                        5, 3, 100, previousTrackers),
+                                "ENFORCED",
+                                new SearchBackPressureStatsCollector.SearchTaskStats(
+                                        1, 1, 10, previousTrackers)),
+                        new SearchBackPressureStatsCollector.SearchBackPressureStats(
+                                new SearchBackPressureStatsCollector.SearchShardTaskStats(
+                                        15, 4, 200, currentTrackers),
+                                "ENFORCED",
+                                new SearchBackPressureStatsCollector.SearchTaskStats(
+                                        1, 1, 20, currentTrackers)))
+                .when(spyCollector)
+                .getSearchBackPressureStats();
+
+        spyCollector.collectMetrics(startTimeInMills);
+        spyCollector.collectMetrics(startTimeInMills + 5000);
+        List<Event> metrics = new ArrayList<>();
+        PerformanceAnalyzerMetrics.metricQueue.drainTo(metrics);
+        assertEquals(2, metrics.size());
+
+        Map<String, Object> first =
+                mapper.readValue(metrics.get(0).value.split(System.lineSeparator())[1], Map.class);
+        assertEquals(0, first.get(SearchBackPressureStatsCollector.SHARD_TASK_CANCELLATION_DELTA));
+
+        Map<String, Object> second =
+                mapper.readValue(metrics.get(1).value.split(System.lineSeparator())[1], Map.class);
+        assertEquals(
+                10, second.get(SearchBackPressureStatsCollector.SHARD_TASK_CANCELLATION_DELTA));
+        assertEquals(
+                1, second.get(SearchBackPressureStatsCollector.SHARD_TASK_LIMIT_REACHED_DELTA));
+        assertEquals(0, second.get(SearchBackPressureStatsCollector.TASK_CANCELLATION_DELTA));
+        assertEquals(
+                2.0,
+                second.get(
+                        SearchBackPressureStatsCollector.SHARD_TASK_HEAP_USAGE_CANCELLATION_RATE));
+        assertEquals(
+                0.0,
+                second.get(
+                        SearchBackPressureStatsCollector.SHARD_TASK_CPU_USAGE_CANCELLATION_RATE));
+    }
 }
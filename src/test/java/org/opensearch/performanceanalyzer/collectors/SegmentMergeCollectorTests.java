@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.config.PluginSettings;
+import org.opensearch.performanceanalyzer.commons.event_process.Event;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.util.TestUtil;
+import org.opensearch.test.OpenSearchSingleNodeTestCase;
+
+public class SegmentMergeCollectorTests extends OpenSearchSingleNodeTestCase {
+    private static final String TEST_INDEX = "test";
+    private SegmentMergeCollector collector;
+    private long startTimeInMills = 1153721339;
+
+    @Before
+    public void init() {
+        IndicesService indicesService = getInstanceFromNode(IndicesService.class);
+        OpenSearchResources.INSTANCE.setIndicesService(indicesService);
+
+        MetricsConfiguration.CONFIG_MAP.put(
+                SegmentMergeCollector.class, MetricsConfiguration.cdefault);
+        collector = new SegmentMergeCollector();
+
+        // clean metricQueue before running every test
+        TestUtil.readEvents();
+    }
+
+    @Test
+    public void testGetMetricsPath() {
+        String expectedPath =
+                PluginSettings.instance().getMetricsLocation()
+                        + PerformanceAnalyzerMetrics.getTimeInterval(startTimeInMills)
+                        + "/"
+                        + SegmentMergeCollector.PATH_TO_STORE_METRICS
+                        + "/test/0";
+        assertEquals(expectedPath, collector.getMetricsPath(startTimeInMills, "test", "0"));
+        expectThrows(
+                RuntimeException.class, () -> collector.getMetricsPath(startTimeInMills, "test"));
+    }
+
+    @Test
+    public void testCollectMetrics() {
+        createIndex(TEST_INDEX);
+
+        collector.collectMetrics(startTimeInMills);
+        startTimeInMills += 5000;
+        collector.collectMetrics(startTimeInMills);
+
+        List<Event> metrics = TestUtil.readEvents();
+        assertEquals(2, metrics.size());
+        String[] jsonStrs = metrics.get(1).value.split("\n");
+        assertEquals(2, jsonStrs.length);
+        assertTrue(jsonStrs[1].contains("\"MergeThroughput\":0.0"));
+        assertTrue(jsonStrs[1].contains("\"MergeBacklog\":0"));
+    }
+
+    @Test
+    public void testBacklog() {
+        assertEquals(0.0, SegmentMergeCollector.getThroughput(1000, 0), 0.0);
+        assertEquals(200.0, SegmentMergeCollector.getThroughput(1000, 5000), 0.0);
+        assertEquals(0, SegmentMergeCollector.getBacklogMillis(0, 200.0));
+        assertEquals(-1, SegmentMergeCollector.getBacklogMillis(1000, 0.0));
+        assertEquals(5000, SegmentMergeCollector.getBacklogMillis(1000, 200.0));
+    }
+}
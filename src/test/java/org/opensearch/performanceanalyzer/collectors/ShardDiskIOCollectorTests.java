@@ -0,0 +1,141 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.performanceanalyzer.collectors.ShardDiskIOCollector.Attribution;
+import org.opensearch.performanceanalyzer.collectors.ShardDiskIOCollector.ShardKey;
+import org.opensearch.performanceanalyzer.collectors.ShardDiskIOCollector.TaskThread;
+import org.opensearch.performanceanalyzer.collectors.ShardDiskIOCollector.ThreadIO;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.util.ShardRefreshMonitor;
+
+public class ShardDiskIOCollectorTests extends CollectorTestBase {
+    private static final String MERGE_THREAD =
+            "opensearch[node-1][[test][0]: Lucene Merge Thread #1]";
+    private final ShardId shardId = new ShardId("test", "uuid", 1);
+    private final Attribution merge =
+            new Attribution(new ShardKey("test", 0), ShardDiskIOCollector.ACTIVITY_MERGE);
+
+    private ShardDiskIOCollector collector;
+    private Map<Long, ThreadIO> threadIO;
+    private Set<Long> readThreads;
+
+    @Before
+    public void init() {
+        MetricsConfiguration.CONFIG_MAP.put(
+                ShardDiskIOCollector.class, MetricsConfiguration.cdefault);
+        threadIO = new HashMap<>();
+        readThreads = new HashSet<>();
+        collector =
+                new ShardDiskIOCollector(
+                        mockController,
+                        nativeTid -> {
+                            readThreads.add(nativeTid);
+                            return threadIO.get(nativeTid);
+                        });
+    }
+
+    @After
+    public void tearDown() {
+        ShardRefreshMonitor.INSTANCE.untrack(shardId);
+    }
+
+    @Test
+    public void testGetMergeShard() {
+        assertEquals(new ShardKey("test", 0), ShardDiskIOCollector.getMergeShard(MERGE_THREAD));
+        assertEquals(
+                new ShardKey("logs-2024.01", 12),
+                ShardDiskIOCollector.getMergeShard(
+                        "opensearch[node-1][[logs-2024.01][12]: Lucene Merge Thread #30]"));
+        assertNull(ShardDiskIOCollector.getMergeShard("opensearch[node-1][flush][T#1]"));
+        assertNull(ShardDiskIOCollector.getMergeShard(null));
+    }
+
+    @Test
+    public void testParseThreadIO() {
+        assertEquals(
+                new ThreadIO(4096, 8192),
+                ShardDiskIOCollector.parseThreadIO(
+                        List.of(
+                                "rchar: 323934931",
+                                "wchar: 323929600",
+                                "read_bytes: 4096",
+                                "write_bytes: 8192",
+                                "cancelled_write_bytes: 0")));
+        assertNull(ShardDiskIOCollector.parseThreadIO(List.of("rchar: 1")));
+    }
+
+    @Test
+    public void testUpdate() {
+        List<TaskThread> threads =
+                List.of(
+                        new TaskThread(10, 100, MERGE_THREAD),
+                        new TaskThread(11, 101, "opensearch[node-1][refresh][T#1]"),
+                        new TaskThread(12, 102, "opensearch[node-1][write][T#1]"));
+        threadIO.put(10L, new ThreadIO(100, 1000));
+        threadIO.put(11L, new ThreadIO(0, 500));
+        // threads that existed before the first run only count from their first read
+        assertTrue(collector.update(threads).isEmpty());
+        assertEquals(Set.of(10L, 11L), readThreads);
+
+        threadIO.put(10L, new ThreadIO(150, 3000));
+        threadIO.put(11L, new ThreadIO(0, 800));
+        Map<Attribution, ThreadIO> usage = collector.update(threads);
+        // the refresh thread has not refreshed a shard yet
+        assertEquals(1, usage.size());
+        assertEquals(new ThreadIO(50, 2000), usage.get(merge));
+
+        ShardRefreshMonitor.INSTANCE.recordActivity(101, shardId);
+        threadIO.put(11L, new ThreadIO(0, 1000));
+        List<TaskThread> withNewMerge = new ArrayList<>(threads);
+        withNewMerge.add(new TaskThread(13, 103, MERGE_THREAD));
+        threadIO.put(13L, new ThreadIO(10, 20));
+        usage = collector.update(withNewMerge);
+        assertEquals(2, usage.size());
+        // a thread started after the first run counts from zero
+        assertEquals(new ThreadIO(10, 20), usage.get(merge));
+        assertEquals(
+                new ThreadIO(0, 200),
+                usage.get(
+                        new Attribution(
+                                new ShardKey("test", 1), ShardDiskIOCollector.ACTIVITY_REFRESH)));
+    }
+
+    @Test
+    public void testThreadBudget() {
+        List<TaskThread> threads = new ArrayList<>();
+        for (long tid = 0; tid < 100; tid++) {
+            threads.add(new TaskThread(tid, tid, MERGE_THREAD));
+            threadIO.put(tid, new ThreadIO(0, 0));
+        }
+        collector.update(threads);
+        assertEquals(ShardDiskIOCollector.MAX_THREADS_PER_RUN, readThreads.size());
+        assertFalse(readThreads.contains(99L));
+
+        // the next run continues with the threads left out and wraps around
+        readThreads.clear();
+        collector.update(threads);
+        assertEquals(ShardDiskIOCollector.MAX_THREADS_PER_RUN, readThreads.size());
+        assertTrue(readThreads.contains(99L));
+        assertTrue(readThreads.contains(0L));
+        assertFalse(readThreads.contains(63L));
+    }
+}
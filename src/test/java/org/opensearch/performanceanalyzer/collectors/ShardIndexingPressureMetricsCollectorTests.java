@@ -9,12 +9,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.core.index.Index;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.ShardIndexingPressureTracker;
 import org.opensearch.performanceanalyzer.CustomMetricsLocationTestBase;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.commons.config.overrides.ConfigOverridesWrapper;
@@ -73,4 +78,41 @@ public class ShardIndexingPressureMetricsCollectorTests extends CustomMetricsLoc
             // - expecting exception...1 values passed; 0 expected
         }
     }
+
+    @Test
+    public void testSelectUnderPressure() {
+        Map<Long, Object> hotStore = new HashMap<>();
+        ShardIndexingPressureTracker[] trackers = new ShardIndexingPressureTracker[60];
+        for (int i = 0; i < trackers.length; i++) {
+            trackers[i] =
+                    new ShardIndexingPressureTracker(
+                            new ShardId(new Index("index", "uuid"), i), 100, 150);
+            trackers[i]
+                    .getCoordinatingOperationTracker()
+                    .getStatsTracker()
+                    .incrementCurrentBytes(i);
+            hotStore.put((long) i, trackers[i]);
+        }
+
+        // first run ranks by in-flight bytes only
+        List<ShardIndexingPressureMetricsCollector.PressureSample> selected =
+                shardIndexingPressureMetricsCollector.selectUnderPressure(hotStore);
+        assertEquals(50, selected.size());
+        assertEquals(59, selected.get(0).tracker().getShardId().getId());
+        assertEquals(10, selected.get(49).tracker().getShardId().getId());
+
+        // a shard that starts rejecting moves ahead of shards holding more bytes
+        trackers[0].getReplicaOperationTracker().getRejectionTracker().incrementTotalRejections();
+        trackers[0].getReplicaOperationTracker().getRejectionTracker().incrementTotalRejections();
+        selected = shardIndexingPressureMetricsCollector.selectUnderPressure(hotStore);
+        assertEquals(0, selected.get(0).tracker().getShardId().getId());
+        assertEquals(2, selected.get(0).rejectionDelta());
+        assertEquals(59, selected.get(1).tracker().getShardId().getId());
+
+        // cumulative rejections that did not grow no longer rank the shard
+        selected = shardIndexingPressureMetricsCollector.selectUnderPressure(hotStore);
+        assertEquals(59, selected.get(0).tracker().getShardId().getId());
+        assertTrue(
+                selected.stream().noneMatch(sample -> sample.tracker().getShardId().getId() == 0));
+    }
 }
@@ -23,9 +23,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.routing.IndexRoutingTable;
 import org.opensearch.cluster.routing.RoutingTable;
 import org.opensearch.cluster.service.ClusterService;
@@ -38,12 +41,15 @@ import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
 import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
 import org.opensearch.performanceanalyzer.util.TestUtil;
+import org.opensearch.test.OpenSearchTestCase;
 
 @RunWith(RandomizedRunner.class)
 public class ShardStateCollectorTests {
     private static final String TEST_INDEX = "test";
     private static final int NUMBER_OF_PRIMARY_SHARDS = 1;
     private static final int NUMBER_OF_REPLICAS = 1;
+    private static final String LOCAL_NODE = "node-1";
+    private static final int SAMPLING_INTERVAL = 5000;
 
     private long startTimeInMills = 1153721339;
     private ShardStateCollector shardStateCollector;
@@ -90,7 +96,8 @@ public class ShardStateCollectorTests {
 
         Mockito.when(controller.isCollectorEnabled(configOverrides, "ShardsStateCollector"))
                 .thenReturn(true);
-        Mockito.when(clusterService.state()).thenReturn(generateClusterState());
+        ClusterState state = generateClusterState(true);
+        shardStateCollector.clusterChanged(new ClusterChangedEvent("test", state, state));
         shardStateCollector.collectMetrics(startTimeInMills);
         List<ShardStateCollector.ShardStateMetrics> metrics = readMetrics();
         assertEquals(NUMBER_OF_PRIMARY_SHARDS + NUMBER_OF_REPLICAS, metrics.size());
@@ -98,7 +105,35 @@ public class ShardStateCollectorTests {
         assertEquals(SHARD_REPLICA.toString(), metrics.get(1).getShardType());
     }
 
-    private ClusterState generateClusterState() {
+    @Test
+    public void testEmitsOnChangeAndHeartbeat() {
+        Mockito.when(controller.isCollectorEnabled(configOverrides, "ShardsStateCollector"))
+                .thenReturn(true);
+        ClusterState state = generateClusterState(true);
+        shardStateCollector.clusterChanged(new ClusterChangedEvent("test", state, state));
+        shardStateCollector.collectMetrics(startTimeInMills);
+        assertEquals(1, TestUtil.readEvents().size());
+
+        // nothing changed and the heartbeat is not due
+        shardStateCollector.collectMetrics(startTimeInMills + SAMPLING_INTERVAL);
+        assertEquals(0, TestUtil.readEvents().size());
+
+        shardStateCollector.collectMetrics(
+                startTimeInMills + ShardStateCollector.HEARTBEAT_INTERVAL_MILLIS);
+        assertEquals(1, TestUtil.readEvents().size());
+    }
+
+    @Test
+    public void testNotClusterManager() {
+        Mockito.when(controller.isCollectorEnabled(configOverrides, "ShardsStateCollector"))
+                .thenReturn(true);
+        ClusterState state = generateClusterState(false);
+        shardStateCollector.clusterChanged(new ClusterChangedEvent("test", state, state));
+        shardStateCollector.collectMetrics(startTimeInMills);
+        assertEquals(0, TestUtil.readEvents().size());
+    }
+
+    private ClusterState generateClusterState(boolean localNodeIsClusterManager) {
         Metadata metaData =
                 Metadata.builder()
                         .put(
@@ -116,11 +151,24 @@ public class ShardStateCollectorTests {
                                         .build())
                         .build();
 
+        DiscoveryNodes.Builder nodes =
+                DiscoveryNodes.builder()
+                        .add(
+                                new DiscoveryNode(
+                                        LOCAL_NODE,
+                                        OpenSearchTestCase.buildNewFakeTransportAddress(),
+                                        Version.CURRENT))
+                        .localNodeId(LOCAL_NODE);
+        if (localNodeIsClusterManager) {
+            nodes.clusterManagerNodeId(LOCAL_NODE);
+        }
+
         return ClusterState.builder(
                         org.opensearch.cluster.ClusterName.CLUSTER_NAME_SETTING.getDefault(
                                 Settings.EMPTY))
                 .metadata(metaData)
                 .routingTable(testRoutingTable)
+                .nodes(nodes)
                 .build();
     }
 
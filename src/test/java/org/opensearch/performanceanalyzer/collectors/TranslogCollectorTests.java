@@ -0,0 +1,68 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.config.PluginSettings;
+import org.opensearch.performanceanalyzer.commons.event_process.Event;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.performanceanalyzer.commons.metrics.PerformanceAnalyzerMetrics;
+import org.opensearch.performanceanalyzer.util.TestUtil;
+import org.opensearch.test.OpenSearchSingleNodeTestCase;
+
+public class TranslogCollectorTests extends OpenSearchSingleNodeTestCase {
+    private static final String TEST_INDEX = "test";
+    private TranslogCollector collector;
+    private long startTimeInMills = 1153721339;
+
+    @Before
+    public void init() {
+        IndicesService indicesService = getInstanceFromNode(IndicesService.class);
+        OpenSearchResources.INSTANCE.setIndicesService(indicesService);
+
+        MetricsConfiguration.CONFIG_MAP.put(TranslogCollector.class, MetricsConfiguration.cdefault);
+        collector = new TranslogCollector();
+
+        // clean metricQueue before running every test
+        TestUtil.readEvents();
+    }
+
+    @Test
+    public void testGetMetricsPath() {
+        String expectedPath =
+                PluginSettings.instance().getMetricsLocation()
+                        + PerformanceAnalyzerMetrics.getTimeInterval(startTimeInMills)
+                        + "/"
+                        + TranslogCollector.PATH_TO_STORE_METRICS
+                        + "/test/0";
+        assertEquals(expectedPath, collector.getMetricsPath(startTimeInMills, "test", "0"));
+        expectThrows(
+                RuntimeException.class, () -> collector.getMetricsPath(startTimeInMills, "test"));
+    }
+
+    @Test
+    public void testCollectMetrics() {
+        createIndex(TEST_INDEX);
+        client().prepareIndex(TEST_INDEX).setSource("{\"field\":1}", XContentType.JSON).get();
+
+        collector.collectMetrics(startTimeInMills);
+
+        // one row for the shard and one for the node
+        List<Event> metrics = TestUtil.readEvents();
+        assertEquals(2, metrics.size());
+        for (Event event : metrics) {
+            String[] jsonStrs = event.value.split("\n");
+            assertEquals(2, jsonStrs.length);
+            assertTrue(jsonStrs[1].contains("\"UncommittedOperations\":1"));
+            assertTrue(jsonStrs[1].contains("\"Staleness\":0"));
+        }
+    }
+}
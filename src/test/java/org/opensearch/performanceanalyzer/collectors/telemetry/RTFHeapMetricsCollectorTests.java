@@ -12,12 +12,14 @@ import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.atLeastOnce;
 
 import java.io.IOException;
+import java.util.Collections;
 import org.junit.Before;
 import org.junit.Test;
 import org.opensearch.performanceanalyzer.OpenSearchResources;
 import org.opensearch.performanceanalyzer.collectors.CollectorTestBase;
 import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
 import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.util.GCPauseMonitor;
 import org.opensearch.telemetry.metrics.Histogram;
 import org.opensearch.telemetry.metrics.MetricsRegistry;
 
@@ -83,4 +85,23 @@ public class RTFHeapMetricsCollectorTests extends CollectorTestBase {
         verify(metricsRegistry1, never())
                 .createGauge(anyString(), anyString(), anyString(), any(), any());
     }
+
+    @Test
+    public void testCollectGCPauses() {
+        // the first run subscribes to the GC notifications, the next ones report the pauses
+        rtfHeapMetricsCollector.collectMetrics(System.currentTimeMillis());
+        rtfHeapMetricsCollector
+                .getGcPauseMonitor()
+                .record(
+                        new GCPauseMonitor.GCPause(
+                                "G1 Young Generation",
+                                "end of minor GC",
+                                "G1 Evacuation Pause",
+                                17,
+                                Collections.singletonList(
+                                        new GCPauseMonitor.PoolUsage("G1 Eden Space", 4096, 0))));
+        rtfHeapMetricsCollector.collectMetrics(System.currentTimeMillis());
+        verify(heapUsedHistogram, atLeastOnce()).record(eq(17.0), any());
+        verify(heapUsedHistogram, atLeastOnce()).record(eq(4096.0), any());
+    }
 }
@@ -118,12 +118,12 @@ public class RTFNodeStatsAllShardsMetricsCollectorTests extends OpenSearchSingle
     public void testCollectMetrics() throws IOException {
         createIndex(TEST_INDEX);
         rtfNodeStatsAllShardsMetricsCollector.collectMetrics(startTimeInMills);
-        verify(rtfNodeStatsAllShardsMetricsCollector, never())
-                .populateDiffMetricValue(any(), any(), any());
+        verify(rtfNodeStatsAllShardsMetricsCollector, times(1))
+                .recordMetrics(any(), anyInt(), anyInt(), any());
         startTimeInMills += 500;
         rtfNodeStatsAllShardsMetricsCollector.collectMetrics(startTimeInMills);
-        verify(rtfNodeStatsAllShardsMetricsCollector, times(1))
-                .populateDiffMetricValue(any(), any(), any());
+        verify(rtfNodeStatsAllShardsMetricsCollector, times(2))
+                .recordMetrics(any(), anyInt(), anyInt(), any());
         verify(cacheFieldDataEvictionCounter, never()).add(anyDouble(), any());
         verify(cacheFieldDataSizeCounter, never()).add(anyDouble(), any());
         verify(cacheQueryMissCounter, never()).add(anyDouble(), any());
@@ -0,0 +1,116 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors.telemetry;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.LockInfo;
+import java.lang.management.ThreadInfo;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.collectors.CollectorTestBase;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+
+public class RTFThreadContentionCollectorTests extends CollectorTestBase {
+    private RTFThreadContentionCollector collector;
+    private MetricsRegistry metricsRegistry;
+
+    @Before
+    public void init() {
+        MetricsConfiguration.CONFIG_MAP.put(
+                RTFThreadContentionCollector.class, MetricsConfiguration.cdefault);
+        metricsRegistry = mock(MetricsRegistry.class);
+        when(metricsRegistry.createHistogram(anyString(), anyString(), anyString()))
+                .thenReturn(mock(Histogram.class));
+        OpenSearchResources.INSTANCE.setMetricsRegistry(metricsRegistry);
+        collector = new RTFThreadContentionCollector(mockController, mockWrapper);
+    }
+
+    @Test
+    public void testDisabledWithoutContentionMonitoring() {
+        when(mockController.isThreadContentionMonitoringEnabled()).thenReturn(false);
+        collector.collectMetrics(System.currentTimeMillis());
+        verifyNoInteractions(metricsRegistry);
+    }
+
+    @Test
+    public void testUpdate() {
+        ThreadInfo write = threadInfo(1L, "opensearch[node-1][write][T#1]", 2, 10, 1, 5);
+        ThreadInfo main = threadInfo(2L, "main", 100, 100, 100, 100);
+        // the first sample of a thread only sets its baseline
+        assertEquals(
+                new RTFThreadContentionCollector.PoolContention(0, 0, 0, 0),
+                collector.update(new ThreadInfo[] {write, main}).get("write"));
+
+        write = threadInfo(1L, "opensearch[node-1][write][T#1]", 5, 40, 2, 15);
+        ThreadInfo search = threadInfo(3L, "opensearch[node-1][search][T#1]", 7, 70, 7, 70);
+        Map<String, RTFThreadContentionCollector.PoolContention> contention =
+                collector.update(new ThreadInfo[] {write, search, null});
+        assertEquals(
+                new RTFThreadContentionCollector.PoolContention(3, 30, 1, 10),
+                contention.get("write"));
+        assertEquals(
+                new RTFThreadContentionCollector.PoolContention(0, 0, 0, 0),
+                contention.get("search"));
+        assertEquals(2, contention.size());
+    }
+
+    @Test
+    public void testGetTopLocks() {
+        ThreadInfo[] threadInfos = new ThreadInfo[8];
+        for (int i = 0; i < 6; i++) {
+            threadInfos[i] =
+                    blockedThreadInfo(
+                            "java.lang.Object",
+                            i < 4 ? "opensearch[node-1][write][T#9]" : "main");
+        }
+        threadInfos[6] = blockedThreadInfo("org.opensearch.index.engine.Engine", null);
+        List<RTFThreadContentionCollector.LockContention> locks =
+                RTFThreadContentionCollector.getTopLocks(threadInfos);
+        assertEquals(3, locks.size());
+        assertEquals(
+                new RTFThreadContentionCollector.LockContention("java.lang.Object", "write", 4),
+                locks.get(0));
+        assertEquals(
+                new RTFThreadContentionCollector.LockContention("java.lang.Object", "other", 2),
+                locks.get(1));
+    }
+
+    private static ThreadInfo threadInfo(
+            long id,
+            String name,
+            long blockedCount,
+            long blockedTime,
+            long waitedCount,
+            long waitedTime) {
+        ThreadInfo info = mock(ThreadInfo.class);
+        when(info.getThreadId()).thenReturn(id);
+        when(info.getThreadName()).thenReturn(name);
+        when(info.getThreadState()).thenReturn(Thread.State.RUNNABLE);
+        when(info.getBlockedCount()).thenReturn(blockedCount);
+        when(info.getBlockedTime()).thenReturn(blockedTime);
+        when(info.getWaitedCount()).thenReturn(waitedCount);
+        when(info.getWaitedTime()).thenReturn(waitedTime);
+        return info;
+    }
+
+    private static ThreadInfo blockedThreadInfo(String lockClassName, String ownerName) {
+        ThreadInfo info = mock(ThreadInfo.class);
+        when(info.getThreadState()).thenReturn(Thread.State.BLOCKED);
+        when(info.getLockInfo()).thenReturn(new LockInfo(lockClassName, 1));
+        when(info.getLockOwnerName()).thenReturn(ownerName);
+        return info;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.collectors.telemetry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.collectors.CollectorTestBase;
+import org.opensearch.performanceanalyzer.commons.metrics.MetricsConfiguration;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+
+public class RTFThreadPoolResourceCollectorTests extends CollectorTestBase {
+    private RTFThreadPoolResourceCollector collector;
+
+    @Before
+    public void init() {
+        MetricsConfiguration.CONFIG_MAP.put(
+                RTFThreadPoolResourceCollector.class, MetricsConfiguration.cdefault);
+        MetricsRegistry metricsRegistry = mock(MetricsRegistry.class);
+        when(metricsRegistry.createHistogram(anyString(), anyString(), anyString()))
+                .thenReturn(mock(Histogram.class));
+        OpenSearchResources.INSTANCE.setMetricsRegistry(metricsRegistry);
+        collector = new RTFThreadPoolResourceCollector(mockController, mockWrapper);
+    }
+
+    @Test
+    public void testUpdate() {
+        collector.trackThread(1L, "opensearch[node-1][write][T#1]");
+        collector.trackThread(2L, "opensearch[node-1][write][T#2]");
+        collector.trackThread(3L, "opensearch[node-1][search][T#1]");
+        collector.trackThread(4L, "main");
+        long[] threadIds = {1L, 2L, 3L, 4L};
+        assertTrue(
+                collector
+                        .update(threadIds, new long[] {0, 0, 0, 0}, new long[] {0, 0, 0, 0}, -1)
+                        .isEmpty());
+
+        long second = TimeUnit.SECONDS.toNanos(1);
+        Map<String, RTFThreadPoolResourceCollector.PoolUsage> usage =
+                collector.update(
+                        threadIds,
+                        new long[] {second, second / 2, second / 4, second},
+                        new long[] {100, 200, 50, 1000},
+                        second);
+        assertEquals(2, usage.size());
+        assertEquals(1.5, usage.get("write").cpuCores(), 0.0001);
+        assertEquals(300, usage.get("write").allocationRate(), 0.0001);
+        assertEquals(0.25, usage.get("search").cpuCores(), 0.0001);
+
+        // thread 2 terminated, a new write thread only counts from its second sample
+        collector.trackThread(5L, "opensearch[node-1][write][T#3]");
+        usage =
+                collector.update(
+                        new long[] {1L, 3L, 5L},
+                        new long[] {2 * second, second / 4, second},
+                        null,
+                        second);
+        assertEquals(1.0, usage.get("write").cpuCores(), 0.0001);
+        assertEquals(0, usage.get("write").allocationRate(), 0.0001);
+        assertEquals(0, usage.get("search").cpuCores(), 0.0001);
+    }
+
+    @Test
+    public void testCollectMetrics() {
+        // the test JVM runs no pool threads, this checks the bulk reads on the real ThreadMXBean
+        collector.collectMetrics(System.currentTimeMillis());
+        collector.collectMetrics(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.http_action.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.indices.breaker.BreakerSettings;
+import org.opensearch.indices.breaker.HierarchyCircuitBreakerService;
+import org.opensearch.performanceanalyzer.util.RequestCacheSimulator;
+import org.opensearch.rest.RestController;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.test.rest.FakeRestChannel;
+import org.opensearch.test.rest.FakeRestRequest;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.node.NodeClient;
+import org.opensearch.usage.UsageService;
+
+public class RequestCacheSimulatorActionTests {
+    private RestController restController;
+    private ThreadPool threadPool;
+    private RequestCacheSimulator simulator;
+    private RequestCacheSimulatorAction action;
+
+    @Before
+    public void init() {
+        ClusterSettings clusterSettings =
+                new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        HierarchyCircuitBreakerService circuitBreakerService =
+                new HierarchyCircuitBreakerService(
+                        Settings.EMPTY, new ArrayList<BreakerSettings>(), clusterSettings);
+        threadPool = new TestThreadPool("test");
+        NodeClient nodeClient = new NodeClient(Settings.EMPTY, threadPool);
+        restController =
+                new RestController(
+                        Collections.emptySet(),
+                        null,
+                        nodeClient,
+                        circuitBreakerService,
+                        new UsageService());
+        simulator = new RequestCacheSimulator(1.0, new long[] {10});
+        action = new RequestCacheSimulatorAction(simulator);
+        restController.registerHandler(action);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testRoutes() {
+        assertEquals(2, action.routes().size());
+    }
+
+    @Test
+    public void testGetDoesNotReset() {
+        simulator.onLookup(1);
+        String response =
+                dispatch(RestRequest.Method.GET, RequestCacheSimulatorAction.MISS_RATIO_CURVE_PATH);
+        assertTrue(response, response.contains("\"sampledLookups\":1"));
+        assertEquals(1, simulator.getMissRatioCurve().sampledLookups());
+    }
+
+    @Test
+    public void testPostResets() {
+        simulator.onLookup(1);
+        String response = dispatch(RestRequest.Method.POST, RequestCacheSimulatorAction.RESET_PATH);
+        // the curve collected before the reset is returned
+        assertTrue(response, response.contains("\"sampledLookups\":1"));
+        assertEquals(0, simulator.getMissRatioCurve().sampledLookups());
+    }
+
+    private String dispatch(RestRequest.Method method, String path) {
+        FakeRestRequest request =
+                new FakeRestRequest.Builder(NamedXContentRegistry.EMPTY)
+                        .withMethod(method)
+                        .withPath(path)
+                        .build();
+        FakeRestChannel channel = new FakeRestChannel(request, true, 1);
+        restController.dispatchRequest(request, channel, new ThreadContext(Settings.EMPTY));
+        assertEquals(RestStatus.OK, channel.capturedResponse().status());
+        return channel.capturedResponse().content().utf8ToString();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.performanceanalyzer.commons.metrics.RTFMetrics;
+import org.opensearch.performanceanalyzer.commons.util.Util;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+public class RTFPerformanceAnalyzerIndexingListenerTests {
+    private static final String OPERATION = RTFMetrics.CommonDimension.OPERATION.toString();
+    private static final String FAILED = RTFMetrics.CommonDimension.FAILED.toString();
+    private final ShardId shardId = new ShardId("test", "uuid", 0);
+
+    private RTFPerformanceAnalyzerIndexingListener indexingListener;
+
+    @Mock private PerformanceAnalyzerController controller;
+    @Mock private MetricsRegistry metricsRegistry;
+    @Mock private Histogram documentLatencyHistogram;
+    @Mock private Engine.Index index;
+    @Mock private Engine.IndexResult indexResult;
+    @Mock private Engine.Delete delete;
+
+    @Before
+    public void init() {
+        initMocks(this);
+        OpenSearchResources.INSTANCE.setMetricsRegistry(metricsRegistry);
+        Mockito.when(controller.isPerformanceAnalyzerEnabled()).thenReturn(true);
+        Mockito.when(controller.getCollectorsRunModeValue())
+                .thenReturn(Util.CollectorMode.TELEMETRY.getValue());
+        Mockito.when(
+                        metricsRegistry.createHistogram(
+                                Mockito.eq(RTFPerformanceAnalyzerIndexingListener.DOCUMENT_LATENCY),
+                                Mockito.anyString(),
+                                Mockito.anyString()))
+                .thenReturn(documentLatencyHistogram);
+        Mockito.when(index.origin()).thenReturn(Engine.Operation.Origin.PRIMARY);
+        Mockito.when(delete.origin()).thenReturn(Engine.Operation.Origin.REPLICA);
+        Mockito.when(indexResult.getResultType()).thenReturn(Engine.Result.Type.SUCCESS);
+        Mockito.when(indexResult.getTook()).thenReturn(TimeUnit.MILLISECONDS.toNanos(3));
+        indexingListener = new RTFPerformanceAnalyzerIndexingListener(controller);
+    }
+
+    @Test
+    public void testIndexingListenerEnabled() {
+        assertTrue(indexingListener.isIndexingListenerEnabled());
+        Mockito.when(controller.getCollectorsRunModeValue())
+                .thenReturn(Util.CollectorMode.RCA.getValue());
+        assertFalse(indexingListener.isIndexingListenerEnabled());
+
+        indexingListener.postIndex(shardId, index, indexResult);
+        Mockito.verify(documentLatencyHistogram, Mockito.never())
+                .record(Mockito.anyDouble(), Mockito.any(Tags.class));
+    }
+
+    @Test
+    public void testPostIndex() {
+        indexingListener.postIndex(shardId, index, indexResult);
+        indexingListener.postIndex(shardId, index, indexResult);
+
+        ArgumentCaptor<Tags> tags = ArgumentCaptor.forClass(Tags.class);
+        Mockito.verify(documentLatencyHistogram, Mockito.times(2))
+                .record(Mockito.eq(3.0), tags.capture());
+        // the tags of a shard are built once
+        assertSame(tags.getAllValues().get(0), tags.getAllValues().get(1));
+        assertEquals(
+                RTFPerformanceAnalyzerIndexingListener.OPERATION_INDEX,
+                tags.getValue().getTagsMap().get(OPERATION));
+        assertEquals(false, tags.getValue().getTagsMap().get(FAILED));
+    }
+
+    @Test
+    public void testFailedOperations() {
+        Mockito.when(indexResult.getResultType()).thenReturn(Engine.Result.Type.FAILURE);
+        indexingListener.postIndex(shardId, index, indexResult);
+        Mockito.when(delete.startTime()).thenReturn(System.nanoTime());
+        indexingListener.postDelete(shardId, delete, new RuntimeException());
+
+        ArgumentCaptor<Tags> tags = ArgumentCaptor.forClass(Tags.class);
+        Mockito.verify(documentLatencyHistogram, Mockito.times(2))
+                .record(Mockito.anyDouble(), tags.capture());
+        for (Tags value : tags.getAllValues()) {
+            assertEquals(true, value.getTagsMap().get(FAILED));
+        }
+        assertEquals(
+                RTFPerformanceAnalyzerIndexingListener.OPERATION_DELETE,
+                tags.getValue().getTagsMap().get(OPERATION));
+    }
+
+    @Test
+    public void testSkipsRecoveryAndMappingUpdates() {
+        Mockito.when(index.origin()).thenReturn(Engine.Operation.Origin.PEER_RECOVERY);
+        indexingListener.postIndex(shardId, index, indexResult);
+
+        Mockito.when(index.origin()).thenReturn(Engine.Operation.Origin.PRIMARY);
+        Mockito.when(indexResult.getResultType())
+                .thenReturn(Engine.Result.Type.MAPPING_UPDATE_REQUIRED);
+        indexingListener.postIndex(shardId, index, indexResult);
+
+        Mockito.verify(documentLatencyHistogram, Mockito.never())
+                .record(Mockito.anyDouble(), Mockito.any(Tags.class));
+    }
+}
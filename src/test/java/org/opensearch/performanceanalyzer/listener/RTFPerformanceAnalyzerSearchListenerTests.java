@@ -166,6 +166,24 @@ public class RTFPerformanceAnalyzerSearchListenerTests {
         Mockito.verify(task).addResourceTrackingCompletionListener(Mockito.any());
     }
 
+    @Test
+    public void testSearchPhaseStateIgnoresOtherTasks() {
+        initializeValidSearchContext(true);
+        RTFPerformanceAnalyzerSearchListener.SearchPhaseState state =
+                new RTFPerformanceAnalyzerSearchListener.SearchPhaseState();
+        Mockito.when(task.getId()).thenReturn(7L);
+        assertEquals(42L, state.queryStartTime(searchContext, 42L));
+        assertEquals(42L, state.fetchStartTime(searchContext, 42L));
+
+        state.queryTaskId = 7L;
+        state.queryStartTime = 100L;
+        state.fetchTaskId = 8L;
+        state.fetchStartTime = 200L;
+        assertEquals(100L, state.queryStartTime(searchContext, 42L));
+        // fetch start was recorded for a different task, e.g. a phase completing on another thread
+        assertEquals(42L, state.fetchStartTime(searchContext, 42L));
+    }
+
     @Test
     public void testOperationShareFactor() {
         assertEquals(Double.valueOf(10.0 / 15), Utils.computeShareFactor(10, 15), 0);
@@ -0,0 +1,61 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.performanceanalyzer.config.PerformanceAnalyzerController;
+import org.opensearch.performanceanalyzer.util.RequestCacheSimulator;
+import org.opensearch.search.internal.SearchContext;
+import org.opensearch.search.internal.ShardSearchRequest;
+
+public class RequestCacheSimulatorListenerTests {
+    private RequestCacheSimulator simulator;
+    private RequestCacheSimulatorListener listener;
+
+    @Mock private PerformanceAnalyzerController controller;
+    @Mock private SearchContext searchContext;
+    @Mock private ShardSearchRequest request;
+
+    @Before
+    public void init() {
+        initMocks(this);
+        simulator = new RequestCacheSimulator(1.0, new long[] {10});
+        listener = new RequestCacheSimulatorListener(controller, simulator);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(simulator.isEnabled());
+        listener.onPreQueryPhase(searchContext);
+        verifyZeroInteractions(controller, searchContext);
+        assertEquals(0, simulator.getMissRatioCurve().sampledLookups());
+    }
+
+    @Test
+    public void testGetFingerprint() throws IOException {
+        Object readerKey = new Object();
+        when(request.cacheKey()).thenReturn(new BytesArray(new byte[] {1, 2, 3}));
+        long fingerprint = RequestCacheSimulatorListener.getFingerprint(request, readerKey);
+        // equal key bytes give equal fingerprints, whatever instance carries them
+        when(request.cacheKey()).thenReturn(new BytesArray(new byte[] {1, 2, 3}));
+        assertEquals(fingerprint, RequestCacheSimulatorListener.getFingerprint(request, readerKey));
+
+        when(request.cacheKey()).thenReturn(new BytesArray(new byte[] {1, 2, 4}));
+        assertNotEquals(
+                fingerprint, RequestCacheSimulatorListener.getFingerprint(request, readerKey));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class AccessorRegistryTests {
+
+    private static final class Target {
+        private static final String NAME = "target";
+        private final List<String> items = new ArrayList<>();
+
+        private long size(String prefix) {
+            return items.stream().filter(item -> item.startsWith(prefix)).count();
+        }
+
+        private static String describe(int count) {
+            return NAME + ":" + count;
+        }
+
+        private static String join(String first, String second) {
+            return first + second;
+        }
+
+        private void explode() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @Test
+    public void testFieldAccessor() throws Exception {
+        Target target = new Target();
+        target.items.add("a");
+        AccessorRegistry.FieldAccessor<List> items =
+                AccessorRegistry.INSTANCE.field(Target.class, "items", List.class);
+        assertTrue(items.isAvailable());
+        assertEquals(1, items.get(target).size());
+
+        AccessorRegistry.FieldAccessor<String> name =
+                AccessorRegistry.INSTANCE.field(Target.class, "NAME", String.class);
+        assertEquals("target", name.getStatic());
+    }
+
+    @Test
+    public void testMethodAccessor() throws Exception {
+        Target target = new Target();
+        target.items.add("ab");
+        target.items.add("b");
+        AccessorRegistry.MethodAccessor<Long> size =
+                AccessorRegistry.INSTANCE.method(Target.class, "size", Long.class, String.class);
+        assertEquals(Long.valueOf(1), size.invoke(target, "a"));
+
+        AccessorRegistry.MethodAccessor<String> describe =
+                AccessorRegistry.INSTANCE.method(
+                        Target.class, "describe", String.class, int.class);
+        assertEquals("target:3", describe.invokeStatic(3));
+
+        AccessorRegistry.MethodAccessor<String> join =
+                AccessorRegistry.INSTANCE.method(
+                        Target.class, "join", String.class, String.class, String.class);
+        assertEquals("ab", join.invokeStatic("a", "b"));
+
+        AccessorRegistry.MethodAccessor<Object> failing =
+                AccessorRegistry.INSTANCE.method(Target.class, "explode", Object.class);
+        try {
+            failing.invoke(target);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testSameMemberReturnsSameAccessor() {
+        AccessorRegistry.FieldAccessor<List> items =
+                AccessorRegistry.INSTANCE.field(Target.class, "items", List.class);
+        AccessorRegistry.MethodAccessor<Long> size =
+                AccessorRegistry.INSTANCE.method(Target.class, "size", Long.class, String.class);
+        int accessors = AccessorRegistry.INSTANCE.getCapabilityReport().size();
+
+        assertSame(items, AccessorRegistry.INSTANCE.field(Target.class, "items", List.class));
+        assertSame(
+                size,
+                AccessorRegistry.INSTANCE.method(Target.class, "size", Long.class, String.class));
+        assertEquals(accessors, AccessorRegistry.INSTANCE.getCapabilityReport().size());
+    }
+
+    @Test
+    public void testUnavailableAccessor() {
+        AccessorRegistry.FieldAccessor<Object> missing =
+                AccessorRegistry.INSTANCE.field(Target.class, "missing", Object.class);
+        AccessorRegistry.FieldAccessor<Object> missingClass =
+                AccessorRegistry.INSTANCE.field("org.opensearch.Missing", "field", Object.class);
+        assertFalse(missing.isAvailable());
+        assertFalse(missingClass.isAvailable());
+        try {
+            missing.get(new Target());
+            fail();
+        } catch (ReflectiveOperationException e) {
+            assertTrue(e.getCause() instanceof NoSuchFieldException);
+        }
+
+        List<String> report = AccessorRegistry.INSTANCE.getCapabilityReport();
+        assertTrue(report.stream().anyMatch(line -> line.contains("#missing unavailable")));
+        assertTrue(
+                report.stream().anyMatch(line -> line.startsWith("org.opensearch.Missing#field")));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Test;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.telemetry.metrics.Counter;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+public class CollectorStatMetricsTests {
+    private final CollectorStatMetrics stats =
+            CollectorStatMetrics.RTF_THREADPOOL_RESOURCE_COLLECTOR;
+
+    @After
+    public void tearDown() {
+        OpenSearchResources.INSTANCE.setMetricsRegistry(null);
+    }
+
+    @Test
+    public void testMeasureWithoutRegistry() {
+        AtomicBoolean ran = new AtomicBoolean();
+        stats.measure(() -> ran.set(true));
+        assertTrue(ran.get());
+
+        IllegalStateException failure = new IllegalStateException("failed");
+        try {
+            stats.measure(
+                    () -> {
+                        throw failure;
+                    });
+            fail();
+        } catch (IllegalStateException e) {
+            // left to the base class of the collector
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void testMeasureRecordsTelemetry() {
+        MetricsRegistry registry = mock(MetricsRegistry.class);
+        Histogram histogram = mock(Histogram.class);
+        Counter counter = mock(Counter.class);
+        when(registry.createHistogram(
+                        eq(CollectorStatMetrics.COLLECTOR_EXECUTION_TIME),
+                        anyString(),
+                        anyString()))
+                .thenReturn(histogram);
+        when(registry.createCounter(
+                        eq(CollectorStatMetrics.COLLECTOR_ERRORS), anyString(), anyString()))
+                .thenReturn(counter);
+        OpenSearchResources.INSTANCE.setMetricsRegistry(registry);
+
+        stats.measure(() -> {});
+        try {
+            stats.measure(
+                    () -> {
+                        throw new IllegalStateException("failed");
+                    });
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        verify(histogram, times(2)).record(anyDouble(), any(Tags.class));
+        verify(counter).add(anyDouble(), any(Tags.class));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import org.junit.Test;
+
+public class GCPauseMonitorTests {
+
+    @Test
+    public void testDrain() {
+        GCPauseMonitor monitor = new GCPauseMonitor();
+        monitor.record(pause("G1 Young Generation", 12));
+        monitor.record(pause("G1 Young Generation", 30));
+        monitor.record(pause("G1 Old Generation", 250));
+
+        GCPauseMonitor.Interval interval = monitor.drain();
+        assertEquals(3, interval.pauses().size());
+        assertEquals(
+                new GCPauseMonitor.PauseSummary(2, 42, 30),
+                interval.summaries().get("G1 Young Generation"));
+        assertEquals(
+                new GCPauseMonitor.PauseSummary(1, 250, 250),
+                interval.summaries().get("G1 Old Generation"));
+
+        interval = monitor.drain();
+        assertTrue(interval.pauses().isEmpty());
+        assertTrue(interval.summaries().isEmpty());
+    }
+
+    @Test
+    public void testPendingPausesCapped() {
+        GCPauseMonitor monitor = new GCPauseMonitor();
+        for (int i = 0; i < GCPauseMonitor.MAX_PENDING_PAUSES + 5; i++) {
+            monitor.record(pause("G1 Young Generation", 1));
+        }
+        GCPauseMonitor.Interval interval = monitor.drain();
+        assertEquals(GCPauseMonitor.MAX_PENDING_PAUSES, interval.pauses().size());
+        assertEquals(
+                GCPauseMonitor.MAX_PENDING_PAUSES + 5,
+                interval.summaries().get("G1 Young Generation").count());
+    }
+
+    @Test
+    public void testStartReportsIdleCollectors() {
+        GCPauseMonitor monitor = new GCPauseMonitor();
+        monitor.start();
+        try {
+            assertTrue(monitor.isStarted());
+            GCPauseMonitor.Interval interval = monitor.drain();
+            assertFalse(interval.summaries().isEmpty());
+        } finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isStarted());
+    }
+
+    private static GCPauseMonitor.GCPause pause(String gcName, long durationMillis) {
+        return new GCPauseMonitor.GCPause(
+                gcName,
+                "end of minor GC",
+                "G1 Evacuation Pause",
+                durationMillis,
+                Collections.singletonList(new GCPauseMonitor.PoolUsage("G1 Eden Space", 1024, 0)));
+    }
+}
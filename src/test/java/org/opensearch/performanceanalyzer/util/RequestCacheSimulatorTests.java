@@ -0,0 +1,67 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class RequestCacheSimulatorTests {
+
+    @Test
+    public void testMissRatioCurve() {
+        RequestCacheSimulator simulator = new RequestCacheSimulator(1.0, new long[] {10, 100});
+        // ten rounds over 50 keys: LRU of 10 entries never hits, 100 entries hit after round one
+        for (int round = 0; round < 10; round++) {
+            for (long key = 0; key < 50; key++) {
+                simulator.onLookup(key);
+            }
+        }
+        RequestCacheSimulator.MissRatioCurve curve = simulator.getMissRatioCurve();
+        assertEquals(500, curve.sampledLookups());
+        List<RequestCacheSimulator.Point> points = curve.points();
+        assertEquals(new RequestCacheSimulator.Point(10, 0.0), points.get(0));
+        assertEquals(new RequestCacheSimulator.Point(100, 0.9), points.get(1));
+
+        simulator.reset();
+        assertEquals(0, simulator.getMissRatioCurve().sampledLookups());
+        assertEquals(0.0, simulator.getMissRatioCurve().points().get(1).hitRatio(), 0.0);
+    }
+
+    @Test
+    public void testSetState() {
+        RequestCacheSimulator simulator = new RequestCacheSimulator(1.0, new long[] {10});
+        assertFalse(simulator.isEnabled());
+        simulator.setState(1);
+        simulator.onLookup(1);
+        // staying enabled keeps the estimation, enabling again after a pause starts a new one
+        simulator.setState(1);
+        assertEquals(1, simulator.getMissRatioCurve().sampledLookups());
+        simulator.setState(0);
+        assertFalse(simulator.isEnabled());
+        simulator.setState(1);
+        assertTrue(simulator.isEnabled());
+        assertEquals(0, simulator.getMissRatioCurve().sampledLookups());
+    }
+
+    @Test
+    public void testSpatialSampling() {
+        RequestCacheSimulator simulator = new RequestCacheSimulator(0.1, new long[] {1_000_000});
+        for (long key = 0; key < 100_000; key++) {
+            simulator.onLookup(key);
+            simulator.onLookup(key);
+        }
+        RequestCacheSimulator.MissRatioCurve curve = simulator.getMissRatioCurve();
+        // both lookups of a key are sampled or neither is
+        assertEquals(0, curve.sampledLookups() % 2);
+        assertEquals(0.5, curve.points().get(0).hitRatio(), 0.0);
+        double rate = curve.sampledLookups() / 200_000.0;
+        assertTrue("sampling rate " + rate, Math.abs(rate - 0.1) < 0.01);
+    }
+}
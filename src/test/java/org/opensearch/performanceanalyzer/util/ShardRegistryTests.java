@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+import org.opensearch.core.index.Index;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.shard.IndexShard;
+
+public class ShardRegistryTests {
+    private final Index index = new Index("test", "uuid");
+    private final List<ShardId> removed = new ArrayList<>();
+    private final ShardRegistry.ShardRemovalListener listener =
+            (shardId, ordinal) -> removed.add(shardId);
+
+    @After
+    public void tearDown() {
+        ShardRegistry.INSTANCE.removeRemovalListener(listener);
+        for (int i = 0; i < 3; i++) {
+            ShardRegistry.INSTANCE.unregister(new ShardId(index, i));
+        }
+    }
+
+    @Test
+    public void testOrdinalsAreDenseAndReused() {
+        ShardRegistry.INSTANCE.addRemovalListener(listener);
+        IndexShard shard0 = mockShard(0);
+        IndexShard shard1 = mockShard(1);
+        ShardRegistry.INSTANCE.afterIndexShardCreated(shard0);
+        ShardRegistry.INSTANCE.afterIndexShardCreated(shard1);
+        int ordinal0 = ShardRegistry.INSTANCE.getOrdinal(shard0.shardId());
+        int ordinal1 = ShardRegistry.INSTANCE.getOrdinal(shard1.shardId());
+        assertEquals(1, Math.abs(ordinal1 - ordinal0));
+
+        // registering the same shard again keeps its ordinal
+        ShardRegistry.INSTANCE.shardRoutingChanged(shard0, null, null);
+        assertEquals(ordinal0, ShardRegistry.INSTANCE.getOrdinal(shard0.shardId()));
+
+        ShardRegistry.INSTANCE.afterIndexShardClosed(shard0.shardId(), shard0, null);
+        assertEquals(-1, ShardRegistry.INSTANCE.getOrdinal(shard0.shardId()));
+        assertEquals(List.of(shard0.shardId()), removed);
+
+        IndexShard shard2 = mockShard(2);
+        ShardRegistry.INSTANCE.afterIndexShardCreated(shard2);
+        assertEquals(ordinal0, ShardRegistry.INSTANCE.getOrdinal(shard2.shardId()));
+    }
+
+    @Test
+    public void testIndexRemovalDropsAllShards() {
+        ShardRegistry.INSTANCE.addRemovalListener(listener);
+        ShardRegistry.INSTANCE.afterIndexShardCreated(mockShard(0));
+        ShardRegistry.INSTANCE.afterIndexShardCreated(mockShard(1));
+        ShardRegistry.INSTANCE.afterIndexRemoved(index, null, null);
+        assertEquals(2, removed.size());
+        assertEquals(-1, ShardRegistry.INSTANCE.getOrdinal(new ShardId(index, 0)));
+        assertEquals(-1, ShardRegistry.INSTANCE.getOrdinal(new ShardId(index, 1)));
+    }
+
+    @Test
+    public void testRemoveRemovalListener() {
+        int registered = ShardRegistry.INSTANCE.getRemovalListenerCount();
+        ShardRegistry.INSTANCE.addRemovalListener(listener);
+        assertEquals(registered + 1, ShardRegistry.INSTANCE.getRemovalListenerCount());
+        ShardRegistry.INSTANCE.removeRemovalListener(listener);
+        assertEquals(registered, ShardRegistry.INSTANCE.getRemovalListenerCount());
+
+        ShardRegistry.INSTANCE.afterIndexShardCreated(mockShard(0));
+        ShardRegistry.INSTANCE.afterIndexShardClosed(new ShardId(index, 0), null, null);
+        assertEquals(List.of(), removed);
+    }
+
+    private IndexShard mockShard(int id) {
+        IndexShard shard = mock(IndexShard.class);
+        when(shard.shardId()).thenReturn(new ShardId(index, id));
+        return shard;
+    }
+}
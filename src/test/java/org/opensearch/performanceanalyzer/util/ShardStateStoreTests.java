@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opensearch.core.index.Index;
+import org.opensearch.core.index.shard.ShardId;
+
+public class ShardStateStoreTests {
+    private final Index index = new Index("test", "uuid");
+    private final ShardId shard0 = new ShardId(index, 0);
+    private final ShardId shard1 = new ShardId(index, 1);
+
+    @Test
+    public void testDelta() {
+        ShardStateStore store = new ShardStateStore(2);
+        assertFalse(store.hasPrevious(0, shard0));
+        store.claim(0, shard0);
+        assertEquals(10, store.delta(0, 0, 10));
+        assertEquals(3, store.delta(0, 1, 3));
+
+        assertTrue(store.hasPrevious(0, shard0));
+        store.claim(0, shard0);
+        assertEquals(5, store.delta(0, 0, 15));
+        assertEquals(0, store.delta(0, 1, 3));
+    }
+
+    @Test
+    public void testCounterReset() {
+        ShardStateStore store = new ShardStateStore(1);
+        store.claim(0, shard0);
+        store.delta(0, 0, 100);
+        // the counter went backwards, everything since the reset is reported
+        assertEquals(7, store.delta(0, 0, 7));
+        assertEquals(3, store.delta(0, 0, 10));
+    }
+
+    @Test
+    public void testReusedOrdinalStartsEmpty() {
+        ShardStateStore store = new ShardStateStore(1);
+        store.claim(0, shard0);
+        store.delta(0, 0, 100);
+        store.onShardRemoved(shard0, 0);
+        assertFalse(store.hasPrevious(0, shard0));
+
+        store.claim(0, shard1);
+        assertEquals(40, store.delta(0, 0, 40));
+    }
+
+    @Test
+    public void testLateRemovalKeepsNewOwner() {
+        ShardStateStore store = new ShardStateStore(1);
+        store.claim(0, shard1);
+        store.delta(0, 0, 40);
+        // queued for a shard that held the ordinal before shard1 claimed it
+        store.onShardRemoved(shard0, 0);
+        assertTrue(store.hasPrevious(0, shard1));
+        assertEquals(10, store.delta(0, 0, 50));
+    }
+
+    @Test
+    public void testGrowsWithOrdinals() {
+        ShardStateStore store = new ShardStateStore(3);
+        long initialBytes = store.getRetainedBytes();
+        store.claim(1000, shard1);
+        assertEquals(9, store.delta(1000, 2, 9));
+        assertTrue(store.getRetainedBytes() > initialBytes);
+    }
+}
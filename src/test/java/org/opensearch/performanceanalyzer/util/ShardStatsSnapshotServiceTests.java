@@ -0,0 +1,175 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.test.OpenSearchSingleNodeTestCase;
+
+public class ShardStatsSnapshotServiceTests extends OpenSearchSingleNodeTestCase {
+    private static final String TEST_INDEX = "test";
+    private long startTimeInMills = 1153721339;
+
+    @Before
+    public void init() {
+        IndicesService indicesService = getInstanceFromNode(IndicesService.class);
+        OpenSearchResources.INSTANCE.setIndicesService(indicesService);
+        ShardStatsSnapshotService.INSTANCE.reset();
+        ShardStatsSnapshotService.INSTANCE.register(
+                EnumSet.of(ShardStatsField.INDEXING_INDEX_COUNT, ShardStatsField.QUERY_CACHE_HIT));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ShardStatsSnapshotService.INSTANCE.reset();
+        super.tearDown();
+    }
+
+    @Test
+    public void testSnapshotIsSharedWithinTick() {
+        createIndex(TEST_INDEX);
+        ShardStatsSnapshot snapshot =
+                ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills);
+        assertEquals(1, snapshot.size());
+        assertEquals(TEST_INDEX, snapshot.getShardId(0).getIndexName());
+        assertSame(snapshot, ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills));
+        assertNotSame(
+                snapshot, ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills + 5000));
+    }
+
+    @Test
+    public void testSnapshotReadsRegisteredFields() {
+        createIndex(TEST_INDEX);
+        assertEquals(
+                0,
+                ShardStatsSnapshotService.INSTANCE
+                        .getSnapshot(startTimeInMills)
+                        .get(0, ShardStatsField.INDEXING_INDEX_COUNT));
+
+        client().prepareIndex(TEST_INDEX)
+                .setId("1")
+                .setSource("{\"field\":\"value1\"}", XContentType.JSON)
+                .get();
+
+        startTimeInMills += 5000;
+        assertEquals(
+                1,
+                ShardStatsSnapshotService.INSTANCE
+                        .getSnapshot(startTimeInMills)
+                        .get(0, ShardStatsField.INDEXING_INDEX_COUNT));
+    }
+
+    @Test
+    public void testParallelSnapshotReadsEveryShard() {
+        createIndex(
+                TEST_INDEX,
+                Settings.builder()
+                        .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 4)
+                        .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+                        .build());
+        ShardStatsSnapshotService.INSTANCE.setCollectionThreads(3);
+        ShardStatsSnapshot snapshot =
+                ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills);
+        assertEquals(4, snapshot.size());
+        assertEquals(1.0, snapshot.getCoverage(), 0);
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(0, snapshot.getStaleness(i));
+        }
+
+        // closing stops the workers, a later tick starts a new pool
+        ShardStatsSnapshotService.INSTANCE.close();
+        snapshot = ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills + 5000);
+        assertEquals(4, snapshot.size());
+        assertEquals(1.0, snapshot.getCoverage(), 0);
+    }
+
+    @Test
+    public void testBudgetLimitsShardsReadPerTick() {
+        createFourShardIndex();
+        // every look at the clock takes a millisecond, so a 3 ms budget reads two shards
+        useBudgetOfTwoReads();
+        ShardStatsSnapshot snapshot =
+                ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills);
+        // shards never read are left out of the snapshot
+        assertEquals(2, snapshot.size());
+        assertEquals(0.5, snapshot.getCoverage(), 0);
+    }
+
+    @Test
+    public void testRoundRobinCarriesOverBetweenTicks() {
+        createFourShardIndex();
+        useBudgetOfTwoReads();
+        Set<ShardId> first =
+                freshShards(ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills));
+        assertEquals(2, first.size());
+
+        // the next tick starts with the shards the previous one did not reach
+        ShardStatsSnapshot snapshot =
+                ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills + 5000);
+        assertEquals(4, snapshot.size());
+        assertEquals(0.5, snapshot.getCoverage(), 0);
+        Set<ShardId> second = freshShards(snapshot);
+        assertEquals(2, second.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (first.contains(snapshot.getShardId(i))) {
+                assertEquals(5000, snapshot.getStaleness(i));
+                assertFalse(second.contains(snapshot.getShardId(i)));
+            }
+        }
+
+        // and then wraps around
+        assertEquals(
+                first,
+                freshShards(
+                        ShardStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills + 10000)));
+    }
+
+    @Test
+    public void testStalenessPercentile() {
+        long[] sorted = {0, 0, 0, 0, 0, 0, 0, 0, 5000, 10000};
+        assertEquals(0, ShardStatsSnapshotService.percentile(sorted, 50));
+        assertEquals(5000, ShardStatsSnapshotService.percentile(sorted, 90));
+        assertEquals(10000, ShardStatsSnapshotService.percentile(sorted, 99));
+    }
+
+    private void createFourShardIndex() {
+        createIndex(
+                TEST_INDEX,
+                Settings.builder()
+                        .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 4)
+                        .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+                        .build());
+    }
+
+    private static void useBudgetOfTwoReads() {
+        AtomicLong nanos = new AtomicLong();
+        ShardStatsSnapshotService.INSTANCE.setNanoClock(
+                () -> nanos.getAndAdd(TimeUnit.MILLISECONDS.toNanos(1)));
+        ShardStatsSnapshotService.INSTANCE.setCollectionBudgetMillis(3);
+    }
+
+    private static Set<ShardId> freshShards(ShardStatsSnapshot snapshot) {
+        Set<ShardId> fresh = new HashSet<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.getStaleness(i) == 0) {
+                fresh.add(snapshot.getShardId(i));
+            }
+        }
+        return fresh;
+    }
+}
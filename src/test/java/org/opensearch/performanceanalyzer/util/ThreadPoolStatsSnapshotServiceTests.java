@@ -0,0 +1,112 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.performanceanalyzer.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.opensearch.common.util.concurrent.SizeBlockingQueue;
+import org.opensearch.performanceanalyzer.OpenSearchResources;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.threadpool.ThreadPoolStats;
+
+public class ThreadPoolStatsSnapshotServiceTests {
+
+    @Mock private ThreadPool mockThreadPool;
+
+    @Before
+    public void init() {
+        initMocks(this);
+        OpenSearchResources.INSTANCE.setThreadPool(mockThreadPool);
+    }
+
+    @Test
+    public void testSharedSnapshot() {
+        long startTimeInMills = 1153721339;
+        Mockito.when(mockThreadPool.stats()).thenReturn(generateThreadPoolStat(2));
+        ThreadPoolStatsSnapshot snapshot =
+                ThreadPoolStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills);
+        assertEquals(1, snapshot.getPools().size());
+        assertEquals(0, snapshot.getPools().get(0).rejectedDelta());
+
+        Mockito.when(mockThreadPool.stats()).thenReturn(generateThreadPoolStat(4));
+        // a second collector in the same tick reads the same snapshot and leaves the deltas as is
+        assertSame(snapshot, ThreadPoolStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills));
+        Mockito.verify(mockThreadPool, Mockito.times(1)).stats();
+
+        ThreadPoolStatsSnapshot next =
+                ThreadPoolStatsSnapshotService.INSTANCE.getSnapshot(startTimeInMills + 5000);
+        assertNotSame(snapshot, next);
+        assertEquals(2, next.getPools().get(0).rejectedDelta());
+    }
+
+    @Test
+    public void testQueueLatency() {
+        long startTimeInMills = 1153721339;
+        ThreadPoolStatsSnapshotService.PoolRecord lastRecord =
+                new ThreadPoolStatsSnapshotService.PoolRecord(startTimeInMills, 0, 10, 0L);
+        // 4 tasks completed in the interval and waited 50ms in total
+        ThreadPoolStatsSnapshotService.PoolRecord record =
+                new ThreadPoolStatsSnapshotService.PoolRecord(
+                        startTimeInMills + 5000, 0, 14, TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(
+                12.5,
+                ThreadPoolStatsSnapshotService.getQueueLatency(
+                        lastRecord, record, ThreadPoolQueueMonitor.QueueAges.UNAVAILABLE),
+                0);
+
+        // the pool does not track wait time, fall back to the age of the queued tasks
+        ThreadPoolStatsSnapshotService.PoolRecord untracked =
+                new ThreadPoolStatsSnapshotService.PoolRecord(startTimeInMills + 5000, 0, 14, -1L);
+        assertEquals(
+                3.0,
+                ThreadPoolStatsSnapshotService.getQueueLatency(
+                        lastRecord, untracked, new ThreadPoolQueueMonitor.QueueAges(3.0, 9.0)),
+                0);
+        assertEquals(
+                -1.0,
+                ThreadPoolStatsSnapshotService.getQueueLatency(
+                        lastRecord, untracked, ThreadPoolQueueMonitor.QueueAges.UNAVAILABLE),
+                0);
+    }
+
+    @Test
+    public void testQueueCapacity() {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        0,
+                        TimeUnit.MILLISECONDS,
+                        new SizeBlockingQueue<>(new LinkedTransferQueue<>(), 100));
+        try {
+            Mockito.when(mockThreadPool.executor("write")).thenReturn(executor);
+            assertEquals(100, ThreadPoolQueueMonitor.INSTANCE.getCapacity("write"));
+            assertEquals(
+                    ThreadPoolQueueMonitor.QueueAges.EMPTY,
+                    ThreadPoolQueueMonitor.INSTANCE.sampleQueueAges("write"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ThreadPoolStats generateThreadPoolStat(long rejected) {
+        List<ThreadPoolStats.Stats> stats = new ArrayList<>();
+        stats.add(new ThreadPoolStats.Stats("write", 0, 0, 0, rejected, 0, 0L, 20L));
+        return new ThreadPoolStats(stats);
+    }
+}
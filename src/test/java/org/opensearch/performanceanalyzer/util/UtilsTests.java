@@ -29,4 +29,13 @@ public class UtilsTests {
         Assert.assertEquals(0.0, Utils.calculateCPUUtilization(0, 5, 5, 1.0), 0.0);
         Assert.assertEquals(0.0, Utils.calculateCPUUtilization(0, 5, 5, 0.0), 0.0);
     }
+
+    @Test
+    public void testGetThreadPoolName() {
+        Assert.assertEquals("write", Utils.getThreadPoolName("opensearch[node-1][write][T#3]"));
+        Assert.assertEquals(
+                "force_merge", Utils.getThreadPoolName("opensearch[node[1]][force_merge][T#1]"));
+        Assert.assertEquals("", Utils.getThreadPoolName("main"));
+        Assert.assertEquals("", Utils.getThreadPoolName("opensearch[node-1][scheduler]"));
+    }
 }